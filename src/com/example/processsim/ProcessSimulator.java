@@ -1,6 +1,10 @@
 package com.example.processsim;
 
 import com.example.processsim.algorithms.*;
+import com.example.processsim.export.GanttChart;
+import com.example.processsim.export.GanttExport;
+import com.example.processsim.store.ResultsFile;
+import com.example.processsim.store.TimelineDiff;
 
 import javax.swing.*;
 import javax.swing.border.*;
@@ -26,11 +30,27 @@ public class ProcessSimulator extends JFrame {
 
     private DefaultTableModel tableModel;
     private JTextArea outputArea;
-    private JTextField nameField, arrivalField, burstField;
-    private JTextField quantumRRField, quantumQ0Field, quantumQ1Field;
-    private JLabel quantumRRLabel, quantumQ0Label, quantumQ1Label;
+    private JTextArea diagnosticsArea;
+    private SimStats lastStats;
+    private SimResult lastResult;
+    private String lastAlgorithm;
+    private SimResult previousResult;
+    private String previousAlgorithm;
+    private SwingWorker<SimResult, Void> runWorker;
+    private SwingWorker<Void, Void> exportWorker;
+    private SwingWorker<RegretReport, Void> regretWorker;
+    private JTextField nameField, arrivalField, burstField, priorityField;
+    private JTextField quantumRRField, agingField, promoteField, boostField, latencyField, granularityField;
+    private JLabel quantumRRLabel, agingLabel, promoteLabel, boostLabel, latencyLabel, granularityLabel;
+    private JLabel objectiveLabel;
+    private JComboBox<String> objectiveCombo;
+    private DefaultTableModel levelModel;
+    private JTable levelTable;
+    private JPanel levelPanel;
     private JComboBox<String> algorithmCombo;
     private GanttPanel ganttPanel;
+    private JCheckBox lanesBox, levelBox;
+    private SeriesPanel seriesPanel;
     private JLabel statusLabel;
     private int processCounter = 1;
 
@@ -130,21 +150,40 @@ public class ProcessSimulator extends JFrame {
         nameField.setText("P" + processCounter);  // Auto-fill with next process name
         arrivalField = createStyledTextField(5);
         burstField = createStyledTextField(5);
+        priorityField = createStyledTextField(5);
         
         // Quantum fields for different algorithms
         quantumRRField = createStyledTextField(5);
         quantumRRField.setText("2");
-        quantumQ0Field = createStyledTextField(5);
-        quantumQ0Field.setText("2");
-        quantumQ1Field = createStyledTextField(5);
-        quantumQ1Field.setText("4");
+        agingField = createStyledTextField(5);
+        agingField.setText(String.valueOf(PriorityAlgorithm.DEFAULT_AGING_INTERVAL));
+        promoteField = createStyledTextField(5);
+        promoteField.setText(String.valueOf(MLFQAlgorithm.DEFAULT_AGING_THRESHOLD));
+        boostField = createStyledTextField(5);
+        boostField.setText("0");
+        latencyField = createStyledTextField(5);
+        latencyField.setText(String.valueOf(CFSAlgorithm.DEFAULT_TARGET_LATENCY));
+        granularityField = createStyledTextField(5);
+        granularityField.setText(String.valueOf(CFSAlgorithm.DEFAULT_MIN_GRANULARITY));
         
         // Labels for quantum fields
         quantumRRLabel = createLabel("Quantum:");
-        quantumQ0Label = createLabel("Q0:");
-        quantumQ1Label = createLabel("Q1:");
+        agingLabel = createLabel("Aging:");
+        promoteLabel = createLabel("Promote after:");
+        boostLabel = createLabel("Boost:");
+        latencyLabel = createLabel("Latency:");
+        granularityLabel = createLabel("Min gran:");
+        objectiveLabel = createLabel("Objective:");
+        objectiveCombo = new JComboBox<>();
+        for (Objective o : Objective.values()) {
+            objectiveCombo.addItem(o.label());
+        }
+        objectiveCombo.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        levelPanel = createLevelPanel();
 
-        algorithmCombo = new JComboBox<>(new String[]{"Round Robin", "FCFS", "SJF", "SRTF", "MLFQ"});
+        algorithmCombo = new JComboBox<>(new String[]{"Round Robin", "FCFS", "SJF", "SRTF", "MLFQ",
+                "Priority", "Priority (Preemptive)", "CFS", "Lottery", "Stride", "EDF", "Rate Monotonic",
+                "Hierarchical Fair Share", "Optimal (B&B)"});
         algorithmCombo.setFont(new Font("Segoe UI", Font.PLAIN, 13));
         algorithmCombo.addActionListener(e -> updateQuantumFieldsVisibility());
 
@@ -164,6 +203,10 @@ public class ProcessSimulator extends JFrame {
         form.add(createLabel("Burst:"), gbc);
         gbc.gridx = 1;
         form.add(burstField, gbc);
+        gbc.gridx = 2;
+        form.add(createLabel("Priority:"), gbc);
+        gbc.gridx = 3;
+        form.add(priorityField, gbc);
 
         // Row 2 - Algorithm
         gbc.gridx = 0; gbc.gridy = 2;
@@ -179,13 +222,36 @@ public class ProcessSimulator extends JFrame {
         gbc.gridx = 1;
         form.add(quantumRRField, gbc);
         gbc.gridx = 0;
-        form.add(quantumQ0Label, gbc);
+        form.add(agingLabel, gbc);
+        gbc.gridx = 1;
+        form.add(agingField, gbc);
+        gbc.gridx = 0;
+        form.add(promoteLabel, gbc);
+        gbc.gridx = 1;
+        form.add(promoteField, gbc);
+        gbc.gridx = 2;
+        form.add(boostLabel, gbc);
+        gbc.gridx = 3;
+        form.add(boostField, gbc);
+        gbc.gridx = 0;
+        form.add(latencyLabel, gbc);
         gbc.gridx = 1;
-        form.add(quantumQ0Field, gbc);
+        form.add(latencyField, gbc);
         gbc.gridx = 2;
-        form.add(quantumQ1Label, gbc);
+        form.add(granularityLabel, gbc);
         gbc.gridx = 3;
-        form.add(quantumQ1Field, gbc);
+        form.add(granularityField, gbc);
+        gbc.gridx = 0;
+        form.add(objectiveLabel, gbc);
+        gbc.gridx = 1; gbc.gridwidth = 3;
+        form.add(objectiveCombo, gbc);
+        gbc.gridwidth = 1;
+
+        // Row 4 - MLFQ level table
+        gbc.gridy = 4;
+        gbc.gridx = 0; gbc.gridwidth = 4;
+        form.add(levelPanel, gbc);
+        gbc.gridwidth = 1;
         
         // Set initial visibility
         updateQuantumFieldsVisibility();
@@ -201,19 +267,39 @@ public class ProcessSimulator extends JFrame {
         JButton clearBtn = createStyledButton("Clear", new Color(231, 76, 60));
         clearBtn.addActionListener(e -> {
             tableModel.setRowCount(0);
-            ganttPanel.setTimeline(null, null);
+            ganttPanel.setResult(null);
+            seriesPanel.setSeries(null);
             outputArea.setText("");
+            diagnosticsArea.setText("");
+            lastStats = null;
+            lastResult = null;
+            previousResult = null;
             processCounter = 1;
             nameField.setText("P" + processCounter);  // Reset name field
             statusLabel.setText("Ready");
         });
         JButton sampleBtn = createStyledButton("Sample", TEXT_SECONDARY);
         sampleBtn.addActionListener(this::loadSampleData);
+        JButton exportBtn = createStyledButton("Export", TEXT_PRIMARY);
+        exportBtn.addActionListener(this::onExport);
+        JButton saveBtn = createStyledButton("Save Run", TEXT_PRIMARY);
+        saveBtn.addActionListener(this::onSaveRun);
+        JButton openBtn = createStyledButton("Open Run", TEXT_PRIMARY);
+        openBtn.addActionListener(this::onOpenRun);
+        JButton regretBtn = createStyledButton("Regret", TEXT_PRIMARY);
+        regretBtn.addActionListener(this::onRegret);
+        JButton diffBtn = createStyledButton("Diff", TEXT_PRIMARY);
+        diffBtn.addActionListener(this::onDiff);
 
         btnPanel.add(addBtn);
         btnPanel.add(runBtn);
         btnPanel.add(clearBtn);
         btnPanel.add(sampleBtn);
+        btnPanel.add(exportBtn);
+        btnPanel.add(saveBtn);
+        btnPanel.add(openBtn);
+        btnPanel.add(regretBtn);
+        btnPanel.add(diffBtn);
 
         card.add(form, BorderLayout.CENTER);
         card.add(btnPanel, BorderLayout.SOUTH);
@@ -222,24 +308,116 @@ public class ProcessSimulator extends JFrame {
     
     private void updateQuantumFieldsVisibility() {
         int idx = algorithmCombo.getSelectedIndex();
-        boolean isRR = (idx == 0);      // Round Robin
+        boolean isRR = (idx == 0 || idx == 8 || idx == 9 || idx == 12);  // Round Robin, Lottery, Stride, HFS
         boolean isMLFQ = (idx == 4);     // MLFQ
+        boolean isPriority = (idx == 5 || idx == 6);
+        boolean isCFS = (idx == 7);
+        boolean isOptimal = (idx == 13);
         
-        // RR: show single quantum field
+        // RR and the proportional-share algorithms: show single quantum field
         quantumRRLabel.setVisible(isRR);
         quantumRRField.setVisible(isRR);
         
-        // MLFQ: show Q0 and Q1 fields
-        quantumQ0Label.setVisible(isMLFQ);
-        quantumQ0Field.setVisible(isMLFQ);
-        quantumQ1Label.setVisible(isMLFQ);
-        quantumQ1Field.setVisible(isMLFQ);
+        // MLFQ: show level table and boost period
+        levelPanel.setVisible(isMLFQ);
+        boostLabel.setVisible(isMLFQ);
+        boostField.setVisible(isMLFQ);
+
+        // Priority: aging interval, 0 disables aging; MLFQ: wait before promotion, 0 promotes at once
+        agingLabel.setVisible(isPriority);
+        agingField.setVisible(isPriority);
+        promoteLabel.setVisible(isMLFQ);
+        promoteField.setVisible(isMLFQ);
+
+        // CFS: show target latency and minimum granularity
+        latencyLabel.setVisible(isCFS);
+        latencyField.setVisible(isCFS);
+        granularityLabel.setVisible(isCFS);
+        granularityField.setVisible(isCFS);
+
+        // Optimal schedule: show the objective to minimize
+        objectiveLabel.setVisible(isOptimal);
+        objectiveCombo.setVisible(isOptimal);
+    }
+
+    /**
+     * Editable table of MLFQ levels (quantum and policy), highest priority first.
+     */
+    private JPanel createLevelPanel() {
+        levelModel = new DefaultTableModel(new Object[]{"Level", "Quantum", "Policy"}, 0) {
+            @Override public boolean isCellEditable(int row, int col) { return col > 0; }
+        };
+        levelModel.addRow(new Object[]{"Q0", 2, "RR"});
+        levelModel.addRow(new Object[]{"Q1", 4, "RR"});
+        levelModel.addRow(new Object[]{"Q2", "-", "FCFS"});
+
+        levelTable = new JTable(levelModel);
+        levelTable.setRowHeight(22);
+        levelTable.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        levelTable.getTableHeader().setFont(new Font("Segoe UI", Font.BOLD, 12));
+        JComboBox<String> policyCombo = new JComboBox<>(new String[]{"RR", "FCFS"});
+        levelTable.getColumnModel().getColumn(2).setCellEditor(new DefaultCellEditor(policyCombo));
+
+        JScrollPane scroll = new JScrollPane(levelTable);
+        scroll.setPreferredSize(new Dimension(0, 95));
+
+        JButton addLevel = new JButton("+ Level");
+        addLevel.addActionListener(e -> {
+            int rows = levelModel.getRowCount();
+            if (rows >= MLFQQueues.MAX_LEVELS) return;
+            // New round-robin level above the last one, with double the previous quantum
+            int prev = rows > 1 ? parseQuantum(levelModel.getValueAt(rows - 2, 1).toString(), 2) : 1;
+            levelModel.insertRow(rows - 1, new Object[]{"", prev * 2, "RR"});
+            renumberLevels();
+        });
+        JButton removeLevel = new JButton("- Level");
+        removeLevel.addActionListener(e -> {
+            if (levelModel.getRowCount() <= 1) return;
+            int row = levelTable.getSelectedRow();
+            levelModel.removeRow(row >= 0 ? row : levelModel.getRowCount() - 1);
+            renumberLevels();
+        });
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        buttons.setOpaque(false);
+        buttons.add(addLevel);
+        buttons.add(removeLevel);
+
+        JPanel panel = new JPanel(new BorderLayout(0, 5));
+        panel.setOpaque(false);
+        panel.add(scroll, BorderLayout.CENTER);
+        panel.add(buttons, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    private void renumberLevels() {
+        for (int i = 0; i < levelModel.getRowCount(); i++) {
+            levelModel.setValueAt("Q" + i, i, 0);
+        }
+    }
+
+    /**
+     * Build the MLFQ configuration from the level table and the promotion and boost fields.
+     */
+    private MLFQConfig readMlfqConfig() {
+        if (levelTable.isEditing()) levelTable.getCellEditor().stopCellEditing();
+        List<MLFQConfig.Level> levels = new ArrayList<>();
+        for (int i = 0; i < levelModel.getRowCount(); i++) {
+            if ("FCFS".equals(levelModel.getValueAt(i, 2))) {
+                levels.add(MLFQConfig.Level.fcfs());
+            } else {
+                levels.add(MLFQConfig.Level.rr(parseQuantum(levelModel.getValueAt(i, 1).toString(), 2)));
+            }
+        }
+        int aging = parseNonNegative(promoteField.getText().trim(), MLFQAlgorithm.DEFAULT_AGING_THRESHOLD);
+        int boost = parseNonNegative(boostField.getText().trim(), 0);
+        return new MLFQConfig(levels, aging, boost);
     }
 
     private JPanel createTableCard() {
         JPanel card = createCard("Process Queue");
 
-        tableModel = new DefaultTableModel(new Object[]{"#", "Name", "Arrival", "Burst"}, 0) {
+        tableModel = new DefaultTableModel(new Object[]{"#", "Name", "Arrival", "Burst", "Priority", "Tickets", "Period", "Deadline", "Group"}, 0) {
             @Override public boolean isCellEditable(int row, int col) { return col > 0; }
         };
         JTable table = new JTable(tableModel);
@@ -278,8 +456,41 @@ public class ProcessSimulator extends JFrame {
     private JPanel createGanttCard() {
         JPanel card = createCard("Gantt Chart");
         ganttPanel = new GanttPanel();
-        ganttPanel.setPreferredSize(new Dimension(0, 100));
-        card.add(ganttPanel, BorderLayout.CENTER);
+        JScrollPane ganttScroll = new JScrollPane(ganttPanel,
+            ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED, ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        ganttScroll.setBorder(BorderFactory.createEmptyBorder());
+        // Repaint instead of blitting, so that the pinned time axis stays put
+        ganttScroll.getViewport().setScrollMode(JViewport.SIMPLE_SCROLL_MODE);
+        card.add(ganttScroll, BorderLayout.CENTER);
+
+        // Swimlane toggles next to the title
+        lanesBox = new JCheckBox("Lanes");
+        levelBox = new JCheckBox("Group by level");
+        levelBox.setEnabled(false);
+        for (JCheckBox box : new JCheckBox[]{lanesBox, levelBox}) {
+            box.setOpaque(false);
+            box.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+            box.addActionListener(e -> {
+                levelBox.setEnabled(lanesBox.isSelected() && lastResult != null && lastResult.hasLevels());
+                ganttPanel.setLanes(lanesBox.isSelected(), levelBox.isSelected());
+                ganttScroll.revalidate();
+                card.revalidate();
+                seriesPanel.repaint();
+            });
+        }
+        JPanel header = new JPanel(new BorderLayout());
+        header.setOpaque(false);
+        header.add(((BorderLayout) card.getLayout()).getLayoutComponent(BorderLayout.NORTH), BorderLayout.WEST);
+        JPanel toggles = new JPanel(new FlowLayout(FlowLayout.RIGHT, 8, 0));
+        toggles.setOpaque(false);
+        toggles.add(lanesBox);
+        toggles.add(levelBox);
+        header.add(toggles, BorderLayout.EAST);
+        card.add(header, BorderLayout.NORTH);
+
+        seriesPanel = new SeriesPanel();
+        seriesPanel.setPreferredSize(new Dimension(0, 110));
+        card.add(seriesPanel, BorderLayout.SOUTH);
         return card;
     }
 
@@ -292,7 +503,35 @@ public class ProcessSimulator extends JFrame {
         outputArea.setBorder(new EmptyBorder(10, 10, 10, 10));
         JScrollPane scroll = new JScrollPane(outputArea);
         scroll.setBorder(BorderFactory.createEmptyBorder());
-        card.add(scroll, BorderLayout.CENTER);
+
+        // Engine counters of the last run
+        diagnosticsArea = new JTextArea();
+        diagnosticsArea.setEditable(false);
+        diagnosticsArea.setFont(new Font("Consolas", Font.PLAIN, 13));
+        diagnosticsArea.setBackground(new Color(250, 250, 250));
+        diagnosticsArea.setBorder(new EmptyBorder(10, 10, 10, 10));
+        JScrollPane diagScroll = new JScrollPane(diagnosticsArea);
+        diagScroll.setBorder(BorderFactory.createEmptyBorder());
+        JButton copyJson = createStyledButton("Copy JSON", PRIMARY);
+        copyJson.addActionListener(e -> {
+            if (lastStats != null) {
+                Toolkit.getDefaultToolkit().getSystemClipboard()
+                    .setContents(new java.awt.datatransfer.StringSelection(lastStats.toJson()), null);
+                statusLabel.setText("Diagnostics copied as JSON");
+            }
+        });
+        JPanel diagButtons = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 5));
+        diagButtons.setOpaque(false);
+        diagButtons.add(copyJson);
+        JPanel diagPanel = new JPanel(new BorderLayout());
+        diagPanel.setOpaque(false);
+        diagPanel.add(diagScroll, BorderLayout.CENTER);
+        diagPanel.add(diagButtons, BorderLayout.SOUTH);
+
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("Statistics", scroll);
+        tabs.addTab("Diagnostics", diagPanel);
+        card.add(tabs, BorderLayout.CENTER);
         return card;
     }
 
@@ -468,63 +707,340 @@ public class ProcessSimulator extends JFrame {
         if (name.isEmpty()) name = "P" + processCounter;
         String at = arrivalField.getText().trim();
         String bt = burstField.getText().trim();
-        // priority removed; ignore any priority UI
+        String pr = priorityField.getText().trim();
         if (at.isEmpty()) at = "0";
+        if (pr.isEmpty()) pr = "0";
         if (bt.isEmpty()) { showError("Burst time is required"); return; }
         try {
             int arrival = Integer.parseInt(at);
-            int burst = Integer.parseInt(bt);
-            if (burst <= 0) { showError("Burst must be > 0"); return; }
-            tableModel.addRow(new Object[]{processCounter++, name, arrival, burst});
+            int priority = Integer.parseInt(pr);
+            // Burst is a CPU time, or CPU and I/O times in alternation, e.g. "3,2@1,4"
+            Proc proc = Proc.fromSpec(name, arrival, bt, priority);
+            if (proc.burst <= 0) { showError("Burst must be > 0"); return; }
+            tableModel.addRow(new Object[]{processCounter++, name, arrival, proc.toSpec(), priority, Proc.DEFAULT_TICKETS, 0, 0, ""});
             nameField.setText("P" + processCounter);
-            arrivalField.setText(""); burstField.setText("");
+            arrivalField.setText(""); burstField.setText(""); priorityField.setText("");
             statusLabel.setText("Added process: " + name);
         } catch (NumberFormatException ex) {
-            showError("Arrival and Burst must be integers.");
+            showError("Arrival, Burst and Priority must be integers.");
+        } catch (IllegalArgumentException ex) {
+            showError(ex.getMessage());
         }
     }
 
     private void loadSampleData(ActionEvent e) {
         tableModel.setRowCount(0);
         processCounter = 1;
-        Object[][] samples = {{"P1", 0, 5}, {"P2", 1, 3}, {"P3", 2, 8}, {"P4", 3, 6},{"P5", 4, 2}};
+        Object[][] samples = {{"P1", 0, 5, 2}, {"P2", 1, 3, 0}, {"P3", 2, 8, 4}, {"P4", 3, 6, 1},{"P5", 4, 2, 3}};
         for (Object[] s : samples) {
-            tableModel.addRow(new Object[]{processCounter++, s[0], s[1], s[2]});
+            tableModel.addRow(new Object[]{processCounter++, s[0], s[1], s[2], s[3], Proc.DEFAULT_TICKETS, 0, 0, ""});
         }
         nameField.setText("P" + processCounter);
         statusLabel.setText("Loaded sample data");
     }
 
-    private void onRun(ActionEvent e) {
+    /**
+     * The processes of the table, or null after showing what is wrong with them.
+     */
+    private List<Proc> readProcesses() {
         int rows = tableModel.getRowCount();
-        if (rows == 0) { showError("Add at least one process"); return; }
+        if (rows == 0) { showError("Add at least one process"); return null; }
         List<Proc> list = new ArrayList<>();
-        for (int i = 0; i < rows; i++) {
-            String n = tableModel.getValueAt(i, 1).toString();
-            int a = Integer.parseInt(tableModel.getValueAt(i, 2).toString());
-            int b = Integer.parseInt(tableModel.getValueAt(i, 3).toString());
-            list.add(new Proc(n, a, b));
+        try {
+            for (int i = 0; i < rows; i++) {
+                String n = tableModel.getValueAt(i, 1).toString();
+                int a = Integer.parseInt(tableModel.getValueAt(i, 2).toString());
+                String b = tableModel.getValueAt(i, 3).toString();
+                int pr = Integer.parseInt(tableModel.getValueAt(i, 4).toString());
+                int t = Integer.parseInt(tableModel.getValueAt(i, 5).toString());
+                int period = Integer.parseInt(tableModel.getValueAt(i, 6).toString());
+                int deadline = Integer.parseInt(tableModel.getValueAt(i, 7).toString());
+                String group = tableModel.getValueAt(i, 8).toString().trim();
+                if (t < 1) throw new IllegalArgumentException("Tickets must be >= 1: " + n);
+                if (period < 0 || deadline < 0) throw new IllegalArgumentException("Period and deadline must be >= 0: " + n);
+                Proc proc = Proc.fromSpec(n, a, b, pr);
+                proc.tickets = t;
+                proc.period = period;
+                proc.deadline = deadline;
+                proc.group = group.isEmpty() ? null : group;
+                list.add(proc);
+            }
+        } catch (IllegalArgumentException ex) {
+            showError("Invalid process row: " + ex.getMessage());
+            return null;
         }
+        return list;
+    }
+
+    private void onRun(ActionEvent e) {
+        if (runWorker != null && !runWorker.isDone()) { showError("A simulation is already running"); return; }
+        List<Proc> list = readProcesses();
+        if (list == null) return;
         String algo = (String) algorithmCombo.getSelectedItem();
-        SchedulingAlgorithm algorithm = switch (algo) {
+        SchedulingAlgorithm algorithm;
+        try {
+            algorithm = createAlgorithm(algo, list);
+        } catch (IllegalArgumentException ex) {
+            showError(ex.getMessage());
+            return;
+        }
+
+        // Off the event thread: the optimal solver searches for up to its time limit
+        SchedulingAlgorithm instrumented = algorithm.instrument(new SimStats()).recordSeries(new TimeSeries());
+        runWorker = new SwingWorker<>() {
+            @Override
+            protected SimResult doInBackground() {
+                return instrumented.run();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    showRun(get(), instrumented, algo);
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    statusLabel.setText("Simulation failed: " + algo);
+                    showError("Simulation failed: " + cause.getMessage());
+                }
+            }
+        };
+        statusLabel.setText("Running " + algo + "...");
+        runWorker.execute();
+    }
+
+    private void showRun(SimResult result, SchedulingAlgorithm algorithm, String algo) {
+        ganttPanel.setResult(result);
+        levelBox.setEnabled(lanesBox.isSelected() && result.hasLevels());
+        seriesPanel.setSeries(result.series);
+        outputArea.setText(result.text);
+        lastStats = result.stats;
+        previousResult = lastResult;
+        previousAlgorithm = lastAlgorithm;
+        lastResult = result;
+        lastAlgorithm = algorithm.getName();
+        diagnosticsArea.setText(result.stats.describe());
+        diagnosticsArea.setCaretPosition(0);
+        statusLabel.setText("Simulation complete: " + algo);
+    }
+
+    /**
+     * The algorithm selected in the combo box, with its parameters from the form.
+     */
+    private SchedulingAlgorithm createAlgorithm(String algo, List<Proc> list) {
+        return switch (algo) {
             case "FCFS" -> new FCFSAlgorithm(list);
             case "SJF" -> new SJFAlgorithm(list);
             case "SRTF" -> new SRTFAlgorithm(list);
-            case "MLFQ" -> {
-                int q0 = parseQuantum(quantumQ0Field.getText().trim(), 2);
-                int q1 = parseQuantum(quantumQ1Field.getText().trim(), 4);
-                yield new MLFQAlgorithm(list, q0, q1);
+            case "MLFQ" -> new MLFQAlgorithm(list, readMlfqConfig());
+            case "CFS" -> {
+                int latency = parseQuantum(latencyField.getText().trim(), CFSAlgorithm.DEFAULT_TARGET_LATENCY);
+                int granularity = parseQuantum(granularityField.getText().trim(), CFSAlgorithm.DEFAULT_MIN_GRANULARITY);
+                yield new CFSAlgorithm(list, latency, granularity);
+            }
+            case "Priority", "Priority (Preemptive)" -> {
+                int aging = parseNonNegative(agingField.getText().trim(), PriorityAlgorithm.DEFAULT_AGING_INTERVAL);
+                yield algo.equals("Priority")
+                    ? new PriorityAlgorithm(list, aging)
+                    : new PreemptivePriorityAlgorithm(list, aging);
             }
+            case "Lottery" -> new LotteryAlgorithm(list, parseQuantum(quantumRRField.getText().trim(), 2));
+            case "Stride" -> new StrideAlgorithm(list, parseQuantum(quantumRRField.getText().trim(), 2));
+            case "Hierarchical Fair Share" ->
+                new HierarchicalFairShareAlgorithm(list, parseQuantum(quantumRRField.getText().trim(), 2));
+            case "EDF" -> new EDFAlgorithm(list);
+            case "Rate Monotonic" -> new RateMonotonicAlgorithm(list);
+            case "Optimal (B&B)" -> new OptimalSolver(list, Objective.values()[objectiveCombo.getSelectedIndex()]);
             default -> {
                 int quantum = parseQuantum(quantumRRField.getText().trim(), 2);
                 yield new RoundRobinAlgorithm(list, quantum);
             }
         };
-        
-        SimResult result = algorithm.run();
-        ganttPanel.setTimeline(result.timeline, result.colorMap);
+    }
+
+    /**
+     * Export the Gantt chart of the last run as SVG, PNG or PDF on a background thread.
+     */
+    private void onExport(ActionEvent e) {
+        if (lastResult == null) { showError("Run a simulation first"); return; }
+        if (exportWorker != null && !exportWorker.isDone()) { showError("An export is already running"); return; }
+
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Gantt Chart");
+        chooser.setAcceptAllFileFilterUsed(false);
+        chooser.addChoosableFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("SVG image (*.svg)", "svg"));
+        chooser.addChoosableFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("PNG image (*.png)", "png"));
+        chooser.addChoosableFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("PDF document (*.pdf)", "pdf"));
+        JCheckBox lanes = new JCheckBox("One lane per process");
+        JTextField width = createStyledTextField(6);
+        width.setText("2000");
+        JPanel options = new JPanel(new GridLayout(0, 1, 5, 5));
+        options.setBorder(new EmptyBorder(0, 10, 0, 0));
+        options.add(lanes);
+        options.add(createLabel("Width (px):"));
+        options.add(width);
+        JPanel accessory = new JPanel(new BorderLayout());
+        accessory.add(options, BorderLayout.NORTH);
+        chooser.setAccessory(accessory);
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        java.nio.file.Path file = chooser.getSelectedFile().toPath();
+        String ext = ((javax.swing.filechooser.FileNameExtensionFilter) chooser.getFileFilter()).getExtensions()[0];
+        if (!file.getFileName().toString().toLowerCase().endsWith("." + ext)) {
+            file = file.resolveSibling(file.getFileName() + "." + ext);
+        }
+        java.nio.file.Path target = file;
+        int px = parseQuantum(width.getText().trim(), 2000);
+        SimResult result = lastResult;
+        String title = lastAlgorithm;
+        boolean perProcess = lanes.isSelected();
+
+        exportWorker = new SwingWorker<>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                GanttChart chart = new GanttChart(result.timeline, result.colorMap, title, perProcess, px, 0, 1);
+                GanttExport.write(chart, target, p -> setProgress((int) Math.round(p * 100)));
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    get();
+                    statusLabel.setText("Exported to " + target);
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    statusLabel.setText("Export failed");
+                    showError("Export failed: " + cause.getMessage());
+                }
+            }
+        };
+        exportWorker.addPropertyChangeListener(ev -> {
+            if ("progress".equals(ev.getPropertyName())) {
+                statusLabel.setText("Exporting " + target.getFileName() + "... " + ev.getNewValue() + "%");
+            }
+        });
+        statusLabel.setText("Exporting " + target.getFileName() + "...");
+        exportWorker.execute();
+    }
+
+    /**
+     * Compare the usual algorithms with the optimal schedules of the table's processes, on a
+     * background thread, and show their regrets in the results.
+     */
+    private void onRegret(ActionEvent e) {
+        if (regretWorker != null && !regretWorker.isDone()) { showError("A regret comparison is already running"); return; }
+        List<Proc> list = readProcesses();
+        if (list == null) return;
+        List<AlgorithmSpec> specs = AlgorithmSpec.parseList(RegretReport.DEFAULT_ALGORITHMS);
+        try {
+            new OptimalSolver(list, Objective.WEIGHTED_TURNAROUND); // check the processes up front
+        } catch (IllegalArgumentException ex) {
+            showError(ex.getMessage());
+            return;
+        }
+
+        regretWorker = new SwingWorker<>() {
+            @Override
+            protected RegretReport doInBackground() {
+                return RegretReport.compute(list, specs, OptimalSolver.DEFAULT_TIME_LIMIT,
+                    Runtime.getRuntime().availableProcessors());
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    outputArea.setText(get().describe());
+                    outputArea.setCaretPosition(0);
+                    statusLabel.setText("Regret comparison complete");
+                } catch (Exception ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    statusLabel.setText("Regret comparison failed");
+                    showError("Regret comparison failed: " + cause.getMessage());
+                }
+            }
+        };
+        statusLabel.setText("Searching for optimal schedules...");
+        regretWorker.execute();
+    }
+
+    /**
+     * Save the last run as a results file, to be reopened later without re-simulating.
+     */
+    private void onSaveRun(ActionEvent e) {
+        if (lastResult == null) { showError("Run a simulation first"); return; }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Save Run");
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Simulation results (*.psr)", "psr"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        java.nio.file.Path file = chooser.getSelectedFile().toPath();
+        if (!file.getFileName().toString().toLowerCase().endsWith(ResultsFile.EXTENSION)) {
+            file = file.resolveSibling(file.getFileName() + ResultsFile.EXTENSION);
+        }
+        try {
+            ResultsFile.write(file, lastResult,
+                ResultsFile.metadata(lastAlgorithm, null, null, lastResult.processes), true);
+            statusLabel.setText("Saved run to " + file);
+        } catch (java.io.IOException ex) {
+            showError("Save failed: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Show a saved run: its Gantt chart and report, without the process table, engine counters
+     * and time series, which are not stored.
+     */
+    private void onOpenRun(ActionEvent e) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Open Run");
+        chooser.setFileFilter(new javax.swing.filechooser.FileNameExtensionFilter("Simulation results (*.psr)", "psr"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+
+        java.nio.file.Path file = chooser.getSelectedFile().toPath();
+        SimResult result;
+        String algorithm;
+        try (ResultsFile results = ResultsFile.open(file)) {
+            result = results.toResult();
+            algorithm = results.metadata().getOrDefault("algorithm", file.getFileName().toString());
+        } catch (java.io.IOException | RuntimeException ex) {
+            showError("Cannot open run: " + ex.getMessage());
+            return;
+        }
+        ganttPanel.setResult(result);
+        levelBox.setEnabled(lanesBox.isSelected() && result.hasLevels());
+        seriesPanel.setSeries(null);
         outputArea.setText(result.text);
-        statusLabel.setText("Simulation complete: " + algo);
+        outputArea.setCaretPosition(0);
+        lastStats = null;
+        previousResult = lastResult;
+        previousAlgorithm = lastAlgorithm;
+        lastResult = result;
+        lastAlgorithm = algorithm;
+        diagnosticsArea.setText("Engine counters are not stored with saved runs.");
+        statusLabel.setText("Opened run: " + algorithm);
+    }
+
+    /**
+     * Compare the last two runs (simulated or opened): their Gantt charts stacked, with the
+     * time they run different processes highlighted, and the diff report.
+     */
+    private void onDiff(ActionEvent e) {
+        if (previousResult == null || lastResult == null) { showError("Run or open two simulations to compare"); return; }
+        DiffPanel panel = new DiffPanel(previousResult, lastResult);
+        TimelineDiff diff = panel.diff;
+        panel.setPreferredSize(new Dimension(900, 150));
+        JTextArea report = new JTextArea("A: " + previousAlgorithm + "\nB: " + lastAlgorithm + "\n\n" + diff.describe(20));
+        report.setEditable(false);
+        report.setFont(new Font("Consolas", Font.PLAIN, 12));
+        report.setCaretPosition(0);
+        JDialog dialog = new JDialog(this, "Timeline Diff", false);
+        dialog.add(panel, BorderLayout.NORTH);
+        dialog.add(new JScrollPane(report), BorderLayout.CENTER);
+        dialog.setSize(1000, 600);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+        statusLabel.setText(diff.regionCount == 0 ? "The last two runs have the same timeline"
+            : String.format("The last two runs diverge in %,d regions", diff.regionCount));
     }
 
     /**
@@ -541,6 +1057,17 @@ public class ProcessSimulator extends JFrame {
         }
     }
 
+    /**
+     * Parse an interval where 0 means "disabled", with fallback to default.
+     */
+    private int parseNonNegative(String input, int defaultValue) {
+        try {
+            return Math.max(0, Integer.parseInt(input.trim()));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     private void showError(String msg) {
         JOptionPane.showMessageDialog(this, msg, "Error", JOptionPane.ERROR_MESSAGE);
     }
@@ -551,11 +1078,86 @@ public class ProcessSimulator extends JFrame {
     }
 
     // ========== Gantt Panel ==========
-    class GanttPanel extends JPanel {
-        private List<GanttEntry> timeline;
-        private Map<String, Color> colorMap;
+    /**
+     * The timeline on one row, or as swimlanes with one lane per process (optionally per
+     * process and MLFQ level). Lanes come from the result's cached {@link LaneLayout}, and
+     * only the lanes inside the visible rectangle are painted.
+     */
+    class GanttPanel extends JPanel implements Scrollable {
+        private static final int PADDING = 40;
+        private static final int LANE_HEIGHT = 18;
+        private static final int LANE_GAP = 4;
+        private static final int AXIS_HEIGHT = 20;
+
+        private SimResult result;
+        private boolean lanes;
+        private boolean byLevel;
+        private LaneLayout measured;
+        private int measuredLeft;
+
+        GanttPanel() {
+            setToolTipText("");
+        }
+
+        void setResult(SimResult r) {
+            result = r;
+            revalidate();
+            repaint();
+        }
+
+        void setLanes(boolean lanes, boolean byLevel) {
+            this.lanes = lanes;
+            this.byLevel = byLevel;
+            revalidate();
+            repaint();
+        }
+
+        private LaneLayout laneLayout() {
+            if (!lanes || result == null || result.timeline.isEmpty()) return null;
+            return result.lanes(byLevel && result.hasLevels());
+        }
+
+        /** Left edge of the time axis, shared with the series plot. */
+        int plotLeft() {
+            LaneLayout layout = laneLayout();
+            if (layout == null) return PADDING;
+            if (layout != measured) {
+                measured = layout;
+                measuredLeft = measureLabels(layout);
+            }
+            return measuredLeft;
+        }
+
+        private int measureLabels(LaneLayout layout) {
+            FontMetrics fm = getFontMetrics(new Font("Segoe UI", Font.PLAIN, 11));
+            int widest = 0;
+            for (int l = 0; l < Math.min(layout.lanes(), 2000); l++) {
+                widest = Math.max(widest, fm.stringWidth(laneLabel(layout, l)));
+            }
+            return Math.max(PADDING, Math.min(140, widest + 12));
+        }
+
+        /** Right edge of the time axis. */
+        int plotRight() {
+            return getWidth() - PADDING;
+        }
+
+        private String laneLabel(LaneLayout layout, int lane) {
+            return layout.level(lane) >= 0 ? "Q" + layout.level(lane) + " " + layout.name(lane) : layout.name(lane);
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            LaneLayout layout = laneLayout();
+            if (layout == null) return new Dimension(0, 100);
+            return new Dimension(0, AXIS_HEIGHT + layout.lanes() * (LANE_HEIGHT + LANE_GAP) + LANE_GAP);
+        }
 
-        void setTimeline(List<GanttEntry> t, Map<String, Color> c) { timeline = t; colorMap = c; repaint(); }
+        @Override public Dimension getPreferredScrollableViewportSize() { return new Dimension(0, lanes ? 260 : 100); }
+        @Override public int getScrollableUnitIncrement(Rectangle r, int o, int d) { return LANE_HEIGHT + LANE_GAP; }
+        @Override public int getScrollableBlockIncrement(Rectangle r, int o, int d) { return o == SwingConstants.VERTICAL ? r.height : r.width; }
+        @Override public boolean getScrollableTracksViewportWidth() { return true; }
+        @Override public boolean getScrollableTracksViewportHeight() { return laneLayout() == null; }
 
         @Override
         protected void paintComponent(Graphics g) {
@@ -565,40 +1167,352 @@ public class ProcessSimulator extends JFrame {
             g2.setColor(new Color(250, 250, 250));
             g2.fillRect(0, 0, getWidth(), getHeight());
 
-            if (timeline == null || timeline.isEmpty()) {
+            if (result == null || result.timeline.isEmpty()) {
                 g2.setColor(TEXT_SECONDARY);
                 g2.setFont(new Font("Segoe UI", Font.ITALIC, 13));
                 g2.drawString("Run a simulation to see the Gantt chart", 20, getHeight() / 2);
                 return;
             }
-
-            int maxTime = timeline.get(timeline.size() - 1).end;
-            int padding = 40, barHeight = 40, y = 30;
+            LaneLayout layout = laneLayout();
+            if (layout != null) {
+                paintLanes(g2, layout);
+                return;
+            }
+            Map<String, Color> colorMap = result.colorMap;
+            SliceCursor slices = result.cursor();
+            slices.seek(slices.size() - 1);
+            int maxTime = slices.end();
+            int padding = PADDING, barHeight = 40, y = 30;
             double scale = (getWidth() - 2.0 * padding) / maxTime;
+            Font barFont = new Font("Segoe UI", Font.BOLD, 12);
+            Font markerFont = new Font("Segoe UI", Font.PLAIN, 10);
 
-            for (GanttEntry e : timeline) {
-                int x1 = padding + (int)(e.start * scale);
-                int w = (int)((e.end - e.start) * scale);
-                Color c = colorMap.getOrDefault(e.name, GANTT_COLORS[0]);
+            // One slice per pixel column at most, found by binary search, so that long
+            // (off-heap) timelines paint in time proportional to the width
+            Set<Integer> drawn = new HashSet<>();
+            int x = padding;
+            while (x < getWidth() - padding && slices.firstEndingAfter((int) Math.floor((x - padding) / scale)) < slices.size()) {
+                int start = slices.start(), end = slices.end();
+                int x1 = Math.max(x, padding + (int)(start * scale));
+                int w = Math.max(1, (int)((end - start) * scale));
+                Color c = colorMap.getOrDefault(slices.name(), GANTT_COLORS[0]);
                 g2.setColor(c);
                 g2.fillRoundRect(x1, y, w, barHeight, 8, 8);
                 g2.setColor(c.darker());
                 g2.drawRoundRect(x1, y, w, barHeight, 8, 8);
                 g2.setColor(Color.WHITE);
-                g2.setFont(new Font("Segoe UI", Font.BOLD, 12));
+                g2.setFont(barFont);
                 FontMetrics fm = g2.getFontMetrics();
-                int tw = fm.stringWidth(e.name);
-                if (tw < w - 4) g2.drawString(e.name, x1 + (w - tw) / 2, y + barHeight / 2 + 5);
+                int tw = fm.stringWidth(slices.name());
+                if (tw < w - 4) g2.drawString(slices.name(), x1 + (w - tw) / 2, y + barHeight / 2 + 5);
+
+                // Time markers
+                g2.setColor(TEXT_SECONDARY);
+                g2.setFont(markerFont);
+                if (drawn.add(start)) g2.drawString(String.valueOf(start), padding + (int)(start * scale) - 3, y + barHeight + 15);
+                if (drawn.add(end)) g2.drawString(String.valueOf(end), padding + (int)(end * scale) - 3, y + barHeight + 15);
+                x = Math.max(x + 1, padding + (int) Math.ceil(end * scale));
+            }
+        }
+
+        private void paintLanes(Graphics2D g2, LaneLayout layout) {
+            Rectangle clip = g2.getClipBounds();
+            Rectangle visible = getVisibleRect();
+            int left = plotLeft();
+            double scale = (plotRight() - left) / (double) Math.max(1, layout.end());
+            int row = LANE_HEIGHT + LANE_GAP;
+            int first = Math.max(0, (clip.y - AXIS_HEIGHT) / row);
+            int last = Math.min(layout.lanes() - 1, (clip.y + clip.height - AXIS_HEIGHT) / row);
+            int fromTime = (int) Math.max(0, Math.floor((clip.x - left) / scale));
+            int toTime = (int) Math.ceil((clip.x + clip.width - left) / scale);
+            Font label = new Font("Segoe UI", Font.PLAIN, 11);
+            Font barFont = new Font("Segoe UI", Font.BOLD, 10);
+
+            for (int lane = first; lane <= last; lane++) {
+                int y = AXIS_HEIGHT + lane * row + LANE_GAP;
+                if (lane % 2 == 1) {
+                    g2.setColor(new Color(243, 245, 246));
+                    g2.fillRect(0, y - LANE_GAP / 2, getWidth(), row);
+                }
+                if (lane > 0 && layout.level(lane) != layout.level(lane - 1)) {
+                    g2.setColor(TEXT_SECONDARY);
+                    g2.drawLine(0, y - LANE_GAP / 2, getWidth(), y - LANE_GAP / 2);
+                }
+                g2.setColor(TEXT_PRIMARY);
+                g2.setFont(label);
+                g2.drawString(laneLabel(layout, lane), 4, y + LANE_HEIGHT - 5);
+
+                // Slices in view; ones that fall on already painted pixels are skipped
+                Color c = result.colorMap.getOrDefault(layout.name(lane), GANTT_COLORS[0]);
+                g2.setFont(barFont);
+                int painted = Integer.MIN_VALUE;
+                for (int s = layout.firstEndingAfter(lane, fromTime); s < layout.slices(lane); s++) {
+                    int start = layout.start(lane, s);
+                    if (start > toTime) break;
+                    int x1 = left + (int) (start * scale);
+                    int x2 = Math.max(x1 + 1, left + (int) Math.ceil(layout.end(lane, s) * scale));
+                    if (x2 <= painted) continue;
+                    x1 = Math.max(x1, painted);
+                    g2.setColor(c);
+                    g2.fillRect(x1, y, x2 - x1, LANE_HEIGHT);
+                    painted = x2;
+                    if (x2 - x1 > 6) {
+                        g2.setColor(c.darker());
+                        g2.drawRect(x1, y, x2 - x1 - 1, LANE_HEIGHT - 1);
+                    }
+                }
             }
 
-            // Time markers
+            // Time axis pinned to the top of the view
+            g2.setColor(new Color(250, 250, 250));
+            g2.fillRect(0, visible.y, getWidth(), AXIS_HEIGHT);
             g2.setColor(TEXT_SECONDARY);
             g2.setFont(new Font("Segoe UI", Font.PLAIN, 10));
-            Set<Integer> drawn = new HashSet<>();
-            for (GanttEntry e : timeline) {
-                if (drawn.add(e.start)) g2.drawString(String.valueOf(e.start), padding + (int)(e.start * scale) - 3, y + barHeight + 15);
-                if (drawn.add(e.end)) g2.drawString(String.valueOf(e.end), padding + (int)(e.end * scale) - 3, y + barHeight + 15);
+            g2.drawLine(left, visible.y + AXIS_HEIGHT - 2, plotRight(), visible.y + AXIS_HEIGHT - 2);
+            long step = tickStep(scale);
+            for (long t = 0; t <= layout.end(); t += step) {
+                int x = left + (int) (t * scale);
+                g2.drawLine(x, visible.y + AXIS_HEIGHT - 5, x, visible.y + AXIS_HEIGHT - 2);
+                g2.drawString(String.valueOf(t), x - 3, visible.y + 12);
+            }
+        }
+
+        /** Axis label spacing: 1, 2 or 5 times a power of ten, at least 60 pixels apart. */
+        static long tickStep(double scale) {
+            for (long step = 1; ; step *= 10) {
+                for (long m : new long[]{1, 2, 5}) {
+                    if (step * m * scale >= 60) return step * m;
+                }
             }
         }
+
+        @Override
+        public String getToolTipText(java.awt.event.MouseEvent ev) {
+            LaneLayout layout = laneLayout();
+            if (layout == null) return null;
+            int lane = (ev.getY() - AXIS_HEIGHT) / (LANE_HEIGHT + LANE_GAP);
+            if (ev.getY() < AXIS_HEIGHT || lane >= layout.lanes()) return null;
+            int left = plotLeft();
+            double scale = (plotRight() - left) / (double) Math.max(1, layout.end());
+            int time = (int) Math.floor((ev.getX() - left) / scale);
+            int s = layout.firstEndingAfter(lane, time);
+            if (s == layout.slices(lane) || layout.start(lane, s) > time) return laneLabel(layout, lane);
+            return laneLabel(layout, lane) + " [" + layout.start(lane, s) + ", " + layout.end(lane, s) + ")";
+        }
+    }
+
+    /**
+     * Ready queue, in-flight and I/O time series of the last run, on the Gantt chart's time axis.
+     */
+    class SeriesPanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+
+        private static final Color READY_COLOR = new Color(231, 76, 60);
+        private static final Color FLIGHT_COLOR = new Color(52, 73, 94);
+        private static final Color BLOCKED_COLOR = new Color(155, 89, 182);
+        private static final Color BUSY_COLOR = new Color(46, 204, 113, 60);
+
+        private TimeSeries series;
+
+        void setSeries(TimeSeries s) { series = s; repaint(); }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(new Color(250, 250, 250));
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            if (series == null || series.buckets() == 0) {
+                return;
+            }
+
+            // Same horizontal scale as the Gantt chart above
+            int padding = ganttPanel.plotLeft(), top = 18, bottom = getHeight() - 8;
+            double scale = (ganttPanel.plotRight() - padding) / (double) series.end();
+            double peak = Math.max(1, series.peak(TimeSeries.IN_FLIGHT));
+            double yScale = (bottom - top) / peak;
+            long width = series.bucketWidth();
+
+            // CPU busy fraction as a shaded band
+            g2.setColor(BUSY_COLOR);
+            for (int b = 0; b < series.buckets(); b++) {
+                int x1 = padding + (int) (b * width * scale);
+                int x2 = padding + (int) (Math.min(series.end(), (b + 1) * width) * scale);
+                int h = (int) ((bottom - top) * series.value(TimeSeries.CPU_BUSY, b));
+                g2.fillRect(x1, bottom - h, Math.max(1, x2 - x1), h);
+            }
+
+            drawLine(g2, TimeSeries.IN_FLIGHT, FLIGHT_COLOR, 1.5f, padding, bottom, scale, yScale);
+            drawLine(g2, TimeSeries.BLOCKED, BLOCKED_COLOR, 1f, padding, bottom, scale, yScale);
+            for (int l = 0; l < series.levelCount(); l++) {
+                Color c = GANTT_COLORS[l % GANTT_COLORS.length];
+                drawLine(g2, TimeSeries.levelChannel(l), c, 1f, padding, bottom, scale, yScale);
+            }
+            drawLine(g2, TimeSeries.READY, READY_COLOR, 2f, padding, bottom, scale, yScale);
+
+            // Axis and legend
+            g2.setColor(TEXT_SECONDARY);
+            g2.setFont(new Font("Segoe UI", Font.PLAIN, 10));
+            g2.drawLine(padding, bottom, ganttPanel.plotRight(), bottom);
+            g2.drawString(String.format("%.0f", peak), 5, top + 8);
+            g2.drawString("0", 5, bottom);
+            int x = padding;
+            x = legend(g2, x, READY_COLOR, "Ready");
+            x = legend(g2, x, FLIGHT_COLOR, "In flight");
+            x = legend(g2, x, BLOCKED_COLOR, "Blocked on I/O");
+            x = legend(g2, x, new Color(46, 204, 113), "CPU busy");
+            if (series.levelCount() > 0) {
+                legend(g2, x, GANTT_COLORS[0], "Ready per level (Q0, Q1, ...)");
+            }
+        }
+
+        private void drawLine(Graphics2D g2, String channel, Color c, float stroke,
+                              int padding, int bottom, double scale, double yScale) {
+            long width = series.bucketWidth();
+            int n = series.buckets();
+            int[] xs = new int[n];
+            int[] ys = new int[n];
+            for (int b = 0; b < n; b++) {
+                long mid = b * width + Math.min(width, series.end() - b * width) / 2;
+                xs[b] = padding + (int) (mid * scale);
+                ys[b] = bottom - (int) (series.value(channel, b) * yScale);
+            }
+            g2.setColor(c);
+            g2.setStroke(new BasicStroke(stroke));
+            g2.drawPolyline(xs, ys, n);
+            g2.setStroke(new BasicStroke(1f));
+        }
+
+        private int legend(Graphics2D g2, int x, Color c, String label) {
+            g2.setColor(c);
+            g2.fillRect(x, 5, 10, 8);
+            g2.setColor(TEXT_SECONDARY);
+            g2.drawString(label, x + 14, 13);
+            return x + 24 + g2.getFontMetrics().stringWidth(label);
+        }
+    }
+
+    /**
+     * Two timelines on stacked rows, A above B, on a shared time axis, with the regions of
+     * their {@link TimelineDiff} shaded across both. Each pixel column is painted
+     * once: the slice under it is found by binary search, so long timelines paint in time
+     * proportional to the width.
+     */
+    class DiffPanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+
+        private static final Color DIVERGENT = new Color(231, 76, 60, 60);
+        private static final Color DIVERGENT_MARK = new Color(192, 57, 43);
+        private static final int PADDING = 40;
+        private static final int ROW_HEIGHT = 34;
+
+        private final SimResult a, b;
+        private final TimelineDiff.Source sourceA, sourceB;
+        private final TimelineDiff diff;
+        private final int end;
+
+        DiffPanel(SimResult a, SimResult b) {
+            this.a = a;
+            this.b = b;
+            this.sourceA = TimelineDiff.of(a);
+            this.sourceB = TimelineDiff.of(b);
+            this.diff = TimelineDiff.compare(sourceA, sourceB);
+            this.end = Math.max(lastEnd(a), lastEnd(b));
+            setToolTipText("");
+        }
+
+        private int lastEnd(SimResult r) {
+            SliceCursor slices = r.cursor();
+            if (slices.size() == 0) return 0;
+            slices.seek(slices.size() - 1);
+            return slices.end();
+        }
+
+        private double scale() {
+            return (getWidth() - 2.0 * PADDING) / Math.max(1, end);
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2 = (Graphics2D) g;
+            g2.setColor(new Color(250, 250, 250));
+            g2.fillRect(0, 0, getWidth(), getHeight());
+            int left = PADDING, top = 16;
+            double scale = scale();
+
+            paintRow(g2, a, sourceA, "A", top, left, scale);
+            paintRow(g2, b, sourceB, "B", top + ROW_HEIGHT + 6, left, scale);
+
+            // Divergent regions shaded over both rows and marked above them; regions
+            // sharing a pixel merge
+            int painted = Integer.MIN_VALUE;
+            for (int r = 0; r < diff.regionsKept(); r++) {
+                int x1 = Math.max(painted, left + (int) (diff.regionStart[r] * scale));
+                int x2 = Math.max(x1 + 1, left + (int) Math.ceil(diff.regionEnd[r] * scale));
+                if (x2 <= painted) continue;
+                g2.setColor(DIVERGENT);
+                g2.fillRect(x1, top - 2, x2 - x1, 2 * ROW_HEIGHT + 10);
+                g2.setColor(DIVERGENT_MARK);
+                g2.fillRect(x1, top - 8, x2 - x1, 4);
+                painted = x2;
+            }
+
+            g2.setColor(TEXT_SECONDARY);
+            g2.setFont(new Font("Segoe UI", Font.PLAIN, 10));
+            int axis = top + 2 * ROW_HEIGHT + 14;
+            g2.drawLine(left, axis, getWidth() - left, axis);
+            long step = GanttPanel.tickStep(scale);
+            for (long t = 0; t <= end; t += step) {
+                int x = left + (int) (t * scale);
+                g2.drawLine(x, axis, x, axis + 3);
+                g2.drawString(String.valueOf(t), x - 3, axis + 14);
+            }
+        }
+
+        private void paintRow(Graphics2D g2, SimResult r, TimelineDiff.Source source, String label,
+                              int y, int left, double scale) {
+            g2.setColor(TEXT_PRIMARY);
+            g2.setFont(new Font("Segoe UI", Font.BOLD, 12));
+            g2.drawString(label, 14, y + ROW_HEIGHT / 2 + 5);
+            g2.setFont(new Font("Segoe UI", Font.BOLD, 10));
+            int x = left;
+            while (x < getWidth() - left) {
+                int s = source.firstEndingAfter((int) Math.floor((x - left) / scale));
+                if (s == source.slices()) break;
+                int x1 = Math.max(x, left + (int) (source.start(s) * scale));
+                int x2 = Math.max(x1 + 1, left + (int) Math.ceil(source.end(s) * scale));
+                String name = source.name(source.process(s));
+                Color c = r.colorMap.getOrDefault(name, GANTT_COLORS[0]);
+                g2.setColor(c);
+                g2.fillRect(x1, y, x2 - x1, ROW_HEIGHT);
+                if (x2 - x1 > 6) {
+                    g2.setColor(c.darker());
+                    g2.drawRect(x1, y, x2 - x1 - 1, ROW_HEIGHT - 1);
+                    int tw = g2.getFontMetrics().stringWidth(name);
+                    if (tw < x2 - x1 - 4) {
+                        g2.setColor(Color.WHITE);
+                        g2.drawString(name, x1 + (x2 - x1 - tw) / 2, y + ROW_HEIGHT / 2 + 4);
+                    }
+                }
+                x = x2;
+            }
+        }
+
+        @Override
+        public String getToolTipText(java.awt.event.MouseEvent ev) {
+            int time = (int) Math.floor((ev.getX() - PADDING) / scale());
+            if (time < 0 || time >= end) return null;
+            int r = diff.firstRegionEndingAfter(time);
+            boolean divergent = r < diff.regionsKept() && diff.regionStart[r] <= time;
+            return "t=" + time + "  A: " + runningAt(sourceA, time) + "  B: " + runningAt(sourceB, time)
+                + (divergent ? "  (diverges)" : "");
+        }
+
+        private String runningAt(TimelineDiff.Source source, int time) {
+            int s = source.firstEndingAfter(time);
+            return s == source.slices() || source.start(s) > time ? "idle" : source.name(source.process(s));
+        }
     }
 }
@@ -0,0 +1,144 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * A scheduling algorithm with its parameters, written as a short spec string such as
+ * {@code RR:4} or {@code CFS:6,1}. Used to describe an algorithm matrix on the command line.
+ * <p>
+ * Recognized specs (parameters in brackets are optional):
+ * <pre>
+ *   FCFS | SJF | SRTF
+ *   RR:quantum
+ *   MLFQ[:q0,q1,...]     one quantum per level; defaults to 2,4 + FCFS
+ *   PRIO[:aging]         non-preemptive priority, aging interval (0 = off)
+ *   PPRIO[:aging]        preemptive priority
+ *   CFS[:latency,granularity]
+ *   LOTTERY:quantum[,seed]
+ *   STRIDE:quantum
+ *   HFS:quantum          hierarchical fair share over process groups
+ *   EDF[:horizon[,seed]]  real-time; horizon 0 = hyperperiod
+ *   RM[:horizon[,seed]]
+ *   OPT[:objective[,seconds]]  offline optimum; objective 0 = weighted turnaround,
+ *                        1 = max lateness, 2 = 95th-percentile turnaround
+ * </pre>
+ */
+public class AlgorithmSpec {
+    public final String kind;
+    public final int[] params;
+
+    private AlgorithmSpec(String kind, int[] params) {
+        this.kind = kind;
+        this.params = params;
+    }
+
+    /**
+     * Parse a single spec.
+     *
+     * @throws IllegalArgumentException if the spec is not recognized
+     */
+    public static AlgorithmSpec parse(String spec) {
+        String s = spec.trim();
+        int colon = s.indexOf(':');
+        String kind = (colon < 0 ? s : s.substring(0, colon)).trim().toUpperCase(Locale.ROOT);
+        int[] params = new int[0];
+        if (colon >= 0) {
+            String[] parts = s.substring(colon + 1).split("\\s*,\\s*");
+            params = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                try {
+                    params[i] = Integer.parseInt(parts[i].trim());
+                } catch (NumberFormatException ex) {
+                    throw new IllegalArgumentException("Bad parameter in algorithm spec: " + spec);
+                }
+                if (params[i] < 0) {
+                    throw new IllegalArgumentException("Parameters must be >= 0: " + spec);
+                }
+            }
+        }
+        int min, max;
+        switch (kind) {
+            case "FCFS", "SJF", "SRTF" -> { min = 0; max = 0; }
+            case "RR", "STRIDE", "HFS" -> { min = 1; max = 1; }
+            case "LOTTERY" -> { min = 1; max = 2; }
+            case "MLFQ" -> { min = 0; max = MLFQQueues.MAX_LEVELS - 1; }
+            case "PRIO", "PPRIO" -> { min = 0; max = 1; }
+            case "CFS", "EDF", "RM", "OPT" -> { min = 0; max = 2; }
+            default -> throw new IllegalArgumentException("Unknown algorithm: " + spec);
+        }
+        if (params.length < min || params.length > max) {
+            throw new IllegalArgumentException("Wrong number of parameters: " + spec);
+        }
+        if (kind.equals("OPT") && params.length > 0 && params[0] >= Objective.values().length) {
+            throw new IllegalArgumentException("Unknown objective: " + spec);
+        }
+        return new AlgorithmSpec(kind, params);
+    }
+
+    /**
+     * Parse a semicolon- or whitespace-separated list of specs, e.g. {@code "FCFS;RR:4;CFS"}.
+     */
+    public static List<AlgorithmSpec> parseList(String specs) {
+        List<AlgorithmSpec> list = new ArrayList<>();
+        for (String s : specs.split("[;\\s]+")) {
+            if (!s.isEmpty()) {
+                list.add(parse(s));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Create the algorithm for a workload.
+     */
+    public SchedulingAlgorithm create(List<Proc> procs) {
+        return switch (kind) {
+            case "FCFS" -> new FCFSAlgorithm(procs);
+            case "SJF" -> new SJFAlgorithm(procs);
+            case "SRTF" -> new SRTFAlgorithm(procs);
+            case "RR" -> new RoundRobinAlgorithm(procs, params[0]);
+            case "MLFQ" -> params.length == 0
+                ? new MLFQAlgorithm(procs)
+                : new MLFQAlgorithm(procs, params, MLFQAlgorithm.DEFAULT_AGING_THRESHOLD);
+            case "PRIO" -> params.length == 0
+                ? new PriorityAlgorithm(procs)
+                : new PriorityAlgorithm(procs, params[0]);
+            case "PPRIO" -> params.length == 0
+                ? new PreemptivePriorityAlgorithm(procs)
+                : new PreemptivePriorityAlgorithm(procs, params[0]);
+            case "CFS" -> switch (params.length) {
+                case 0 -> new CFSAlgorithm(procs);
+                case 1 -> new CFSAlgorithm(procs, params[0], CFSAlgorithm.DEFAULT_MIN_GRANULARITY);
+                default -> new CFSAlgorithm(procs, params[0], params[1]);
+            };
+            case "LOTTERY" -> params.length == 1
+                ? new LotteryAlgorithm(procs, params[0])
+                : new LotteryAlgorithm(procs, params[0], params[1]);
+            case "STRIDE" -> new StrideAlgorithm(procs, params[0]);
+            case "HFS" -> new HierarchicalFairShareAlgorithm(procs, params[0]);
+            case "EDF" -> new EDFAlgorithm(procs, params.length > 0 ? params[0] : 0,
+                params.length > 1 ? params[1] : RealTimeAlgorithm.DEFAULT_SEED);
+            case "RM" -> new RateMonotonicAlgorithm(procs, params.length > 0 ? params[0] : 0,
+                params.length > 1 ? params[1] : RealTimeAlgorithm.DEFAULT_SEED);
+            case "OPT" -> new OptimalSolver(procs, Objective.values()[params.length > 0 ? params[0] : 0],
+                params.length > 1 ? Math.max(1, params[1]) : OptimalSolver.DEFAULT_TIME_LIMIT,
+                Runtime.getRuntime().availableProcessors());
+            default -> throw new IllegalStateException(kind);
+        };
+    }
+
+    @Override
+    public String toString() {
+        if (params.length == 0) {
+            return kind;
+        }
+        StringBuilder sb = new StringBuilder(kind).append(':');
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(params[i]);
+        }
+        return sb.toString();
+    }
+}
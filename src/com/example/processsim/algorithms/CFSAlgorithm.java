@@ -0,0 +1,190 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Completely Fair Scheduler (CFS) style algorithm.
+ * <p>
+ * Every runnable process accumulates virtual runtime at a rate inversely proportional to
+ * its weight, derived from its nice level ({@link Proc#priority}) with the Linux weight
+ * table. The process with the smallest vruntime runs next, for a slice of the scheduling
+ * period proportional to its weight; the period is the target latency, stretched to
+ * {@code minGranularity} per runnable process when there are many.
+ * <p>
+ * The runnable set is a red-black tree ({@link TreeSet}) ordered by vruntime, so picks and
+ * re-insertions are O(log n). As in Linux, the running process is kept out of the tree.
+ * New arrivals start at the queue's {@code min_vruntime}, and a process waking up from I/O
+ * gets at most half a target latency of credit below it; neither preempts the running
+ * process before its slice ends. Blocked processes do not count towards the load.
+ */
+public class CFSAlgorithm extends SchedulingAlgorithm {
+
+    public static final int DEFAULT_TARGET_LATENCY = 6;
+    public static final int DEFAULT_MIN_GRANULARITY = 1;
+
+    /** Weight of a nice-0 process. */
+    private static final int NICE_0_LOAD = 1024;
+
+    /** Fixed-point scale of vruntime, so heavy weights still advance it. */
+    private static final int VRUNTIME_SHIFT = 10;
+
+    /** Linux sched_prio_to_weight, indexed by nice + 20. */
+    private static final int[] NICE_TO_WEIGHT = {
+        /* -20 */ 88761, 71755, 56483, 46273, 36291,
+        /* -15 */ 29154, 23254, 18705, 14949, 11916,
+        /* -10 */  9548,  7620,  6100,  4904,  3906,
+        /*  -5 */  3121,  2501,  1991,  1586,  1277,
+        /*   0 */  1024,   820,   655,   526,   423,
+        /*   5 */   335,   272,   215,   172,   137,
+        /*  10 */   110,    87,    70,    56,    45,
+        /*  15 */    36,    29,    23,    18,    15,
+    };
+
+    private final int targetLatency;
+    private final int minGranularity;
+
+    public CFSAlgorithm(List<Proc> processes) {
+        this(processes, DEFAULT_TARGET_LATENCY, DEFAULT_MIN_GRANULARITY);
+    }
+
+    public CFSAlgorithm(List<Proc> processes, int targetLatency, int minGranularity) {
+        super(processes);
+        this.minGranularity = Math.max(1, minGranularity);
+        this.targetLatency = Math.max(this.minGranularity, targetLatency);
+    }
+
+    @Override
+    public String getName() {
+        return "CFS (latency=" + targetLatency + ", min gran=" + minGranularity + ")";
+    }
+
+    /**
+     * Load weight of a nice level, clamped to -20 … 19.
+     */
+    public static int weightOf(int nice) {
+        return NICE_TO_WEIGHT[Math.max(-20, Math.min(19, nice)) + 20];
+    }
+
+    @Override
+    public SimResult run() {
+        beginRun();
+        List<Proc> procs = workingCopy();
+        procs.sort(Comparator.comparingInt(p -> p.arrival));
+
+        int n = procs.size();
+        int[] weight = new int[n];
+        long[] vruntime = new long[n];
+        for (int i = 0; i < n; i++) {
+            weight[i] = weightOf(procs.get(i).priority);
+        }
+
+        // Runnable set ordered by vruntime, ties broken by arrival order
+        TreeSet<Integer> tree = new TreeSet<>((a, b) -> vruntime[a] != vruntime[b]
+            ? Long.compare(vruntime[a], vruntime[b]) : Integer.compare(a, b));
+
+        IODevices io = devicesFor(procs);
+        ReadyEvents events = new ReadyEvents(procs, io);
+        long sleeperCredit = ((long) targetLatency << VRUNTIME_SHIFT) / 2;
+        List<GanttEntry> timeline = newTimeline();
+        int time = 0;
+        int completed = 0;
+        long minVruntime = 0;
+        long totalWeight = 0;   // weight of every runnable process, including the current one
+
+        int current = -1;
+        int currentStart = 0;   // start of the current Gantt slice
+        int accountedTo = 0;    // time up to which the current vruntime is charged
+        int sliceEnd = 0;
+
+        while (completed < n) {
+            // Charge the running process for the time since the last event
+            if (current != -1) {
+                vruntime[current] += ((long) (time - accountedTo) << VRUNTIME_SHIFT) * NICE_0_LOAD / weight[current];
+                accountedTo = time;
+            }
+            minVruntime = updateMinVruntime(minVruntime, current, vruntime, tree);
+
+            // Admit new arrivals at min_vruntime, wake-ups with a bounded sleeper credit
+            while (events.hasReadyBy(time)) {
+                boolean first = events.isFirstArrival(events.peek());
+                int id = events.poll();
+                vruntime[id] = first ? minVruntime : Math.max(vruntime[id], minVruntime - sleeperCredit);
+                tree.add(id);
+                totalWeight += weight[id];
+            }
+
+            if (current != -1) {
+                Proc p = procs.get(current);
+                if (p.remaining == 0) {
+                    timeline.add(slice(p.name, currentStart, time));
+                    totalWeight -= weight[current];
+                    if (p.hasMoreBursts()) {
+                        events.block(current, time);
+                    } else {
+                        p.finish = time;
+                        completed++;
+                    }
+                    current = -1;
+                    continue;
+                }
+                if (time >= sliceEnd) {
+                    // Slice used up – put it back and pick the leftmost process again
+                    tree.add(current);
+                    int next = tree.pollFirst();
+                    if (next != current) {
+                        timeline.add(slice(p.name, currentStart, time));
+                        stats.preemption();
+                        stats.queueLength(0, tree.size());
+                        currentStart = time;
+                        current = next;
+                    }
+                    sliceEnd = time + sliceOf(current, weight, totalWeight, tree.size() + 1);
+                }
+            } else {
+                if (tree.isEmpty()) {
+                    // CPU idle – fast-forward to next arrival
+                    stats.idle(time, events.nextTime());
+                    time = events.nextTime();
+                    continue;
+                }
+                current = tree.pollFirst();
+                currentStart = time;
+                stats.queueLength(0, tree.size());
+                accountedTo = time;
+                sliceEnd = time + sliceOf(current, weight, totalWeight, tree.size() + 1);
+            }
+
+            Proc p = procs.get(current);
+            if (p.start == -1) {
+                p.start = time;
+            }
+
+            // Run until the slice ends, the process finishes or the next arrival
+            int until = Math.min(Math.min(sliceEnd, time + p.remaining), events.nextTime());
+            p.remaining -= until - time;
+            time = until;
+        }
+
+        return buildResult(procs, timeline, io);
+    }
+
+    /**
+     * Slice of the scheduling period proportional to the process weight.
+     */
+    private int sliceOf(int id, int[] weight, long totalWeight, int nrRunning) {
+        long period = Math.max(targetLatency, (long) nrRunning * minGranularity);
+        return (int) Math.max(1, period * weight[id] / totalWeight);
+    }
+
+    private static long updateMinVruntime(long minVruntime, int current, long[] vruntime, TreeSet<Integer> tree) {
+        long candidate = Long.MAX_VALUE;
+        if (current != -1) {
+            candidate = vruntime[current];
+        }
+        if (!tree.isEmpty()) {
+            candidate = Math.min(candidate, vruntime[tree.first()]);
+        }
+        // min_vruntime never goes backwards
+        return candidate == Long.MAX_VALUE ? minVruntime : Math.max(minVruntime, candidate);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Earliest Deadline First (EDF) real-time scheduling.
+ * <p>
+ * The pending job with the earliest absolute deadline runs, preempting the running job when
+ * a release brings an earlier one; jobs without a deadline run only when no job with one is
+ * pending. Optimal on one CPU: if any schedule meets every deadline, EDF does. See
+ * {@link RealTimeAlgorithm} for releases and the horizon.
+ */
+public class EDFAlgorithm extends RealTimeAlgorithm {
+
+    public EDFAlgorithm(List<Proc> processes) {
+        this(processes, 0, DEFAULT_SEED);
+    }
+
+    /**
+     * @param horizon jobs are released before this time; 0 for the default
+     * @param seed    seed of the sporadic release delays
+     */
+    public EDFAlgorithm(List<Proc> processes, int horizon, int seed) {
+        super(processes, horizon, seed);
+    }
+
+    @Override
+    public String getName() {
+        return "EDF" + (horizon > 0 ? " (horizon=" + horizon + ")" : "");
+    }
+
+    @Override
+    protected int priority(Proc task, int deadline) {
+        return deadline;
+    }
+
+    @Override
+    public Schedulability analyze(List<Proc> procs) {
+        return Schedulability.edf(procs);
+    }
+}
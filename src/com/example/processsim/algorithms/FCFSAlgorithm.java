@@ -4,7 +4,8 @@ import java.util.*;
 
 /**
  * First Come First Served (FCFS) scheduling algorithm.
- * Processes are executed in the order they arrive.
+ * Processes are executed in the order they arrive (or return from I/O).
+ * For single-burst workloads too large to hold as processes, see {@link ParallelFCFS}.
  */
 public class FCFSAlgorithm extends SchedulingAlgorithm {
 
@@ -19,24 +20,39 @@ public class FCFSAlgorithm extends SchedulingAlgorithm {
 
     @Override
     public SimResult run() {
-        List<Proc> procs = new ArrayList<>(processes);
+        beginRun();
+        List<Proc> procs = workingCopy();
         procs.sort(Comparator.comparingInt(p -> p.arrival));
 
-        List<GanttEntry> timeline = new ArrayList<>();
+        IODevices io = devicesFor(procs);
+        ReadyEvents events = new ReadyEvents(procs, io);
+        List<GanttEntry> timeline = newTimeline();
         int time = 0;
 
-        for (Proc p : procs) {
+        // Processes run in the order they become ready: on arrival or back from I/O
+        while (!events.isEmpty()) {
             // If CPU is idle, jump to process arrival
-            if (time < p.arrival) {
-                time = p.arrival;
+            if (time < events.nextTime()) {
+                stats.idle(time, events.nextTime());
+                time = events.nextTime();
             }
 
-            p.start = time;
-            timeline.add(new GanttEntry(p.name, time, time + p.burst));
-            time += p.burst;
-            p.finish = time;
+            int id = events.poll();
+            Proc p = procs.get(id);
+            if (p.start == -1) {
+                p.start = time;
+            }
+            timeline.add(slice(p.name, time, time + p.remaining));
+            time += p.remaining;
+            p.remaining = 0;
+
+            if (p.hasMoreBursts()) {
+                events.block(id, time);
+            } else {
+                p.finish = time;
+            }
         }
 
-        return buildResult(procs, timeline);
+        return buildResult(procs, timeline, io);
     }
 }
@@ -0,0 +1,76 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * How closely a proportional-share run tracked each process's entitled share of the CPU.
+ * <p>
+ * While runnable, a process is entitled to {@code tickets / T} of the CPU, where {@code T}
+ * is the total tickets of the runnable processes at that moment (the running one included).
+ * Its lag is the CPU time it received minus that entitlement, accumulated over the times it
+ * was runnable: positive when ahead of its share, negative when behind. Lag only changes
+ * while the process is runnable, rising while it runs and falling while it waits, so its
+ * extremes fall on the starts and ends of its slices, which is where it is measured.
+ * <p>
+ * Index {@code i} of every array is process {@code names[i]}, in order of arrival.
+ */
+public class FairnessReport {
+    public final String[] names;
+    public final int[] tickets;
+    /** CPU time received. */
+    public final long[] received;
+    /** CPU time the process was entitled to while runnable. */
+    public final double[] entitled;
+    /** Largest absolute lag over the run. */
+    public final double[] maxLag;
+
+    FairnessReport(String[] names, int[] tickets, long[] received, double[] entitled, double[] maxLag) {
+        this.names = names;
+        this.tickets = tickets;
+        this.received = received;
+        this.entitled = entitled;
+        this.maxLag = maxLag;
+    }
+
+    /** Lag at the end of the run. */
+    public double finalLag(int i) {
+        return received[i] - entitled[i];
+    }
+
+    /** Largest absolute lag of any process. */
+    public double worstLag() {
+        double worst = 0;
+        for (double lag : maxLag) {
+            worst = Math.max(worst, lag);
+        }
+        return worst;
+    }
+
+    /** Mean over processes of their largest absolute lag. */
+    public double meanMaxLag() {
+        double sum = 0;
+        for (double lag : maxLag) {
+            sum += lag;
+        }
+        return maxLag.length == 0 ? 0 : sum / maxLag.length;
+    }
+
+    /**
+     * Per-process table and summary, appended to the text report.
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\nFairness (lag = CPU received - entitled share)\n");
+        sb.append(String.format(Locale.ROOT, "%-8s %-8s %-8s %-10s %-10s %-10s%n",
+            "Name", "Tickets", "CPU", "Entitled", "Max |lag|", "Final lag"));
+        sb.append("─".repeat(59)).append("\n");
+        for (int i = 0; i < names.length; i++) {
+            sb.append(String.format(Locale.ROOT, "%-8s %-8d %-8d %-10.2f %-10.2f %-10.2f%n",
+                names[i], tickets[i], received[i], entitled[i], maxLag[i], finalLag(i)));
+        }
+        sb.append("─".repeat(59)).append("\n");
+        sb.append(String.format(Locale.ROOT, "Worst |lag|:             %.2f%n", worstLag()));
+        sb.append(String.format(Locale.ROOT, "Mean max |lag|:          %.2f%n", meanMaxLag()));
+        return sb.toString();
+    }
+}
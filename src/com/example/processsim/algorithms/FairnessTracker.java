@@ -0,0 +1,96 @@
+package com.example.processsim.algorithms;
+
+import java.util.List;
+
+/**
+ * Measures the lag of each process against its ticket share during a proportional-share run
+ * (see {@link FairnessReport}).
+ * <p>
+ * Entitlements are kept in virtual time, the integral of {@code 1 / T} over the run where
+ * {@code T} is the total tickets runnable. A process runnable from virtual time {@code v0}
+ * to {@code v1} is entitled to {@code tickets * (v1 - v0)}, so joins, leaves and
+ * measurements are O(1) however many processes are runnable. Calls must come in time order.
+ */
+final class FairnessTracker {
+    private final int[] tickets;
+    private final long[] received;
+    /** Entitlement up to the last join. */
+    private final double[] entitled;
+    /** Virtual time of the last join. */
+    private final double[] joinedAt;
+    private final boolean[] runnable;
+    private final double[] maxLag;
+    private final TimeSeries series;
+    private double virtualTime;
+    private long totalTickets;
+    private int lastTime;
+
+    /**
+     * @param procs  the processes, indexed as in the calls
+     * @param series series to record the lag of the running process into, or null
+     */
+    FairnessTracker(List<Proc> procs, TimeSeries series) {
+        int n = procs.size();
+        tickets = new int[n];
+        for (int i = 0; i < n; i++) {
+            tickets[i] = procs.get(i).tickets;
+        }
+        received = new long[n];
+        entitled = new double[n];
+        joinedAt = new double[n];
+        runnable = new boolean[n];
+        maxLag = new double[n];
+        this.series = series;
+    }
+
+    void join(int id, int time) {
+        advance(time);
+        joinedAt[id] = virtualTime;
+        runnable[id] = true;
+        totalTickets += tickets[id];
+    }
+
+    void leave(int id, int time) {
+        advance(time);
+        entitled[id] += tickets[id] * (virtualTime - joinedAt[id]);
+        runnable[id] = false;
+        totalTickets -= tickets[id];
+    }
+
+    /** {@code id} is put on the CPU at {@code time}: its lag is at a low. */
+    void dispatch(int id, int time) {
+        advance(time);
+        measure(id, time);
+    }
+
+    /** {@code id} ran over {@code [start, end)}: its lag is at a high. */
+    void ran(int id, int start, int end) {
+        advance(end);
+        received[id] += end - start;
+        measure(id, end);
+    }
+
+    FairnessReport report(List<Proc> procs) {
+        String[] names = new String[procs.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = procs.get(i).name;
+        }
+        return new FairnessReport(names, tickets, received, entitled, maxLag);
+    }
+
+    private void advance(int time) {
+        if (totalTickets > 0) {
+            virtualTime += (double) (time - lastTime) / totalTickets;
+        }
+        lastTime = time;
+    }
+
+    private void measure(int id, int time) {
+        double due = entitled[id] + (runnable[id] ? tickets[id] * (virtualTime - joinedAt[id]) : 0);
+        double lag = Math.abs(received[id] - due);
+        maxLag[id] = Math.max(maxLag[id], lag);
+        if (series != null) {
+            series.set(TimeSeries.LAG, time, lag);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.processsim.algorithms;
+
+/**
+ * Fenwick (binary indexed) tree of non-negative {@code long} weights over the ids
+ * {@code 0..capacity-1}. Updates, prefix sums and {@link #find} are O(log n), which is what
+ * drawing a lottery winner among many runnable processes needs.
+ */
+public class FenwickTree {
+    private final long[] tree;
+    /** Largest power of two not above the capacity, where {@link #find} starts descending. */
+    private final int top;
+    private long total;
+
+    public FenwickTree(int capacity) {
+        tree = new long[capacity + 1];
+        top = capacity == 0 ? 0 : Integer.highestOneBit(capacity);
+    }
+
+    /** Sum of all weights. */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * Add {@code delta} to the weight of {@code id}; weights must not become negative.
+     */
+    public void add(int id, long delta) {
+        total += delta;
+        for (int i = id + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /** Sum of the weights of ids {@code 0..id-1}. */
+    public long prefix(int id) {
+        long sum = 0;
+        for (int i = id; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * The id whose weight covers {@code r}: the smallest id with {@code prefix(id + 1) > r},
+     * for {@code 0 <= r < total()}.
+     */
+    public int find(long r) {
+        int pos = 0;
+        for (int step = top; step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next < tree.length && tree[next] <= r) {
+                pos = next;
+                r -= tree[next];
+            }
+        }
+        return pos;
+    }
+}
@@ -7,6 +7,8 @@ public class GanttEntry {
     public String name;
     public int start;
     public int end;
+    /** Queue level the slice ran at, for multi-level schedulers; -1 otherwise. */
+    public int level = -1;
 
     public GanttEntry(String name, int start, int end) {
         this.name = name;
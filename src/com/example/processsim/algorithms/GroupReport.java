@@ -0,0 +1,111 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * CPU time and average metrics of every process group of a hierarchical fair-share run, each
+ * over the whole subtree of the group.
+ * <p>
+ * The nominal share of a group is the fraction of the CPU it is entitled to when every entity
+ * of the tree is runnable: the product, from the root down, of its weight over the total
+ * weight of its siblings and of the processes directly in its parent. Its received share is
+ * its CPU time over the busy time of the run.
+ * <p>
+ * Index {@code i} of every array is group {@code paths[i]}, in depth-first order from the
+ * root ({@code /}).
+ */
+public class GroupReport {
+    public final String[] paths;
+    public final int[] depth;
+    public final int[] weight;
+    public final double[] nominalShare;
+    /** Processes in the subtree. */
+    public final int[] processes;
+    /** CPU time received by the subtree. */
+    public final long[] received;
+    public final double[] avgWait;
+    public final double[] avgTurnaround;
+    public final double[] avgResponse;
+
+    private GroupReport(int n) {
+        paths = new String[n];
+        depth = new int[n];
+        weight = new int[n];
+        nominalShare = new double[n];
+        processes = new int[n];
+        received = new long[n];
+        avgWait = new double[n];
+        avgTurnaround = new double[n];
+        avgResponse = new double[n];
+    }
+
+    /**
+     * Report on {@code groups}, in depth-first order, after a run in which group {@code i}
+     * received {@code cpu[i]} and process {@code j} belonged to {@code procGroup[j]}.
+     */
+    static GroupReport of(List<HierarchicalFairShareAlgorithm.Group> groups, long[] cpu,
+                          List<Proc> procs, HierarchicalFairShareAlgorithm.Group[] procGroup) {
+        int n = groups.size();
+        GroupReport r = new GroupReport(n);
+        double[] wait = new double[n];
+        double[] turnaround = new double[n];
+        double[] response = new double[n];
+        for (int j = 0; j < procs.size(); j++) {
+            Proc p = procs.get(j);
+            int t = p.finish - p.arrival;
+            for (HierarchicalFairShareAlgorithm.Group g = procGroup[j]; g != null; g = g.parent) {
+                r.processes[g.index]++;
+                wait[g.index] += t - p.burst - p.ioTime;
+                turnaround[g.index] += t;
+                response[g.index] += p.start - p.arrival;
+            }
+        }
+        for (HierarchicalFairShareAlgorithm.Group g : groups) {
+            int i = g.index;
+            r.paths[i] = g.path;
+            r.depth[i] = g.depth;
+            r.weight[i] = g.weight;
+            r.received[i] = cpu[i];
+            if (g.parent == null) {
+                r.nominalShare[i] = 1;
+            } else {
+                long total = 0;
+                for (long w : g.parent.weightOf) {
+                    total += w;
+                }
+                r.nominalShare[i] = r.nominalShare[g.parent.index]
+                    * HierarchicalFairShareAlgorithm.entityWeight(g) / total;
+            }
+            int count = Math.max(1, r.processes[i]);
+            r.avgWait[i] = wait[i] / count;
+            r.avgTurnaround[i] = turnaround[i] / count;
+            r.avgResponse[i] = response[i] / count;
+        }
+        return r;
+    }
+
+    /** Fraction of the busy time of the run that group {@code i} received. */
+    public double receivedShare(int i) {
+        return received[0] == 0 ? 0 : (double) received[i] / received[0];
+    }
+
+    /**
+     * Per-group table, indented by depth, appended to the text report.
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\nProcess groups (metrics over each subtree)\n");
+        sb.append(String.format(Locale.ROOT, "%-20s %-7s %-8s %-6s %-8s %-8s %-8s %-8s %-8s%n",
+            "Group", "Weight", "Nominal", "Procs", "CPU", "Share", "Wait", "TAT", "Resp"));
+        sb.append("─".repeat(89)).append("\n");
+        for (int i = 0; i < paths.length; i++) {
+            String name = i == 0 ? "/" : "  ".repeat(depth[i])
+                + paths[i].substring(paths[i].lastIndexOf('/') + 1);
+            sb.append(String.format(Locale.ROOT, "%-20s %-7d %-8.3f %-6d %-8d %-8.3f %-8.2f %-8.2f %-8.2f%n",
+                name, weight[i], nominalShare[i], processes[i], received[i], receivedShare(i),
+                avgWait[i], avgTurnaround[i], avgResponse[i]));
+        }
+        sb.append("─".repeat(89)).append("\n");
+        return sb.toString();
+    }
+}
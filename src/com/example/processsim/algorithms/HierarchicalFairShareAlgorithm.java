@@ -0,0 +1,310 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Hierarchical fair-share scheduling of process groups, in the manner of Linux CFS group
+ * scheduling under cgroups.
+ * <p>
+ * Processes belong to a tree of groups ({@link Proc#group}, e.g. {@code tenantA/web}); every
+ * group has a weight from 1 to 10000, 100 by default, set on any segment of a path
+ * ({@code tenantA:300/web}). The CPU is shared among the runnable entities of a group, its
+ * subgroups and its own processes, in proportion to their weights: a group of weight
+ * {@code w} weighs as much as {@code w / 100} nice-0 processes, and a process has the CFS
+ * weight of its nice level ({@link CFSAlgorithm#weightOf}).
+ * <p>
+ * Each entity has a virtual runtime that grows by its run time divided by its weight. To
+ * dispatch, the entity with the smallest virtual runtime is picked at the root, then within
+ * the chosen group, down to a process, which runs for a quantum or until its CPU burst ends;
+ * every entity on that path is then charged. Each group keeps its runnable entities in a
+ * {@link PassHeap}, so a dispatch costs O(depth · log fan-out). As in CFS, an entity that
+ * joins or rejoins a group starts no earlier than the group's minimum virtual runtime, so
+ * sleeping earns no credit; a group is runnable while any of its entities is.
+ * <p>
+ * The result carries a {@link GroupReport} with the CPU time and average metrics of every
+ * group, over its whole subtree.
+ */
+public class HierarchicalFairShareAlgorithm extends SchedulingAlgorithm {
+
+    public static final int DEFAULT_GROUP_WEIGHT = 100;
+    public static final int MAX_GROUP_WEIGHT = 10_000;
+
+    /** Fixed-point scale of virtual runtime. */
+    private static final long VRUNTIME_SCALE = 1L << 20;
+
+    public HierarchicalFairShareAlgorithm(List<Proc> processes, int quantum) {
+        super(processes, quantum);
+        buildTree(processes); // reject bad group paths early
+    }
+
+    @Override
+    public String getName() {
+        return "Hierarchical Fair Share (Q=" + quantum + ")";
+    }
+
+    /**
+     * A group: its runnable entities (subgroups and processes, numbered by slot) in a heap
+     * keyed by virtual runtime.
+     */
+    static final class Group {
+        final String path;
+        final Group parent;
+        /** Slot of this group in its parent. */
+        final int slot;
+        int weight = DEFAULT_GROUP_WEIGHT;
+        boolean explicitWeight;
+        final List<Group> children = new ArrayList<>();
+        /** Subgroup of each slot, or null for a process. */
+        Group[] groupAt;
+        /** Process of each slot, or -1 for a subgroup. */
+        int[] procAt;
+        long[] weightOf;
+        long[] vruntime;
+        PassHeap heap;
+        /** Minimum virtual runtime, which only grows. */
+        long floor;
+        /** In its parent's heap, or on the dispatch path. */
+        boolean active;
+        int slots;
+        final int depth;
+        /** Position in depth-first order. */
+        int index;
+
+        Group(String path, Group parent) {
+            this.path = path;
+            this.parent = parent;
+            this.slot = parent == null ? -1 : parent.slots++;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+        }
+    }
+
+    /**
+     * Build the group tree of {@code procs} in order; process {@code i} gets the next slot of
+     * its group.
+     *
+     * @return the root, with {@code procSlot[i]} and {@code procGroup[i]} filled when not null
+     */
+    static Group buildTree(List<Proc> procs, Group[] procGroup, int[] procSlot) {
+        Group root = new Group("/", null);
+        Map<String, Group> byPath = new HashMap<>();
+        byPath.put("", root);
+        for (int i = 0; i < procs.size(); i++) {
+            Proc p = procs.get(i);
+            Group g = root;
+            StringBuilder path = new StringBuilder();
+            String spec = p.group == null ? "" : p.group.trim();
+            for (String segment : spec.split("/")) {
+                segment = segment.trim();
+                if (segment.isEmpty()) {
+                    continue;
+                }
+                int colon = segment.indexOf(':');
+                String name = colon < 0 ? segment : segment.substring(0, colon).trim();
+                if (name.isEmpty()) {
+                    throw new IllegalArgumentException("Empty group name in '" + p.group + "': " + p.name);
+                }
+                path.append(path.length() == 0 ? "" : "/").append(name);
+                Group parent = g;
+                g = byPath.computeIfAbsent(path.toString(), k -> {
+                    Group child = new Group(k, parent);
+                    parent.children.add(child);
+                    return child;
+                });
+                if (colon >= 0) {
+                    int w;
+                    try {
+                        w = Integer.parseInt(segment.substring(colon + 1).trim());
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("Bad group weight in '" + p.group + "': " + p.name);
+                    }
+                    if (w < 1 || w > MAX_GROUP_WEIGHT) {
+                        throw new IllegalArgumentException("Group weight must be 1-" + MAX_GROUP_WEIGHT + ": " + p.group);
+                    }
+                    if (g.explicitWeight && g.weight != w) {
+                        throw new IllegalArgumentException("Conflicting weights for group " + g.path + ": "
+                            + g.weight + " and " + w);
+                    }
+                    g.weight = w;
+                    g.explicitWeight = true;
+                }
+            }
+            int slot = g.slots++;
+            if (procGroup != null) {
+                procGroup[i] = g;
+                procSlot[i] = slot;
+            }
+        }
+        return root;
+    }
+
+    private static Group buildTree(List<Proc> procs) {
+        return buildTree(procs, null, null);
+    }
+
+    /** Weight of a group as an entity of its parent, on the scale of process weights. */
+    static long entityWeight(Group g) {
+        return (long) g.weight * CFSAlgorithm.weightOf(0) / DEFAULT_GROUP_WEIGHT;
+    }
+
+    @Override
+    public SimResult run() {
+        beginRun();
+        List<Proc> procs = workingCopy();
+        procs.sort(Comparator.comparingInt(p -> p.arrival));
+
+        int n = procs.size();
+        Group[] procGroup = new Group[n];
+        int[] procSlot = new int[n];
+        Group root = buildTree(procs, procGroup, procSlot);
+        List<Group> groups = new ArrayList<>();
+        int maxDepth = preorder(root, groups);
+        for (Group g : groups) {
+            g.groupAt = new Group[g.slots];
+            g.procAt = new int[g.slots];
+            g.weightOf = new long[g.slots];
+            g.vruntime = new long[g.slots];
+            g.heap = new PassHeap(g.vruntime);
+            for (Group c : g.children) {
+                g.groupAt[c.slot] = c;
+                g.procAt[c.slot] = -1;
+                g.weightOf[c.slot] = entityWeight(c);
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            Group g = procGroup[i];
+            g.procAt[procSlot[i]] = i;
+            g.weightOf[procSlot[i]] = CFSAlgorithm.weightOf(procs.get(i).priority);
+        }
+        root.active = true;
+
+        Group[] pathGroup = new Group[maxDepth + 1];
+        int[] pathSlot = new int[maxDepth + 1];
+        long[] groupCpu = new long[groups.size()];
+
+        IODevices io = devicesFor(procs);
+        ReadyEvents events = new ReadyEvents(procs, io);
+        List<GanttEntry> timeline = newTimeline();
+        int runnable = 0;
+        int time = 0;
+
+        while (true) {
+            // Add all processes that have arrived or returned from I/O
+            while (events.hasReadyBy(time)) {
+                enqueue(events.poll(), procGroup, procSlot);
+                runnable++;
+            }
+
+            if (runnable == 0) {
+                if (!events.isEmpty()) {
+                    // Jump to next arrival time
+                    stats.idle(time, events.nextTime());
+                    time = events.nextTime();
+                    continue;
+                } else {
+                    break; // All done
+                }
+            }
+
+            // Walk down from the root to a process, taking each group's smallest entity
+            int depth = 0;
+            Group g = root;
+            int id;
+            while (true) {
+                int slot = g.heap.poll();
+                pathGroup[depth] = g;
+                pathSlot[depth++] = slot;
+                if (g.groupAt[slot] == null) {
+                    id = g.procAt[slot];
+                    break;
+                }
+                g = g.groupAt[slot];
+            }
+            Proc p = procs.get(id);
+            stats.queueLength(0, runnable - 1);
+            if (p.start == -1) {
+                p.start = time;
+            }
+
+            int runTime = Math.min(quantum, p.remaining);
+            timeline.add(slice(p.name, time, time + runTime));
+            p.remaining -= runTime;
+            time += runTime;
+
+            // Charge every entity on the path
+            for (int k = 0; k < depth; k++) {
+                Group at = pathGroup[k];
+                int slot = pathSlot[k];
+                at.vruntime[slot] += runTime * VRUNTIME_SCALE / at.weightOf[slot];
+                long min = at.heap.isEmpty() ? at.vruntime[slot]
+                    : Math.min(at.vruntime[slot], at.vruntime[at.heap.peek()]);
+                at.floor = Math.max(at.floor, min);
+                groupCpu[at.index] += runTime;
+            }
+
+            // Arrivals during the slice join before the path is put back
+            while (events.hasReadyBy(time)) {
+                enqueue(events.poll(), procGroup, procSlot);
+                runnable++;
+            }
+
+            boolean keep = p.remaining > 0;
+            if (keep) {
+                stats.preemption();
+            } else {
+                runnable--;
+                if (p.hasMoreBursts()) {
+                    events.block(id, time);
+                } else {
+                    p.finish = time;
+                }
+            }
+            // Put the path back bottom-up; a group without runnable entities leaves its parent
+            for (int k = depth - 1; k >= 0; k--) {
+                Group at = pathGroup[k];
+                int slot = pathSlot[k];
+                if (k == depth - 1) {
+                    if (keep) {
+                        at.heap.add(slot);
+                    }
+                } else if (!at.groupAt[slot].heap.isEmpty()) {
+                    at.heap.add(slot);
+                } else {
+                    at.groupAt[slot].active = false;
+                }
+            }
+        }
+
+        SimResult result = buildResult(procs, timeline, io);
+        result.groups = GroupReport.of(groups, groupCpu, procs, procGroup);
+        if (result.text != null) {
+            result.text += result.groups.describe();
+        }
+        return result;
+    }
+
+    /** Make process {@code id} runnable in its group, and the group in its ancestors. */
+    private static void enqueue(int id, Group[] procGroup, int[] procSlot) {
+        Group g = procGroup[id];
+        int slot = procSlot[id];
+        g.vruntime[slot] = Math.max(g.vruntime[slot], g.floor);
+        g.heap.add(slot);
+        while (!g.active) {
+            g.active = true;
+            Group parent = g.parent;
+            parent.vruntime[g.slot] = Math.max(parent.vruntime[g.slot], parent.floor);
+            parent.heap.add(g.slot);
+            g = parent;
+        }
+    }
+
+    /** Groups in depth-first order, children in order of appearance; returns the depth. */
+    private static int preorder(Group g, List<Group> out) {
+        g.index = out.size();
+        out.add(g);
+        int depth = g.depth;
+        for (Group c : g.children) {
+            depth = Math.max(depth, preorder(c, out));
+        }
+        return depth;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Simulated I/O devices, each serving its requests in FCFS order.
+ * <p>
+ * Simulation time only moves forward, so requests reach every device in time order and
+ * a device is fully described by the time it becomes free: a request is O(1).
+ */
+public class IODevices {
+    private final int[] freeAt;
+    private final long[] busy;
+    private long requests = 0;
+    private TimeSeries series;
+
+    public IODevices(int count) {
+        freeAt = new int[Math.max(1, count)];
+        busy = new long[freeAt.length];
+    }
+
+    /**
+     * Enough devices for every I/O burst of {@code procs}.
+     */
+    public static IODevices forProcesses(Collection<Proc> procs) {
+        int max = 0;
+        for (Proc p : procs) {
+            if (p.devices != null) {
+                for (int d : p.devices) {
+                    max = Math.max(max, d);
+                }
+            }
+        }
+        return new IODevices(max + 1);
+    }
+
+    /**
+     * Queue an I/O burst of {@code length} on {@code device} at {@code time}.
+     *
+     * @return the time the burst completes
+     */
+    public int request(int device, int time, int length) {
+        int start = Math.max(time, freeAt[device]);
+        freeAt[device] = start + length;
+        busy[device] += length;
+        requests++;
+        if (series != null) {
+            series.add(TimeSeries.BLOCKED, time, start + length, 1);
+        }
+        return start + length;
+    }
+
+    /**
+     * Record every blocked interval, from request to completion, into {@code series}.
+     */
+    public void recordTo(TimeSeries series) {
+        this.series = series;
+    }
+
+    public int count() {
+        return freeAt.length;
+    }
+
+    public long busyTime(int device) {
+        return busy[device];
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.processsim.algorithms;
+
+import java.util.Arrays;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Binary min-heap over the integer ids {@code 0..capacity-1} with primitive {@code long}
+ * keys. A position index makes {@link #changeKey} and {@link #remove} O(log n), which is
+ * what priority changes and aging boosts need.
+ * <p>
+ * Keys are usually built with {@link #key(int, int)} so that ties on the primary value
+ * fall back to the id.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;
+    private final int[] pos;
+    private final long[] keys;
+    private int size = 0;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        pos = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    /**
+     * Pack a signed primary value and an id into one ordered key.
+     */
+    public static long key(int value, int id) {
+        return ((long) value << 32) | (id & 0xffffffffL);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return pos[id] >= 0;
+    }
+
+    public int peek() {
+        return heap[0];
+    }
+
+    /**
+     * Id at position {@code i} of the heap array, {@code 0 <= i < size()}: visits the contents
+     * in no particular order.
+     */
+    public int at(int i) {
+        return heap[i];
+    }
+
+    public long peekKey() {
+        return keys[heap[0]];
+    }
+
+    public long keyOf(int id) {
+        return keys[id];
+    }
+
+    public void add(int id, long key) {
+        keys[id] = key;
+        heap[size] = id;
+        pos[id] = size;
+        siftUp(size++);
+    }
+
+    public int poll() {
+        int top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    public void remove(int id) {
+        int i = pos[id];
+        if (i >= 0) {
+            removeAt(i);
+        }
+    }
+
+    /**
+     * Change the key of an id already in the heap, in either direction.
+     */
+    public void changeKey(int id, long key) {
+        long old = keys[id];
+        keys[id] = key;
+        if (key < old) {
+            siftUp(pos[id]);
+        } else if (key > old) {
+            siftDown(pos[id]);
+        }
+    }
+
+    /**
+     * Recompute the key of every id in the heap and restore heap order, in O(n).
+     */
+    public void rekey(IntToLongFunction key) {
+        for (int i = 0; i < size; i++) {
+            keys[heap[i]] = key.applyAsLong(heap[i]);
+        }
+        for (int i = (size >>> 1) - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void removeAt(int i) {
+        int id = heap[i];
+        pos[id] = -1;
+        int last = --size;
+        if (i != last) {
+            int moved = heap[last];
+            heap[i] = moved;
+            pos[moved] = i;
+            siftDown(i);
+            if (heap[i] == moved) {
+                siftUp(i);
+            }
+        }
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        long key = keys[id];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int pid = heap[parent];
+            if (keys[pid] <= key) {
+                break;
+            }
+            heap[i] = pid;
+            pos[pid] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        long key = keys[id];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            int cid = heap[child];
+            if (key <= keys[cid]) {
+                break;
+            }
+            heap[i] = cid;
+            pos[cid] = i;
+            i = child;
+        }
+        heap[i] = id;
+        pos[id] = i;
+    }
+}
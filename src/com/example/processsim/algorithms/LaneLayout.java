@@ -0,0 +1,135 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Swimlane layout of a timeline: one lane per process, in order of first dispatch, holding
+ * that process's slices in time order. Grouped by level, there is one lane per process and
+ * queue level it ran at, ordered by level, so demotions and promotions show as a process
+ * moving between groups.
+ * <p>
+ * Built once per result (see {@link SimResult#lanes}); a view then only touches the lanes
+ * in sight and finds the first visible slice of each by binary search.
+ */
+public class LaneLayout {
+    private final String[] names;
+    private final int[] levels;
+    private final int[][] starts;
+    private final int[][] ends;
+    private final int end;
+
+    /**
+     * @param byLevel one lane per process and level instead of per process; only useful when
+     *                the slices carry a {@link GanttEntry#level}
+     */
+    public LaneLayout(List<GanttEntry> timeline, boolean byLevel) {
+        // Lane key: process name, plus the level when grouping
+        Map<String, Integer> process = new HashMap<>();
+        Map<Long, Integer> laneOf = new HashMap<>();
+        List<String> laneNames = new ArrayList<>();
+        List<Integer> laneLevels = new ArrayList<>();
+        List<Integer> laneFirst = new ArrayList<>();
+        int[] counts = new int[16];
+        int[] laneIndex = new int[timeline.size()];
+        int last = 0;
+        for (int i = 0; i < timeline.size(); i++) {
+            GanttEntry e = timeline.get(i);
+            int p = process.computeIfAbsent(e.name, n -> process.size());
+            int level = byLevel ? Math.max(0, e.level) : -1;
+            long key = ((long) p << 20) | (level + 1);
+            Integer lane = laneOf.get(key);
+            if (lane == null) {
+                lane = laneNames.size();
+                laneOf.put(key, lane);
+                laneNames.add(e.name);
+                laneLevels.add(level);
+                laneFirst.add(p);
+                if (lane == counts.length) {
+                    counts = Arrays.copyOf(counts, lane * 2);
+                }
+            }
+            laneIndex[i] = lane;
+            counts[lane]++;
+            last = Math.max(last, e.end);
+        }
+        this.end = last;
+
+        // Order lanes by level, then by first dispatch of the process
+        int lanes = laneNames.size();
+        Integer[] order = new Integer[lanes];
+        for (int i = 0; i < lanes; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingInt(laneLevels::get).thenComparingInt(laneFirst::get));
+        int[] position = new int[lanes];
+        names = new String[lanes];
+        levels = new int[lanes];
+        starts = new int[lanes][];
+        ends = new int[lanes][];
+        for (int pos = 0; pos < lanes; pos++) {
+            int lane = order[pos];
+            position[lane] = pos;
+            names[pos] = laneNames.get(lane);
+            levels[pos] = laneLevels.get(lane);
+            starts[pos] = new int[counts[lane]];
+            ends[pos] = new int[counts[lane]];
+        }
+        int[] filled = new int[lanes];
+        for (int i = 0; i < timeline.size(); i++) {
+            int pos = position[laneIndex[i]];
+            GanttEntry e = timeline.get(i);
+            starts[pos][filled[pos]] = e.start;
+            ends[pos][filled[pos]++] = e.end;
+        }
+    }
+
+    public int lanes() {
+        return names.length;
+    }
+
+    /** Process shown on {@code lane}. */
+    public String name(int lane) {
+        return names[lane];
+    }
+
+    /** Queue level of {@code lane} when grouped by level, otherwise -1. */
+    public int level(int lane) {
+        return levels[lane];
+    }
+
+    /** Number of slices on {@code lane}. */
+    public int slices(int lane) {
+        return starts[lane].length;
+    }
+
+    public int start(int lane, int slice) {
+        return starts[lane][slice];
+    }
+
+    public int end(int lane, int slice) {
+        return ends[lane][slice];
+    }
+
+    /** End of the last slice. */
+    public int end() {
+        return end;
+    }
+
+    /**
+     * First slice of {@code lane} that ends after {@code time}; {@link #slices} if none.
+     * Slices of one lane never overlap, so their ends are sorted.
+     */
+    public int firstEndingAfter(int lane, int time) {
+        int[] e = ends[lane];
+        int lo = 0, hi = e.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (e[mid] <= time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
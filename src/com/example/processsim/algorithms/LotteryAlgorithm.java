@@ -0,0 +1,117 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Lottery scheduling.
+ * <p>
+ * Every quantum, a ticket is drawn at random among the tickets of all runnable processes
+ * ({@link Proc#tickets}) and its holder runs for the quantum or until its CPU burst ends.
+ * Over time each process gets a share of the CPU proportional to its tickets, with the
+ * error of a random draw.
+ * <p>
+ * The tickets of the runnable processes sit in a {@link FenwickTree} indexed by arrival
+ * order, so a draw is a descent of the tree and joins and leaves are point updates, all
+ * O(log n). Draws come from a seeded generator, so runs are repeatable. The result carries
+ * a {@link FairnessReport}.
+ */
+public class LotteryAlgorithm extends SchedulingAlgorithm {
+
+    public static final int DEFAULT_SEED = 1;
+
+    private final int seed;
+
+    public LotteryAlgorithm(List<Proc> processes, int quantum) {
+        this(processes, quantum, DEFAULT_SEED);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a process holds fewer than one ticket
+     */
+    public LotteryAlgorithm(List<Proc> processes, int quantum, int seed) {
+        super(processes, quantum);
+        for (Proc p : processes) {
+            if (p.tickets < 1) {
+                throw new IllegalArgumentException("Tickets must be >= 1: " + p.name);
+            }
+        }
+        this.seed = seed;
+    }
+
+    @Override
+    public String getName() {
+        return "Lottery (Q=" + quantum + ", seed=" + seed + ")";
+    }
+
+    @Override
+    public SimResult run() {
+        beginRun();
+        List<Proc> procs = workingCopy();
+        procs.sort(Comparator.comparingInt(p -> p.arrival));
+
+        int n = procs.size();
+        FenwickTree tickets = new FenwickTree(n);
+        FairnessTracker fairness = new FairnessTracker(procs, series);
+        SplittableRandom random = new SplittableRandom(seed);
+        IODevices io = devicesFor(procs);
+        ReadyEvents events = new ReadyEvents(procs, io);
+        List<GanttEntry> timeline = newTimeline();
+        int runnable = 0;
+        int time = 0;
+
+        while (true) {
+            // Add all processes that have arrived or returned from I/O
+            while (events.hasReadyBy(time)) {
+                int id = events.poll();
+                tickets.add(id, procs.get(id).tickets);
+                fairness.join(id, time);
+                runnable++;
+            }
+
+            if (runnable == 0) {
+                if (!events.isEmpty()) {
+                    // Jump to next arrival time
+                    stats.idle(time, events.nextTime());
+                    time = events.nextTime();
+                    continue;
+                } else {
+                    break; // All done
+                }
+            }
+
+            int id = tickets.find(random.nextLong(tickets.total()));
+            Proc p = procs.get(id);
+            stats.queueLength(0, runnable - 1);
+            if (p.start == -1) {
+                p.start = time;
+            }
+
+            int runTime = Math.min(quantum, p.remaining);
+            timeline.add(slice(p.name, time, time + runTime));
+            fairness.dispatch(id, time);
+            p.remaining -= runTime;
+            fairness.ran(id, time, time + runTime);
+            time += runTime;
+
+            if (p.remaining > 0) {
+                stats.preemption(); // holds its tickets for the next draw
+                continue;
+            }
+            tickets.add(id, -p.tickets);
+            fairness.leave(id, time);
+            runnable--;
+            if (p.hasMoreBursts()) {
+                events.block(id, time);
+            } else {
+                p.finish = time;
+            }
+        }
+
+        SimResult result = buildResult(procs, timeline, io);
+        result.fairness = fairness.report(procs);
+        if (result.text != null) {
+            result.text += result.fairness.describe();
+        }
+        return result;
+    }
+}
@@ -2,175 +2,147 @@ package com.example.processsim.algorithms;
 
 import java.util.*;
 
-
+/**
+ * Multi-Level Feedback Queue scheduling algorithm, driven by an {@link MLFQConfig}.
+ * New processes enter level 0, a process that uses its full quantum is demoted one level,
+ * aging promotes a process that has waited more than the aging threshold, and an optional
+ * periodic boost moves every process back to level 0.
+ */
 public class MLFQAlgorithm extends SchedulingAlgorithm {
 
-    private static final int NUM_QUEUES = 3;
-    private final int q0;
-    private final int q1;
-    private static final int AGING_THRESHOLD = 10;
+    public static final int DEFAULT_AGING_THRESHOLD = 10;
+
+    private final MLFQConfig config;
 
     public MLFQAlgorithm(List<Proc> processes) {
         this(processes, 2, 4);
     }
 
     public MLFQAlgorithm(List<Proc> processes, int q0, int q1) {
+        this(processes, MLFQConfig.defaults(Math.max(1, q0), Math.max(1, q1)));
+    }
+
+    /**
+     * @param quanta         quantum of each round-robin level; an FCFS level is added below them
+     * @param agingThreshold waiting time after which a process is promoted one level
+     */
+    public MLFQAlgorithm(List<Proc> processes, int[] quanta, int agingThreshold) {
+        this(processes, MLFQConfig.of(quanta, agingThreshold));
+    }
+
+    public MLFQAlgorithm(List<Proc> processes, MLFQConfig config) {
         super(processes);
-        this.q0 = Math.max(1, q0);
-        this.q1 = Math.max(1, q1);
+        this.config = config;
     }
 
     @Override
     public String getName() {
-        return "MLFQ [Q0=" + q0 + ", Q1=" + q1 + ", Q2=FCFS]";
-    }
-
-    /* ── tiny helper to track per-process MLFQ state ── */
-    private static class MlfqProc {
-        Proc proc;
-        int queueLevel;         
-        int lastRunTime;
-        int queueEnterTime;  // When process entered current queue
-
-        MlfqProc(Proc p, int arrivalTime) {
-            this.proc = p;
-            this.queueLevel = 0; 
-            this.lastRunTime = arrivalTime;
-            this.queueEnterTime = arrivalTime;
-        }
+        return "MLFQ [" + config.describe() + "]";
     }
 
     @Override
     public SimResult run() {
-        List<Proc> procs = new ArrayList<>(processes);
+        beginRun();
+        List<Proc> procs = workingCopy();
         procs.sort(Comparator.comparingInt(p -> p.arrival));
 
-        // Wrap each Proc with MLFQ metadata
-        List<MlfqProc> allMlfq = new ArrayList<>();
-        for (Proc p : procs) {
-            allMlfq.add(new MlfqProc(p, p.arrival));
-        }
-
-        // Three ready queues (FIFO order inside each)
-        @SuppressWarnings("unchecked")
-        Queue<MlfqProc>[] queues = new LinkedList[NUM_QUEUES];
-        for (int i = 0; i < NUM_QUEUES; i++) {
-            queues[i] = new LinkedList<>();
-        }
-
-        List<GanttEntry> timeline = new ArrayList<>();
+        MLFQQueues queues = new MLFQQueues(config);
+        IODevices io = devicesFor(procs);
+        ReadyEvents events = new ReadyEvents(procs, io);
+        MLFQQueues.Entry[] entries = new MLFQQueues.Entry[procs.size()];
+        List<GanttEntry> timeline = newTimeline();
         int time = 0;
-        int admitted = 0;  
         int completed = 0;
 
         while (completed < procs.size()) {
 
             // 1. Admit newly arrived processes into Queue 0
-            while (admitted < allMlfq.size() && allMlfq.get(admitted).proc.arrival <= time) {
-                MlfqProc newProc = allMlfq.get(admitted);
-                newProc.queueEnterTime = time; // Set entry time when actually admitted
-                queues[0].add(newProc);
-                admitted++;
-            }
+            admit(procs, events, entries, queues, time);
 
-            // 2. Aging – promote starving processes
-            applyAging(queues, time);
+            // 2. Periodic boost, then aging – promote starving processes
+            queues.boostIfDue(time);
+            queues.age(time);
 
             // 3. Pick the highest-priority non-empty queue
-            int level = -1;
-            for (int i = 0; i < NUM_QUEUES; i++) {
-                if (!queues[i].isEmpty()) {
-                    level = i;
-                    break;
-                }
-            }
+            int level = queues.highestLevel();
 
             if (level == -1) {
                 // CPU idle – fast-forward to next arrival
-                if (admitted < allMlfq.size()) {
-                    time = allMlfq.get(admitted).proc.arrival;
+                if (!events.isEmpty()) {
+                    stats.idle(time, events.nextTime());
+                    time = events.nextTime();
                     continue;
                 } else {
                     break; // nothing left
                 }
             }
 
-            MlfqProc mp = queues[level].poll();
+            MLFQQueues.Entry mp = queues.poll(level);
             Proc p = mp.proc;
+            if (stats.isEnabled()) {
+                for (int l = 0; l < queues.levels(); l++) {
+                    stats.queueLength(l, queues.size(l));
+                }
+            }
+            if (series != null) {
+                for (int l = 0; l < queues.levels(); l++) {
+                    series.setLevel(l, time, queues.size(l));
+                }
+            }
 
             if (p.start == -1) {
                 p.start = time;
             }
 
-            int quantum = switch (level) {
-                case 0 -> q0;
-                case 1 -> q1;
-                default -> Integer.MAX_VALUE; // Q2 = FCFS
-            };
-            int runTime = Math.min(quantum, p.remaining);
+            int runTime = Math.min(config.quantum(level), p.remaining);
 
-            timeline.add(new GanttEntry(p.name, time, time + runTime));
+            GanttEntry slice = slice(p.name, time, time + runTime);
+            slice.level = level;
+            timeline.add(slice);
             p.remaining -= runTime;
             time += runTime;
-            mp.lastRunTime = time;
 
             // Admit processes that arrived during execution
-            while (admitted < allMlfq.size() && allMlfq.get(admitted).proc.arrival <= time) {
-                MlfqProc newProc = allMlfq.get(admitted);
-                newProc.queueEnterTime = time; // Set entry time when actually admitted
-                queues[0].add(newProc);
-                admitted++;
-            }
+            admit(procs, events, entries, queues, time);
 
             if (p.remaining == 0) {
-                // Process finished
-                p.finish = time;
-                completed++;
-            } else if (runTime == quantum && level < NUM_QUEUES - 1) {
-                // Used full quantum without finishing → demote
-                mp.queueLevel = level + 1;
-                mp.queueEnterTime = time;  // Record when entered new queue
-                queues[mp.queueLevel].add(mp);
+                if (p.hasMoreBursts()) {
+                    // Gave up the CPU for I/O before its quantum expired → keeps its level
+                    events.block(mp.id, time);
+                } else {
+                    // Process finished
+                    p.finish = time;
+                    completed++;
+                }
             } else {
-                // Didn't use full quantum → stay in same queue
-                // Don't update queueEnterTime - it continues waiting from same position
-                queues[level].add(mp);
+                // Used full quantum without finishing → demote (the last level re-queues),
+                // unless a boost is due
+                int next = Math.min(level + 1, queues.levels() - 1);
+                if (queues.boostIfDue(time)) {
+                    next = 0;
+                }
+                queues.add(mp, next, time);
+                stats.preemption();
             }
         }
 
-        return buildResult(procs, timeline);
+        stats.promoted(queues.getPromotions());
+        stats.boosted(queues.getBoosts());
+
+        return buildResult(procs, timeline, io);
     }
 
-    private void applyAging(Queue<MlfqProc>[] queues, int currentTime) {
-        for (int level = 1; level < NUM_QUEUES; level++) {
-            // Only apply aging if there are processes in higher-priority queues
-            // (to prevent unnecessary promotion when queue is about to run anyway)
-            boolean hasHigherPriority = false;
-            for (int i = 0; i < level; i++) {
-                if (!queues[i].isEmpty()) {
-                    hasHigherPriority = true;
-                    break;
-                }
-            }
-            
-            if (!hasHigherPriority) {
-                continue; // Skip aging for this level if no higher priority work
-            }
-            
-            Iterator<MlfqProc> it = queues[level].iterator();
-            List<MlfqProc> promoted = new ArrayList<>();
-            while (it.hasNext()) {
-                MlfqProc mp = it.next();
-                // Use queueEnterTime for aging calculation instead of lastRunTime
-                if (currentTime - mp.queueEnterTime > AGING_THRESHOLD) {
-                    it.remove();
-                    mp.queueLevel = level - 1;
-                    mp.queueEnterTime = currentTime; // reset aging clock
-                    promoted.add(mp);
-                }
+    private static void admit(List<Proc> procs, ReadyEvents events, MLFQQueues.Entry[] entries,
+                              MLFQQueues queues, int time) {
+        while (events.hasReadyBy(time)) {
+            int id = events.poll();
+            // Entry time is when the process is actually admitted
+            if (entries[id] == null) {
+                entries[id] = new MLFQQueues.Entry(procs.get(id), id);
+                queues.add(entries[id], 0, time);
+            } else {
+                queues.add(entries[id], entries[id].getLevel(), time);
             }
-            // Add promoted processes to the end of the higher-priority queue
-            queues[level - 1].addAll(promoted);
         }
     }
 }
@@ -0,0 +1,121 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Configuration of a multi-level feedback queue: the levels from highest to lowest
+ * priority, each with its own policy and quantum, plus aging and the periodic global
+ * priority boost (every {@code boostPeriod} time units all waiting processes move back
+ * to level 0).
+ */
+public class MLFQConfig {
+
+    public enum Policy { RR, FCFS }
+
+    /**
+     * One level of the queue. FCFS levels run a process to completion.
+     */
+    public static class Level {
+        public final Policy policy;
+        public final int quantum;
+
+        public Level(Policy policy, int quantum) {
+            this.policy = policy;
+            this.quantum = policy == Policy.FCFS ? Integer.MAX_VALUE : Math.max(1, quantum);
+        }
+
+        public static Level rr(int quantum) {
+            return new Level(Policy.RR, quantum);
+        }
+
+        public static Level fcfs() {
+            return new Level(Policy.FCFS, 0);
+        }
+    }
+
+    public final List<Level> levels;
+    public final int agingThreshold;
+    /** 0 disables the periodic priority boost. */
+    public final int boostPeriod;
+
+    public MLFQConfig(List<Level> levels, int agingThreshold, int boostPeriod) {
+        if (levels.isEmpty() || levels.size() > MLFQQueues.MAX_LEVELS) {
+            throw new IllegalArgumentException("MLFQ supports 1.." + MLFQQueues.MAX_LEVELS
+                + " levels, got " + levels.size());
+        }
+        this.levels = List.copyOf(levels);
+        this.agingThreshold = Math.max(0, agingThreshold);
+        this.boostPeriod = Math.max(0, boostPeriod);
+    }
+
+    /**
+     * Round-robin levels with the given quanta above a final FCFS level.
+     */
+    public static MLFQConfig of(int[] quanta, int agingThreshold) {
+        List<Level> levels = new ArrayList<>();
+        for (int q : quanta) {
+            levels.add(Level.rr(q));
+        }
+        levels.add(Level.fcfs());
+        return new MLFQConfig(levels, agingThreshold, 0);
+    }
+
+    /**
+     * The classic three-level queue: Q0 and Q1 round robin, Q2 FCFS.
+     */
+    public static MLFQConfig defaults(int q0, int q1) {
+        return of(new int[]{q0, q1}, MLFQAlgorithm.DEFAULT_AGING_THRESHOLD);
+    }
+
+    /**
+     * {@code count} round-robin levels whose quantum doubles at every level, in the style
+     * of kernel schedulers with many priority levels.
+     */
+    public static MLFQConfig geometric(int count, int baseQuantum, int agingThreshold, int boostPeriod) {
+        List<Level> levels = new ArrayList<>();
+        long q = Math.max(1, baseQuantum);
+        for (int i = 0; i < count; i++) {
+            levels.add(Level.rr((int) Math.min(q, Integer.MAX_VALUE)));
+            q *= 2;
+        }
+        return new MLFQConfig(levels, agingThreshold, boostPeriod);
+    }
+
+    public int size() {
+        return levels.size();
+    }
+
+    public int quantum(int level) {
+        return levels.get(level).quantum;
+    }
+
+    /**
+     * Short description used in algorithm names, e.g. {@code Q0=2, Q1=4, Q2=FCFS}.
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        int n = levels.size();
+        for (int i = 0; i < n; i++) {
+            if (n > 4 && i == 2) {
+                sb.append("…, ");
+                i = n - 1;
+            }
+            Level l = levels.get(i);
+            sb.append('Q').append(i).append('=')
+              .append(l.policy == Policy.FCFS ? "FCFS" : String.valueOf(l.quantum));
+            if (i < n - 1) {
+                sb.append(", ");
+            }
+        }
+        if (n > 4) {
+            sb.append(" (").append(n).append(" levels)");
+        }
+        if (agingThreshold != MLFQAlgorithm.DEFAULT_AGING_THRESHOLD) {
+            sb.append(", aging=").append(agingThreshold);
+        }
+        if (boostPeriod > 0) {
+            sb.append(", boost=").append(boostPeriod);
+        }
+        return sb.toString();
+    }
+}
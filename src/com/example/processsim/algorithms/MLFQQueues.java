@@ -0,0 +1,178 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Ready queues of a multi-level feedback queue, shared by the batch and online MLFQ.
+ * <p>
+ * Every process enters the tail of a level stamped with the current time, so each level
+ * is a FIFO already sorted by {@code queueEnterTime} and the processes due for aging are
+ * always at its head – which also holds after a priority boost, since boosted processes
+ * join level 0 stamped with the boost time. Aging therefore pops heads until the first one that is not due,
+ * making each promotion O(1) amortized instead of a scan of the whole level. A bitmap of
+ * non-empty levels answers "highest non-empty level" and "is a higher level busy" in O(1).
+ */
+public class MLFQQueues {
+
+    /** Levels are tracked in a {@code long} bitmap. */
+    public static final int MAX_LEVELS = 64;
+
+    /* ── per-process MLFQ state ── */
+    public static class Entry {
+        public final Proc proc;
+        /** Caller-defined index of the process, -1 if unused. */
+        public final int id;
+        int level;
+        int queueEnterTime;  // When process entered current queue
+
+        public Entry(Proc proc) {
+            this(proc, -1);
+        }
+
+        public Entry(Proc proc, int id) {
+            this.proc = proc;
+            this.id = id;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+    }
+
+    private final ArrayDeque<Entry>[] queues;
+    private final int agingThreshold;
+    private final int boostPeriod;
+    private int nextBoost;
+    private long nonEmpty = 0;
+    private long promotions = 0;
+    private long boosts = 0;
+
+    /**
+     * @param agingThreshold a process waiting longer than this in one level is promoted;
+     *                       {@code Integer.MAX_VALUE} disables aging
+     */
+    public MLFQQueues(int levels, int agingThreshold) {
+        this(levels, agingThreshold, 0);
+    }
+
+    public MLFQQueues(MLFQConfig config) {
+        this(config.size(), config.agingThreshold, config.boostPeriod);
+    }
+
+    /**
+     * @param boostPeriod time between periodic priority boosts; 0 disables them
+     */
+    @SuppressWarnings("unchecked")
+    public MLFQQueues(int levels, int agingThreshold, int boostPeriod) {
+        if (levels < 1 || levels > MAX_LEVELS) {
+            throw new IllegalArgumentException("MLFQ supports 1.." + MAX_LEVELS + " levels, got " + levels);
+        }
+        this.agingThreshold = agingThreshold;
+        this.boostPeriod = boostPeriod;
+        this.nextBoost = boostPeriod;
+        queues = new ArrayDeque[levels];
+        for (int i = 0; i < levels; i++) {
+            queues[i] = new ArrayDeque<>();
+        }
+    }
+
+    public int levels() {
+        return queues.length;
+    }
+
+    public boolean isEmpty() {
+        return nonEmpty == 0;
+    }
+
+    public int size(int level) {
+        return queues[level].size();
+    }
+
+    /**
+     * Append {@code e} to {@code level}, restarting its aging clock at {@code time}.
+     */
+    public void add(Entry e, int level, int time) {
+        e.level = level;
+        e.queueEnterTime = time;
+        queues[level].add(e);
+        nonEmpty |= 1L << level;
+    }
+
+    /** Highest-priority non-empty level, or -1. */
+    public int highestLevel() {
+        return nonEmpty == 0 ? -1 : Long.numberOfTrailingZeros(nonEmpty);
+    }
+
+    public Entry poll(int level) {
+        Entry e = queues[level].poll();
+        if (queues[level].isEmpty()) {
+            nonEmpty &= ~(1L << level);
+        }
+        return e;
+    }
+
+    /**
+     * Aging – promote processes that have waited too long in their level by one level.
+     * A level is only aged while some higher-priority level has work, since otherwise
+     * it is about to run anyway.
+     */
+    public void age(int currentTime) {
+        long candidates = nonEmpty & ~1L;
+        while (candidates != 0) {
+            int level = Long.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            if ((nonEmpty & ((1L << level) - 1)) == 0) {
+                continue; // Skip aging for this level if no higher priority work
+            }
+            ArrayDeque<Entry> q = queues[level];
+            while (!q.isEmpty() && currentTime - q.peek().queueEnterTime > agingThreshold) {
+                add(q.poll(), level - 1, currentTime); // reset aging clock
+                promotions++;
+            }
+            if (q.isEmpty()) {
+                nonEmpty &= ~(1L << level);
+            }
+        }
+    }
+
+    /**
+     * Apply the periodic priority boost if one is due at {@code currentTime}.
+     * Missed periods (e.g. while the CPU was idle) are skipped.
+     *
+     * @return whether a boost was applied
+     */
+    public boolean boostIfDue(int currentTime) {
+        if (boostPeriod == 0 || currentTime < nextBoost) {
+            return false;
+        }
+        boost(currentTime);
+        nextBoost = (currentTime / boostPeriod + 1) * boostPeriod;
+        return true;
+    }
+
+    /**
+     * Priority boost – move every waiting process to level 0, keeping the order of
+     * levels and the FIFO order within each level.
+     */
+    public void boost(int currentTime) {
+        long lower = nonEmpty & ~1L;
+        while (lower != 0) {
+            int level = Long.numberOfTrailingZeros(lower);
+            lower &= lower - 1;
+            ArrayDeque<Entry> q = queues[level];
+            while (!q.isEmpty()) {
+                add(q.poll(), 0, currentTime);
+            }
+            nonEmpty &= ~(1L << level);
+        }
+        boosts++;
+    }
+
+    public long getPromotions() {
+        return promotions;
+    }
+
+    public long getBoosts() {
+        return boosts;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * A schedule objective, to be minimized, for comparing algorithms against the
+ * {@link OptimalSolver}. Shortest remaining time first already minimizes the mean turnaround
+ * of CPU-only processes, so these are objectives it does not.
+ * <p>
+ * A process's weight is the CFS weight of its nice level ({@link CFSAlgorithm#weightOf}), and
+ * its due date is its arrival plus its {@link Proc#relativeDeadline relative deadline}, or
+ * plus its burst time when it has none; lateness is finish minus due date.
+ */
+public enum Objective {
+    WEIGHTED_TURNAROUND("Weighted mean turnaround"),
+    MAX_LATENESS("Max lateness"),
+    TAIL_TURNAROUND("95th-percentile turnaround");
+
+    /** Percentile of {@link #TAIL_TURNAROUND}. */
+    public static final int TAIL_PERCENTILE = 95;
+
+    private final String label;
+
+    Objective(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    static long weight(Proc p) {
+        return CFSAlgorithm.weightOf(p.priority);
+    }
+
+    static long dueDate(Proc p) {
+        return (long) p.arrival + (p.relativeDeadline() > 0 ? p.relativeDeadline() : p.burst);
+    }
+
+    /**
+     * Which turnaround, counted from the largest, is the {@link #TAIL_PERCENTILE} one of
+     * {@code n} processes (nearest rank).
+     */
+    static int tailRank(int n) {
+        return n - (int) Math.ceil(n * TAIL_PERCENTILE / 100.0) + 1;
+    }
+
+    /**
+     * Value of this objective for processes that have all finished, such as
+     * {@link SimResult#processes}.
+     */
+    public double value(List<Proc> finished) {
+        switch (this) {
+            case WEIGHTED_TURNAROUND -> {
+                long sum = 0, weights = 0;
+                for (Proc p : finished) {
+                    sum += weight(p) * (p.finish - p.arrival);
+                    weights += weight(p);
+                }
+                return weights == 0 ? 0 : (double) sum / weights;
+            }
+            case MAX_LATENESS -> {
+                long worst = Long.MIN_VALUE;
+                for (Proc p : finished) {
+                    worst = Math.max(worst, p.finish - dueDate(p));
+                }
+                return finished.isEmpty() ? 0 : worst;
+            }
+            default -> {
+                int[] turnaround = new int[finished.size()];
+                for (int i = 0; i < turnaround.length; i++) {
+                    turnaround[i] = finished.get(i).finish - finished.get(i).arrival;
+                }
+                Arrays.sort(turnaround);
+                return turnaround.length == 0 ? 0 : turnaround[turnaround.length - tailRank(turnaround.length)];
+            }
+        }
+    }
+}
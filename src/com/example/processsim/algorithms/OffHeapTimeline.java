@@ -0,0 +1,165 @@
+package com.example.processsim.algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * A timeline kept off the Java heap, for runs with more slices than any heap holds.
+ * <p>
+ * Slices are appended to a direct buffer of {@code segmentSlices} slices, 16 bytes each
+ * (process id, start, end, level). When it fills, the segment is sealed: written to a spill
+ * file in the spill directory and mapped back read-only, and the buffer is reused for the
+ * next one. The heap holds only the process names and one mapping per segment, a few MB
+ * for a billion slices; the operating system pages sealed segments in and out as they are
+ * read.
+ * <p>
+ * As a {@code List} it is append-only, and {@link #get} builds a new {@link GanttEntry}
+ * each call; read long timelines through {@link #cursor()} instead. Appending is not
+ * thread-safe; once complete, any number of cursors may read it concurrently. The spill
+ * file is deleted on {@link #close()}, or at exit.
+ */
+public class OffHeapTimeline extends AbstractList<GanttEntry> implements RandomAccess, Closeable {
+    /** Slices per segment by default: 16 MiB segments. */
+    public static final int DEFAULT_SEGMENT_SLICES = 1 << 20;
+    private static final int SLICE_BYTES = 16;
+
+    private final Path dir;
+    private final int shift;
+    private final int mask;
+    private final ByteBuffer head;
+    private final List<ByteBuffer> sealed = new ArrayList<>();
+    private FileChannel spill;
+    private int size;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    public OffHeapTimeline(Path dir) {
+        this(dir, DEFAULT_SEGMENT_SLICES);
+    }
+
+    /**
+     * @param dir           directory of the spill file, created on the first sealed segment
+     * @param segmentSlices slices per segment, a power of two
+     */
+    public OffHeapTimeline(Path dir, int segmentSlices) {
+        if (segmentSlices < 1 || Integer.bitCount(segmentSlices) != 1 || segmentSlices > (1 << 26)) {
+            throw new IllegalArgumentException("Segment size must be a power of two up to 2^26: " + segmentSlices);
+        }
+        this.dir = dir;
+        this.shift = Integer.numberOfTrailingZeros(segmentSlices);
+        this.mask = segmentSlices - 1;
+        this.head = ByteBuffer.allocateDirect(segmentSlices * SLICE_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public boolean add(GanttEntry e) {
+        add(e.name, e.start, e.end, e.level);
+        return true;
+    }
+
+    /** Append a slice without a {@link GanttEntry}. */
+    public void add(String name, int start, int end, int level) {
+        if (size == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Timeline full");
+        }
+        if (!head.hasRemaining()) {
+            seal();
+        }
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        head.putInt(id).putInt(start).putInt(end).putInt(level);
+        size++;
+    }
+
+    /** Write the full head segment to the spill file and map it back. */
+    private void seal() {
+        try {
+            if (spill == null) {
+                Files.createDirectories(dir);
+                Path file = Files.createTempFile(dir, "timeline-", ".spill");
+                spill = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            }
+            long offset = (long) sealed.size() * head.capacity();
+            head.flip();
+            for (long at = offset; head.hasRemaining(); ) {
+                at += spill.write(head, at);
+            }
+            sealed.add(spill.map(FileChannel.MapMode.READ_ONLY, offset, head.capacity()).order(ByteOrder.nativeOrder()));
+            head.clear();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot spill timeline to " + dir, ex);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public GanttEntry get(int index) {
+        Objects.checkIndex(index, size);
+        ByteBuffer segment = segment(index);
+        int at = (index & mask) * SLICE_BYTES;
+        GanttEntry e = new GanttEntry(names.get(segment.getInt(at)), segment.getInt(at + 4), segment.getInt(at + 8));
+        e.level = segment.getInt(at + 12);
+        return e;
+    }
+
+    private ByteBuffer segment(int index) {
+        int s = index >>> shift;
+        return s < sealed.size() ? sealed.get(s) : head;
+    }
+
+    /** Slices sealed into the spill file; the rest are in the direct buffer. */
+    public long spilledSlices() {
+        return (long) sealed.size() << shift;
+    }
+
+    /** Number of distinct process names. */
+    public int processCount() {
+        return names.size();
+    }
+
+    public SliceCursor cursor() {
+        return new SliceCursor() {
+            private ByteBuffer segment;
+            private int at;
+
+            @Override public int size() { return size; }
+
+            @Override
+            protected void load(int index) {
+                segment = segment(index);
+                at = (index & mask) * SLICE_BYTES;
+            }
+
+            @Override public String name() { return names.get(segment.getInt(at)); }
+            @Override public int start() { return segment.getInt(at + 4); }
+            @Override public int end() { return segment.getInt(at + 8); }
+            @Override public int level() { return segment.getInt(at + 12); }
+        };
+    }
+
+    /**
+     * Delete the spill file. The mapped segments are released when no longer reachable;
+     * the timeline must not be read afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        if (spill != null) {
+            spill.close();
+        }
+    }
+}
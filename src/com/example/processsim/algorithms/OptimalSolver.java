@@ -0,0 +1,617 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Offline search for a schedule that minimizes an {@link Objective}, knowing every process in
+ * advance, to measure how far the online algorithms are from the best possible schedule.
+ * <p>
+ * Processes must be CPU-only and not periodic. The CPU may be taken from a process at any
+ * time; for these objectives some optimal schedule only switches processes when one arrives
+ * or finishes, so the search branches, at each arrival or completion, on which waiting
+ * process runs until the next one. It is a parallel depth-first branch and bound on a
+ * {@link ForkJoinPool}:
+ * <ul>
+ *   <li>Each node has a lower bound on the objective of every schedule below it: preemptive
+ *       earliest-due-date from that point, which is exact for max lateness; for weighted
+ *       turnaround the larger of weighted shortest processing time with every remaining
+ *       process released at once and each process's own earliest finish; for the tail the
+ *       smallest turnaround that every process but the few above the percentile could meet
+ *       by processor demand. Children are visited in order of bound and those that cannot
+ *       beat the best schedule found are pruned.</li>
+ *   <li>The future of a node only depends on its time and the remaining work of each
+ *       process, so states already reached are memoized with the best cost so far and a
+ *       state reached again at no better cost is pruned.</li>
+ *   <li>Greedy dives by earliest due date, weighted and plain shortest remaining time and
+ *       arrival order give the first schedules to prune against. The upper levels of the
+ *       tree are forked as tasks; below them each task searches sequentially.</li>
+ * </ul>
+ * The search stops after {@code timeLimit} seconds. The result is then the best schedule
+ * found, and the bound the smallest lower bound of the parts left unexplored, so the gap
+ * between the two bounds the regret of that schedule. It is meant for up to a few dozen
+ * processes; the {@link SolverReport} says whether optimality was proved.
+ */
+public class OptimalSolver extends SchedulingAlgorithm {
+
+    public static final double DEFAULT_TIME_LIMIT = 10;
+
+    /** Ints of remaining work held by the memo across all states. */
+    private static final int MEMO_INTS = 1 << 24;
+    /** Levels of the search tree whose children are forked as tasks. */
+    private static final int SPLIT_DEPTH = 6;
+
+    private final Objective objective;
+    private final double timeLimit;
+    private final int threads;
+
+    public OptimalSolver(List<Proc> processes, Objective objective) {
+        this(processes, objective, DEFAULT_TIME_LIMIT, Runtime.getRuntime().availableProcessors());
+    }
+
+    public OptimalSolver(List<Proc> processes, Objective objective, double timeLimit, int threads) {
+        super(processes, 1);
+        for (Proc p : processes) {
+            if (p.bursts != null || p.isPeriodic()) {
+                throw new IllegalArgumentException("The optimal solver needs CPU-only, non-periodic processes: " + p.name);
+            }
+            if (p.burst < 1) {
+                throw new IllegalArgumentException("Burst must be >= 1: " + p.name);
+            }
+        }
+        if (!(timeLimit > 0)) {
+            throw new IllegalArgumentException("Time limit must be positive");
+        }
+        this.objective = objective;
+        this.timeLimit = timeLimit;
+        this.threads = Math.max(1, threads);
+    }
+
+    @Override
+    public String getName() {
+        return "Optimal (" + objective.label() + ")";
+    }
+
+    /** A run of one process, linked to the runs before it. */
+    private static final class Segment {
+        final int job;
+        final int start;
+        final int end;
+        final Segment prev;
+
+        Segment(int job, int start, int end, Segment prev) {
+            this.job = job;
+            this.start = start;
+            this.end = end;
+            this.prev = prev;
+        }
+    }
+
+    /** A point where a process is to be picked; never changed once built. */
+    private static final class Node {
+        final int time;
+        final int[] remaining;
+        final int done;
+        /** Weighted turnaround or max lateness of the finished processes. */
+        final long partial;
+        /** Turnarounds of the finished processes, largest first; tail objective only. */
+        final int[] flows;
+        final Segment path;
+        long bound;
+
+        Node(int time, int[] remaining, int done, long partial, int[] flows, Segment path) {
+            this.time = time;
+            this.remaining = remaining;
+            this.done = done;
+            this.partial = partial;
+            this.flows = flows;
+            this.path = path;
+        }
+    }
+
+    /** Memo key: a time and the remaining work of every process. */
+    private static final class State {
+        final int time;
+        final int[] remaining;
+        final int hash;
+
+        State(Node node) {
+            this.time = node.time;
+            this.remaining = node.remaining;
+            this.hash = 31 * Arrays.hashCode(remaining) + time;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof State s && s.time == time && s.hash == hash && Arrays.equals(s.remaining, remaining);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Override
+    public SimResult run() {
+        beginRun();
+        List<Proc> procs = workingCopy();
+        procs.sort(Comparator.comparingInt(p -> p.arrival));
+        Search search = new Search(procs);
+        long t0 = System.nanoTime();
+        search.solve();
+        double seconds = (System.nanoTime() - t0) / 1e9;
+
+        // Replay the best schedule, merging consecutive runs of one process
+        List<GanttEntry> timeline = newTimeline();
+        List<Segment> runs = new ArrayList<>();
+        for (Segment s = search.best; s != null; s = s.prev) {
+            runs.add(s);
+        }
+        Collections.reverse(runs);
+        int clock = procs.isEmpty() ? 0 : procs.get(0).arrival;
+        for (int i = 0; i < runs.size(); ) {
+            Segment s = runs.get(i);
+            int end = s.end;
+            for (i++; i < runs.size() && runs.get(i).job == s.job && runs.get(i).start == end; i++) {
+                end = runs.get(i).end;
+            }
+            if (s.start > clock) {
+                stats.idle(clock, s.start);
+            }
+            Proc p = procs.get(s.job);
+            if (p.start == -1) {
+                p.start = s.start;
+            }
+            timeline.add(slice(p.name, s.start, end));
+            p.remaining -= end - s.start;
+            if (p.remaining == 0) {
+                p.finish = end;
+            } else {
+                stats.preemption();
+            }
+            clock = end;
+        }
+
+        SimResult result = buildResult(procs, timeline);
+        double scale = objective == Objective.WEIGHTED_TURNAROUND ? search.totalWeight : 1;
+        long bound = Math.max(search.rootBound, Math.min(search.incumbent.get(), search.open.get()));
+        result.optimality = new SolverReport(objective, objective.value(procs), bound / scale,
+            search.open.get() >= search.incumbent.get(), search.nodes.sum(), search.memoHits.sum(),
+            search.memoSize.get(), seconds, threads);
+        if (result.text != null) {
+            result.text += result.optimality.describe();
+        }
+        return result;
+    }
+
+    /** The search over one set of processes, sorted by arrival. */
+    private final class Search {
+        final int n;
+        final int[] arrival;
+        final int[] burst;
+        final long[] weight;
+        final long[] due;
+        final int tailRank;
+        long totalWeight;
+
+        final AtomicLong incumbent = new AtomicLong(Long.MAX_VALUE);
+        volatile Segment best;
+        /** Smallest bound of the nodes left unexplored at the time limit. */
+        final AtomicLong open = new AtomicLong(Long.MAX_VALUE);
+        long rootBound = Long.MIN_VALUE;
+        final LongAdder nodes = new LongAdder();
+        final LongAdder memoHits = new LongAdder();
+        final ConcurrentHashMap<State, Object> memo = new ConcurrentHashMap<>();
+        final AtomicInteger memoSize = new AtomicInteger();
+        final int memoLimit;
+        long deadline;
+        volatile boolean stopped;
+
+        Search(List<Proc> procs) {
+            n = procs.size();
+            arrival = new int[n];
+            burst = new int[n];
+            weight = new long[n];
+            due = new long[n];
+            for (int j = 0; j < n; j++) {
+                Proc p = procs.get(j);
+                arrival[j] = p.arrival;
+                burst[j] = p.burst;
+                weight[j] = Objective.weight(p);
+                due[j] = Objective.dueDate(p);
+                totalWeight += weight[j];
+            }
+            tailRank = Objective.tailRank(n);
+            memoLimit = MEMO_INTS / (n + 2);
+        }
+
+        void solve() {
+            if (n == 0) {
+                return;
+            }
+            Node root = new Node(settle(arrival[0], burst), burst.clone(), 0,
+                objective == Objective.MAX_LATENESS ? Long.MIN_VALUE : 0, new int[0], null);
+            root.bound = bound(root);
+            rootBound = root.bound;
+            for (int rule = 0; rule < 4; rule++) {
+                dive(root, rule);
+            }
+            deadline = System.nanoTime() + (long) (timeLimit * 1e9);
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                pool.invoke(new Explore(root, 0));
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        /** Searches the subtree of one node. */
+        private final class Explore extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            final Node node;
+            final int depth;
+
+            Explore(Node node, int depth) {
+                this.node = node;
+                this.depth = depth;
+            }
+
+            @Override
+            protected void compute() {
+                search(node, depth);
+            }
+        }
+
+        void search(Node node, int depth) {
+            if (node.bound >= incumbent.get()) {
+                return;
+            }
+            if (stopped || System.nanoTime() > deadline) {
+                stopped = true;
+                open.accumulateAndGet(node.bound, Math::min);
+                return;
+            }
+            nodes.increment();
+            if (node.done == n) {
+                offer(node);
+                return;
+            }
+            if (!admit(node)) {
+                memoHits.increment();
+                return;
+            }
+            List<Node> children = expand(node);
+            if (depth < SPLIT_DEPTH && children.size() > 1) {
+                List<Explore> tasks = new ArrayList<>(children.size());
+                for (Node child : children) {
+                    tasks.add(new Explore(child, depth + 1));
+                }
+                ForkJoinTask.invokeAll(tasks);
+            } else {
+                for (Node child : children) {
+                    search(child, depth + 1);
+                }
+            }
+        }
+
+        /** Children of {@code node}, one per waiting process, by increasing bound. */
+        List<Node> expand(Node node) {
+            List<Node> children = new ArrayList<>();
+            int waiting = firstAfter(node.time);
+            for (int j = 0; j < waiting; j++) {
+                if (node.remaining[j] > 0 && !duplicate(node, j)) {
+                    Node child = child(node, j);
+                    child.bound = bound(child);
+                    children.add(child);
+                }
+            }
+            children.sort(Comparator.comparingLong(c -> c.bound));
+            return children;
+        }
+
+        /** Whether an earlier waiting process is interchangeable with {@code j}. */
+        private boolean duplicate(Node node, int j) {
+            for (int i = 0; i < j; i++) {
+                if (node.remaining[i] == node.remaining[j] && weight[i] == weight[j] && due[i] == due[j]
+                        && (arrival[i] == arrival[j] || objective == Objective.MAX_LATENESS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** Run process {@code j} from {@code node} until it finishes or the next arrival. */
+        Node child(Node node, int j) {
+            int t = node.time;
+            int next = firstAfter(t) < n ? arrival[firstAfter(t)] : Integer.MAX_VALUE;
+            int end = (int) Math.min((long) t + node.remaining[j], next);
+            int[] remaining = node.remaining.clone();
+            remaining[j] -= end - t;
+            int done = node.done;
+            long partial = node.partial;
+            int[] flows = node.flows;
+            if (remaining[j] == 0) {
+                done++;
+                switch (objective) {
+                    case WEIGHTED_TURNAROUND -> partial += weight[j] * (end - arrival[j]);
+                    case MAX_LATENESS -> partial = Math.max(partial, end - due[j]);
+                    default -> flows = insertFlow(flows, end - arrival[j]);
+                }
+            }
+            return new Node(settle(end, remaining), remaining, done, partial, flows,
+                new Segment(j, t, end, node.path));
+        }
+
+        /** {@code time}, or the next arrival if no process is waiting then. */
+        int settle(int time, int[] remaining) {
+            int k = firstAfter(time);
+            for (int j = 0; j < k; j++) {
+                if (remaining[j] > 0) {
+                    return time;
+                }
+            }
+            return k < n ? arrival[k] : time;
+        }
+
+        /** Index of the first process arriving after {@code time}. */
+        int firstAfter(int time) {
+            int lo = 0, hi = n;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (arrival[mid] <= time) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int[] insertFlow(int[] flows, int flow) {
+            int[] result = new int[flows.length + 1];
+            int i = 0;
+            while (i < flows.length && flows[i] >= flow) {
+                result[i] = flows[i];
+                i++;
+            }
+            result[i] = flow;
+            System.arraycopy(flows, i, result, i + 1, flows.length - i);
+            return result;
+        }
+
+        /** Objective of a finished schedule. */
+        long value(Node leaf) {
+            return objective == Objective.TAIL_TURNAROUND ? leaf.flows[tailRank - 1] : leaf.partial;
+        }
+
+        /** Lower bound on the objective of every schedule through {@code node}. */
+        long bound(Node node) {
+            if (node.done == n) {
+                return value(node);
+            }
+            int t = node.time;
+            int[] rem = node.remaining;
+            switch (objective) {
+                case WEIGHTED_TURNAROUND -> {
+                    // Each process finishing as early as it could alone ...
+                    long alone = 0;
+                    int[] order = new int[n - node.done];
+                    int k = 0;
+                    for (int j = 0; j < n; j++) {
+                        if (rem[j] > 0) {
+                            alone += weight[j] * (Math.max(t, arrival[j]) + rem[j] - arrival[j]);
+                            order[k++] = j;
+                        }
+                    }
+                    // ... or all released now, in order of remaining work over weight
+                    for (int a = 1; a < k; a++) {
+                        int j = order[a];
+                        int b = a - 1;
+                        while (b >= 0 && (long) rem[order[b]] * weight[j] > (long) rem[j] * weight[order[b]]) {
+                            order[b + 1] = order[b];
+                            b--;
+                        }
+                        order[b + 1] = j;
+                    }
+                    long together = 0;
+                    long clock = t;
+                    for (int a = 0; a < k; a++) {
+                        int j = order[a];
+                        clock += rem[j];
+                        together += weight[j] * (clock - arrival[j]);
+                    }
+                    return node.partial + Math.max(alone, together);
+                }
+                case MAX_LATENESS -> {
+                    // Preemptive earliest due date from here on is optimal
+                    int[] r = rem.clone();
+                    long worst = node.partial;
+                    int clock = t;
+                    int left = n - node.done;
+                    while (left > 0) {
+                        int k = firstAfter(clock);
+                        int pick = -1;
+                        for (int j = 0; j < k; j++) {
+                            if (r[j] > 0 && (pick < 0 || due[j] < due[pick])) {
+                                pick = j;
+                            }
+                        }
+                        if (pick < 0) {
+                            clock = arrival[k];
+                            continue;
+                        }
+                        int run = k < n ? Math.min(r[pick], arrival[k] - clock) : r[pick];
+                        r[pick] -= run;
+                        clock += run;
+                        if (r[pick] == 0) {
+                            worst = Math.max(worst, clock - due[pick]);
+                            left--;
+                        }
+                    }
+                    return worst;
+                }
+                default -> {
+                    int[] flows = Arrays.copyOf(node.flows, n);
+                    int k = node.flows.length;
+                    for (int j = 0; j < n; j++) {
+                        if (rem[j] > 0) {
+                            flows[k++] = Math.max(t, arrival[j]) + rem[j] - arrival[j];
+                        }
+                    }
+                    Arrays.sort(flows);
+                    return demandBound(node, flows[n - tailRank]);
+                }
+            }
+        }
+
+        /**
+         * Smallest turnaround {@code F}, from {@code low} up, such that every process but
+         * {@code tailRank - 1} could finish within {@code F} of its arrival: for processes
+         * arriving in any window, all their remaining work but the largest {@code tailRank - 1}
+         * must fit between the window's start and the last of their deadlines.
+         */
+        private long demandBound(Node node, long low) {
+            long end = node.time;
+            int first = -1;
+            for (int j = 0; j < n; j++) {
+                if (node.remaining[j] > 0) {
+                    end = Math.max(end, arrival[j]) + node.remaining[j];
+                    first = first < 0 ? j : first;
+                }
+            }
+            long high = Math.max(node.flows.length > 0 ? node.flows[0] : 0, end - arrival[first]);
+            if (low >= high || !meetsDemand(node, high)) {
+                return low;
+            }
+            while (low < high) {
+                long mid = (low + high) >>> 1;
+                if (meetsDemand(node, mid)) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return low;
+        }
+
+        private boolean meetsDemand(Node node, long turnaround) {
+            int late = 0;
+            while (late < node.flows.length && node.flows[late] > turnaround) {
+                late++;
+            }
+            int spare = tailRank - 1 - late;
+            if (spare < 0) {
+                return false;
+            }
+            int[] rem = node.remaining;
+            int[] largest = new int[spare];
+            long lastStart = -1;
+            for (int i = 0; i < n; i++) {
+                long start = Math.max(node.time, arrival[i]);
+                if (rem[i] == 0 || start == lastStart) {
+                    continue;
+                }
+                lastStart = start;
+                Arrays.fill(largest, 0);
+                long work = 0, excused = 0;
+                for (int j = i; j < n; j++) {
+                    if (rem[j] == 0) {
+                        continue;
+                    }
+                    work += rem[j];
+                    if (spare > 0 && rem[j] > largest[spare - 1]) {
+                        excused += rem[j] - largest[spare - 1];
+                        int k = spare - 1;
+                        while (k > 0 && largest[k - 1] < rem[j]) {
+                            largest[k] = largest[k - 1];
+                            k--;
+                        }
+                        largest[k] = rem[j];
+                    }
+                    if (work - excused > Math.max(0, arrival[j] + turnaround - start)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /** Follow one priority rule down to a finished schedule. */
+        void dive(Node node, int rule) {
+            while (node.done < n) {
+                int waiting = firstAfter(node.time);
+                int pick = -1;
+                for (int j = 0; j < waiting; j++) {
+                    if (node.remaining[j] > 0 && (pick < 0 || before(rule, node, j, pick))) {
+                        pick = j;
+                    }
+                }
+                node = child(node, pick);
+            }
+            offer(node);
+        }
+
+        private boolean before(int rule, Node node, int a, int b) {
+            int[] rem = node.remaining;
+            return switch (rule) {
+                case 0 -> due[a] < due[b];
+                case 1 -> (long) rem[a] * weight[b] < (long) rem[b] * weight[a];
+                case 2 -> rem[a] < rem[b];
+                default -> false; // arrival order
+            };
+        }
+
+        void offer(Node leaf) {
+            long value = value(leaf);
+            synchronized (this) {
+                if (value < incumbent.get()) {
+                    best = leaf.path;
+                    incumbent.set(value);
+                }
+            }
+        }
+
+        /**
+         * Record the state of {@code node}, unless it was reached before at no greater cost,
+         * in which case it is pruned.
+         */
+        boolean admit(Node node) {
+            Object cost = objective == Objective.TAIL_TURNAROUND ? node.flows : (Object) node.partial;
+            boolean[] dominated = new boolean[1];
+            memo.compute(new State(node), (key, seen) -> {
+                if (seen == null) {
+                    if (memoSize.get() >= memoLimit) {
+                        return null;
+                    }
+                    memoSize.incrementAndGet();
+                    return cost;
+                }
+                if (noBetter(cost, seen)) {
+                    dominated[0] = true;
+                    return seen;
+                }
+                return noBetter(seen, cost) ? cost : seen;
+            });
+            return !dominated[0];
+        }
+
+        /** Whether cost {@code a} is at least {@code b}: in every rank for turnarounds. */
+        private boolean noBetter(Object a, Object b) {
+            if (a instanceof int[] fa) {
+                int[] fb = (int[]) b;
+                for (int i = 0; i < fa.length; i++) {
+                    if (fa[i] < fb[i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            return (Long) a >= (Long) b;
+        }
+    }
+}
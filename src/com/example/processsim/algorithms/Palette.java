@@ -0,0 +1,72 @@
+package com.example.processsim.algorithms;
+
+import java.awt.Color;
+
+/**
+ * Process colours for Gantt charts: the eight classic chart colours, then as many more as
+ * needed, spread out in the OKLCH colour space so that neighbouring processes stay
+ * distinguishable. Hue and lightness of the extra colours follow the R2 low-discrepancy
+ * sequence, so any run of consecutive colours covers the hue/lightness plane evenly instead
+ * of revisiting similar shades; chroma is reduced where a colour would fall outside sRGB.
+ */
+public final class Palette {
+    private static final double CHROMA = 0.14;
+    private static final double MIN_LIGHTNESS = 0.50;
+    private static final double MAX_LIGHTNESS = 0.82;
+    /** 1/g and 1/g² for the plastic number g, the R2 sequence steps. */
+    private static final double STEP_HUE = 0.7548776662466927;
+    private static final double STEP_LIGHTNESS = 0.5698402909980532;
+
+    private Palette() {
+    }
+
+    /** Colour of the {@code index}-th process. */
+    public static Color color(int index) {
+        Color[] base = SchedulingAlgorithm.GANTT_COLORS;
+        if (index < base.length) {
+            return base[index];
+        }
+        int k = index - base.length;
+        double hue = 2 * Math.PI * frac(0.5 + (k + 1) * STEP_HUE);
+        double lightness = MIN_LIGHTNESS + (MAX_LIGHTNESS - MIN_LIGHTNESS) * frac(0.5 + (k + 1) * STEP_LIGHTNESS);
+        for (double chroma = CHROMA; ; chroma -= 0.01) {
+            Color c = oklch(lightness, Math.max(0, chroma), hue);
+            if (c != null) {
+                return c;
+            }
+        }
+    }
+
+    /** OKLCH to sRGB, or null if out of gamut. */
+    private static Color oklch(double lightness, double chroma, double hue) {
+        double a = chroma * Math.cos(hue);
+        double b = chroma * Math.sin(hue);
+        double l = cube(lightness + 0.3963377774 * a + 0.2158037573 * b);
+        double m = cube(lightness - 0.1055613458 * a - 0.0638541728 * b);
+        double s = cube(lightness - 0.0894841775 * a - 1.2914855480 * b);
+        double[] rgb = {
+            4.0767416621 * l - 3.3077115913 * m + 0.2309699292 * s,
+            -1.2684380046 * l + 2.6097574011 * m - 0.3413193965 * s,
+            -0.0041960863 * l - 0.7034186147 * m + 1.7076147010 * s
+        };
+        int[] c = new int[3];
+        for (int i = 0; i < 3; i++) {
+            double v = rgb[i];
+            if (v < -1e-6 || v > 1 + 1e-6) {
+                return null;
+            }
+            v = Math.min(1, Math.max(0, v));
+            v = v <= 0.0031308 ? 12.92 * v : 1.055 * Math.pow(v, 1 / 2.4) - 0.055;
+            c[i] = (int) Math.round(v * 255);
+        }
+        return new Color(c[0], c[1], c[2]);
+    }
+
+    private static double frac(double x) {
+        return x - Math.floor(x);
+    }
+
+    private static double cube(double x) {
+        return x * x * x;
+    }
+}
@@ -0,0 +1,267 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+/**
+ * First Come First Served on primitive arrays, computed as a parallel prefix scan, for
+ * single-burst workloads of hundreds of millions of processes.
+ * <p>
+ * Without I/O, FCFS runs processes in arrival order and each finishes at
+ * {@code max(t, arrival) + burst}, where {@code t} is the finish of the one before: a prefix
+ * scan in the max-plus semiring. Any run of processes maps the time the CPU becomes free
+ * before it to {@code max(t + S, C)}, where {@code S} is their total burst and {@code C} the
+ * finish of the last one when the CPU is free from the start. The scan takes two passes over
+ * blocks of processes on a fork-join pool:
+ * <ol>
+ *   <li>each block computes its {@code (S, C)} summary, and checks its arrival order;</li>
+ *   <li>the summaries are chained in order to give the time each block starts from, and
+ *       each block then fills in its start and finish times and metric sums.</li>
+ * </ol>
+ * Start and finish times are exactly those of {@link FCFSAlgorithm}, metrics as in
+ * {@link SimResult}. No {@link Proc}, timeline or per-block object is created per process:
+ * the 8 bytes of input and 8 of output per process are all the memory a run needs.
+ */
+public class ParallelFCFS {
+    /** Smallest block, so that per-block overhead stays negligible. */
+    public static final int MIN_BLOCK = 1 << 16;
+    /** Blocks per worker, so that a slow worker can be balanced by stealing. */
+    private static final int BLOCKS_PER_THREAD = 4;
+
+    private final int[] arrival;
+    private final int[] burst;
+
+    public final int[] start;
+    public final int[] finish;
+    public int makespan;
+    public long busyTime;
+    /** CPU idle time between the first arrival and the last completion. */
+    public long idleTime;
+    public double avgWait;
+    public double avgTurnaround;
+    /** Same as {@link #avgWait}: a process waits only until it first runs. */
+    public double avgResponse;
+    public double cpuUtilization;
+    public double throughput;
+
+    /**
+     * @param arrival arrival times, in non-decreasing order; equal arrivals run in index order
+     * @param burst   CPU burst of each process
+     */
+    public ParallelFCFS(int[] arrival, int[] burst) {
+        if (arrival.length != burst.length) {
+            throw new IllegalArgumentException("One burst per arrival expected");
+        }
+        this.arrival = arrival;
+        this.burst = burst;
+        this.start = new int[arrival.length];
+        this.finish = new int[arrival.length];
+    }
+
+    /** Run on the common pool, in blocks sized for its parallelism. */
+    public ParallelFCFS run() {
+        return run(blockSize(arrival.length, ForkJoinPool.getCommonPoolParallelism()));
+    }
+
+    /** Run on {@code pool}, in blocks sized for its parallelism. */
+    public ParallelFCFS run(ForkJoinPool pool) throws InterruptedException, ExecutionException {
+        int block = blockSize(arrival.length, pool.getParallelism());
+        return pool.submit(() -> run(block)).get();
+    }
+
+    /**
+     * Run in blocks of {@code block} processes, on the fork-join pool of the calling thread
+     * (the common pool if it is not in one).
+     *
+     * @throws IllegalArgumentException if the arrivals are out of order
+     * @throws ArithmeticException      if a finish time does not fit an {@code int}
+     */
+    public ParallelFCFS run(int block) {
+        int n = arrival.length;
+        if (block < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + block);
+        }
+        if (n == 0) {
+            return this;
+        }
+        int blocks = (int) ((n + (long) block - 1) / block);
+
+        // Pass 1: summary (S, C) of each block
+        long[] total = new long[blocks];
+        long[] last = new long[blocks];
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = b * block, to = (int) Math.min(n, (long) from + block);
+            long s = 0, c = Long.MIN_VALUE;
+            int previous = from > 0 ? arrival[from - 1] : Integer.MIN_VALUE;
+            for (int i = from; i < to; i++) {
+                int a = arrival[i];
+                if (a < previous) {
+                    throw new IllegalArgumentException("Arrivals out of order at index " + i);
+                }
+                previous = a;
+                s += burst[i];
+                c = Math.max(c, a) + burst[i];
+            }
+            total[b] = s;
+            last[b] = c;
+        });
+
+        // Chain the summaries: the time the CPU is free before each block
+        long[] free = new long[blocks];
+        long t = 0;
+        for (int b = 0; b < blocks; b++) {
+            free[b] = t;
+            t = Math.max(t + total[b], last[b]);
+        }
+        if (t > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Schedule ends after time " + Integer.MAX_VALUE + ": " + t);
+        }
+
+        // Pass 2: start and finish times, and each block's idle and turnaround sums
+        long[] idle = new long[blocks];
+        long[] turnaround = new long[blocks];
+        IntStream.range(0, blocks).parallel().forEach(b -> {
+            int from = b * block, to = (int) Math.min(n, (long) from + block);
+            int time = (int) free[b];
+            long idleSum = 0, turnaroundSum = 0;
+            for (int i = from; i < to; i++) {
+                int a = arrival[i];
+                if (time < a) {
+                    if (i > 0) {
+                        idleSum += a - time;
+                    }
+                    time = a;
+                }
+                start[i] = time;
+                time += burst[i];
+                finish[i] = time;
+                turnaroundSum += time - a;
+            }
+            idle[b] = idleSum;
+            turnaround[b] = turnaroundSum;
+        });
+
+        long idleTotal = 0, turnaroundTotal = 0, busy = 0;
+        for (int b = 0; b < blocks; b++) {
+            idleTotal += idle[b];
+            turnaroundTotal += turnaround[b];
+            busy += total[b];
+        }
+        makespan = (int) t;
+        busyTime = busy;
+        idleTime = idleTotal;
+        avgTurnaround = (double) turnaroundTotal / n;
+        avgWait = (double) (turnaroundTotal - busy) / n;
+        avgResponse = avgWait;
+        double span = Math.max(1, makespan - arrival[0]);
+        cpuUtilization = busy / span;
+        throughput = n / span;
+        return this;
+    }
+
+    /** Block size giving {@code threads} workers a few blocks each. */
+    static int blockSize(int n, int threads) {
+        long blocks = (long) Math.max(1, threads) * BLOCKS_PER_THREAD;
+        return (int) Math.max(MIN_BLOCK, (n + blocks - 1) / blocks);
+    }
+
+    /**
+     * The same schedule computed by one sequential loop, for checking and as the single-thread
+     * baseline. Arrivals must be in order.
+     */
+    public static void sequential(int[] arrival, int[] burst, int[] start, int[] finish) {
+        int time = 0;
+        for (int i = 0; i < arrival.length; i++) {
+            time = Math.max(time, arrival[i]);
+            start[i] = time;
+            time += burst[i];
+            finish[i] = time;
+        }
+    }
+
+    /**
+     * Benchmark on a synthetic workload with exponential interarrival gaps and bursts:
+     * <pre>
+     * java com.example.processsim.algorithms.ParallelFCFS --processes N
+     *     [--interarrival MEAN] [--burst MEAN] [--seed S] [--threads N] [--block N] [--check]
+     * </pre>
+     * With {@code --check} the schedule is also computed sequentially and compared.
+     */
+    public static void main(String[] args) throws Exception {
+        int n = 0, threads = Runtime.getRuntime().availableProcessors(), block = 0;
+        double interarrival = 5, meanBurst = 4;
+        long seed = 1;
+        boolean check = false;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--processes" -> n = Integer.parseInt(args[++i]);
+                    case "--interarrival" -> interarrival = Double.parseDouble(args[++i]);
+                    case "--burst" -> meanBurst = Double.parseDouble(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--block" -> block = Integer.parseInt(args[++i]);
+                    case "--check" -> check = true;
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (n < 1 || interarrival < 0 || meanBurst < 0) {
+                throw new IllegalArgumentException("Need --processes N >= 1 and non-negative means");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("usage: ParallelFCFS --processes N [--interarrival MEAN] [--burst MEAN]"
+                + " [--seed S] [--threads N] [--block N] [--check]");
+            System.exit(2);
+            return;
+        }
+
+        int[] arrival = new int[n];
+        int[] burst = new int[n];
+        SplittableRandom rng = new SplittableRandom(seed);
+        long time = 0;
+        for (int i = 0; i < n; i++) {
+            time += Math.round(-interarrival * Math.log(1 - rng.nextDouble()));
+            arrival[i] = (int) Math.min(time, Integer.MAX_VALUE);
+            burst[i] = Math.max(1, (int) Math.round(-meanBurst * Math.log(1 - rng.nextDouble())));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        ParallelFCFS fcfs = new ParallelFCFS(arrival, burst);
+        long t0 = System.nanoTime();
+        try {
+            if (block > 0) {
+                int size = block;
+                pool.submit(() -> fcfs.run(size)).get();
+            } else {
+                fcfs.run(pool);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        double parallelMillis = (System.nanoTime() - t0) / 1e6;
+
+        System.out.printf(Locale.ROOT, "Processes:       %d%n", n);
+        System.out.printf(Locale.ROOT, "Makespan:        %d%n", fcfs.makespan);
+        System.out.printf(Locale.ROOT, "Avg wait:        %.3f%n", fcfs.avgWait);
+        System.out.printf(Locale.ROOT, "Avg turnaround:  %.3f%n", fcfs.avgTurnaround);
+        System.out.printf(Locale.ROOT, "CPU utilization: %.4f%n", fcfs.cpuUtilization);
+        System.out.printf(Locale.ROOT, "Throughput:      %.5f%n", fcfs.throughput);
+        System.out.printf(Locale.ROOT, "Parallel scan:   %.1f ms on %d threads%n", parallelMillis, pool.getParallelism());
+
+        if (check) {
+            int[] start = new int[n];
+            int[] finish = new int[n];
+            t0 = System.nanoTime();
+            sequential(arrival, burst, start, finish);
+            double sequentialMillis = (System.nanoTime() - t0) / 1e6;
+            boolean same = Arrays.equals(start, fcfs.start) && Arrays.equals(finish, fcfs.finish);
+            System.out.printf(Locale.ROOT, "Sequential loop: %.1f ms, schedules %s%n", sequentialMillis,
+                same ? "identical" : "DIFFER");
+            if (!same) {
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.processsim.algorithms;
+
+/**
+ * Min-heap of ids by an ever-growing 64-bit value, such as a stride pass or a virtual
+ * runtime, held in an array indexed by id and read when an id is added.
+ * <p>
+ * Heap keys hold the value relative to a base, clamped to 32 bits; when the smallest key is
+ * clamped or drifts far from the base, the keys are rebuilt around the smallest value. The
+ * values of the ids in the heap stay within a few slices of each other, so that happens
+ * rarely.
+ */
+final class PassHeap {
+
+    /** Value range around the base beyond which heap keys are rebased. */
+    private static final long REBASE_AT = 1L << 30;
+
+    private final long[] pass;
+    private final IndexedMinHeap heap;
+    private long base;
+
+    PassHeap(long[] pass) {
+        this.pass = pass;
+        this.heap = new IndexedMinHeap(pass.length);
+    }
+
+    boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    int size() {
+        return heap.size();
+    }
+
+    void add(int id) {
+        heap.add(id, key(id));
+    }
+
+    /** The id with the smallest value, left in the heap. */
+    int peek() {
+        return heap.peek();
+    }
+
+    int poll() {
+        long offset = heap.peekKey() >> 32;
+        if (offset <= Integer.MIN_VALUE || offset >= REBASE_AT) {
+            rebase();
+        }
+        return heap.poll();
+    }
+
+    private long key(int id) {
+        long offset = Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, pass[id] - base));
+        return IndexedMinHeap.key((int) offset, id);
+    }
+
+    private void rebase() {
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < heap.size(); i++) {
+            min = Math.min(min, pass[heap.at(i)]);
+        }
+        base = min;
+        heap.rekey(this::key);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Preemptive Priority scheduling algorithm with aging.
+ * The running process is preempted as soon as a ready process has a strictly better
+ * effective priority, either on arrival or after being boosted by aging. A preempted
+ * process returns to the ready queue at its base priority.
+ */
+public class PreemptivePriorityAlgorithm extends PriorityAlgorithm {
+
+    public PreemptivePriorityAlgorithm(List<Proc> processes) {
+        super(processes);
+    }
+
+    public PreemptivePriorityAlgorithm(List<Proc> processes, int agingInterval) {
+        super(processes, agingInterval);
+    }
+
+    @Override
+    public String getName() {
+        return "Priority (Preemptive" + agingLabel() + ")";
+    }
+
+    @Override
+    public SimResult run() {
+        beginRun();
+        List<Proc> procs = workingCopy();
+        procs.sort(Comparator.comparingInt(p -> p.arrival));
+
+        int n = procs.size();
+        PriorityReadyQueue ready = new PriorityReadyQueue(n, agingInterval);
+        IODevices io = devicesFor(procs);
+        ReadyEvents events = new ReadyEvents(procs, io);
+        List<GanttEntry> timeline = newTimeline();
+        int time = 0;
+        int completed = 0;
+        int current = -1;
+        int currentStart = 0;
+
+        while (completed < n) {
+            // Admit arrivals and returns from I/O, waiting since they became ready
+            while (events.hasReadyBy(time)) {
+                int id = events.poll();
+                Proc p = procs.get(id);
+                ready.add(id, p.priority, p.readyAt);
+            }
+            ready.age(time);
+
+            // Preempt if a ready process now has a better priority
+            if (current != -1 && !ready.isEmpty() && ready.peekPriority() < ready.effective(current)) {
+                Proc p = procs.get(current);
+                timeline.add(slice(p.name, currentStart, time));
+                ready.add(current, p.priority, time);
+                stats.preemption();
+                current = -1;
+            }
+
+            if (current == -1) {
+                if (ready.isEmpty()) {
+                    // CPU idle – fast-forward to next arrival
+                    stats.idle(time, events.nextTime());
+                    time = events.nextTime();
+                    continue;
+                }
+                current = ready.poll();
+                currentStart = time;
+                stats.queueLength(0, ready.size());
+                Proc p = procs.get(current);
+                if (p.start == -1) {
+                    p.start = time;
+                }
+            }
+
+            // Run until the next arrival, aging boost or completion
+            Proc p = procs.get(current);
+            int until = Math.min(time + p.remaining, Math.min(events.nextTime(), ready.nextDeadline()));
+            p.remaining -= until - time;
+            time = until;
+
+            if (p.remaining == 0) {
+                timeline.add(slice(p.name, currentStart, time));
+                if (p.hasMoreBursts()) {
+                    events.block(current, time);
+                } else {
+                    p.finish = time;
+                    completed++;
+                }
+                current = -1;
+            }
+        }
+
+        stats.promoted(ready.getBoosts());
+        return buildResult(procs, timeline, io);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Non-preemptive Priority scheduling algorithm with aging.
+ * Selects the ready process with the lowest nice level; ties go to the earlier arrival.
+ * A waiting process gains one priority level every {@code agingInterval} time units.
+ */
+public class PriorityAlgorithm extends SchedulingAlgorithm {
+
+    public static final int DEFAULT_AGING_INTERVAL = 10;
+
+    protected final int agingInterval;
+
+    public PriorityAlgorithm(List<Proc> processes) {
+        this(processes, DEFAULT_AGING_INTERVAL);
+    }
+
+    /**
+     * @param agingInterval waiting time per one-level boost; 0 disables aging
+     */
+    public PriorityAlgorithm(List<Proc> processes, int agingInterval) {
+        super(processes);
+        this.agingInterval = Math.max(0, agingInterval);
+    }
+
+    @Override
+    public String getName() {
+        return "Priority (Non-preemptive" + agingLabel() + ")";
+    }
+
+    protected String agingLabel() {
+        return agingInterval > 0 ? ", aging=" + agingInterval : "";
+    }
+
+    @Override
+    public SimResult run() {
+        beginRun();
+        List<Proc> procs = workingCopy();
+        procs.sort(Comparator.comparingInt(p -> p.arrival));
+
+        int n = procs.size();
+        PriorityReadyQueue ready = new PriorityReadyQueue(n, agingInterval);
+        IODevices io = devicesFor(procs);
+        ReadyEvents events = new ReadyEvents(procs, io);
+        List<GanttEntry> timeline = newTimeline();
+        int time = 0;
+        int completed = 0;
+
+        while (completed < n) {
+            // Admit arrivals and returns from I/O, waiting since they became ready
+            while (events.hasReadyBy(time)) {
+                int id = events.poll();
+                Proc p = procs.get(id);
+                ready.add(id, p.priority, p.readyAt);
+            }
+            ready.age(time);
+
+            if (ready.isEmpty()) {
+                // CPU idle – fast-forward to next arrival
+                stats.idle(time, events.nextTime());
+                time = events.nextTime();
+                continue;
+            }
+
+            int id = ready.poll();
+            Proc p = procs.get(id);
+            stats.queueLength(0, ready.size());
+            if (p.start == -1) {
+                p.start = time;
+            }
+            timeline.add(slice(p.name, time, time + p.remaining));
+            time += p.remaining;
+            p.remaining = 0;
+
+            if (p.hasMoreBursts()) {
+                events.block(id, time);
+            } else {
+                p.finish = time;
+                completed++;
+            }
+        }
+
+        stats.promoted(ready.getBoosts());
+        return buildResult(procs, timeline, io);
+    }
+}
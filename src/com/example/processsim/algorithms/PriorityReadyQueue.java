@@ -0,0 +1,90 @@
+package com.example.processsim.algorithms;
+
+/**
+ * Ready queue shared by the priority schedulers.
+ * <p>
+ * Processes are ordered on their effective priority in an {@link IndexedMinHeap}. Aging is
+ * driven by a second indexed heap holding each waiting process's next boost deadline, so a
+ * boost costs one deadline pop plus one {@code changeKey} – O(log n) – and processes that
+ * are not due are never touched.
+ */
+class PriorityReadyQueue {
+    /** Aging never boosts a process beyond this nice level. */
+    static final int HIGHEST_PRIORITY = -20;
+
+    private final IndexedMinHeap ready;
+    private final IndexedMinHeap deadlines;
+    private final int[] effective;
+    private final int agingInterval;
+    private long boosts = 0;
+
+    PriorityReadyQueue(int capacity, int agingInterval) {
+        this.ready = new IndexedMinHeap(capacity);
+        this.deadlines = new IndexedMinHeap(capacity);
+        this.effective = new int[capacity];
+        this.agingInterval = agingInterval;
+    }
+
+    /**
+     * Make {@code id} ready at its base {@code priority}, waiting since {@code since}.
+     */
+    void add(int id, int priority, int since) {
+        effective[id] = priority;
+        ready.add(id, IndexedMinHeap.key(priority, id));
+        if (agingInterval > 0 && priority > HIGHEST_PRIORITY) {
+            deadlines.add(id, IndexedMinHeap.key(since + agingInterval, id));
+        }
+    }
+
+    boolean isEmpty() {
+        return ready.isEmpty();
+    }
+
+    int size() {
+        return ready.size();
+    }
+
+    /** Effective priority of the best ready process. */
+    int peekPriority() {
+        return effective[ready.peek()];
+    }
+
+    /** Remove the best ready process; it stops aging. */
+    int poll() {
+        int id = ready.poll();
+        deadlines.remove(id);
+        return id;
+    }
+
+    int effective(int id) {
+        return effective[id];
+    }
+
+    /** Time of the next aging boost, or {@code Integer.MAX_VALUE}. */
+    int nextDeadline() {
+        return deadlines.isEmpty() ? Integer.MAX_VALUE : (int) (deadlines.peekKey() >> 32);
+    }
+
+    /**
+     * Apply every aging boost due at or before {@code time}.
+     */
+    void age(int time) {
+        while (!deadlines.isEmpty()) {
+            int due = (int) (deadlines.peekKey() >> 32);
+            if (due > time) {
+                break;
+            }
+            int id = deadlines.poll();
+            int prio = --effective[id];
+            ready.changeKey(id, IndexedMinHeap.key(prio, id));
+            boosts++;
+            if (prio > HIGHEST_PRIORITY) {
+                deadlines.add(id, IndexedMinHeap.key(due + agingInterval, id));
+            }
+        }
+    }
+
+    long getBoosts() {
+        return boosts;
+    }
+}
@@ -2,22 +2,207 @@ package com.example.processsim.algorithms;
 
 /**
  * Represents a process in the scheduling simulation.
+ * <p>
+ * A process is either a single CPU burst or an alternating sequence of CPU and I/O bursts
+ * ({@code CPU, I/O, CPU, …, CPU}). In the latter case {@link #burst} is the total CPU time
+ * and {@link #remaining} tracks the current CPU burst.
  */
 public class Proc {
+    public static final int DEFAULT_TICKETS = 100;
+
     public String name;
     public int arrival;
+    /** Total CPU time over all CPU bursts. */
     public int burst;
+    /** Nice level: lower values mean higher priority (-20 … 19). */
+    public int priority;
+    /** Share of the CPU under proportional-share scheduling (lottery, stride); at least 1. */
+    public int tickets = DEFAULT_TICKETS;
+    /**
+     * Release period of a periodic task, one job of {@link #burst} every period from
+     * {@link #arrival}; 0 for a one-shot process. Only the real-time algorithms release jobs.
+     */
+    public int period;
+    /** Relative deadline of each job; 0 means the period, or no deadline for a one-shot process. */
+    public int deadline;
+    /** Sporadic task: each release comes up to this much later than one period after the last. */
+    public int sporadicDelay;
+    /**
+     * Group of the process under hierarchical fair-share scheduling, a path such as
+     * {@code tenantA/web}; any segment may carry its weight, as in {@code tenantA:300/web}.
+     * Null for the root group.
+     */
+    public String group;
     public int remaining;
     public int finish = -1;
     public int start = -1;
+
+    /** CPU, I/O, CPU, … lengths; null for a single CPU burst. */
+    public int[] bursts;
+    /** Device of each I/O burst; null means every I/O goes to device 0. */
+    public int[] devices;
+    /** Index of the current CPU burst. */
+    public int phase = 0;
+    /** When the process is next ready: its arrival, or the end of its last I/O. */
+    public int readyAt;
+    /** Time spent blocked on I/O, including queueing for a busy device. */
+    public int ioTime = 0;
+
     public Proc(String name, int arrival, int burst) {
+        this(name, arrival, burst, 0);
+    }
+
+    public Proc(String name, int arrival, int burst, int priority) {
         this.name = name;
         this.arrival = arrival;
         this.burst = burst;
+        this.priority = priority;
         this.remaining = burst;
+        this.readyAt = arrival;
+    }
+
+    /**
+     * @param bursts  alternating CPU and I/O lengths, starting and ending with CPU
+     * @param devices device of each I/O burst, or null for device 0
+     */
+    public Proc(String name, int arrival, int[] bursts, int[] devices, int priority) {
+        this(name, arrival, 0, priority);
+        if (bursts.length % 2 == 0) {
+            throw new IllegalArgumentException("Bursts must alternate CPU/I-O and end with CPU: " + name);
+        }
+        if (devices != null && devices.length != bursts.length / 2) {
+            throw new IllegalArgumentException("One device per I/O burst expected: " + name);
+        }
+        int cpu = 0;
+        for (int i = 0; i < bursts.length; i += 2) {
+            cpu += bursts[i];
+        }
+        this.burst = cpu;
+        this.remaining = bursts[0];
+        if (bursts.length > 1) {
+            this.bursts = bursts;
+            this.devices = devices;
+        }
+    }
+
+    /**
+     * Parse a burst spec such as {@code 5} or {@code 3,2@1,4}: comma-separated CPU and I/O
+     * lengths in alternation, where an I/O length may name its device after {@code @}.
+     *
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    public static Proc fromSpec(String name, int arrival, String spec, int priority) {
+        String[] parts = spec.trim().split("\\s*,\\s*");
+        int[] bursts = new int[parts.length];
+        int[] devices = new int[parts.length / 2];
+        for (int i = 0; i < parts.length; i++) {
+            String part = parts[i];
+            int at = part.indexOf('@');
+            if (at >= 0) {
+                if (i % 2 == 0) {
+                    throw new IllegalArgumentException("Only I/O bursts take a device: " + part);
+                }
+                devices[i / 2] = Integer.parseInt(part.substring(at + 1).trim());
+                part = part.substring(0, at).trim();
+            }
+            bursts[i] = Integer.parseInt(part);
+            if (bursts[i] <= 0 || (i / 2 < devices.length && devices[i / 2] < 0)) {
+                throw new IllegalArgumentException("Bursts must be > 0 and devices >= 0: " + spec);
+            }
+        }
+        return new Proc(name, arrival, bursts, devices, priority);
+    }
+
+    /**
+     * Inverse of {@link #fromSpec}.
+     */
+    public String toSpec() {
+        if (bursts == null) {
+            return String.valueOf(burst);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < bursts.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(bursts[i]);
+            if (i % 2 == 1 && devices != null && devices[i / 2] != 0) {
+                sb.append('@').append(devices[i / 2]);
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Whether this is a periodic or sporadic task rather than a one-shot process. */
+    public boolean isPeriodic() {
+        return period > 0;
+    }
+
+    /**
+     * Relative deadline of each job: {@link #deadline}, or the period if that is 0; 0 for a
+     * one-shot process without a deadline.
+     */
+    public int relativeDeadline() {
+        return deadline > 0 ? deadline : period;
+    }
+
+    /** Whether another CPU burst follows the current one. */
+    public boolean hasMoreBursts() {
+        return bursts != null && 2 * phase + 2 < bursts.length;
+    }
+
+    /** Total I/O service time over all I/O bursts. */
+    public int ioBurstTotal() {
+        int io = 0;
+        if (bursts != null) {
+            for (int i = 1; i < bursts.length; i += 2) {
+                io += bursts[i];
+            }
+        }
+        return io;
+    }
+
+    /**
+     * End the current CPU burst at {@code time}: queue the following I/O burst on its device
+     * and load the next CPU burst. Updates and returns {@link #readyAt}.
+     */
+    public int startIO(int time, IODevices io) {
+        int length = bursts[2 * phase + 1];
+        int device = devices == null ? 0 : devices[phase];
+        readyAt = io.request(device, time, length);
+        ioTime += readyAt - time;
+        phase++;
+        remaining = bursts[2 * phase];
+        return readyAt;
     }
 
     public Proc copy() {
-        return new Proc(name, arrival, burst);
+        Proc p = new Proc(name, arrival, burst, priority);
+        p.copyFrom(this);
+        return p;
+    }
+
+    /**
+     * Turn this object into a fresh, not yet scheduled copy of {@code o}, so that scratch
+     * buffers can recycle process objects between simulations.
+     */
+    public void copyFrom(Proc o) {
+        name = o.name;
+        arrival = o.arrival;
+        burst = o.burst;
+        priority = o.priority;
+        tickets = o.tickets;
+        period = o.period;
+        deadline = o.deadline;
+        sporadicDelay = o.sporadicDelay;
+        group = o.group;
+        bursts = o.bursts;
+        devices = o.devices;
+        remaining = bursts != null ? bursts[0] : burst;
+        finish = -1;
+        start = -1;
+        phase = 0;
+        readyAt = arrival;
+        ioTime = 0;
     }
 }
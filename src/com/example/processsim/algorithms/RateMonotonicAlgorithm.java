@@ -0,0 +1,41 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Rate-monotonic (RM) real-time scheduling.
+ * <p>
+ * Fixed priorities by period: the pending job of the task with the shortest period runs,
+ * preempting longer-period tasks on release, ties in workload order. One-shot processes run
+ * only when no periodic job is pending. Optimal among fixed-priority policies for implicit
+ * deadlines. See {@link RealTimeAlgorithm} for releases and the horizon.
+ */
+public class RateMonotonicAlgorithm extends RealTimeAlgorithm {
+
+    public RateMonotonicAlgorithm(List<Proc> processes) {
+        this(processes, 0, DEFAULT_SEED);
+    }
+
+    /**
+     * @param horizon jobs are released before this time; 0 for the default
+     * @param seed    seed of the sporadic release delays
+     */
+    public RateMonotonicAlgorithm(List<Proc> processes, int horizon, int seed) {
+        super(processes, horizon, seed);
+    }
+
+    @Override
+    public String getName() {
+        return "Rate Monotonic" + (horizon > 0 ? " (horizon=" + horizon + ")" : "");
+    }
+
+    @Override
+    protected int priority(Proc task, int deadline) {
+        return task.isPeriodic() ? task.period : Integer.MAX_VALUE;
+    }
+
+    @Override
+    public Schedulability analyze(List<Proc> procs) {
+        return Schedulability.rateMonotonic(procs);
+    }
+}
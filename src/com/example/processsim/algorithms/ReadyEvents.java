@@ -0,0 +1,83 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Source of processes becoming ready: first arrivals merged with returns from I/O.
+ * <p>
+ * Processes are identified by their index in an arrival-sorted list. Arrivals are consumed
+ * in order; blocked processes wait in an indexed heap keyed on their I/O completion time,
+ * so each block/wake-up transition is O(log n). At equal times arrivals come first, then
+ * returns in index order.
+ */
+public class ReadyEvents {
+    private final List<Proc> procs;
+    private final IODevices io;
+    private final IndexedMinHeap blocked;
+    private int admitted = 0;
+
+    /**
+     * @param procs processes sorted by arrival
+     */
+    public ReadyEvents(List<Proc> procs, IODevices io) {
+        this.procs = procs;
+        this.io = io;
+        this.blocked = new IndexedMinHeap(procs.size());
+    }
+
+    /** Time of the next process becoming ready, or {@code Integer.MAX_VALUE}. */
+    public int nextTime() {
+        int next = admitted < procs.size() ? procs.get(admitted).arrival : Integer.MAX_VALUE;
+        if (!blocked.isEmpty()) {
+            next = Math.min(next, (int) (blocked.peekKey() >> 32));
+        }
+        return next;
+    }
+
+    public boolean hasReadyBy(int time) {
+        return nextTime() <= time;
+    }
+
+    public boolean isEmpty() {
+        return admitted == procs.size() && blocked.isEmpty();
+    }
+
+    /**
+     * Remove the next process to become ready and return its index.
+     */
+    public int poll() {
+        int id = peek();
+        if (id == admitted) {
+            admitted++;
+        } else {
+            blocked.poll();
+        }
+        return id;
+    }
+
+    /** Index of the process {@link #poll} would return. */
+    public int peek() {
+        if (admitted < procs.size()
+                && (blocked.isEmpty() || procs.get(admitted).arrival <= (int) (blocked.peekKey() >> 32))) {
+            return admitted;
+        }
+        return blocked.peek();
+    }
+
+    /** Whether {@code id} is becoming ready for the first time rather than returning from I/O. */
+    public boolean isFirstArrival(int id) {
+        return procs.get(id).phase == 0;
+    }
+
+    /**
+     * Block process {@code id} on its next I/O burst after it leaves the CPU at {@code time}.
+     */
+    public void block(int id, int time) {
+        int readyAt = procs.get(id).startIO(time, io);
+        blocked.add(id, IndexedMinHeap.key(readyAt, id));
+    }
+
+    public IODevices getDevices() {
+        return io;
+    }
+}
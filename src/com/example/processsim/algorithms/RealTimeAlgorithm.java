@@ -0,0 +1,287 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Base class of the preemptive real-time algorithms, which run periodic and sporadic tasks
+ * ({@link Proc#period}) next to one-shot processes.
+ * <p>
+ * A task releases a job of {@link Proc#burst} time units at its arrival and every period
+ * after, until the horizon: by default one hyperperiod of the periods (two plus the largest
+ * offset when tasks are released at different times, which covers the repeating part of the
+ * schedule), capped at {@link #DEFAULT_HORIZON_LIMIT}. A sporadic task's releases come a
+ * random delay of up to {@link Proc#sporadicDelay} later, drawn from a seeded generator.
+ * <p>
+ * Releases are generated lazily: a heap holds the next release of each task, so memory is
+ * proportional to the number of tasks however long the horizon. Pending jobs of a task are
+ * queued in release order, and the ready heap holds each task with pending jobs keyed by the
+ * priority of its oldest one; the highest-priority job runs until it finishes or the next
+ * release. Jobs that miss their deadline still run to completion. Jobs released before the
+ * horizon are all run to completion.
+ * <p>
+ * Only single CPU bursts are supported. The {@link Schedulability} analysis of the subclass
+ * runs before the simulation; the result carries both as a {@link RealTimeReport}. The
+ * averages of the result are over jobs: waiting and turnaround are measured from each release.
+ */
+public abstract class RealTimeAlgorithm extends SchedulingAlgorithm {
+
+    public static final int DEFAULT_HORIZON_LIMIT = 10_000_000;
+    public static final int DEFAULT_SEED = 1;
+
+    /** Horizon, or 0 for the default. */
+    protected final int horizon;
+    protected final int seed;
+
+    protected RealTimeAlgorithm(List<Proc> processes, int horizon, int seed) {
+        super(processes);
+        for (Proc p : processes) {
+            if (p.bursts != null) {
+                throw new IllegalArgumentException("Real-time scheduling takes single CPU bursts: " + p.name);
+            }
+            if (p.isPeriodic() && p.relativeDeadline() > p.period) {
+                throw new IllegalArgumentException("Deadline must not exceed the period: " + p.name);
+            }
+        }
+        this.horizon = Math.max(0, horizon);
+        this.seed = seed;
+    }
+
+    /**
+     * Priority of a job of {@code task} with absolute deadline {@code deadline} (or
+     * {@link Integer#MAX_VALUE} if it has none); lower runs first, ties in workload order.
+     */
+    protected abstract int priority(Proc task, int deadline);
+
+    /**
+     * Schedulability analysis of the workload under this policy.
+     */
+    public abstract Schedulability analyze(List<Proc> procs);
+
+    /**
+     * Least common multiple of the periods, or -1 if it exceeds {@code limit}.
+     */
+    public static long hyperperiod(List<Proc> procs, long limit) {
+        long lcm = 1;
+        for (Proc p : procs) {
+            if (p.isPeriodic()) {
+                long g = gcd(lcm, p.period);
+                if (lcm / g > limit / p.period) {
+                    return -1;
+                }
+                lcm = lcm / g * p.period;
+            }
+        }
+        return lcm;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    @Override
+    public SimResult run() {
+        beginRun();
+        List<Proc> procs = workingCopy();
+        int n = procs.size();
+        Schedulability analysis = analyze(procs);
+
+        long hyper = hyperperiod(procs, DEFAULT_HORIZON_LIMIT);
+        int firstArrival = Integer.MAX_VALUE;
+        int maxOffset = 0;
+        int firstPhase = -1;
+        boolean offsets = false;
+        for (Proc p : procs) {
+            firstArrival = Math.min(firstArrival, p.arrival);
+            maxOffset = Math.max(maxOffset, p.arrival);
+            if (p.isPeriodic()) {
+                offsets |= firstPhase >= 0 && p.arrival != firstPhase;
+                firstPhase = p.arrival;
+            }
+        }
+        int end = horizon;
+        if (end == 0) {
+            long span = firstPhase < 0 ? 0 : hyper < 0 ? DEFAULT_HORIZON_LIMIT : offsets ? maxOffset + 2 * hyper : hyper;
+            end = (int) Math.min(DEFAULT_HORIZON_LIMIT, Math.max(span, maxOffset + 1L));
+        }
+        RealTimeReport report = new RealTimeReport(procs, analysis, end, hyper);
+
+        // Next release of each task, and the release times of its pending jobs
+        IndexedMinHeap releases = new IndexedMinHeap(n);
+        IndexedMinHeap ready = new IndexedMinHeap(n);
+        int[][] pending = new int[n][];
+        int[] head = new int[n];
+        int[] count = new int[n];
+        int[] remaining = new int[n];
+        int[] started = new int[n];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < n; i++) {
+            Proc p = procs.get(i);
+            if (p.arrival < end) {
+                releases.add(i, IndexedMinHeap.key(p.arrival, i));
+            }
+            pending[i] = new int[1];
+        }
+
+        List<GanttEntry> timeline = newTimeline();
+        int time = 0;
+        int current = -1;
+        int currentStart = 0;
+        long jobsDone = 0;
+        long totalResponse = 0, totalTurnaround = 0, totalWait = 0;
+        int inFlight = 0;
+        int lastFinish = 0;
+
+        while (true) {
+            // Release every job due by now and schedule the task's next release
+            while (!releases.isEmpty() && (int) (releases.peekKey() >> 32) <= time) {
+                int release = (int) (releases.peekKey() >> 32);
+                int id = releases.poll();
+                Proc p = procs.get(id);
+                if (count[id] == pending[id].length) {
+                    int[] grown = new int[2 * count[id]];
+                    for (int k = 0; k < count[id]; k++) {
+                        grown[k] = pending[id][(head[id] + k) % pending[id].length];
+                    }
+                    pending[id] = grown;
+                    head[id] = 0;
+                }
+                pending[id][(head[id] + count[id]) % pending[id].length] = release;
+                if (count[id]++ == 0) {
+                    remaining[id] = p.burst;
+                    started[id] = -1;
+                    ready.add(id, IndexedMinHeap.key(priority(p, deadlineOf(p, release)), id));
+                }
+                inFlight++;
+                if (p.isPeriodic()) {
+                    long next = (long) release + p.period + (p.sporadicDelay > 0 ? random.nextInt(p.sporadicDelay + 1) : 0);
+                    if (next < end) {
+                        releases.add(id, IndexedMinHeap.key((int) next, id));
+                    }
+                }
+            }
+            if (series != null) {
+                series.set(TimeSeries.IN_FLIGHT, time, inFlight);
+            }
+
+            if (ready.isEmpty()) {
+                if (releases.isEmpty()) {
+                    break; // All done
+                }
+                // CPU idle – fast-forward to the next release
+                int next = (int) (releases.peekKey() >> 32);
+                stats.idle(time, next);
+                time = next;
+                continue;
+            }
+
+            int id = ready.peek();
+            Proc p = procs.get(id);
+            if (id != current) {
+                if (current != -1) {
+                    timeline.add(slice(procs.get(current).name, currentStart, time));
+                    stats.preemption();
+                }
+                current = id;
+                currentStart = time;
+                stats.queueLength(0, ready.size() - 1);
+            }
+            if (started[id] == -1) {
+                started[id] = time;
+            }
+
+            // Run until the job finishes or the next release
+            int until = time + remaining[id];
+            if (!releases.isEmpty()) {
+                until = Math.min(until, (int) (releases.peekKey() >> 32));
+            }
+            remaining[id] -= until - time;
+            time = until;
+            if (remaining[id] > 0) {
+                continue;
+            }
+
+            // Job done: account for it and move on to the task's next pending job
+            int release = pending[id][head[id]];
+            report.job(id, release, time);
+            jobsDone++;
+            totalResponse += started[id] - release;
+            totalTurnaround += time - release;
+            totalWait += time - release - p.burst;
+            lastFinish = time;
+            inFlight--;
+            timeline.add(slice(p.name, currentStart, time));
+            current = -1;
+            head[id] = (head[id] + 1) % pending[id].length;
+            if (--count[id] > 0) {
+                remaining[id] = p.burst;
+                started[id] = -1;
+                ready.changeKey(id, IndexedMinHeap.key(priority(p, deadlineOf(p, pending[id][head[id]])), id));
+            } else {
+                ready.remove(id);
+            }
+        }
+
+        long reportStart = stats.engineDone();
+        SimResult result = new SimResult();
+        result.timeline = timeline;
+        result.stats = stats.isEnabled() ? stats : null;
+        result.realtime = report;
+        double jobs = Math.max(1, jobsDone);
+        result.avgWait = totalWait / jobs;
+        result.avgTurnaround = totalTurnaround / jobs;
+        result.avgResponse = totalResponse / jobs;
+        result.makespan = lastFinish;
+        long cpuBusy = 0;
+        SliceCursor slices = SliceCursor.of(timeline);
+        while (slices.next()) {
+            cpuBusy += slices.end() - slices.start();
+        }
+        // Utilization over the whole horizon, idle tail included
+        double span = Math.max(1, Math.max(lastFinish, end) - firstArrival);
+        result.cpuUtilization = cpuBusy / span;
+        result.throughput = jobsDone / span;
+
+        if (series != null) {
+            for (slices = SliceCursor.of(timeline); slices.next(); ) {
+                series.add(TimeSeries.CPU_BUSY, slices.start(), slices.end(), 1);
+            }
+            series.finish(lastFinish);
+            result.series = series;
+        }
+        if (!reportWanted()) {
+            stats.reportDone(reportStart);
+            return result; // metrics only
+        }
+
+        result.colorMap = new HashMap<>();
+        int colorIndex = 0;
+        for (Proc p : procs) {
+            if (!result.colorMap.containsKey(p.name)) {
+                result.colorMap.put(p.name, Palette.color(colorIndex++));
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("═══════════════════════════════════════\n");
+        sb.append("  ").append(getName()).append("\n");
+        sb.append("═══════════════════════════════════════\n");
+        sb.append(report.describe());
+        sb.append(String.format("%nAverage Response Time:   %.2f%n", result.avgResponse));
+        sb.append(String.format("Average Waiting Time:    %.2f%n", result.avgWait));
+        sb.append(String.format("Average Turnaround Time: %.2f%n", result.avgTurnaround));
+        sb.append(String.format("CPU Utilization:         %.1f%%%n", 100 * result.cpuUtilization));
+        sb.append(String.format("Throughput:              %.3f jobs/unit%n", result.throughput));
+        result.text = sb.toString();
+        stats.reportDone(reportStart);
+        return result;
+    }
+
+    private static int deadlineOf(Proc p, int release) {
+        int d = p.relativeDeadline();
+        return d == 0 ? Integer.MAX_VALUE : (int) Math.min(Integer.MAX_VALUE, (long) release + d);
+    }
+}
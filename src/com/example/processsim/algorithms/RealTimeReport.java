@@ -0,0 +1,158 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Deadline statistics of a real-time run, per process and over all jobs, next to the
+ * {@link Schedulability} analysis done before the run.
+ * <p>
+ * Lateness is a job's finish minus its absolute deadline, negative when it finished early;
+ * a job with positive lateness missed its deadline. Its distribution is kept per process as
+ * a histogram of lateness relative to the deadline, in {@link #BUCKETS} steps of a tenth of
+ * the deadline from -100% to +100% and beyond, so memory does not grow with the number of
+ * jobs. Processes without a deadline count jobs and response times only.
+ * <p>
+ * Index {@code i} of every array is process {@code names[i]}, in workload order.
+ */
+public class RealTimeReport {
+    /** Lateness histogram buckets: {@code [-100%, -90%)} … {@code [90%, 100%)}, then 100% and more. */
+    public static final int BUCKETS = 21;
+
+    public final Schedulability analysis;
+    /** Jobs are released before this time. */
+    public final int horizon;
+    /** Least common multiple of the periods, or -1 if it exceeds the horizon limit. */
+    public final long hyperperiod;
+
+    public final String[] names;
+    public final int[] period;
+    public final int[] wcet;
+    public final int[] deadline;
+    public final long[] jobs;
+    public final long[] misses;
+    public final long[] maxResponse;
+    public final long[] minLateness;
+    public final long[] maxLateness;
+    public final long[] totalLateness;
+    /** Lateness histogram of each process, {@link #BUCKETS} counts. */
+    public final long[][] lateness;
+
+    RealTimeReport(List<Proc> procs, Schedulability analysis, int horizon, long hyperperiod) {
+        int n = procs.size();
+        this.analysis = analysis;
+        this.horizon = horizon;
+        this.hyperperiod = hyperperiod;
+        names = new String[n];
+        period = new int[n];
+        wcet = new int[n];
+        deadline = new int[n];
+        for (int i = 0; i < n; i++) {
+            Proc p = procs.get(i);
+            names[i] = p.name;
+            period[i] = p.period;
+            wcet[i] = p.burst;
+            deadline[i] = p.relativeDeadline();
+        }
+        jobs = new long[n];
+        misses = new long[n];
+        maxResponse = new long[n];
+        minLateness = new long[n];
+        maxLateness = new long[n];
+        totalLateness = new long[n];
+        lateness = new long[n][BUCKETS];
+        Arrays.fill(minLateness, Long.MAX_VALUE);
+        Arrays.fill(maxLateness, Long.MIN_VALUE);
+    }
+
+    /** Record a job of process {@code i} released at {@code release} and done at {@code finish}. */
+    void job(int i, int release, int finish) {
+        jobs[i]++;
+        maxResponse[i] = Math.max(maxResponse[i], finish - release);
+        if (deadline[i] == 0) {
+            return;
+        }
+        long late = (long) finish - release - deadline[i];
+        if (late > 0) {
+            misses[i]++;
+        }
+        minLateness[i] = Math.min(minLateness[i], late);
+        maxLateness[i] = Math.max(maxLateness[i], late);
+        totalLateness[i] += late;
+        lateness[i][bucketOf(late, deadline[i])]++;
+    }
+
+    /** Histogram bucket of a lateness relative to the deadline. */
+    public static int bucketOf(long late, int deadline) {
+        long tenth = Math.floorDiv(10 * late, deadline);
+        return (int) Math.max(0, Math.min(BUCKETS - 1, tenth + 10));
+    }
+
+    public long totalJobs() {
+        long sum = 0;
+        for (long j : jobs) {
+            sum += j;
+        }
+        return sum;
+    }
+
+    public long totalMisses() {
+        long sum = 0;
+        for (long m : misses) {
+            sum += m;
+        }
+        return sum;
+    }
+
+    /**
+     * Upper end of the histogram bucket holding quantile {@code q} of the lateness of
+     * process {@code i}, in time units, capped at its largest lateness; 0 without jobs.
+     */
+    public long latenessQuantile(int i, double q) {
+        long count = deadline[i] == 0 ? 0 : jobs[i];
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(q * count);
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += lateness[i][b];
+            if (seen >= Math.max(1, rank)) {
+                if (b == BUCKETS - 1) {
+                    return maxLateness[i];
+                }
+                long upper = (long) Math.ceil((b - 9) * deadline[i] / 10.0) - 1;
+                return Math.min(upper, maxLateness[i]);
+            }
+        }
+        return maxLateness[i];
+    }
+
+    /**
+     * Analysis, per-process table and summary, appended to the text report.
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\nSchedulability: ").append(analysis.describe()).append("\n");
+        sb.append(String.format(Locale.ROOT, "Horizon: %d%s%n", horizon,
+            hyperperiod > 0 ? " (hyperperiod " + hyperperiod + ")" : " (hyperperiod too long, capped)"));
+        sb.append(String.format(Locale.ROOT, "%n%-8s %-7s %-5s %-6s %-8s %-7s %-8s %-8s %-8s %-8s%n",
+            "Name", "Period", "WCET", "Dline", "Jobs", "Missed", "MaxResp", "WCRT", "p99 late", "Max late"));
+        sb.append("─".repeat(83)).append("\n");
+        for (int i = 0; i < names.length; i++) {
+            long bound = analysis.responseBound[i];
+            boolean timed = deadline[i] > 0 && jobs[i] > 0;
+            sb.append(String.format(Locale.ROOT, "%-8s %-7s %-5d %-6s %-8d %-7d %-8d %-8s %-8s %-8s%n",
+                names[i], period[i] > 0 ? String.valueOf(period[i]) : "-", wcet[i],
+                deadline[i] > 0 ? String.valueOf(deadline[i]) : "-", jobs[i], misses[i], maxResponse[i],
+                bound >= 0 ? String.valueOf(bound) : "-",
+                timed ? String.valueOf(latenessQuantile(i, 0.99)) : "-",
+                timed ? String.valueOf(maxLateness[i]) : "-"));
+        }
+        sb.append("─".repeat(83)).append("\n");
+        long total = totalJobs();
+        long missed = totalMisses();
+        sb.append(String.format(Locale.ROOT, "Deadline misses:         %d of %d jobs (%.2f%%)%n",
+            missed, total, total == 0 ? 0.0 : 100.0 * missed / total));
+        return sb.toString();
+    }
+}
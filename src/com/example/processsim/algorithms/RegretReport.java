@@ -0,0 +1,92 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * How far each of a set of algorithms is from the optimum of every {@link Objective} on one
+ * workload. The regret of an algorithm is its objective value minus the {@link OptimalSolver}
+ * lower bound; when the solver proved its schedule optimal, that is exactly the distance to
+ * the optimum, otherwise an upper estimate of it.
+ * <p>
+ * Index {@code [a][o]} of {@link #values} is algorithm {@code algorithms[a]} and objective
+ * {@code Objective.values()[o]}.
+ */
+public class RegretReport {
+    /** Algorithms compared by default: the classic ones and stride. */
+    public static final String DEFAULT_ALGORITHMS = "FCFS;SJF;SRTF;RR:4;MLFQ;PRIO;PPRIO;CFS;STRIDE:4";
+
+    public final SolverReport[] optimum;
+    public final String[] algorithms;
+    /** Objective values; NaN where an algorithm does not report per-process results. */
+    public final double[][] values;
+
+    private RegretReport(SolverReport[] optimum, String[] algorithms, double[][] values) {
+        this.optimum = optimum;
+        this.algorithms = algorithms;
+        this.values = values;
+    }
+
+    /**
+     * Solve every objective on {@code procs}, with {@code timeLimit} seconds each, and run
+     * every algorithm of {@code specs} on them.
+     */
+    public static RegretReport compute(List<Proc> procs, List<AlgorithmSpec> specs, double timeLimit, int threads) {
+        Objective[] objectives = Objective.values();
+        SolverReport[] optimum = new SolverReport[objectives.length];
+        for (int o = 0; o < objectives.length; o++) {
+            optimum[o] = new OptimalSolver(procs, objectives[o], timeLimit, threads).run().optimality;
+        }
+        String[] names = new String[specs.size()];
+        double[][] values = new double[specs.size()][objectives.length];
+        for (int a = 0; a < specs.size(); a++) {
+            SchedulingAlgorithm algorithm = specs.get(a).create(procs);
+            SimResult r = algorithm.run();
+            names[a] = algorithm.getName();
+            for (int o = 0; o < objectives.length; o++) {
+                values[a][o] = r.processes == null ? Double.NaN : objectives[o].value(r.processes);
+            }
+        }
+        return new RegretReport(optimum, names, values);
+    }
+
+    public double regret(int algorithm, int objective) {
+        return values[algorithm][objective] - optimum[objective].bound;
+    }
+
+    /**
+     * Table of each algorithm's values and regrets, below the optimum of every objective.
+     */
+    public String describe() {
+        Objective[] objectives = Objective.values();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Regret against the optimum (value, + distance to the lower bound)\n");
+        sb.append(String.format(Locale.ROOT, "%-38s", "Algorithm"));
+        for (Objective o : objectives) {
+            sb.append(String.format(Locale.ROOT, " %-28s", o.label()));
+        }
+        sb.append("\n").append("─".repeat(38 + 29 * objectives.length)).append("\n");
+        sb.append(String.format(Locale.ROOT, "%-38s", "Lower bound"));
+        for (SolverReport r : optimum) {
+            sb.append(String.format(Locale.ROOT, " %-28s", String.format(Locale.ROOT, "%.2f%s", r.bound,
+                r.proved ? " (optimal)" : "")));
+        }
+        sb.append("\n");
+        sb.append(String.format(Locale.ROOT, "%-38s", "Best schedule found"));
+        for (SolverReport r : optimum) {
+            sb.append(String.format(Locale.ROOT, " %-28s", cell(r.value, r.gap())));
+        }
+        sb.append("\n").append("─".repeat(38 + 29 * objectives.length)).append("\n");
+        for (int a = 0; a < algorithms.length; a++) {
+            sb.append(String.format(Locale.ROOT, "%-38s", algorithms[a]));
+            for (int o = 0; o < objectives.length; o++) {
+                sb.append(String.format(Locale.ROOT, " %-28s", cell(values[a][o], regret(a, o))));
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    private static String cell(double value, double regret) {
+        return Double.isNaN(value) ? "-" : String.format(Locale.ROOT, "%.2f (+%.2f)", value, regret);
+    }
+}
@@ -19,52 +19,60 @@ public class RoundRobinAlgorithm extends SchedulingAlgorithm {
 
     @Override
     public SimResult run() {
-        List<Proc> procs = new ArrayList<>(processes);
+        beginRun();
+        List<Proc> procs = workingCopy();
         procs.sort(Comparator.comparingInt(p -> p.arrival));
 
-        List<GanttEntry> timeline = new ArrayList<>();
-        Queue<Proc> queue = new LinkedList<>();
+        IODevices io = devicesFor(procs);
+        ReadyEvents events = new ReadyEvents(procs, io);
+        List<GanttEntry> timeline = newTimeline();
+        Queue<Integer> queue = new ArrayDeque<>();
         int time = 0;
-        int index = 0;
 
         while (true) {
-            // Add all processes that have arrived
-            while (index < procs.size() && procs.get(index).arrival <= time) {
-                queue.add(procs.get(index++));
+            // Add all processes that have arrived or returned from I/O
+            while (events.hasReadyBy(time)) {
+                queue.add(events.poll());
             }
 
             if (queue.isEmpty()) {
-                if (index < procs.size()) {
+                if (!events.isEmpty()) {
                     // Jump to next arrival time
-                    time = procs.get(index).arrival;
+                    stats.idle(time, events.nextTime());
+                    time = events.nextTime();
                     continue;
                 } else {
                     break; // All done
                 }
             }
 
-            Proc p = queue.poll();
+            int id = queue.poll();
+            Proc p = procs.get(id);
+            stats.queueLength(0, queue.size());
             if (p.start == -1) {
                 p.start = time;
             }
 
             int runTime = Math.min(quantum, p.remaining);
-            timeline.add(new GanttEntry(p.name, time, time + runTime));
+            timeline.add(slice(p.name, time, time + runTime));
             p.remaining -= runTime;
             time += runTime;
 
             // Add newly arrived processes during this execution
-            while (index < procs.size() && procs.get(index).arrival <= time) {
-                queue.add(procs.get(index++));
+            while (events.hasReadyBy(time)) {
+                queue.add(events.poll());
             }
 
             if (p.remaining > 0) {
-                queue.add(p); // Re-queue if not finished
+                queue.add(id); // Re-queue if not finished
+                stats.preemption();
+            } else if (p.hasMoreBursts()) {
+                events.block(id, time);
             } else {
                 p.finish = time;
             }
         }
 
-        return buildResult(procs, timeline);
+        return buildResult(procs, timeline, io);
     }
 }
@@ -4,7 +4,8 @@ import java.util.*;
 
 /**
  * Shortest Job First (SJF) scheduling algorithm.
- * Non-preemptive: selects the process with the shortest burst time.
+ * Non-preemptive: selects the process with the shortest burst time
+ * (the current CPU burst for processes that alternate with I/O).
  */
 public class SJFAlgorithm extends SchedulingAlgorithm {
 
@@ -19,37 +20,66 @@ public class SJFAlgorithm extends SchedulingAlgorithm {
 
     @Override
     public SimResult run() {
-        List<Proc> procs = new ArrayList<>(processes);
-        List<GanttEntry> timeline = new ArrayList<>();
-        List<Proc> ready = new ArrayList<>();
+        beginRun();
+        List<Proc> procs = workingCopy();
+        IODevices io = devicesFor(procs);
+        List<GanttEntry> timeline = newTimeline();
+
+        // Events need arrival order; ties between equal bursts go by input order
+        int[] order = arrivalOrder(procs);
+        int[] rank = new int[order.length];
+        List<Proc> byArrival = new ArrayList<>(procs.size());
+        for (int r = 0; r < order.length; r++) {
+            rank[order[r]] = r;
+            byArrival.add(procs.get(order[r]));
+        }
+        ReadyEvents events = new ReadyEvents(byArrival, io);
+        IndexedMinHeap ready = new IndexedMinHeap(procs.size());
+        int[] admitted = new int[procs.size()];
+        int seq = 0;
 
         int time = 0;
         int completed = 0;
 
         while (completed < procs.size()) {
-            // Add all arrived processes to ready queue
-            for (Proc p : procs) {
-                if (p.arrival <= time && p.finish == -1 && !ready.contains(p)) {
-                    ready.add(p);
-                }
+            // Add all arrived processes (and those back from I/O) to ready queue,
+            // in input order; among equal bursts the earlier admitted runs first
+            int count = 0;
+            while (events.hasReadyBy(time)) {
+                admitted[count++] = order[events.poll()];
+            }
+            Arrays.sort(admitted, 0, count);
+            for (int i = 0; i < count; i++) {
+                int index = admitted[i];
+                ready.add(index, IndexedMinHeap.key(procs.get(index).remaining, seq++));
             }
 
             if (ready.isEmpty()) {
-                time++;
+                stats.idle(time, events.nextTime());
+                time = events.nextTime();
                 continue;
             }
 
-            // Select process with shortest burst time
-            ready.sort(Comparator.comparingInt(p -> p.burst));
-            Proc p = ready.remove(0);
+            // Select process with shortest (current CPU) burst time
+            int index = ready.poll();
+            Proc p = procs.get(index);
+            stats.queueLength(0, ready.size());
 
-            p.start = time;
-            timeline.add(new GanttEntry(p.name, time, time + p.burst));
-            time += p.burst;
-            p.finish = time;
-            completed++;
+            if (p.start == -1) {
+                p.start = time;
+            }
+            timeline.add(slice(p.name, time, time + p.remaining));
+            time += p.remaining;
+            p.remaining = 0;
+
+            if (p.hasMoreBursts()) {
+                events.block(rank[index], time);
+            } else {
+                p.finish = time;
+                completed++;
+            }
         }
 
-        return buildResult(procs, timeline);
+        return buildResult(procs, timeline, io);
     }
 }
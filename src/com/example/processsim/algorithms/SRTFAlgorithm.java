@@ -5,6 +5,7 @@ import java.util.*;
 /**
  * Shortest Remaining Time First (SRTF) scheduling algorithm.
  * Preemptive version of SJF: always runs the process with the least remaining time.
+ * Event driven: decisions are only taken when a process arrives or a CPU burst ends.
  */
 public class SRTFAlgorithm extends SchedulingAlgorithm {
 
@@ -19,60 +20,79 @@ public class SRTFAlgorithm extends SchedulingAlgorithm {
 
     @Override
     public SimResult run() {
-        List<Proc> procs = new ArrayList<>(processes);
-        List<GanttEntry> timeline = new ArrayList<>();
+        beginRun();
+        List<Proc> procs = workingCopy();
+        IODevices io = devicesFor(procs);
+        List<GanttEntry> timeline = newTimeline();
+
+        // Events need arrival order; ties between equal remaining times go by input order
+        int[] order = arrivalOrder(procs);
+        int[] rank = new int[order.length];
+        List<Proc> byArrival = new ArrayList<>(procs.size());
+        for (int r = 0; r < order.length; r++) {
+            rank[order[r]] = r;
+            byArrival.add(procs.get(order[r]));
+        }
+        ReadyEvents events = new ReadyEvents(byArrival, io);
+        IndexedMinHeap ready = new IndexedMinHeap(procs.size());
 
         int time = 0;
         int completed = 0;
-        Proc current = null;
+        int current = -1;
         int currentStart = 0;
 
         while (completed < procs.size()) {
-            // Find process with shortest remaining time among arrived processes
-            Proc shortest = null;
-            for (Proc p : procs) {
-                if (p.arrival <= time && p.remaining > 0) {
-                    if (shortest == null || p.remaining < shortest.remaining) {
-                        shortest = p;
-                    }
-                }
+            while (events.hasReadyBy(time)) {
+                int index = order[events.poll()];
+                ready.add(index, IndexedMinHeap.key(procs.get(index).remaining, index));
             }
 
-            if (shortest == null) {
-                // No process available, advance time
-                if (current != null) {
-                    timeline.add(new GanttEntry(current.name, currentStart, time));
-                    current = null;
+            if (current == -1) {
+                if (ready.isEmpty()) {
+                    // No process available, advance time
+                    stats.idle(time, events.nextTime());
+                    time = events.nextTime();
+                    continue;
                 }
-                time++;
-                continue;
-            }
-
-            // Context switch if different process
-            if (current != shortest) {
-                if (current != null) {
-                    timeline.add(new GanttEntry(current.name, currentStart, time));
-                }
-                current = shortest;
+                // Run the process with the shortest remaining time
+                current = ready.poll();
                 currentStart = time;
-                if (current.start == -1) {
-                    current.start = time;
+                stats.queueLength(0, ready.size());
+                if (procs.get(current).start == -1) {
+                    procs.get(current).start = time;
                 }
+            } else if (!ready.isEmpty()
+                    && ready.peekKey() < IndexedMinHeap.key(procs.get(current).remaining, current)) {
+                // A new arrival is shorter: preempt
+                Proc p = procs.get(current);
+                timeline.add(slice(p.name, currentStart, time));
+                ready.add(current, IndexedMinHeap.key(p.remaining, current));
+                stats.preemption();
+                current = -1;
+                continue;
             }
 
-            // Execute for 1 time unit
-            current.remaining--;
-            time++;
-
-            // Check if process completed
-            if (current.remaining == 0) {
-                current.finish = time;
-                timeline.add(new GanttEntry(current.name, currentStart, time));
-                current = null;
+            // Run until the CPU burst completes or the next process becomes ready;
+            // those already waiting are never shorter than the running one
+            Proc p = procs.get(current);
+            int next = events.nextTime();
+            if (next < time + p.remaining) {
+                p.remaining -= next - time;
+                time = next;
+                continue;
+            }
+            time += p.remaining;
+            p.remaining = 0;
+            timeline.add(slice(p.name, currentStart, time));
+            if (p.hasMoreBursts()) {
+                events.block(rank[current], time);
+            } else {
+                p.finish = time;
                 completed++;
             }
+            current = -1;
         }
 
-        return buildResult(procs, timeline);
+        return buildResult(procs, timeline, io);
     }
 }
@@ -0,0 +1,287 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Schedulability analysis of the periodic and sporadic tasks of a workload on one CPU,
+ * run before a real-time simulation.
+ * <p>
+ * Tasks have constrained deadlines ({@code deadline <= period}) and are analysed as if all
+ * were released together, the worst case for independent tasks, so offsets and sporadic
+ * delays only make a verdict of {@link Verdict#SCHEDULABLE} safer. One-shot processes are
+ * not covered.
+ * <ul>
+ *   <li>EDF: utilization {@code U <= 1} is exact when every deadline equals its period;
+ *       otherwise the quick processor-demand analysis (QPA, Zhang and Burns) checks the
+ *       demand bound at a handful of absolute deadlines.</li>
+ *   <li>Rate monotonic: the Liu and Layland and hyperbolic bounds are tried first, then exact
+ *       response-time analysis gives the worst-case response time of every task.</li>
+ * </ul>
+ */
+public class Schedulability {
+    public enum Verdict { SCHEDULABLE, UNSCHEDULABLE, UNKNOWN }
+
+    /** Iteration limit of the fixed-point searches, beyond which the verdict is unknown. */
+    private static final int MAX_ITERATIONS = 1_000_000;
+
+    /** Tolerance of the utilization tests for rounding in the sum. */
+    private static final double EPSILON = 1e-9;
+
+    public final Verdict verdict;
+    /** Test that decided the verdict. */
+    public final String test;
+    /** Total utilization {@code sum(C / T)} of the periodic tasks. */
+    public final double utilization;
+    /**
+     * Worst-case response time of each process by response-time analysis, indexed like the
+     * workload; -1 where unknown, unbounded or not computed.
+     */
+    public final long[] responseBound;
+
+    private Schedulability(Verdict verdict, String test, double utilization, long[] responseBound) {
+        this.verdict = verdict;
+        this.test = test;
+        this.utilization = utilization;
+        this.responseBound = responseBound;
+    }
+
+    /** Utilization of the periodic tasks among {@code procs}. */
+    public static double utilization(List<Proc> procs) {
+        double u = 0;
+        for (Proc p : procs) {
+            if (p.isPeriodic()) {
+                u += (double) p.burst / p.period;
+            }
+        }
+        return u;
+    }
+
+    /**
+     * Analyse {@code procs} under earliest deadline first.
+     */
+    public static Schedulability edf(List<Proc> procs) {
+        List<Proc> tasks = periodic(procs);
+        long[] bounds = unknownBounds(procs.size());
+        double u = utilization(procs);
+        if (tasks.isEmpty()) {
+            return new Schedulability(Verdict.SCHEDULABLE, "no periodic tasks", 0, bounds);
+        }
+        if (u > 1 + EPSILON) {
+            return new Schedulability(Verdict.UNSCHEDULABLE, "utilization > 1", u, bounds);
+        }
+        boolean implicit = true;
+        for (Proc p : tasks) {
+            implicit &= p.relativeDeadline() == p.period;
+        }
+        if (implicit) {
+            return new Schedulability(Verdict.SCHEDULABLE, "utilization <= 1 (implicit deadlines)", u, bounds);
+        }
+        return new Schedulability(qpa(tasks, u), "processor demand (QPA)", u, bounds);
+    }
+
+    /**
+     * Analyse {@code procs} under rate-monotonic priorities, shorter periods first and ties in
+     * workload order.
+     */
+    public static Schedulability rateMonotonic(List<Proc> procs) {
+        long[] bounds = unknownBounds(procs.size());
+        double u = utilization(procs);
+        Integer[] order = rateMonotonicOrder(procs);
+        if (order.length == 0) {
+            return new Schedulability(Verdict.SCHEDULABLE, "no periodic tasks", 0, bounds);
+        }
+
+        // Exact response-time analysis, for the bounds even when a cheaper test decides. A task's
+        // response is at least that of the next higher priority plus its own execution time,
+        // which makes a close starting point; the first task that misses decides the verdict.
+        // Higher-priority tasks with a period of at least r interfere exactly once; they are a
+        // suffix in rate-monotonic order, summed with prefix sums.
+        int n = order.length;
+        int[] period = new int[n];
+        long[] prefix = new long[n + 1];
+        for (int k = 0; k < n; k++) {
+            Proc p = procs.get(order[k]);
+            period[k] = p.period;
+            prefix[k + 1] = prefix[k] + p.burst;
+        }
+        boolean allMet = true;
+        boolean complete = true;
+        long previous = 0;
+        for (int k = 0; k < n && allMet && complete; k++) {
+            Proc p = procs.get(order[k]);
+            long r = previous + p.burst;
+            int deadline = p.relativeDeadline();
+            for (int it = 0; ; it++) {
+                if (r > deadline) {
+                    allMet = false;
+                    break;
+                }
+                if (it == MAX_ITERATIONS) {
+                    complete = false;
+                    break;
+                }
+                int shorter = firstPeriodAtLeast(period, k, r);
+                long next = p.burst + prefix[k] - prefix[shorter];
+                for (int j = 0; j < shorter; j++) {
+                    next += ((r + period[j] - 1) / period[j]) * (prefix[j + 1] - prefix[j]);
+                }
+                if (next == r) {
+                    bounds[order[k]] = r;
+                    previous = r;
+                    break;
+                }
+                r = next;
+            }
+        }
+
+        if (u > 1 + EPSILON) {
+            return new Schedulability(Verdict.UNSCHEDULABLE, "utilization > 1", u, bounds);
+        }
+        boolean implicit = true;
+        double hyperbolic = 1;
+        for (Integer i : order) {
+            Proc p = procs.get(i);
+            implicit &= p.relativeDeadline() == p.period;
+            hyperbolic *= (double) p.burst / p.period + 1;
+        }
+        if (implicit && u <= n * (Math.pow(2, 1.0 / n) - 1) + EPSILON) {
+            return new Schedulability(Verdict.SCHEDULABLE, "Liu & Layland bound", u, bounds);
+        }
+        if (implicit && hyperbolic <= 2 + EPSILON) {
+            return new Schedulability(Verdict.SCHEDULABLE, "hyperbolic bound", u, bounds);
+        }
+        Verdict verdict = !allMet ? Verdict.UNSCHEDULABLE : complete ? Verdict.SCHEDULABLE : Verdict.UNKNOWN;
+        return new Schedulability(verdict, "response-time analysis", u, bounds);
+    }
+
+    /**
+     * Indexes of the periodic tasks of {@code procs} from highest to lowest rate-monotonic
+     * priority.
+     */
+    static Integer[] rateMonotonicOrder(List<Proc> procs) {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < procs.size(); i++) {
+            if (procs.get(i).isPeriodic()) {
+                order.add(i);
+            }
+        }
+        order.sort(Comparator.comparingInt(i -> procs.get(i).period));
+        return order.toArray(new Integer[0]);
+    }
+
+    /** First index below {@code k} whose period is at least {@code r}; periods are sorted. */
+    private static int firstPeriodAtLeast(int[] period, int k, long r) {
+        int lo = 0, hi = k;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (period[mid] < r) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Quick processor-demand analysis for constrained deadlines and {@code u <= 1}: the
+     * demand {@code h(t)} may not exceed {@code t} at any absolute deadline below the bound
+     * {@code L}. Walking down from the largest deadline below {@code L} and jumping to
+     * {@code h(t)} whenever it is smaller visits few points.
+     */
+    private static Verdict qpa(List<Proc> tasks, double u) {
+        long sumC = 0;
+        long minD = Long.MAX_VALUE;
+        long maxD = 0;
+        double slack = 0;
+        for (Proc p : tasks) {
+            sumC += p.burst;
+            minD = Math.min(minD, p.relativeDeadline());
+            maxD = Math.max(maxD, p.relativeDeadline());
+            slack += (double) (p.period - p.relativeDeadline()) * p.burst / p.period;
+        }
+
+        // Check deadlines below the smaller of the utilization bound and the synchronous busy period
+        long limit = u < 1 ? (long) Math.ceil(Math.max(maxD, slack / (1 - u))) : Long.MAX_VALUE;
+        long busy = sumC;
+        for (int it = 0; busy < limit; it++) {
+            if (it == MAX_ITERATIONS) {
+                return Verdict.UNKNOWN;
+            }
+            long next = 0;
+            for (Proc p : tasks) {
+                next += ((busy + p.period - 1) / p.period) * p.burst;
+            }
+            if (next == busy) {
+                limit = busy;
+                break;
+            }
+            busy = next;
+        }
+
+        long t = lastDeadlineBefore(tasks, limit);
+        if (t < 0) {
+            return Verdict.SCHEDULABLE;
+        }
+        for (int it = 0; ; it++) {
+            if (it == MAX_ITERATIONS) {
+                return Verdict.UNKNOWN;
+            }
+            long h = demand(tasks, t);
+            if (h > t) {
+                return Verdict.UNSCHEDULABLE;
+            }
+            if (h <= minD) {
+                return Verdict.SCHEDULABLE;
+            }
+            t = h < t ? h : lastDeadlineBefore(tasks, t);
+            if (t < 0) {
+                return Verdict.SCHEDULABLE;
+            }
+        }
+    }
+
+    /** Processor demand of the jobs with release and deadline in {@code [0, t]}. */
+    private static long demand(List<Proc> tasks, long t) {
+        long h = 0;
+        for (Proc p : tasks) {
+            int d = p.relativeDeadline();
+            if (t >= d) {
+                h += ((t - d) / p.period + 1) * p.burst;
+            }
+        }
+        return h;
+    }
+
+    /** Largest absolute deadline below {@code t}, or -1. */
+    private static long lastDeadlineBefore(List<Proc> tasks, long t) {
+        long best = -1;
+        for (Proc p : tasks) {
+            int d = p.relativeDeadline();
+            if (d < t) {
+                best = Math.max(best, d + (t - d - 1) / p.period * p.period);
+            }
+        }
+        return best;
+    }
+
+    private static List<Proc> periodic(List<Proc> procs) {
+        List<Proc> tasks = new ArrayList<>();
+        for (Proc p : procs) {
+            if (p.isPeriodic()) {
+                tasks.add(p);
+            }
+        }
+        return tasks;
+    }
+
+    private static long[] unknownBounds(int n) {
+        long[] bounds = new long[n];
+        Arrays.fill(bounds, -1);
+        return bounds;
+    }
+
+    public String describe() {
+        return String.format(Locale.ROOT, "%s (%s, U = %.3f)", verdict, test, utilization);
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.processsim.algorithms;
 
 import java.awt.Color;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CancellationException;
 
 /**
  * Base class for all scheduling algorithms.
@@ -21,16 +23,106 @@ public abstract class SchedulingAlgorithm {
 
     protected List<Proc> processes;
     protected int quantum;
+    private SimScratch scratch;
+    protected SimStats stats = SimStats.OFF;
+    /** Time series of the current run, or null when not recording. */
+    protected TimeSeries series;
+    /** Slices between two reads of the clock under a {@link #timeLimit}. */
+    private static final int DEADLINE_CHECK_INTERVAL = 4096;
+    private long timeLimitNanos;
+    private long deadline;
+    private int untilDeadlineCheck;
+    /** Largest number of slices of a run, 0 for no limit. */
+    private long maxSlices;
+    private long slicesLeft;
+    /** Spill directory of off-heap timelines, or null to keep them on the heap. */
+    private Path spillDir;
+    /** Entry handed out by {@link #slice} when the timeline copies it on add. */
+    private GanttEntry spare;
 
     public SchedulingAlgorithm(List<Proc> processes) {
         this(processes, 4);
     }
 
     public SchedulingAlgorithm(List<Proc> processes, int quantum) {
-        this.processes = processes.stream().map(Proc::copy).toList();
+        // A snapshot, so later changes to the caller's processes do not leak into runs;
+        // copied again on every run, see workingCopy()
+        this.processes = processes.stream().map(SchedulingAlgorithm::snapshot).toList();
         this.quantum = Math.max(1, quantum);
     }
 
+    /** A copy of {@code p} that shares nothing with it; run copies may share its arrays. */
+    private static Proc snapshot(Proc p) {
+        Proc copy = p.copy();
+        copy.bursts = p.bursts != null ? p.bursts.clone() : null;
+        copy.devices = p.devices != null ? p.devices.clone() : null;
+        return copy;
+    }
+
+    /**
+     * Recycle the buffers of {@code scratch} across runs and skip the text report.
+     * Meant for batch runs that only need the metrics of each {@link SimResult}.
+     */
+    public SchedulingAlgorithm useScratch(SimScratch scratch) {
+        this.scratch = scratch;
+        return this;
+    }
+
+    /**
+     * Whether the run should build the text report and colours, which runs on a scratch skip.
+     */
+    protected boolean reportWanted() {
+        return scratch == null;
+    }
+
+    /**
+     * Record engine counters and timings of every run into {@code stats}; the result of
+     * each run carries it as {@link SimResult#stats}.
+     */
+    public SchedulingAlgorithm instrument(SimStats stats) {
+        this.stats = stats != null ? stats : SimStats.OFF;
+        return this;
+    }
+
+    /**
+     * Record a down-sampled {@link TimeSeries} of the next run, returned as
+     * {@link SimResult#series}; null stops recording.
+     */
+    public SchedulingAlgorithm recordSeries(TimeSeries series) {
+        this.series = series;
+        return this;
+    }
+
+    /**
+     * Keep the timeline of each run in an {@link OffHeapTimeline} spilling to {@code dir},
+     * for runs too long for the heap; null keeps it on the heap. Ignored on a scratch,
+     * which recycles its own timeline. The result's timeline should be
+     * {@link OffHeapTimeline#close closed} when no longer needed.
+     */
+    public SchedulingAlgorithm spillTimeline(Path dir) {
+        this.spillDir = dir;
+        return this;
+    }
+
+    /**
+     * Abort each run that takes longer than {@code millis} with a
+     * {@link CancellationException}; 0 removes the limit. The clock is read every
+     * {@value #DEADLINE_CHECK_INTERVAL} slices, so an unlimited run pays one branch per slice.
+     */
+    public SchedulingAlgorithm timeLimit(long millis) {
+        this.timeLimitNanos = Math.max(0, millis) * 1_000_000;
+        return this;
+    }
+
+    /**
+     * Abort each run that produces more than {@code maxSlices} slices with a
+     * {@link SliceLimitException}, which bounds the memory of its timeline; 0 removes the limit.
+     */
+    public SchedulingAlgorithm sliceLimit(long maxSlices) {
+        this.maxSlices = Math.max(0, maxSlices);
+        return this;
+    }
+
     /**
      * Run the scheduling algorithm and return the result.
      */
@@ -41,19 +133,176 @@ public abstract class SchedulingAlgorithm {
      */
     public abstract String getName();
 
+    /**
+     * Start one run: starts its timers and arms the {@link #timeLimit} and
+     * {@link #sliceLimit}. Every {@link #run} calls it first.
+     */
+    protected void beginRun() {
+        stats.startRun(getName(), processes.size());
+        slicesLeft = maxSlices;
+        if (timeLimitNanos > 0) {
+            deadline = System.nanoTime() + timeLimitNanos;
+            untilDeadlineCheck = DEADLINE_CHECK_INTERVAL;
+        }
+    }
+
+    /**
+     * Fresh copies of the processes for one run, so that {@link #run} can be repeated.
+     */
+    protected List<Proc> workingCopy() {
+        if (scratch != null) {
+            return scratch.copyOf(processes);
+        }
+        stats.copied(processes.size());
+        List<Proc> procs = new ArrayList<>(processes.size());
+        for (Proc p : processes) {
+            procs.add(p.copy());
+        }
+        return procs;
+    }
+
+    /**
+     * I/O devices for one run, recording into the time series if there is one.
+     */
+    protected IODevices devicesFor(List<Proc> procs) {
+        IODevices io = IODevices.forProcesses(procs);
+        if (series != null) {
+            io.recordTo(series);
+        }
+        return io;
+    }
+
+    /**
+     * An empty timeline for one run.
+     */
+    protected List<GanttEntry> newTimeline() {
+        if (scratch != null) {
+            return scratch.timeline();
+        }
+        return spillDir != null ? new OffHeapTimeline(spillDir) : new ArrayList<>();
+    }
+
+    /**
+     * A timeline entry; recycled when running on a scratch, and reused for every slice when
+     * the timeline is off the heap, which copies it on add.
+     */
+    protected GanttEntry slice(String name, int start, int end) {
+        stats.dispatch();
+        if (timeLimitNanos > 0 && --untilDeadlineCheck == 0) {
+            untilDeadlineCheck = DEADLINE_CHECK_INTERVAL;
+            if (System.nanoTime() - deadline > 0) {
+                throw new CancellationException(getName() + ": time limit of "
+                    + timeLimitNanos / 1_000_000 + " ms exceeded");
+            }
+        }
+        if (maxSlices > 0 && --slicesLeft < 0) {
+            throw new SliceLimitException(getName() + ": more than " + maxSlices + " slices");
+        }
+        if (scratch != null) {
+            return scratch.entry(name, start, end);
+        }
+        if (spillDir != null) {
+            if (spare == null) {
+                spare = new GanttEntry(name, start, end);
+            }
+            spare.name = name;
+            spare.start = start;
+            spare.end = end;
+            spare.level = -1;
+            return spare;
+        }
+        return new GanttEntry(name, start, end);
+    }
+
+    /**
+     * Indexes of {@code procs} sorted by arrival, keeping input order among equal arrivals.
+     */
+    protected static int[] arrivalOrder(List<Proc> procs) {
+        Integer[] order = new Integer[procs.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> procs.get(i).arrival));
+        int[] result = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = order[i];
+        }
+        return result;
+    }
+
     /**
      * Build the final result with statistics.
      */
     protected SimResult buildResult(List<Proc> procs, List<GanttEntry> timeline) {
+        return buildResult(procs, timeline, null);
+    }
+
+    /**
+     * Build the final result with statistics, including device utilization when the
+     * processes performed I/O on {@code io}.
+     */
+    protected SimResult buildResult(List<Proc> procs, List<GanttEntry> timeline, IODevices io) {
+        long reportStart = stats.engineDone();
         SimResult result = new SimResult();
         result.timeline = timeline;
-        result.colorMap = new HashMap<>();
+        result.stats = stats.isEnabled() ? stats : null;
+
+        // Metrics
+        double totalWait = 0, totalTurnaround = 0, totalResponse = 0;
+        int firstArrival = Integer.MAX_VALUE, lastFinish = 0;
+        for (Proc p : procs) {
+            int turnaround = p.finish - p.arrival;
+            totalWait += turnaround - p.burst - p.ioTime;
+            totalTurnaround += turnaround;
+            totalResponse += p.start - p.arrival;
+            firstArrival = Math.min(firstArrival, p.arrival);
+            lastFinish = Math.max(lastFinish, p.finish);
+        }
+        result.avgWait = totalWait / procs.size();
+        result.avgTurnaround = totalTurnaround / procs.size();
+        result.avgResponse = totalResponse / procs.size();
+        result.makespan = lastFinish;
+
+        // Utilization over the span from the first arrival to the last completion
+        long cpuBusy = 0;
+        SliceCursor slices = SliceCursor.of(timeline);
+        while (slices.next()) {
+            cpuBusy += slices.end() - slices.start();
+        }
+        double span = Math.max(1, lastFinish - firstArrival);
+        result.cpuUtilization = cpuBusy / span;
+        result.throughput = procs.size() / span;
+        if (io != null && io.getRequests() > 0) {
+            result.deviceUtilization = new double[io.count()];
+            for (int d = 0; d < io.count(); d++) {
+                result.deviceUtilization[d] = io.busyTime(d) / span;
+            }
+        }
+
+        if (series != null) {
+            for (slices = SliceCursor.of(timeline); slices.next(); ) {
+                series.add(TimeSeries.CPU_BUSY, slices.start(), slices.end(), 1);
+            }
+            for (Proc p : procs) {
+                series.add(TimeSeries.IN_FLIGHT, p.arrival, p.finish, 1);
+            }
+            series.finish(lastFinish);
+            result.series = series;
+        }
+
+        if (scratch != null) {
+            stats.reportDone(reportStart);
+            return result; // metrics only
+        }
+
+        result.processes = procs;
 
         // Assign colors to processes
+        result.colorMap = new HashMap<>();
         int colorIndex = 0;
         for (Proc p : procs) {
             if (!result.colorMap.containsKey(p.name)) {
-                result.colorMap.put(p.name, GANTT_COLORS[colorIndex++ % GANTT_COLORS.length]);
+                result.colorMap.put(p.name, Palette.color(colorIndex++));
             }
         }
 
@@ -66,24 +315,27 @@ public abstract class SchedulingAlgorithm {
             "Name", "Arrival", "Burst", "Finish", "Wait", "Turnaround"));
         sb.append("─".repeat(55)).append("\n");
 
-        double totalWait = 0, totalTurnaround = 0;
         List<Proc> sorted = new ArrayList<>(procs);
         sorted.sort(Comparator.comparingInt(p -> p.arrival));
 
         for (Proc p : sorted) {
             int turnaround = p.finish - p.arrival;
-            int wait = turnaround - p.burst;
-            totalWait += wait;
-            totalTurnaround += turnaround;
+            int wait = turnaround - p.burst - p.ioTime;
             sb.append(String.format("%-8s %-8d %-8d %-8d %-8d %-10d%n",
                 p.name, p.arrival, p.burst, p.finish, wait, turnaround));
         }
 
         sb.append("─".repeat(55)).append("\n");
-        sb.append(String.format("%nAverage Waiting Time:    %.2f%n", totalWait / procs.size()));
-        sb.append(String.format("Average Turnaround Time: %.2f%n", totalTurnaround / procs.size()));
+        sb.append(String.format("%nAverage Waiting Time:    %.2f%n", result.avgWait));
+        sb.append(String.format("Average Turnaround Time: %.2f%n", result.avgTurnaround));
+        sb.append(String.format("CPU Utilization:         %.1f%%%n", 100 * result.cpuUtilization));
+        sb.append(String.format("Throughput:              %.3f /unit%n", result.throughput));
+        for (int d = 0; d < result.deviceUtilization.length; d++) {
+            sb.append(String.format("Device %d Utilization:    %.1f%%%n", d, 100 * result.deviceUtilization[d]));
+        }
 
         result.text = sb.toString();
+        stats.reportDone(reportStart);
         return result;
     }
 }
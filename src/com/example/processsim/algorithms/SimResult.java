@@ -8,7 +8,75 @@ import java.util.Map;
  * Holds the result of a scheduling simulation.
  */
 public class SimResult {
+    /**
+     * Slices in time order; an {@link OffHeapTimeline} for runs that
+     * {@link SchedulingAlgorithm#spillTimeline spill}, best read through {@link #cursor()}.
+     */
     public List<GanttEntry> timeline;
+    /**
+     * Final state of every process (first run, finish, I/O time), in the order the colours
+     * were assigned, when the text report was built; null for metrics-only runs and the
+     * real-time algorithms.
+     */
+    public List<Proc> processes;
     public String text;
     public Map<String, Color> colorMap;
+    public double avgWait;
+    public double avgTurnaround;
+    /** Average time from arrival to first CPU time. */
+    public double avgResponse;
+    /** Completion time of the last process. */
+    public int makespan;
+    /** Fraction of the schedule span during which the CPU was busy. */
+    public double cpuUtilization;
+    /** Completed processes per time unit over the schedule span. */
+    public double throughput;
+    /** Busy fraction of each I/O device over the schedule span; empty without I/O. */
+    public double[] deviceUtilization = new double[0];
+    /** Engine counters, when the algorithm was {@link SchedulingAlgorithm#instrument instrumented}. */
+    public SimStats stats;
+    /** Ready-queue and CPU time series, when {@link SchedulingAlgorithm#recordSeries recorded}. */
+    public TimeSeries series;
+    /** Lag of each process behind its ticket share, for the proportional-share algorithms. */
+    public FairnessReport fairness;
+    /** Deadline statistics and schedulability analysis, for the real-time algorithms. */
+    public RealTimeReport realtime;
+    /** CPU time and metrics of every process group, for hierarchical fair share. */
+    public GroupReport groups;
+    /** Objective value, lower bound and search effort, for the optimal solver. */
+    public SolverReport optimality;
+
+    private LaneLayout lanes;
+    private LaneLayout levelLanes;
+
+    /**
+     * Swimlane layout of the timeline, built on first use and cached; grouped by queue level
+     * if {@code byLevel}. Results of runs on a {@link SimScratch} must not use it after the
+     * scratch is reused.
+     */
+    public LaneLayout lanes(boolean byLevel) {
+        if (byLevel) {
+            if (levelLanes == null) {
+                levelLanes = new LaneLayout(timeline, true);
+            }
+            return levelLanes;
+        }
+        if (lanes == null) {
+            lanes = new LaneLayout(timeline, false);
+        }
+        return lanes;
+    }
+
+    /**
+     * Cursor over the timeline, reading an {@link OffHeapTimeline} in place; see
+     * {@link SliceCursor}.
+     */
+    public SliceCursor cursor() {
+        return SliceCursor.of(timeline);
+    }
+
+    /** Whether the slices carry queue levels, so that {@link #lanes} can group by level. */
+    public boolean hasLevels() {
+        return !timeline.isEmpty() && timeline.get(0).level >= 0;
+    }
 }
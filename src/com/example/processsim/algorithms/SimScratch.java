@@ -0,0 +1,70 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Reusable buffers for running many simulations on one thread.
+ * <p>
+ * An algorithm {@link SchedulingAlgorithm#useScratch using} a scratch recycles its process
+ * copies, its timeline list and the timeline entries instead of allocating them per run,
+ * and skips the text report. The returned {@link SimResult} carries the metrics; its
+ * timeline is only valid until the next run on the same scratch.
+ * <p>
+ * Not thread-safe: keep one scratch per worker thread.
+ */
+public class SimScratch {
+    private final ArrayList<Proc> procs = new ArrayList<>();
+    private Proc[] procPool = new Proc[0];
+
+    private final ArrayList<GanttEntry> timeline = new ArrayList<>();
+    private GanttEntry[] entryPool = new GanttEntry[0];
+    private int entriesUsed = 0;
+
+    /**
+     * Fresh copies of {@code source}, backed by recycled objects.
+     */
+    List<Proc> copyOf(List<Proc> source) {
+        int n = source.size();
+        if (procPool.length < n) {
+            int old = procPool.length;
+            procPool = Arrays.copyOf(procPool, Math.max(n, old * 2));
+            for (int i = old; i < procPool.length; i++) {
+                procPool[i] = new Proc("", 0, 0);
+            }
+        }
+        procs.clear();
+        for (int i = 0; i < n; i++) {
+            Proc p = procPool[i];
+            p.copyFrom(source.get(i));
+            procs.add(p);
+        }
+        return procs;
+    }
+
+    /**
+     * The recycled timeline, emptied.
+     */
+    List<GanttEntry> timeline() {
+        timeline.clear();
+        entriesUsed = 0;
+        return timeline;
+    }
+
+    GanttEntry entry(String name, int start, int end) {
+        if (entriesUsed == entryPool.length) {
+            entryPool = Arrays.copyOf(entryPool, Math.max(64, entryPool.length * 2));
+        }
+        GanttEntry e = entryPool[entriesUsed];
+        if (e == null) {
+            e = new GanttEntry(name, start, end);
+            entryPool[entriesUsed] = e;
+        } else {
+            e.name = name;
+            e.start = start;
+            e.end = end;
+            e.level = -1;
+        }
+        entriesUsed++;
+        return e;
+    }
+}
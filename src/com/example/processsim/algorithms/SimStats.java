@@ -0,0 +1,227 @@
+package com.example.processsim.algorithms;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Counters and timers of the scheduling engine, filled in by an algorithm that
+ * {@link SchedulingAlgorithm#instrument instruments} with it.
+ * <p>
+ * Algorithms that are not instrumented share {@link #OFF}, whose recording methods return
+ * after one final-field check, so the hooks in the hot loops cost next to nothing.
+ * Counters accumulate over every run of an instrumented algorithm.
+ */
+public class SimStats {
+    /** The shared disabled instance. */
+    public static final SimStats OFF = new SimStats(false);
+
+    /** Queue-length histogram buckets: 0, 1, 2-3, 4-7, …, 2^30 and more. */
+    public static final int BUCKETS = 32;
+
+    private final boolean enabled;
+
+    public String algorithm = "";
+    public int runs;
+    public int processes;
+    /** Processes put on the CPU, one per Gantt slice. */
+    public long dispatches;
+    /** Processes taken off the CPU before their CPU burst ended (quantum expiry or preemption). */
+    public long preemptions;
+    /** Aging promotions (MLFQ levels, priority boosts). */
+    public long promotions;
+    /** MLFQ periodic boosts. */
+    public long boosts;
+    /** Idle fast-forwards, and the simulated time they skipped. */
+    public long idleJumps;
+    public long idleTime;
+    /** Wall time of the scheduling loop and of building the result. */
+    public long engineNanos;
+    public long reportNanos;
+    /** Bytes allocated by the running thread, or -1 if the JVM cannot tell. */
+    public long allocatedBytes;
+    /** Process copies made for the runs (zero when recycled by a {@link SimScratch}). */
+    public long procCopies;
+    /** Ready-queue length at each dispatch, per queue level, in {@link #BUCKETS} log buckets. */
+    public long[][] queueLengths = new long[0][];
+
+    private long runStart;
+    private long allocStart;
+
+    public SimStats() {
+        this(true);
+    }
+
+    private SimStats(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    void dispatch() {
+        if (enabled) {
+            dispatches++;
+        }
+    }
+
+    void preemption() {
+        if (enabled) {
+            preemptions++;
+        }
+    }
+
+    void copied(int count) {
+        if (enabled) {
+            procCopies += count;
+        }
+    }
+
+    void promoted(long count) {
+        if (enabled) {
+            promotions += count;
+        }
+    }
+
+    void boosted(long count) {
+        if (enabled) {
+            boosts += count;
+        }
+    }
+
+    void idle(int from, int to) {
+        if (enabled) {
+            idleJumps++;
+            idleTime += to - from;
+        }
+    }
+
+    /**
+     * Record the length of ready queue {@code level} (0 for single-queue algorithms).
+     */
+    void queueLength(int level, int length) {
+        if (enabled) {
+            if (level >= queueLengths.length) {
+                int old = queueLengths.length;
+                queueLengths = Arrays.copyOf(queueLengths, level + 1);
+                for (int i = old; i <= level; i++) {
+                    queueLengths[i] = new long[BUCKETS];
+                }
+            }
+            queueLengths[level][bucketOf(length)]++;
+        }
+    }
+
+    /** Histogram bucket of a queue length. */
+    public static int bucketOf(int length) {
+        return length <= 0 ? 0 : Math.min(BUCKETS - 1, 32 - Integer.numberOfLeadingZeros(length));
+    }
+
+    void startRun(String name, int processCount) {
+        if (enabled) {
+            algorithm = name;
+            runs++;
+            processes = processCount;
+            allocStart = threadAllocatedBytes();
+            runStart = System.nanoTime();
+        }
+    }
+
+    /** Called when the engine hands over to {@code buildResult}; returns the time stamp. */
+    long engineDone() {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        engineNanos += now - runStart;
+        return now;
+    }
+
+    void reportDone(long reportStart) {
+        if (enabled) {
+            reportNanos += System.nanoTime() - reportStart;
+            long alloc = threadAllocatedBytes();
+            allocatedBytes = alloc < 0 || allocStart < 0 ? -1 : allocatedBytes + alloc - allocStart;
+            SimulationEvent.emit(this);
+        }
+    }
+
+    private static long threadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mx
+                && mx.isThreadAllocatedMemorySupported() && mx.isThreadAllocatedMemoryEnabled()) {
+            return mx.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * The counters as a JSON object.
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"algorithm\":\"").append(algorithm.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        sb.append(",\"runs\":").append(runs);
+        sb.append(",\"processes\":").append(processes);
+        sb.append(",\"dispatches\":").append(dispatches);
+        sb.append(",\"preemptions\":").append(preemptions);
+        sb.append(",\"promotions\":").append(promotions);
+        sb.append(",\"boosts\":").append(boosts);
+        sb.append(",\"idleJumps\":").append(idleJumps);
+        sb.append(",\"idleTime\":").append(idleTime);
+        sb.append(",\"engineNanos\":").append(engineNanos);
+        sb.append(",\"reportNanos\":").append(reportNanos);
+        sb.append(",\"allocatedBytes\":").append(allocatedBytes);
+        sb.append(",\"procCopies\":").append(procCopies);
+        sb.append(",\"queueLengths\":[");
+        for (int level = 0; level < queueLengths.length; level++) {
+            if (level > 0) {
+                sb.append(',');
+            }
+            sb.append('[');
+            long[] h = queueLengths[level];
+            int last = h.length - 1;
+            while (last > 0 && h[last] == 0) {
+                last--;
+            }
+            for (int b = 0; b <= last; b++) {
+                if (b > 0) {
+                    sb.append(',');
+                }
+                sb.append(h[b]);
+            }
+            sb.append(']');
+        }
+        sb.append("]}");
+        return sb.toString();
+    }
+
+    /**
+     * A readable summary for the diagnostics panel.
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(algorithm).append("\n\n");
+        sb.append(String.format("Runs / processes:   %d / %d%n", runs, processes));
+        sb.append(String.format("Dispatches:         %d%n", dispatches));
+        sb.append(String.format("Preemptions:        %d%n", preemptions));
+        sb.append(String.format("Aging promotions:   %d%n", promotions));
+        sb.append(String.format("Boosts:             %d%n", boosts));
+        sb.append(String.format("Idle fast-forwards: %d (%d time units)%n", idleJumps, idleTime));
+        sb.append(String.format("Engine time:        %.3f ms%n", engineNanos / 1e6));
+        sb.append(String.format("buildResult time:   %.3f ms%n", reportNanos / 1e6));
+        sb.append(allocatedBytes < 0 ? "Allocated:          n/a\n"
+            : String.format("Allocated:          %.1f KB%n", allocatedBytes / 1024.0));
+        sb.append(String.format("Process copies:     %d%n", procCopies));
+        for (int level = 0; level < queueLengths.length; level++) {
+            sb.append(String.format("%nReady queue %d length at dispatch:%n", level));
+            long[] h = queueLengths[level];
+            for (int b = 0; b < h.length; b++) {
+                if (h[b] > 0) {
+                    String range = b == 0 ? "0" : b == 1 ? "1" : (1 << (b - 1)) + "-" + ((1 << b) - 1);
+                    sb.append(String.format("  %-14s %d%n", range, h[b]));
+                }
+            }
+        }
+        return sb.toString();
+    }
+}
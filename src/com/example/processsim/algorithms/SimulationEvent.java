@@ -0,0 +1,61 @@
+package com.example.processsim.algorithms;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event committed at the end of every instrumented run, so engine counters show up in
+ * Flight Recorder recordings next to GC and allocation data. Costs nothing unless a
+ * recording has the event enabled.
+ */
+@Name("com.example.processsim.Simulation")
+@Label("Scheduling Simulation")
+@Category("Process Simulator")
+@StackTrace(false)
+class SimulationEvent extends Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Processes")
+    int processes;
+
+    @Label("Dispatches")
+    long dispatches;
+
+    @Label("Preemptions")
+    long preemptions;
+
+    @Label("Aging Promotions")
+    long promotions;
+
+    @Label("Idle Fast-Forwards")
+    long idleJumps;
+
+    @Label("Engine Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long engineNanos;
+
+    @Label("Result Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long reportNanos;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocatedBytes;
+
+    static void emit(SimStats s) {
+        SimulationEvent e = new SimulationEvent();
+        if (!e.isEnabled()) {
+            return;
+        }
+        e.algorithm = s.algorithm;
+        e.processes = s.processes;
+        e.dispatches = s.dispatches;
+        e.preemptions = s.preemptions;
+        e.promotions = s.promotions;
+        e.idleJumps = s.idleJumps;
+        e.engineNanos = s.engineNanos;
+        e.reportNanos = s.reportNanos;
+        e.allocatedBytes = s.allocatedBytes;
+        e.commit();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.processsim.algorithms;
+
+import java.util.List;
+
+/**
+ * Reads a timeline one slice at a time, in order or at any index, without materializing a
+ * {@link GanttEntry} per slice. Works the same over an in-heap list and an
+ * {@link OffHeapTimeline}, so consumers of {@link SimResult#timeline} that may see very long
+ * runs should read it through {@link SimResult#cursor()}.
+ * <p>
+ * A cursor starts before the first slice; {@link #next} or {@link #seek} moves it onto one,
+ * after which the accessors describe that slice. Cursors are cheap and not thread-safe: use
+ * one per thread.
+ */
+public abstract class SliceCursor {
+    private int index = -1;
+
+    /** Cursor over {@code timeline}, reading an {@link OffHeapTimeline} in place. */
+    public static SliceCursor of(List<GanttEntry> timeline) {
+        return timeline instanceof OffHeapTimeline t ? t.cursor() : new ListCursor(timeline);
+    }
+
+    public abstract int size();
+
+    /** Index of the current slice; -1 before the first and {@link #size()} after the last. */
+    public int index() {
+        return index;
+    }
+
+    /** Move to the next slice; false, and past the end, when there is none. */
+    public boolean next() {
+        if (index + 1 >= size()) {
+            index = size();
+            return false;
+        }
+        seek(index + 1);
+        return true;
+    }
+
+    /** Move to slice {@code index}. */
+    public void seek(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Slice " + index + " of " + size());
+        }
+        this.index = index;
+        load(index);
+    }
+
+    /**
+     * Move to the first slice ending after {@code time}, by binary search, and return its
+     * index; {@link #size()}, with the cursor past the end, if there is none.
+     */
+    public int firstEndingAfter(int time) {
+        int lo = 0, hi = size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            seek(mid);
+            if (end() <= time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        if (lo < size()) {
+            seek(lo);
+        } else {
+            index = lo;
+        }
+        return lo;
+    }
+
+    /** Read slice {@code index} into the accessors. */
+    protected abstract void load(int index);
+
+    public abstract String name();
+
+    public abstract int start();
+
+    public abstract int end();
+
+    /** Queue level of the slice, or -1; see {@link GanttEntry#level}. */
+    public abstract int level();
+
+    private static final class ListCursor extends SliceCursor {
+        private final List<GanttEntry> timeline;
+        private GanttEntry current;
+
+        ListCursor(List<GanttEntry> timeline) {
+            this.timeline = timeline;
+        }
+
+        @Override public int size() { return timeline.size(); }
+        @Override protected void load(int index) { current = timeline.get(index); }
+        @Override public String name() { return current.name; }
+        @Override public int start() { return current.start; }
+        @Override public int end() { return current.end; }
+        @Override public int level() { return current.level; }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.processsim.algorithms;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Thrown by a run that produces more slices than its {@link SchedulingAlgorithm#sliceLimit}.
+ * Like a run over its {@link SchedulingAlgorithm#timeLimit}, the run is abandoned.
+ */
+public class SliceLimitException extends CancellationException {
+    private static final long serialVersionUID = 1L;
+
+    public SliceLimitException(String message) {
+        super(message);
+    }
+}
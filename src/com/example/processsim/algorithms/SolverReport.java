@@ -0,0 +1,60 @@
+package com.example.processsim.algorithms;
+
+import java.util.Locale;
+
+/**
+ * Outcome of an {@link OptimalSolver} run: the objective value of the schedule found and a
+ * lower bound on that of any schedule. The two are equal when the search finished within its
+ * time limit, in which case the schedule is optimal.
+ */
+public class SolverReport {
+    public final Objective objective;
+    /** Objective value of the schedule found. */
+    public final double value;
+    /** No schedule of the processes does better than this. */
+    public final double bound;
+    public final boolean proved;
+    /** Search nodes expanded. */
+    public final long nodes;
+    /** Nodes pruned because their state had been reached at no greater cost. */
+    public final long memoHits;
+    /** States held in the memo at the end. */
+    public final int memoStates;
+    public final double seconds;
+    public final int threads;
+
+    SolverReport(Objective objective, double value, double bound, boolean proved, long nodes, long memoHits,
+                 int memoStates, double seconds, int threads) {
+        this.objective = objective;
+        this.value = value;
+        this.bound = proved ? value : Math.min(bound, value);
+        this.proved = proved;
+        this.nodes = nodes;
+        this.memoHits = memoHits;
+        this.memoStates = memoStates;
+        this.seconds = seconds;
+        this.threads = threads;
+    }
+
+    /** How much worse than the bound the schedule found may be. */
+    public double gap() {
+        return value - bound;
+    }
+
+    /**
+     * Objective, bound and search counters, appended to the text report.
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\nOptimal schedule search\n");
+        sb.append("─".repeat(45)).append("\n");
+        sb.append(String.format(Locale.ROOT, "Objective:               %s%n", objective.label()));
+        sb.append(String.format(Locale.ROOT, "Value:                   %.2f%n", value));
+        sb.append(String.format(Locale.ROOT, "Lower bound:             %.2f%s%n", bound,
+            proved ? " (optimal)" : String.format(Locale.ROOT, " (gap %.2f, time limit reached)", gap())));
+        sb.append(String.format(Locale.ROOT, "Nodes:                   %,d%n", nodes));
+        sb.append(String.format(Locale.ROOT, "Memo hits / states:      %,d / %,d%n", memoHits, memoStates));
+        sb.append(String.format(Locale.ROOT, "Search time:             %.2f s on %d threads%n", seconds, threads));
+        return sb.toString();
+    }
+}
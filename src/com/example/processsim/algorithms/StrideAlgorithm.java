@@ -0,0 +1,138 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Stride scheduling, the deterministic counterpart of lottery scheduling.
+ * <p>
+ * Each process has a stride inversely proportional to its tickets ({@link Proc#tickets})
+ * and a pass value that advances by its stride for every time unit it runs. The runnable
+ * process with the smallest pass runs next, for a quantum or until its CPU burst ends, so
+ * over any interval each process falls behind its ticket share by at most about one quantum.
+ * <p>
+ * A global pass advances at the rate of a process holding all runnable tickets. As in
+ * Waldspurger's formulation, a process that stops being runnable remembers how far its pass
+ * was from the global pass and rejoins at the same distance, so blocking on I/O neither
+ * earns nor loses it CPU share; a new process joins one stride after the global pass.
+ * <p>
+ * Runnable processes sit in a {@link PassHeap} keyed by pass, ties broken by arrival
+ * order, so picks and re-insertions are O(log n). The result carries a {@link FairnessReport}.
+ */
+public class StrideAlgorithm extends SchedulingAlgorithm {
+
+    /** Stride of a process holding one ticket. */
+    private static final long STRIDE1 = 1L << 20;
+
+    /**
+     * @throws IllegalArgumentException if a process holds fewer than one ticket, or more
+     *                                  than {@value #STRIDE1}, whose stride would be 0
+     */
+    public StrideAlgorithm(List<Proc> processes, int quantum) {
+        super(processes, quantum);
+        for (Proc p : processes) {
+            if (p.tickets < 1 || p.tickets > STRIDE1) {
+                throw new IllegalArgumentException("Tickets must be between 1 and " + STRIDE1 + ": " + p.name);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Stride (Q=" + quantum + ")";
+    }
+
+    @Override
+    public SimResult run() {
+        beginRun();
+        List<Proc> procs = workingCopy();
+        procs.sort(Comparator.comparingInt(p -> p.arrival));
+
+        int n = procs.size();
+        long[] stride = new long[n];
+        long[] pass = new long[n];
+        long[] remain = new long[n];
+        for (int i = 0; i < n; i++) {
+            stride[i] = STRIDE1 / procs.get(i).tickets;
+            remain[i] = stride[i];
+        }
+        PassHeap heap = new PassHeap(pass);
+        FairnessTracker fairness = new FairnessTracker(procs, series);
+        IODevices io = devicesFor(procs);
+        ReadyEvents events = new ReadyEvents(procs, io);
+        List<GanttEntry> timeline = newTimeline();
+        long globalPass = 0;
+        long globalCarry = 0;   // remainder of the global pass advance, in 1/totalTickets units
+        long totalTickets = 0;
+        int time = 0;
+
+        while (true) {
+            // Join processes that have arrived or returned from I/O at their remembered distance
+            while (events.hasReadyBy(time)) {
+                int id = events.poll();
+                pass[id] = globalPass + remain[id];
+                heap.add(id);
+                totalTickets += procs.get(id).tickets;
+                fairness.join(id, time);
+            }
+
+            if (heap.isEmpty()) {
+                if (!events.isEmpty()) {
+                    // Jump to next arrival time
+                    stats.idle(time, events.nextTime());
+                    time = events.nextTime();
+                    continue;
+                } else {
+                    break; // All done
+                }
+            }
+
+            int id = heap.poll();
+            Proc p = procs.get(id);
+            stats.queueLength(0, heap.size());
+            if (p.start == -1) {
+                p.start = time;
+            }
+
+            int runTime = Math.min(quantum, p.remaining);
+            timeline.add(slice(p.name, time, time + runTime));
+            fairness.dispatch(id, time);
+            p.remaining -= runTime;
+            fairness.ran(id, time, time + runTime);
+            time += runTime;
+            pass[id] += stride[id] * runTime;
+            long advance = STRIDE1 * runTime + globalCarry;
+            globalPass += advance / totalTickets;
+            globalCarry = advance % totalTickets;
+
+            // Arrivals during the slice join before the current process is put back
+            while (events.hasReadyBy(time)) {
+                int next = events.poll();
+                pass[next] = globalPass + remain[next];
+                heap.add(next);
+                totalTickets += procs.get(next).tickets;
+                fairness.join(next, time);
+            }
+
+            if (p.remaining > 0) {
+                heap.add(id);
+                stats.preemption();
+                continue;
+            }
+            remain[id] = pass[id] - globalPass;
+            totalTickets -= p.tickets;
+            fairness.leave(id, time);
+            if (p.hasMoreBursts()) {
+                events.block(id, time);
+            } else {
+                p.finish = time;
+            }
+        }
+
+        SimResult result = buildResult(procs, timeline, io);
+        result.fairness = fairness.report(procs);
+        if (result.text != null) {
+            result.text += result.fairness.describe();
+        }
+        return result;
+    }
+}
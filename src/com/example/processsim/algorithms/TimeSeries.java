@@ -0,0 +1,229 @@
+package com.example.processsim.algorithms;
+
+import java.util.*;
+
+/**
+ * Down-sampled time series of a simulation: CPU busy fraction, processes in flight, processes
+ * blocked on I/O and ready-queue length (per level for MLFQ), as time-weighted means over
+ * fixed-size buckets.
+ * <p>
+ * The series holds at most {@code capacity} buckets per channel whatever the length of the
+ * run. It starts with buckets one time unit wide; when a value lands past the last bucket,
+ * neighbouring buckets are merged pairwise and the width doubles. Values are recorded as
+ * constant-valued intervals, added to the two partially covered buckets directly and to the
+ * fully covered ones through a difference array, so an interval costs O(1) however many
+ * buckets it spans.
+ * <p>
+ * An algorithm {@link SchedulingAlgorithm#recordSeries records} into a series during one run;
+ * use a new series per run.
+ */
+public class TimeSeries {
+    public static final int DEFAULT_CAPACITY = 512;
+
+    public static final String CPU_BUSY = "CPU busy";
+    public static final String IN_FLIGHT = "In flight";
+    public static final String BLOCKED = "Blocked on I/O";
+    /**
+     * Absolute lag behind or ahead of its ticket share of the process on the CPU, measured at
+     * the start and end of each slice; recorded by the proportional-share algorithms only.
+     */
+    public static final String LAG = "Share lag";
+    /** Derived: in flight minus running minus blocked. */
+    public static final String READY = "Ready";
+
+    private static final String LEVEL_PREFIX = "Ready Q";
+
+    private final int capacity;
+    private long width = 1;
+    private long end = 0;
+    private final Map<String, Channel> channels = new LinkedHashMap<>();
+    private final List<Channel> levels = new ArrayList<>();
+
+    /** Per-bucket integral of one channel. */
+    private final class Channel {
+        final String name;
+        final double[] sum = new double[capacity];
+        /** Value of fully covered buckets, as a difference array. */
+        final double[] delta = new double[capacity + 1];
+        int lastTime = 0;
+        double lastValue = 0;
+
+        Channel(String name) {
+            this.name = name;
+        }
+
+        void add(long from, long to, double value) {
+            if (to <= from || value == 0) {
+                return;
+            }
+            int first = (int) (from / width);
+            int last = (int) ((to - 1) / width);
+            if (first == last) {
+                sum[first] += (to - from) * value;
+                return;
+            }
+            sum[first] += ((first + 1) * width - from) * value;
+            sum[last] += (to - last * width) * value;
+            if (last > first + 1) {
+                delta[first + 1] += value;
+                delta[last] -= value;
+            }
+        }
+
+        /** Fold the difference array into the sums. */
+        void flush() {
+            double running = 0;
+            for (int i = 0; i < capacity; i++) {
+                running += delta[i];
+                sum[i] += running * width;
+                delta[i] = 0;
+            }
+            delta[capacity] = 0;
+        }
+
+        void halve() {
+            flush();
+            for (int i = 0; i < capacity / 2; i++) {
+                sum[i] = sum[2 * i] + sum[2 * i + 1];
+            }
+            Arrays.fill(sum, capacity / 2, capacity, 0);
+        }
+    }
+
+    public TimeSeries() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity maximum number of buckets, rounded up to an even number
+     */
+    public TimeSeries(int capacity) {
+        this.capacity = Math.max(2, capacity + (capacity & 1));
+        for (String name : new String[]{CPU_BUSY, IN_FLIGHT, BLOCKED}) {
+            channels.put(name, new Channel(name));
+        }
+    }
+
+    private Channel channel(String name) {
+        return channels.computeIfAbsent(name, Channel::new);
+    }
+
+    /** Make room for time {@code to}, merging buckets as needed. */
+    private void extend(long to) {
+        while (to > capacity * width) {
+            for (Channel c : channels.values()) {
+                c.halve();
+            }
+            width *= 2;
+        }
+        end = Math.max(end, to);
+    }
+
+    /**
+     * Add {@code value} to {@code channel} over {@code [from, to)}.
+     */
+    public void add(String channel, int from, int to, double value) {
+        extend(to);
+        channel(channel).add(from, to, value);
+    }
+
+    /**
+     * Step {@code channel} to {@code value} at {@code time}; the previous value holds until then.
+     * Times must not go backwards.
+     */
+    public void set(String channel, int time, double value) {
+        step(channel(channel), time, value);
+    }
+
+    /**
+     * Step the ready-queue length of MLFQ level {@code level}.
+     */
+    public void setLevel(int level, int time, int length) {
+        while (levels.size() <= level) {
+            levels.add(channel(LEVEL_PREFIX + levels.size()));
+        }
+        step(levels.get(level), time, length);
+    }
+
+    private void step(Channel c, int time, double value) {
+        if (value == c.lastValue) {
+            return;
+        }
+        if (time > c.lastTime) {
+            extend(time);
+            c.add(c.lastTime, time, c.lastValue);
+        }
+        c.lastTime = Math.max(c.lastTime, time);
+        c.lastValue = value;
+    }
+
+    /**
+     * Close every stepped channel at {@code time}, the end of the run.
+     */
+    public void finish(int time) {
+        extend(time);
+        for (Channel c : channels.values()) {
+            if (time > c.lastTime) {
+                c.add(c.lastTime, time, c.lastValue);
+                c.lastTime = time;
+            }
+            c.flush();
+        }
+    }
+
+    /** Names of the recorded channels, {@link #READY} included. */
+    public List<String> channels() {
+        List<String> names = new ArrayList<>(channels.keySet());
+        names.add(names.indexOf(BLOCKED) + 1, READY);
+        return names;
+    }
+
+    /** Number of MLFQ level channels. */
+    public int levelCount() {
+        return levels.size();
+    }
+
+    public static String levelChannel(int level) {
+        return LEVEL_PREFIX + level;
+    }
+
+    /** Time units per bucket. */
+    public long bucketWidth() {
+        return width;
+    }
+
+    /** Buckets holding data, the last one possibly partial. */
+    public int buckets() {
+        return (int) ((end + width - 1) / width);
+    }
+
+    /** End of the recorded span. */
+    public long end() {
+        return end;
+    }
+
+    /**
+     * Time-weighted mean of {@code channel} over {@code bucket}; 0 for unknown channels.
+     * Call after {@link #finish}.
+     */
+    public double value(String channel, int bucket) {
+        if (channel.equals(READY)) {
+            return Math.max(0, value(IN_FLIGHT, bucket) - value(CPU_BUSY, bucket) - value(BLOCKED, bucket));
+        }
+        Channel c = channels.get(channel);
+        if (c == null || bucket < 0 || bucket >= buckets()) {
+            return 0;
+        }
+        long start = bucket * width;
+        return c.sum[bucket] / (Math.min(end, start + width) - start);
+    }
+
+    /** Largest bucket mean of {@code channel}. */
+    public double peak(String channel) {
+        double max = 0;
+        for (int b = 0; b < buckets(); b++) {
+            max = Math.max(max, value(channel, b));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.processsim.algorithms.online;
+
+import com.example.processsim.algorithms.Proc;
+
+/**
+ * Streaming counterpart of {@link com.example.processsim.algorithms.FCFSAlgorithm}.
+ */
+public class OnlineFCFSScheduler extends OnlineScheduler {
+
+    public OnlineFCFSScheduler(ScheduleListener listener) {
+        super(listener);
+    }
+
+    @Override
+    public String getName() {
+        return "First Come First Served (FCFS)";
+    }
+
+    @Override
+    protected void schedule() {
+        while (hasPending()) {
+            Proc p = peekPending();
+            // If CPU is idle, jump to process arrival
+            int start = Math.max(time, p.arrival);
+            if (start >= horizon) {
+                return;
+            }
+            pollArrivedBy(start);
+
+            p.start = start;
+            p.remaining = 0;
+            time = start + p.burst;
+            emitSlice(p, start, time);
+            complete(p, time);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.processsim.algorithms.online;
+
+import com.example.processsim.algorithms.MLFQAlgorithm;
+import com.example.processsim.algorithms.MLFQConfig;
+import com.example.processsim.algorithms.MLFQQueues;
+import com.example.processsim.algorithms.Proc;
+
+/**
+ * Streaming counterpart of {@link MLFQAlgorithm}, driven by the same {@link MLFQConfig}.
+ */
+public class OnlineMLFQScheduler extends OnlineScheduler {
+
+    private final MLFQConfig config;
+    private final MLFQQueues queues;
+
+    /** Process whose slice has been dispatched but not yet re-queued. */
+    private MLFQQueues.Entry preempted;
+    private int preemptedLevel;
+
+    public OnlineMLFQScheduler(ScheduleListener listener) {
+        this(listener, 2, 4);
+    }
+
+    public OnlineMLFQScheduler(ScheduleListener listener, int q0, int q1) {
+        this(listener, MLFQConfig.defaults(Math.max(1, q0), Math.max(1, q1)));
+    }
+
+    /**
+     * @param quanta         quantum of each round-robin level; an FCFS level is added below them
+     * @param agingThreshold waiting time after which a process is promoted one level
+     */
+    public OnlineMLFQScheduler(ScheduleListener listener, int[] quanta, int agingThreshold) {
+        this(listener, MLFQConfig.of(quanta, agingThreshold));
+    }
+
+    public OnlineMLFQScheduler(ScheduleListener listener, MLFQConfig config) {
+        super(listener);
+        this.config = config;
+        this.queues = new MLFQQueues(config);
+    }
+
+    @Override
+    public String getName() {
+        return "MLFQ [" + config.describe() + "]";
+    }
+
+    @Override
+    protected void schedule() {
+        while (time < horizon) {
+            // 1. Admit newly arrived processes into Queue 0, then the one coming off the CPU
+            Proc arrived;
+            while ((arrived = pollArrivedBy(time)) != null) {
+                queues.add(new MLFQQueues.Entry(arrived), 0, time);
+            }
+            if (preempted != null) {
+                if (queues.boostIfDue(time)) {
+                    preemptedLevel = 0;
+                }
+                queues.add(preempted, preemptedLevel, time);
+                preempted = null;
+            }
+
+            // 2. Periodic boost, then aging – promote starving processes
+            queues.boostIfDue(time);
+            queues.age(time);
+
+            // 3. Pick the highest-priority non-empty queue
+            int level = queues.highestLevel();
+            if (level == -1) {
+                // CPU idle – fast-forward to next arrival, unless it may not be known yet
+                if (nextArrival() >= horizon) {
+                    return;
+                }
+                time = nextArrival();
+                continue;
+            }
+
+            MLFQQueues.Entry mp = queues.poll(level);
+            Proc p = mp.proc;
+            if (p.start == -1) {
+                p.start = time;
+            }
+
+            int runTime = Math.min(config.quantum(level), p.remaining);
+
+            emitSlice(p, time, time + runTime);
+            p.remaining -= runTime;
+            time += runTime;
+
+            if (p.remaining == 0) {
+                complete(p, time);
+            } else {
+                // Used full quantum without finishing → demoted (or boosted) once the
+                // arrivals up to this point are known
+                preempted = mp;
+                preemptedLevel = Math.min(level + 1, queues.levels() - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.processsim.algorithms.online;
+
+import com.example.processsim.algorithms.Proc;
+
+import java.util.ArrayDeque;
+
+/**
+ * Streaming counterpart of {@link com.example.processsim.algorithms.RoundRobinAlgorithm}.
+ * <p>
+ * A slice is reported when it is dispatched. Re-queuing the preempted process has to wait
+ * until every arrival up to the end of the slice is known, because those arrivals join the
+ * queue ahead of it.
+ */
+public class OnlineRoundRobinScheduler extends OnlineScheduler {
+
+    private final int quantum;
+    private final ArrayDeque<Proc> queue = new ArrayDeque<>();
+
+    /** Process whose slice has been dispatched but not yet re-queued. */
+    private Proc preempted;
+
+    public OnlineRoundRobinScheduler(ScheduleListener listener, int quantum) {
+        super(listener);
+        this.quantum = Math.max(1, quantum);
+    }
+
+    @Override
+    public String getName() {
+        return "Round Robin (Q=" + quantum + ")";
+    }
+
+    @Override
+    protected void schedule() {
+        while (time < horizon) {
+            // Add all processes that have arrived, then the one coming off the CPU
+            Proc arrived;
+            while ((arrived = pollArrivedBy(time)) != null) {
+                queue.add(arrived);
+            }
+            if (preempted != null) {
+                queue.add(preempted);
+                preempted = null;
+            }
+
+            if (queue.isEmpty()) {
+                // CPU idle – fast-forward to next arrival, unless it may not be known yet
+                if (nextArrival() >= horizon) {
+                    return;
+                }
+                time = nextArrival();
+                continue;
+            }
+
+            Proc p = queue.poll();
+            if (p.start == -1) {
+                p.start = time;
+            }
+
+            int runTime = Math.min(quantum, p.remaining);
+            emitSlice(p, time, time + runTime);
+            p.remaining -= runTime;
+            time += runTime;
+
+            if (p.remaining > 0) {
+                preempted = p;
+            } else {
+                complete(p, time);
+            }
+        }
+    }
+}
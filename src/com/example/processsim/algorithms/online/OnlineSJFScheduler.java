@@ -0,0 +1,48 @@
+package com.example.processsim.algorithms.online;
+
+import com.example.processsim.algorithms.Proc;
+
+/**
+ * Streaming counterpart of {@link com.example.processsim.algorithms.SJFAlgorithm}.
+ * The ready set is a heap keyed on burst time, ties going to the earlier submission.
+ */
+public class OnlineSJFScheduler extends OnlineScheduler {
+
+    private final ProcHeap ready = new ProcHeap();
+    private long seq = 0;
+
+    public OnlineSJFScheduler(ScheduleListener listener) {
+        super(listener);
+    }
+
+    @Override
+    public String getName() {
+        return "Shortest Job First (SJF)";
+    }
+
+    @Override
+    protected void schedule() {
+        while (time < horizon) {
+            Proc arrived;
+            while ((arrived = pollArrivedBy(time)) != null) {
+                ready.add(arrived, arrived.burst, seq++);
+            }
+
+            if (ready.isEmpty()) {
+                // CPU idle – fast-forward to next arrival, unless it may not be known yet
+                if (nextArrival() >= horizon) {
+                    return;
+                }
+                time = nextArrival();
+                continue;
+            }
+
+            Proc p = ready.poll();
+            p.start = time;
+            p.remaining = 0;
+            emitSlice(p, time, time + p.burst);
+            time += p.burst;
+            complete(p, time);
+        }
+    }
+}
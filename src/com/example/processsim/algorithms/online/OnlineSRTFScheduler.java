@@ -0,0 +1,80 @@
+package com.example.processsim.algorithms.online;
+
+import com.example.processsim.algorithms.Proc;
+
+/**
+ * Streaming counterpart of {@link com.example.processsim.algorithms.SRTFAlgorithm}.
+ * <p>
+ * Instead of stepping one time unit at a time, the running process advances straight to
+ * the next arrival, its completion or the horizon, whichever comes first. A slice is
+ * reported once the process leaves the CPU, so the slice that is open at the horizon
+ * stays open until a later {@link #advanceTo} or {@link #drain}.
+ * <p>
+ * Ties between equal remaining times go to the earlier submission. The batch algorithm
+ * breaks them by position in its input list instead, so the two produce the same schedule
+ * when that list is in submission (arrival) order.
+ */
+public class OnlineSRTFScheduler extends OnlineScheduler {
+
+    private final ProcHeap ready = new ProcHeap();
+    private long seq = 0;
+
+    private Proc current;
+    private long currentSeq;
+    private int currentStart;
+
+    public OnlineSRTFScheduler(ScheduleListener listener) {
+        super(listener);
+    }
+
+    @Override
+    public String getName() {
+        return "Shortest Remaining Time First (SRTF)";
+    }
+
+    @Override
+    protected void schedule() {
+        while (time < horizon) {
+            Proc arrived;
+            while ((arrived = pollArrivedBy(time)) != null) {
+                ready.add(arrived, arrived.remaining, seq++);
+            }
+
+            // Preempt if a ready process now has less remaining time
+            if (current != null && !ready.isEmpty()
+                    && ready.peekBefore(current.remaining, currentSeq)) {
+                emitSlice(current, currentStart, time);
+                ready.add(current, current.remaining, currentSeq);
+                current = null;
+            }
+
+            if (current == null) {
+                if (ready.isEmpty()) {
+                    // CPU idle – fast-forward to next arrival, unless it may not be known yet
+                    if (nextArrival() >= horizon) {
+                        return;
+                    }
+                    time = nextArrival();
+                    continue;
+                }
+                currentSeq = ready.peekSeq();
+                current = ready.poll();
+                currentStart = time;
+                if (current.start == -1) {
+                    current.start = time;
+                }
+            }
+
+            // Run until the next event that could change the decision
+            int until = Math.min(time + current.remaining, Math.min(nextArrival(), horizon));
+            current.remaining -= until - time;
+            time = until;
+
+            if (current.remaining == 0) {
+                emitSlice(current, currentStart, time);
+                complete(current, time);
+                current = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.processsim.algorithms.online;
+
+import com.example.processsim.algorithms.Proc;
+
+import java.util.*;
+
+/**
+ * Base class for push-style schedulers fed by a live stream of arrivals.
+ * <p>
+ * Processes are {@link #submit submitted} in non-decreasing arrival order.
+ * {@link #advanceTo(int)} promises that no later submission arrives before the given
+ * time, so every scheduling decision taken strictly before it can be committed and
+ * reported to the {@link ScheduleListener}. {@link #drain()} closes the stream and runs
+ * everything that was submitted to completion.
+ * <p>
+ * Submitted processes are used in place (not copied) and are forgotten as soon as they
+ * complete, so memory is bounded by the number of processes still in flight.
+ */
+public abstract class OnlineScheduler {
+
+    protected final ScheduleListener listener;
+
+    /** Submitted processes that have not been admitted to a ready queue yet. */
+    private final ArrayDeque<Proc> pending = new ArrayDeque<>();
+
+    /** Simulation clock. */
+    protected int time = 0;
+
+    /** Every arrival earlier than this is known. */
+    protected int horizon = 0;
+
+    private int lastArrival = Integer.MIN_VALUE;
+    private int inFlight = 0;
+    private long completedCount = 0;
+
+    protected OnlineScheduler(ScheduleListener listener) {
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    /**
+     * Get the name of this scheduler.
+     */
+    public abstract String getName();
+
+    /**
+     * Commit every decision that can be taken with the arrivals known so far.
+     */
+    protected abstract void schedule();
+
+    /**
+     * Hand a new process to the scheduler.
+     *
+     * @throws IllegalArgumentException if it arrives before an earlier submission or
+     *                                  before the time already advanced to
+     */
+    public void submit(Proc p) {
+        if (p.arrival < horizon || p.arrival < lastArrival) {
+            throw new IllegalArgumentException("Out-of-order arrival: " + p.name + " at " + p.arrival);
+        }
+        lastArrival = p.arrival;
+        pending.add(p);
+        inFlight++;
+    }
+
+    /**
+     * Declare that all arrivals before {@code t} have been submitted and run up to it.
+     */
+    public void advanceTo(int t) {
+        if (t > horizon) {
+            horizon = t;
+        }
+        schedule();
+    }
+
+    /**
+     * Run every submitted process to completion. Further submissions must arrive no
+     * earlier than the clock at which the schedule drained.
+     */
+    public void drain() {
+        horizon = Integer.MAX_VALUE;
+        schedule();
+        horizon = time;
+    }
+
+    public int getTime() {
+        return time;
+    }
+
+    /** Number of submitted processes that have not completed yet. */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    /* ── helpers for subclasses ── */
+
+    protected boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /** Arrival time of the next pending process, or {@code Integer.MAX_VALUE}. */
+    protected int nextArrival() {
+        Proc p = pending.peek();
+        return p == null ? Integer.MAX_VALUE : p.arrival;
+    }
+
+    protected Proc peekPending() {
+        return pending.peek();
+    }
+
+    /** Remove the next pending process if it has arrived by {@code t}. */
+    protected Proc pollArrivedBy(int t) {
+        Proc p = pending.peek();
+        if (p == null || p.arrival > t) {
+            return null;
+        }
+        return pending.poll();
+    }
+
+    protected void emitSlice(Proc p, int start, int end) {
+        listener.onSlice(p, start, end);
+    }
+
+    protected void complete(Proc p, int finishTime) {
+        p.finish = finishTime;
+        inFlight--;
+        completedCount++;
+        listener.onComplete(p);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.processsim.algorithms.online;
+
+import com.example.processsim.algorithms.Proc;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of processes keyed on a primitive {@code (value, sequence)} pair.
+ * Ties on the value are broken by the sequence number, i.e. by submission order,
+ * which keeps the online schedulers deterministic. The sequence is a {@code long}, so it
+ * does not wrap on streams of more than 2<sup>31</sup> submissions.
+ */
+class ProcHeap {
+    private Proc[] procs = new Proc[64];
+    private int[] values = new int[64];
+    private long[] seqs = new long[64];
+    private int size = 0;
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int peekValue() {
+        return values[0];
+    }
+
+    long peekSeq() {
+        return seqs[0];
+    }
+
+    /** Whether the top of the heap orders before {@code (value, seq)}. */
+    boolean peekBefore(int value, long seq) {
+        return before(values[0], seqs[0], value, seq);
+    }
+
+    void add(Proc p, int value, long seq) {
+        if (size == procs.length) {
+            procs = Arrays.copyOf(procs, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+            seqs = Arrays.copyOf(seqs, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!before(value, seq, values[parent], seqs[parent])) {
+                break;
+            }
+            move(parent, i);
+            i = parent;
+        }
+        procs[i] = p;
+        values[i] = value;
+        seqs[i] = seq;
+    }
+
+    Proc poll() {
+        Proc top = procs[0];
+        int last = --size;
+        Proc p = procs[last];
+        int value = values[last];
+        long seq = seqs[last];
+        procs[last] = null;
+        if (last > 0) {
+            int i = 0;
+            int half = last >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < last && before(values[child + 1], seqs[child + 1], values[child], seqs[child])) {
+                    child++;
+                }
+                if (!before(values[child], seqs[child], value, seq)) {
+                    break;
+                }
+                move(child, i);
+                i = child;
+            }
+            procs[i] = p;
+            values[i] = value;
+            seqs[i] = seq;
+        }
+        return top;
+    }
+
+    private void move(int from, int to) {
+        procs[to] = procs[from];
+        values[to] = values[from];
+        seqs[to] = seqs[from];
+    }
+
+    private static boolean before(int value, long seq, int otherValue, long otherSeq) {
+        return value < otherValue || (value == otherValue && seq < otherSeq);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.processsim.algorithms.online;
+
+import com.example.processsim.algorithms.Proc;
+
+/**
+ * Receives the decisions of an {@link OnlineScheduler} as soon as they are committed.
+ */
+public interface ScheduleListener {
+
+    /**
+     * A timeline slice: {@code p} runs on the CPU from {@code start} to {@code end}.
+     */
+    void onSlice(Proc p, int start, int end);
+
+    /**
+     * {@code p} has finished; its {@code start} and {@code finish} fields are final.
+     * The scheduler drops its reference to the process after this call.
+     */
+    void onComplete(Proc p);
+}
@@ -0,0 +1,206 @@
+package com.example.processsim.batch;
+
+import com.example.processsim.algorithms.*;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs an algorithm matrix over many captured workloads and writes one CSV row per
+ * (workload, algorithm) pair.
+ * <p>
+ * Every workload is an independent job on a work-stealing pool of {@code --threads} workers.
+ * Each worker keeps one {@link SimScratch}, so process copies, timelines and timeline entries
+ * are recycled from job to job instead of being allocated per run. Rows are written in
+ * workload order, whatever order the jobs finish in.
+ *
+ * With {@code --stats FILE} every run is also {@link SimStats instrumented} and its counters
+ * are written as one JSON object per line, in the same order as the CSV rows.
+ *
+ * <pre>
+ * java com.example.processsim.batch.BatchRunner --workloads DIR|MANIFEST
+ *     [--algorithms "FCFS;SJF;SRTF;RR:4;MLFQ;PRIO;PPRIO;CFS"] [--out results.csv] [--threads N]
+ *     [--stats stats.jsonl]
+ * </pre>
+ */
+public class BatchRunner {
+    public static final String DEFAULT_ALGORITHMS = "FCFS;SJF;SRTF;RR:4;MLFQ;PRIO;PPRIO;CFS";
+    public static final String HEADER = "workload,algorithm,processes,makespan,avg_wait,avg_turnaround,"
+        + "avg_response,cpu_util,throughput,slices,millis";
+
+    private final List<AlgorithmSpec> algorithms;
+    private final int threads;
+    private final ThreadLocal<SimScratch> scratch = ThreadLocal.withInitial(SimScratch::new);
+
+    public BatchRunner(List<AlgorithmSpec> algorithms, int threads) {
+        this.algorithms = List.copyOf(algorithms);
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Run every algorithm on every workload file and write the CSV to {@code out}.
+     *
+     * @return the number of workloads that failed to load or run
+     */
+    public int run(Path source, List<Path> files, PrintWriter out) throws InterruptedException {
+        return run(source, files, out, null);
+    }
+
+    /**
+     * As {@link #run(Path, List, PrintWriter)}, also writing the engine counters of every run
+     * to {@code statsOut} as JSON lines when it is not null.
+     */
+    public int run(Path source, List<Path> files, PrintWriter out, PrintWriter statsOut)
+            throws InterruptedException {
+        List<Callable<String[]>> jobs = new ArrayList<>(files.size());
+        for (Path file : files) {
+            jobs.add(() -> {
+                StringBuilder json = statsOut != null ? new StringBuilder() : null;
+                String rows = runWorkload(Workload.read(file, Workload.nameOf(source, file)), json);
+                return new String[]{rows, json != null ? json.toString() : null};
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        int failures = 0;
+        try {
+            List<Future<String[]>> rows = pool.invokeAll(jobs);
+            out.println(HEADER);
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    String[] r = rows.get(i).get();
+                    out.print(r[0]);
+                    if (statsOut != null) {
+                        statsOut.print(r[1]);
+                    }
+                } catch (ExecutionException ex) {
+                    failures++;
+                    Throwable cause = ex.getCause();
+                    while (cause.getCause() != null) {
+                        cause = cause.getCause(); // unwrap the pool's RuntimeException
+                    }
+                    System.err.println(files.get(i) + ": " + cause);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        out.flush();
+        if (statsOut != null) {
+            statsOut.flush();
+        }
+        return failures;
+    }
+
+    /**
+     * The CSV rows of one workload, one line per algorithm.
+     */
+    String runWorkload(Workload w) {
+        return runWorkload(w, null);
+    }
+
+    /**
+     * The CSV rows of one workload; when {@code json} is not null the runs are instrumented
+     * and their counters appended to it, one JSON object per line.
+     */
+    String runWorkload(Workload w, StringBuilder json) {
+        SimScratch buffers = scratch.get();
+        StringBuilder sb = new StringBuilder();
+        for (AlgorithmSpec spec : algorithms) {
+            long t0 = System.nanoTime();
+            SchedulingAlgorithm algorithm = spec.create(w.processes).useScratch(buffers);
+            if (json != null) {
+                algorithm.instrument(new SimStats());
+            }
+            SimResult r = algorithm.run();
+            if (json != null) {
+                json.append("{\"workload\":\"").append(w.name.replace("\\", "\\\\").replace("\"", "\\\""))
+                    .append("\",\"spec\":\"").append(spec).append("\",\"stats\":")
+                    .append(r.stats.toJson()).append("}\n");
+            }
+            double millis = (System.nanoTime() - t0) / 1e6;
+            sb.append(csv(w.name)).append(',')
+              .append(csv(spec.toString())).append(',')
+              .append(w.processes.size()).append(',')
+              .append(r.makespan).append(',')
+              .append(String.format(Locale.ROOT, "%.3f,%.3f,%.3f,%.4f,%.5f,",
+                  r.avgWait, r.avgTurnaround, r.avgResponse, r.cpuUtilization, r.throughput))
+              .append(r.timeline.size()).append(',')
+              .append(String.format(Locale.ROOT, "%.3f", millis))
+              .append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String csv(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path source = null;
+        Path outFile = null;
+        Path statsFile = null;
+        String algorithms = DEFAULT_ALGORITHMS;
+        List<AlgorithmSpec> specs;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--workloads" -> source = Paths.get(args[++i]);
+                    case "--algorithms" -> algorithms = args[++i];
+                    case "--out" -> outFile = Paths.get(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--stats" -> statsFile = Paths.get(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (source == null) {
+                throw new IllegalArgumentException("--workloads is required");
+            }
+            specs = AlgorithmSpec.parseList(algorithms);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("usage: BatchRunner --workloads DIR|MANIFEST [--algorithms SPECS]"
+                + " [--out FILE] [--threads N] [--stats FILE]");
+            System.exit(2);
+            return;
+        }
+
+        BatchRunner runner = new BatchRunner(specs, threads);
+        List<Path> files;
+        try {
+            files = Workload.list(source);
+        } catch (IOException ex) {
+            System.err.println("Cannot list workloads: " + ex.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        long t0 = System.nanoTime();
+        int failures;
+        try (PrintWriter statsOut = statsFile == null ? null
+                : new PrintWriter(Files.newBufferedWriter(statsFile, StandardCharsets.UTF_8))) {
+            if (outFile == null) {
+                PrintWriter out = new PrintWriter(System.out, false, StandardCharsets.UTF_8);
+                failures = runner.run(source, files, out, statsOut);
+            } else {
+                try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(outFile, StandardCharsets.UTF_8))) {
+                    failures = runner.run(source, files, out, statsOut);
+                }
+            }
+        }
+        System.err.printf(Locale.ROOT, "%d workloads x %d algorithms on %d threads in %.1f s%s%n",
+            files.size(), runner.algorithms.size(), runner.threads, (System.nanoTime() - t0) / 1e9,
+            failures > 0 ? ", " + failures + " failed" : "");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
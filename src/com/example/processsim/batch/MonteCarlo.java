@@ -0,0 +1,312 @@
+package com.example.processsim.batch;
+
+import com.example.processsim.algorithms.*;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.IntStream;
+
+/**
+ * Monte-Carlo comparison of schedulers: runs every algorithm on many random workloads and
+ * reports the mean and confidence interval of the average wait, turnaround and response time.
+ * <p>
+ * Replications are run in rounds of {@code --batch} in parallel. Every replication draws its
+ * workload from its own random stream, seeded from {@code --seed} and the replication number,
+ * and all algorithms run on that same workload, so results are reproducible whatever the
+ * thread count and differences between algorithms are measured on paired samples. After each
+ * round the run stops early once every interval is within {@code --precision} of its mean.
+ * Worker threads reuse their process objects and {@link SimScratch} buffers across
+ * replications.
+ *
+ * <pre>
+ * java com.example.processsim.batch.MonteCarlo
+ *     --model "n=10000; interarrival=exp:5; burst=exp:4" | --trace FILE.wl [--n N]
+ *     [--algorithms SPECS] [--replications 10000] [--min-replications 30] [--batch 64]
+ *     [--precision 0.01] [--confidence 0.95] [--threads N] [--seed S] [--csv FILE]
+ * </pre>
+ */
+public class MonteCarlo {
+    public static final String[] METRICS = {"wait", "turnaround", "response"};
+
+    private final WorkloadModel model;
+    private final List<AlgorithmSpec> algorithms;
+    private final long seed;
+    private final ThreadLocal<WorkloadModel.Pool> pools = ThreadLocal.withInitial(WorkloadModel.Pool::new);
+    private final ThreadLocal<SimScratch> scratch = ThreadLocal.withInitial(SimScratch::new);
+
+    /** Per algorithm and metric, then per algorithm and metric minus the first algorithm's. */
+    private final Stat[][] stats;
+    private final Stat[][] diffs;
+    private int replications = 0;
+
+    /**
+     * Running mean and variance (Welford).
+     */
+    public static class Stat {
+        private long n;
+        private double mean;
+        private double m2;
+
+        void add(double x) {
+            n++;
+            double d = x - mean;
+            mean += d / n;
+            m2 += d * (x - mean);
+        }
+
+        public double mean() {
+            return mean;
+        }
+
+        /** Half-width of the confidence interval for the mean, for quantile {@code z}. */
+        public double halfWidth(double z) {
+            return n < 2 ? Double.POSITIVE_INFINITY : z * Math.sqrt(m2 / (n - 1) / n);
+        }
+    }
+
+    public MonteCarlo(WorkloadModel model, List<AlgorithmSpec> algorithms, long seed) {
+        this.model = model;
+        this.algorithms = List.copyOf(algorithms);
+        this.seed = seed;
+        this.stats = new Stat[algorithms.size()][METRICS.length];
+        this.diffs = new Stat[algorithms.size()][METRICS.length];
+        for (int a = 0; a < algorithms.size(); a++) {
+            for (int m = 0; m < METRICS.length; m++) {
+                stats[a][m] = new Stat();
+                diffs[a][m] = new Stat();
+            }
+        }
+    }
+
+    /**
+     * Run replication {@code index}: the metrics of every algorithm on one random workload.
+     */
+    double[] replicate(int index) {
+        List<Proc> procs = model.generate(new SplittableRandom(streamSeed(seed, index)), pools.get());
+        SimScratch buffers = scratch.get();
+        double[] metrics = new double[algorithms.size() * METRICS.length];
+        for (int a = 0; a < algorithms.size(); a++) {
+            SimResult r = algorithms.get(a).create(procs).useScratch(buffers).run();
+            metrics[a * METRICS.length] = r.avgWait;
+            metrics[a * METRICS.length + 1] = r.avgTurnaround;
+            metrics[a * METRICS.length + 2] = r.avgResponse;
+        }
+        return metrics;
+    }
+
+    /**
+     * Independent seed for replication {@code index} (SplitMix64 finalizer), so streams of
+     * neighbouring replications do not overlap.
+     */
+    public static long streamSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Run up to {@code max} replications, stopping after a round once at least {@code min}
+     * are done and every interval's half-width is within {@code precision} of its mean.
+     *
+     * @return whether the precision target was reached
+     */
+    public boolean run(ForkJoinPool pool, int max, int min, int batch, double precision, double z)
+            throws InterruptedException, ExecutionException {
+        while (replications < max) {
+            int from = replications;
+            int to = Math.min(max, from + Math.max(batch, from < min ? min - from : 0));
+            double[][] round = new double[to - from][];
+            pool.submit(() -> IntStream.range(from, to).parallel()
+                .forEach(i -> round[i - from] = replicate(i))).get();
+            // Accumulate in replication order so results do not depend on scheduling
+            for (double[] metrics : round) {
+                for (int a = 0; a < algorithms.size(); a++) {
+                    for (int m = 0; m < METRICS.length; m++) {
+                        double x = metrics[a * METRICS.length + m];
+                        stats[a][m].add(x);
+                        diffs[a][m].add(x - metrics[m]);
+                    }
+                }
+            }
+            replications = to;
+            if (replications >= min && converged(precision, z)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean converged(double precision, double z) {
+        for (Stat[] row : stats) {
+            for (Stat s : row) {
+                if (s.halfWidth(z) > precision * Math.abs(s.mean())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public int getReplications() {
+        return replications;
+    }
+
+    public Stat stat(int algorithm, int metric) {
+        return stats[algorithm][metric];
+    }
+
+    /** The paired difference of {@code algorithm} minus the first algorithm. */
+    public Stat diff(int algorithm, int metric) {
+        return diffs[algorithm][metric];
+    }
+
+    /**
+     * Human-readable report of means and intervals.
+     */
+    public String report(double confidence, double z, boolean converged, double precision) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%d replications of %d processes, %.0f%% confidence intervals%s%n%n",
+            replications, model.size(), 100 * confidence,
+            converged ? String.format(Locale.ROOT, " (within %.1f%% of the mean)", 100 * precision)
+                      : " (precision target not reached)"));
+        sb.append(String.format("%-14s", "Algorithm"));
+        for (String m : METRICS) {
+            sb.append(String.format("  %-26s", "avg " + m));
+        }
+        sb.append('\n');
+        for (int a = 0; a < algorithms.size(); a++) {
+            sb.append(String.format("%-14s", algorithms.get(a)));
+            for (int m = 0; m < METRICS.length; m++) {
+                sb.append(String.format(Locale.ROOT, "  %11.3f +/- %-10.3f", stats[a][m].mean(), stats[a][m].halfWidth(z)));
+            }
+            sb.append('\n');
+        }
+        if (algorithms.size() > 1) {
+            sb.append(String.format("%nPaired difference vs %s:%n", algorithms.get(0)));
+            for (int a = 1; a < algorithms.size(); a++) {
+                sb.append(String.format("%-14s", algorithms.get(a)));
+                for (int m = 0; m < METRICS.length; m++) {
+                    sb.append(String.format(Locale.ROOT, "  %+11.3f +/- %-10.3f", diffs[a][m].mean(), diffs[a][m].halfWidth(z)));
+                }
+                sb.append('\n');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * One CSV row per algorithm and metric.
+     */
+    public void writeCsv(PrintWriter out, double z) {
+        out.println("algorithm,metric,replications,mean,half_width,diff_vs_first,diff_half_width");
+        for (int a = 0; a < algorithms.size(); a++) {
+            for (int m = 0; m < METRICS.length; m++) {
+                out.println(String.format(Locale.ROOT, "\"%s\",%s,%d,%.6f,%.6f,%.6f,%.6f",
+                    algorithms.get(a), METRICS[m], replications, stats[a][m].mean(), stats[a][m].halfWidth(z),
+                    diffs[a][m].mean(), a == 0 ? 0.0 : diffs[a][m].halfWidth(z)));
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Standard normal quantile (Acklam's rational approximation, relative error below 1.2e-9).
+     */
+    static double normalQuantile(double p) {
+        final double[] a = {-3.969683028665376e+01, 2.209460984245205e+02, -2.759285104469687e+02,
+            1.383577518672690e+02, -3.066479806614716e+01, 2.506628277459239e+00};
+        final double[] b = {-5.447609879822406e+01, 1.615858368580409e+02, -1.556989798598866e+02,
+            6.680131188771972e+01, -1.328068155288572e+01};
+        final double[] c = {-7.784894002430293e-03, -3.223964580411365e-01, -2.400758277161838e+00,
+            -2.549732539343734e+00, 4.374664141464968e+00, 2.938163982698783e+00};
+        final double[] d = {7.784695709041462e-03, 3.224671290700398e-01, 2.445134137142996e+00,
+            3.754408661907416e+00};
+        double q, r;
+        if (p < 0.02425) {
+            q = Math.sqrt(-2 * Math.log(p));
+            return (((((c[0] * q + c[1]) * q + c[2]) * q + c[3]) * q + c[4]) * q + c[5])
+                / ((((d[0] * q + d[1]) * q + d[2]) * q + d[3]) * q + 1);
+        } else if (p > 1 - 0.02425) {
+            return -normalQuantile(1 - p);
+        }
+        q = p - 0.5;
+        r = q * q;
+        return (((((a[0] * r + a[1]) * r + a[2]) * r + a[3]) * r + a[4]) * r + a[5]) * q
+            / (((((b[0] * r + b[1]) * r + b[2]) * r + b[3]) * r + b[4]) * r + 1);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String modelSpec = null;
+        Path trace = null;
+        int traceCount = 0;
+        String algorithms = BatchRunner.DEFAULT_ALGORITHMS;
+        int max = 10_000;
+        int min = 30;
+        int batch = 64;
+        double precision = 0.01;
+        double confidence = 0.95;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        Path csv = null;
+        WorkloadModel model;
+        List<AlgorithmSpec> specs;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--model" -> modelSpec = args[++i];
+                    case "--trace" -> trace = Paths.get(args[++i]);
+                    case "--n" -> traceCount = Integer.parseInt(args[++i]);
+                    case "--algorithms" -> algorithms = args[++i];
+                    case "--replications" -> max = Integer.parseInt(args[++i]);
+                    case "--min-replications" -> min = Integer.parseInt(args[++i]);
+                    case "--batch" -> batch = Integer.parseInt(args[++i]);
+                    case "--precision" -> precision = Double.parseDouble(args[++i]);
+                    case "--confidence" -> confidence = Double.parseDouble(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--csv" -> csv = Paths.get(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if ((modelSpec == null) == (trace == null)) {
+                throw new IllegalArgumentException("Give exactly one of --model and --trace");
+            }
+            if (!(confidence > 0 && confidence < 1) || max < 2 || batch < 1) {
+                throw new IllegalArgumentException("Need 0 < confidence < 1, replications >= 2, batch >= 1");
+            }
+            specs = AlgorithmSpec.parseList(algorithms);
+            model = modelSpec != null ? WorkloadModel.parse(modelSpec)
+                                      : WorkloadModel.bootstrap(Workload.read(trace, trace.toString()), traceCount);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | IOException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("usage: MonteCarlo --model SPEC | --trace FILE [--n N] [--algorithms SPECS]"
+                + " [--replications K] [--min-replications N] [--batch N] [--precision P]"
+                + " [--confidence C] [--threads N] [--seed S] [--csv FILE]");
+            System.exit(2);
+            return;
+        }
+
+        double z = normalQuantile(0.5 + confidence / 2);
+        MonteCarlo mc = new MonteCarlo(model, specs, seed);
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        long t0 = System.nanoTime();
+        boolean converged;
+        try {
+            converged = mc.run(pool, max, Math.min(Math.max(2, min), max), batch, precision, z);
+        } finally {
+            pool.shutdown();
+        }
+        System.out.print(mc.report(confidence, z, converged, precision));
+        System.err.printf(Locale.ROOT, "%.1f s on %d threads%n", (System.nanoTime() - t0) / 1e9, pool.getParallelism());
+        if (csv != null) {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+                mc.writeCsv(out, z);
+            }
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.example.processsim.batch;
+
+import com.example.processsim.algorithms.Proc;
+
+import java.util.*;
+
+/**
+ * Replays parsed scheduler events, in trace order, into one process per task.
+ * <p>
+ * Each task is running, runnable or blocked. Time between being switched in and switched
+ * out is CPU time. A task switched out in state {@code R} was preempted and stays in its
+ * CPU burst; any other state except {@code X} and {@code Z} (exit) ends the CPU burst and
+ * starts an I/O burst that lasts until the task is woken, or switched back in if the wakeup
+ * is missing from the trace. The idle task (pid 0) is ignored.
+ * <p>
+ * A task arrives at its first wakeup, or when it is first switched in; one already running
+ * when the trace starts arrives at time 0. A task ends when it exits or at the end of the
+ * trace; a trailing I/O burst is dropped, and so is a task that never ran. After
+ * {@code maxBursts} CPU bursts a task is cut short and its later events ignored, which
+ * bounds the memory of long-lived tasks. A pid reused after an exit becomes a new process.
+ */
+final class SchedReplay {
+    private static final int RUNNING = 0;
+    private static final int RUNNABLE = 1;
+    private static final int BLOCKED = 2;
+    private static final int CAPPED = 3;
+
+    private static final class Task {
+        final String name;
+        final int priority;
+        final long arrival;
+        int state;
+        long since;
+        long cpu;
+        /** CPU, I/O, CPU, … in nanoseconds. */
+        long[] bursts = new long[4];
+        int count;
+
+        Task(String name, int priority, long arrival) {
+            this.name = name;
+            this.priority = priority;
+            this.arrival = arrival;
+        }
+
+        void push(long ns) {
+            if (count == bursts.length) {
+                bursts = Arrays.copyOf(bursts, 2 * count);
+            }
+            bursts[count++] = ns;
+        }
+    }
+
+    private final long unitNanos;
+    private final int maxBursts;
+    private final Map<Integer, Task> live = new HashMap<>();
+    /** Tasks seen per pid, for the names of reused pids. */
+    private final Map<Integer, Integer> generation = new HashMap<>();
+    private final List<Proc> procs = new ArrayList<>();
+    private long start = -1;
+    private long last;
+    private long events;
+    private int capped;
+
+    SchedReplay(long unitNanos, int maxBursts) {
+        this.unitNanos = unitNanos;
+        this.maxBursts = maxBursts;
+    }
+
+    long events() {
+        return events;
+    }
+
+    int capped() {
+        return capped;
+    }
+
+    /** Replay the events of the next chunk. */
+    void replay(SchedTraceParser.Events ev) {
+        for (int i = 0; i < ev.size; i++) {
+            long t = ev.time[i];
+            if (start < 0) {
+                start = t;
+            }
+            t = Math.max(t, last); // CPUs' clocks may disagree slightly
+            last = t;
+            int pid = ev.pid[i];
+            switch (ev.kind[i]) {
+                case SchedTraceParser.SWITCH -> {
+                    switchOut(pid, ev.state[i], t, ev.task(ev.info[i]));
+                    switchIn(ev.next[i], t, ev.task(ev.nextInfo[i]));
+                }
+                case SchedTraceParser.WAKEUP, SchedTraceParser.WAKEUP_NEW -> wakeup(pid, t, ev.task(ev.info[i]));
+                case SchedTraceParser.EXIT -> {
+                    Task task = live.get(pid);
+                    if (task != null && task.state == CAPPED) {
+                        live.remove(pid);
+                    } else if (task != null) {
+                        if (task.state == RUNNING) {
+                            task.cpu += t - task.since;
+                        }
+                        end(pid, task);
+                    }
+                }
+                default -> throw new IllegalStateException("Unknown event kind " + ev.kind[i]);
+            }
+        }
+        events += ev.size;
+    }
+
+    private void switchOut(int pid, byte state, long t, SchedTraceParser.TaskInfo info) {
+        if (pid == 0) {
+            return;
+        }
+        Task task = live.get(pid);
+        if (task == null && (state == 'X' || state == 'Z')) {
+            return; // already ended by its exit event
+        }
+        if (task == null) {
+            // Running since before the trace started
+            task = create(pid, start, info);
+            task.state = RUNNING;
+            task.since = start;
+        }
+        if (task.state == CAPPED) {
+            if (state == 'X' || state == 'Z') {
+                live.remove(pid);
+            }
+            return;
+        }
+        if (task.state == RUNNING) {
+            task.cpu += t - task.since;
+        }
+        task.since = t;
+        if (state == 'R') {
+            task.state = RUNNABLE;
+        } else if (state == 'X' || state == 'Z') {
+            end(pid, task);
+        } else {
+            task.push(task.cpu);
+            task.cpu = 0;
+            task.state = BLOCKED;
+            if ((task.count + 1) / 2 >= maxBursts) {
+                emit(task);
+                task.state = CAPPED;
+                capped++;
+            }
+        }
+    }
+
+    private void switchIn(int pid, long t, SchedTraceParser.TaskInfo info) {
+        if (pid == 0) {
+            return;
+        }
+        Task task = live.get(pid);
+        if (task == null) {
+            task = create(pid, t, info);
+        } else if (task.state == CAPPED) {
+            return;
+        } else if (task.state == BLOCKED) {
+            task.push(t - task.since); // woken without a traced wakeup
+        }
+        task.state = RUNNING;
+        task.since = t;
+    }
+
+    private void wakeup(int pid, long t, SchedTraceParser.TaskInfo info) {
+        if (pid == 0) {
+            return;
+        }
+        Task task = live.get(pid);
+        if (task == null) {
+            task = create(pid, t, info);
+            task.state = RUNNABLE;
+            task.since = t;
+        } else if (task.state == BLOCKED) {
+            task.push(t - task.since);
+            task.state = RUNNABLE;
+            task.since = t;
+        }
+    }
+
+    /** A new task of {@code pid}, named after the event that creates it. */
+    private Task create(int pid, long arrival, SchedTraceParser.TaskInfo ti) {
+        String comm = ti == null || ti.comm.isBlank() ? "task" : ti.comm.strip().replaceAll("\\s+", "_");
+        if (comm.startsWith("#")) {
+            comm = "_" + comm.substring(1); // would read as a comment line
+        }
+        int seen = generation.merge(pid, 1, Integer::sum);
+        String name = comm + "-" + pid + (seen > 1 ? "." + seen : "");
+        int prio = ti == null ? -1 : ti.prio;
+        // Kernel priorities 100..139 are nice -20..19; real-time ones rank above all of them
+        int nice = prio < 0 ? 0 : Math.max(-20, Math.min(19, prio - 120));
+        Task task = new Task(name, nice, arrival);
+        task.state = RUNNABLE;
+        live.put(pid, task);
+        return task;
+    }
+
+    private void end(int pid, Task task) {
+        live.remove(pid);
+        if (task.cpu > 0) {
+            task.push(task.cpu);
+        }
+        emit(task);
+    }
+
+    /** Add the process of {@code task}, without a trailing I/O burst, if it ran at all. */
+    private void emit(Task task) {
+        int count = task.count % 2 == 0 ? task.count - 1 : task.count;
+        if (count <= 0) {
+            return;
+        }
+        int[] units = new int[count];
+        int n = 0;
+        units[n++] = Math.max(1, toUnits(task.bursts[0]));
+        for (int i = 1; i + 1 < count; i += 2) {
+            int io = toUnits(task.bursts[i]);
+            int cpu = Math.max(1, toUnits(task.bursts[i + 1]));
+            if (io == 0) {
+                units[n - 1] = (int) Math.min(Integer.MAX_VALUE, (long) units[n - 1] + cpu); // merge
+            } else {
+                units[n++] = io;
+                units[n++] = cpu;
+            }
+        }
+        int arrival = (int) Math.min(Integer.MAX_VALUE, (task.arrival - start) / unitNanos);
+        procs.add(new Proc(task.name, arrival, Arrays.copyOf(units, n), null, task.priority));
+        task.bursts = null;
+    }
+
+    private int toUnits(long ns) {
+        return (int) Math.min(Integer.MAX_VALUE, (ns + unitNanos / 2) / unitNanos);
+    }
+
+    /**
+     * End every task still alive at the last event and return all processes, by arrival.
+     */
+    List<Proc> finish() {
+        List<Integer> pids = new ArrayList<>(live.keySet());
+        Collections.sort(pids);
+        for (int pid : pids) {
+            Task task = live.get(pid);
+            if (task.state == CAPPED) {
+                live.remove(pid);
+                continue;
+            }
+            if (task.state == RUNNING) {
+                task.cpu += last - task.since;
+            }
+            end(pid, task);
+        }
+        procs.sort(Comparator.comparingInt(p -> p.arrival));
+        return procs;
+    }
+}
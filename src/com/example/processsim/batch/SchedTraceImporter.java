@@ -0,0 +1,240 @@
+package com.example.processsim.batch;
+
+import com.example.processsim.algorithms.*;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Imports a Linux scheduler trace as a {@link Workload}: every task of the trace becomes a
+ * process whose arrival and CPU and I/O bursts are those it had on the traced machine.
+ * <p>
+ * The input is the text dump of {@code perf sched record} ({@code perf script}) or of an
+ * ftrace capture of the {@code sched_switch} and {@code sched_wakeup} events (the
+ * {@code trace} file or {@code trace-cmd report}); see {@link SchedTraceParser} for the
+ * accepted lines and {@link SchedReplay} for how tasks are rebuilt. Times are converted to
+ * whole time units of {@code --unit-us} microseconds, CPU bursts being at least one unit, and
+ * kernel priorities to nice levels. Traces from several CPUs are replayed as one CPU.
+ * <p>
+ * The file is read in a single pass, in chunks of {@code --chunk-mb} with positional reads of
+ * one shared {@link FileChannel}. Chunks are parsed in parallel on {@code --threads} workers,
+ * each line by the chunk in which it starts, into compact event arrays; they are replayed in
+ * file order as they complete, with at most two chunks per worker in flight. Memory is thus
+ * bounded by the chunk buffers and the tasks of the trace, not by its length; tasks are cut
+ * to {@code --max-bursts} CPU bursts.
+ *
+ * <pre>
+ * java com.example.processsim.batch.SchedTraceImporter --trace FILE [--out FILE.wl] [--name NAME]
+ *     [--unit-us 100] [--threads N] [--chunk-mb 16] [--max-bursts 1000] [--algorithms SPECS]
+ * </pre>
+ * With {@code --algorithms} the imported workload is also run through the algorithms and the
+ * results printed as {@link BatchRunner} CSV.
+ */
+public class SchedTraceImporter {
+    public static final int DEFAULT_UNIT_MICROS = 100;
+    public static final int DEFAULT_CHUNK_MB = 16;
+    public static final int DEFAULT_MAX_BURSTS = 1000;
+
+    /** Longest line that is parsed; longer ones are counted as malformed. */
+    static final int MAX_LINE = 64 * 1024;
+
+    private final int unitMicros;
+    private final int threads;
+    private final int chunkBytes;
+    private final int maxBursts;
+    private final ThreadLocal<byte[]> buffers;
+
+    private long lines;
+    private long events;
+    private long malformed;
+    private int capped;
+
+    public SchedTraceImporter() {
+        this(DEFAULT_UNIT_MICROS, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_MB, DEFAULT_MAX_BURSTS);
+    }
+
+    public SchedTraceImporter(int unitMicros, int threads, int chunkMB, int maxBursts) {
+        if (unitMicros < 1 || chunkMB < 1 || chunkMB > 1024 || maxBursts < 1) {
+            throw new IllegalArgumentException("Unit, chunk size (1-1024 MB) and burst limit must be positive");
+        }
+        this.unitMicros = unitMicros;
+        this.threads = Math.max(1, threads);
+        this.chunkBytes = chunkMB << 20;
+        this.maxBursts = maxBursts;
+        this.buffers = ThreadLocal.withInitial(() -> new byte[chunkBytes + MAX_LINE + 1]);
+    }
+
+    /**
+     * Import the trace in {@code file} as the workload {@code name}.
+     *
+     * @throws IOException if the file cannot be read or holds no task that ran
+     */
+    public Workload read(Path file, String name) throws IOException {
+        SchedReplay replay = new SchedReplay(unitMicros * 1000L, maxBursts);
+        lines = 0;
+        malformed = 0;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ArrayDeque<Future<SchedTraceParser.Events>> window = new ArrayDeque<>();
+            for (long start = 0; start < size || !window.isEmpty(); ) {
+                if (start < size && window.size() < 2 * threads) {
+                    long from = start;
+                    long to = Math.min(size, start + chunkBytes);
+                    window.add(pool.submit(() -> parseChunk(channel, from, to, size)));
+                    start = to;
+                    continue;
+                }
+                SchedTraceParser.Events ev = window.poll().get();
+                lines += ev.lines;
+                malformed += ev.malformed;
+                replay.replay(ev);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Trace import interrupted");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            while (cause.getCause() != null) {
+                cause = cause.getCause(); // unwrap the pool's RuntimeException
+            }
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(file + ": " + cause, cause);
+        } finally {
+            pool.shutdownNow();
+        }
+        events = replay.events();
+        capped = replay.capped();
+        List<Proc> procs = replay.finish();
+        if (procs.isEmpty()) {
+            throw new IOException(file + ": no scheduler events of tasks that ran");
+        }
+        return new Workload(name, procs);
+    }
+
+    /**
+     * Parse the lines starting in {@code [start, end)}: read from the byte before the chunk,
+     * to tell whether its first line starts at the chunk, up to one line past its end.
+     */
+    private SchedTraceParser.Events parseChunk(FileChannel channel, long start, long end, long size)
+            throws IOException {
+        byte[] buf = buffers.get();
+        long from = Math.max(0, start - 1);
+        int len = (int) (Math.min(size, end + MAX_LINE) - from);
+        ByteBuffer bb = ByteBuffer.wrap(buf, 0, len);
+        while (bb.hasRemaining()) {
+            if (channel.read(bb, from + bb.position()) < 0) {
+                break; // truncated while reading
+            }
+        }
+        len = bb.position();
+
+        SchedTraceParser.Events events = new SchedTraceParser.Events();
+        int i = 0;
+        if (start > 0) {
+            i = SchedTraceParser.indexOf(buf, (byte) '\n', 0, len) + 1;
+            if (i == 0) {
+                return events;
+            }
+        }
+        int limit = (int) (end - from);
+        boolean eof = from + len == size;
+        while (i < limit) {
+            int nl = SchedTraceParser.indexOf(buf, (byte) '\n', i, len);
+            if (nl < 0 && !eof) {
+                events.lines++;
+                events.malformed++; // longer than MAX_LINE; nothing else starts in the chunk
+                break;
+            }
+            int lineEnd = nl < 0 ? len : nl;
+            if (lineEnd > i && buf[lineEnd - 1] == '\r') {
+                lineEnd--;
+            }
+            SchedTraceParser.parseLine(buf, i, lineEnd, events);
+            i = nl < 0 ? len : nl + 1;
+        }
+        return events;
+    }
+
+    /** Lines, events and tasks of the last import. */
+    public String summary(Workload w) {
+        return String.format(Locale.ROOT, "%d lines, %d scheduler events%s, %d tasks%s",
+            lines, events, malformed > 0 ? " (" + malformed + " malformed)" : "", w.processes.size(),
+            capped > 0 ? " (" + capped + " cut to " + maxBursts + " bursts)" : "");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path trace = null;
+        Path outFile = null;
+        String name = null;
+        String algorithms = null;
+        List<AlgorithmSpec> specs = null;
+        int unit = DEFAULT_UNIT_MICROS;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunk = DEFAULT_CHUNK_MB;
+        int maxBursts = DEFAULT_MAX_BURSTS;
+        SchedTraceImporter importer;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--trace" -> trace = Paths.get(args[++i]);
+                    case "--out" -> outFile = Paths.get(args[++i]);
+                    case "--name" -> name = args[++i];
+                    case "--unit-us" -> unit = Integer.parseInt(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--chunk-mb" -> chunk = Integer.parseInt(args[++i]);
+                    case "--max-bursts" -> maxBursts = Integer.parseInt(args[++i]);
+                    case "--algorithms" -> algorithms = args[++i];
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (trace == null) {
+                throw new IllegalArgumentException("--trace is required");
+            }
+            if (outFile == null && algorithms == null) {
+                throw new IllegalArgumentException("--out or --algorithms is required");
+            }
+            if (algorithms != null) {
+                specs = AlgorithmSpec.parseList(algorithms);
+            }
+            importer = new SchedTraceImporter(unit, threads, chunk, maxBursts);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("usage: SchedTraceImporter --trace FILE [--out FILE.wl] [--name NAME] [--unit-us N]"
+                + " [--threads N] [--chunk-mb N] [--max-bursts N] [--algorithms SPECS]");
+            System.exit(2);
+            return;
+        }
+
+        long t0 = System.nanoTime();
+        Workload w;
+        try {
+            w = importer.read(trace, name != null ? name : trace.getFileName().toString());
+        } catch (IOException ex) {
+            System.err.println("Cannot import trace: " + ex.getMessage());
+            System.exit(1);
+            return;
+        }
+        double seconds = (System.nanoTime() - t0) / 1e9;
+        System.err.printf(Locale.ROOT, "%s in %.1f s (%.0f MB/s)%n", importer.summary(w), seconds,
+            Files.size(trace) / 1e6 / Math.max(seconds, 1e-9));
+        if (outFile != null) {
+            w.write(outFile);
+        }
+        if (specs != null) {
+            PrintWriter out = new PrintWriter(System.out, false, StandardCharsets.UTF_8);
+            out.println(BatchRunner.HEADER);
+            out.print(new BatchRunner(specs, 1).runWorkload(w));
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.example.processsim.batch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Parser of the scheduler events in a text dump of {@code perf script} or of the ftrace
+ * {@code trace} file, one line at a time straight from the bytes of a chunk.
+ * <p>
+ * The timestamp is the first {@code seconds.fraction:} field of a line and the event name
+ * follows it, with or without perf's {@code sched:} prefix. {@code sched_switch},
+ * {@code sched_wakeup}, {@code sched_wakeup_new} and {@code sched_process_exit} are kept,
+ * in both the {@code key=value} format of current kernels and the older
+ * {@code comm:pid [prio]} format; every other line is ignored. Command names may contain
+ * spaces; they are only decoded when a pid first appears in a chunk or its name or priority
+ * changes.
+ */
+final class SchedTraceParser {
+    static final byte SWITCH = 0;
+    static final byte WAKEUP = 1;
+    static final byte WAKEUP_NEW = 2;
+    static final byte EXIT = 3;
+
+    private static final byte[] SCHED = ascii("sched");
+    private static final byte[] SCHED_SWITCH = ascii("sched_switch");
+    private static final byte[] SCHED_WAKEUP = ascii("sched_wakeup");
+    private static final byte[] SCHED_WAKEUP_NEW = ascii("sched_wakeup_new");
+    private static final byte[] SCHED_PROCESS_EXIT = ascii("sched_process_exit");
+    private static final byte[] PREV_COMM = ascii("prev_comm=");
+    private static final byte[] PREV_PID = ascii(" prev_pid=");
+    private static final byte[] PREV_PRIO = ascii(" prev_prio=");
+    private static final byte[] PREV_STATE = ascii(" prev_state=");
+    private static final byte[] NEXT_COMM = ascii(" next_comm=");
+    private static final byte[] NEXT_PID = ascii(" next_pid=");
+    private static final byte[] NEXT_PRIO = ascii(" next_prio=");
+    private static final byte[] COMM = ascii("comm=");
+    private static final byte[] PID = ascii(" pid=");
+    private static final byte[] PRIO = ascii(" prio=");
+    private static final byte[] ARROW = ascii(" ==> ");
+    private static final byte[] BRACKET = ascii(" [");
+
+    private SchedTraceParser() {
+    }
+
+    /** Command name and kernel priority of a task, -1 if not given. */
+    static final class TaskInfo {
+        final String comm;
+        final int prio;
+        /** The undecoded name, to recognize it on the next event. */
+        private final byte[] raw;
+
+        TaskInfo(String comm, int prio, byte[] raw) {
+            this.comm = comm;
+            this.prio = prio;
+            this.raw = raw;
+        }
+    }
+
+    /**
+     * The events of one chunk in file order, in parallel primitive arrays, each with the
+     * {@link TaskInfo} its line gives for its tasks, so that a task is named after the event
+     * that creates it whatever the chunk boundaries.
+     */
+    static final class Events {
+        int size;
+        long[] time = new long[1024];
+        byte[] kind = new byte[1024];
+        /** Task switched out, woken or exiting. */
+        int[] pid = new int[1024];
+        /** Index in {@link #tasks} of the name of {@link #pid}, or -1. */
+        int[] info = new int[1024];
+        /** Task switched in, for {@link #SWITCH}. */
+        int[] next = new int[1024];
+        /** Index in {@link #tasks} of the name of {@link #next}, or -1. */
+        int[] nextInfo = new int[1024];
+        /** First letter of the state the switched-out task is left in, for {@link #SWITCH}. */
+        byte[] state = new byte[1024];
+        final List<TaskInfo> tasks = new ArrayList<>();
+        /** Index in {@link #tasks} of the name last given to every pid. */
+        private final Map<Integer, Integer> latest = new HashMap<>();
+        long lines;
+        /** Scheduler events whose fields could not be read. */
+        long malformed;
+
+        /** The name at {@code index}, or null for -1. */
+        TaskInfo task(int index) {
+            return index < 0 ? null : tasks.get(index);
+        }
+
+        private void add(long t, byte k, int p, int pi, int n, int ni, byte s) {
+            if (size == time.length) {
+                int grown = 2 * size;
+                time = Arrays.copyOf(time, grown);
+                kind = Arrays.copyOf(kind, grown);
+                pid = Arrays.copyOf(pid, grown);
+                info = Arrays.copyOf(info, grown);
+                next = Arrays.copyOf(next, grown);
+                nextInfo = Arrays.copyOf(nextInfo, grown);
+                state = Arrays.copyOf(state, grown);
+            }
+            time[size] = t;
+            kind[size] = k;
+            pid[size] = p;
+            info[size] = pi;
+            next[size] = n;
+            nextInfo[size] = ni;
+            state[size] = s;
+            size++;
+        }
+
+        /**
+         * Index in {@link #tasks} of the name {@code b[from, to)} and priority of pid {@code p},
+         * decoded only if they differ from those of its previous event; -1 for the idle task.
+         */
+        private int name(int p, byte[] b, int from, int to, int prio) {
+            if (p <= 0) {
+                return -1;
+            }
+            Integer last = latest.get(p);
+            if (last != null) {
+                TaskInfo ti = tasks.get(last);
+                if (ti.prio == prio && Arrays.equals(ti.raw, 0, ti.raw.length, b, from, to)) {
+                    return last;
+                }
+            }
+            byte[] raw = Arrays.copyOfRange(b, from, to);
+            tasks.add(new TaskInfo(new String(raw, StandardCharsets.UTF_8), prio, raw));
+            latest.put(p, tasks.size() - 1);
+            return tasks.size() - 1;
+        }
+    }
+
+    /**
+     * Parse the line {@code b[from, to)}, without its line break, into {@code events}.
+     */
+    static void parseLine(byte[] b, int from, int to, Events events) {
+        events.lines++;
+        // Timestamp: the first "digits.digits:" field
+        int colon = -1;
+        long time = -1;
+        for (int i = from; i < to; i++) {
+            if (b[i] == ':' && (i + 1 == to || b[i + 1] == ' ') && (time = timestamp(b, from, i)) >= 0) {
+                colon = i;
+                break;
+            }
+        }
+        if (colon < 0) {
+            return;
+        }
+
+        // Event name, after an optional "sched:" prefix
+        int p = skipSpaces(b, colon + 1, to);
+        int c = indexOf(b, (byte) ':', p, to);
+        if (c < 0) {
+            return;
+        }
+        if (equals(b, p, c, SCHED)) {
+            p = c + 1;
+            c = indexOf(b, (byte) ':', p, to);
+            if (c < 0) {
+                return;
+            }
+        }
+        byte kind;
+        if (equals(b, p, c, SCHED_SWITCH)) {
+            kind = SWITCH;
+        } else if (equals(b, p, c, SCHED_WAKEUP)) {
+            kind = WAKEUP;
+        } else if (equals(b, p, c, SCHED_WAKEUP_NEW)) {
+            kind = WAKEUP_NEW;
+        } else if (equals(b, p, c, SCHED_PROCESS_EXIT)) {
+            kind = EXIT;
+        } else {
+            return;
+        }
+        p = skipSpaces(b, c + 1, to);
+        boolean ok = kind == SWITCH ? parseSwitch(b, p, to, time, events) : parseTask(b, p, to, time, kind, events);
+        if (!ok) {
+            events.malformed++;
+        }
+    }
+
+    /**
+     * {@code prev_comm=A prev_pid=1 prev_prio=120 prev_state=S ==> next_comm=B next_pid=2 next_prio=120}
+     * or {@code A:1 [120] S ==> B:2 [120]}.
+     */
+    private static boolean parseSwitch(byte[] b, int p, int to, long time, Events events) {
+        int prev, next, prevPrio, nextPrio, prevInfo, nextInfo;
+        byte state;
+        if (startsWith(b, p, to, PREV_COMM)) {
+            int pid = indexOf(b, PREV_PID, p, to);
+            int st = indexOf(b, PREV_STATE, pid + 1, to);
+            int comm = indexOf(b, NEXT_COMM, st + 1, to);
+            int npid = indexOf(b, NEXT_PID, comm + 1, to);
+            if (pid < 0 || st < 0 || comm < 0 || npid < 0 || st + PREV_STATE.length >= to) {
+                return false;
+            }
+            prev = number(b, pid + PREV_PID.length, to);
+            next = number(b, npid + NEXT_PID.length, to);
+            prevPrio = field(b, PREV_PRIO, pid, st);
+            nextPrio = field(b, NEXT_PRIO, npid, to);
+            state = b[st + PREV_STATE.length];
+            if (prev < 0 || next < 0) {
+                return false;
+            }
+            prevInfo = events.name(prev, b, p + PREV_COMM.length, pid, prevPrio);
+            nextInfo = events.name(next, b, comm + NEXT_COMM.length, npid, nextPrio);
+        } else {
+            int arrow = indexOf(b, ARROW, p, to);
+            if (arrow < 0) {
+                return false;
+            }
+            int left = indexOf(b, BRACKET, p, arrow);
+            int close = left < 0 ? -1 : indexOf(b, (byte) ']', left, arrow);
+            int right = indexOf(b, BRACKET, arrow + ARROW.length, to);
+            int sep = left < 0 ? -1 : lastIndexOf(b, (byte) ':', p, left);
+            int nsep = right < 0 ? -1 : lastIndexOf(b, (byte) ':', arrow + ARROW.length, right);
+            if (close < 0 || sep < 0 || nsep < 0) {
+                return false;
+            }
+            prev = number(b, sep + 1, left);
+            next = number(b, nsep + 1, right);
+            prevPrio = number(b, left + BRACKET.length, close);
+            nextPrio = number(b, right + BRACKET.length, to);
+            int st = skipSpaces(b, close + 1, arrow);
+            state = st < arrow ? b[st] : (byte) 'R';
+            if (prev < 0 || next < 0) {
+                return false;
+            }
+            prevInfo = events.name(prev, b, p, sep, prevPrio);
+            nextInfo = events.name(next, b, arrow + ARROW.length, nsep, nextPrio);
+        }
+        events.add(time, SWITCH, prev, prevInfo, next, nextInfo, state);
+        return true;
+    }
+
+    /**
+     * {@code comm=A pid=1 prio=120 …} or {@code A:1 [120] …}, of a wakeup or exit.
+     */
+    private static boolean parseTask(byte[] b, int p, int to, long time, byte kind, Events events) {
+        int pid, prio, commEnd;
+        if (startsWith(b, p, to, COMM)) {
+            commEnd = indexOf(b, PID, p, to);
+            if (commEnd < 0) {
+                return false;
+            }
+            pid = number(b, commEnd + PID.length, to);
+            prio = field(b, PRIO, commEnd, to);
+            p += COMM.length;
+        } else {
+            int left = indexOf(b, BRACKET, p, to);
+            commEnd = left < 0 ? -1 : lastIndexOf(b, (byte) ':', p, left);
+            if (commEnd < 0) {
+                return false;
+            }
+            pid = number(b, commEnd + 1, left);
+            prio = number(b, left + BRACKET.length, to);
+        }
+        if (pid < 0) {
+            return false;
+        }
+        int info = events.name(pid, b, p, commEnd, prio);
+        events.add(time, kind, pid, info, -1, -1, (byte) 0);
+        return true;
+    }
+
+    /**
+     * Nanoseconds of the {@code seconds.fraction} number ending before {@code colon} and
+     * starting the line or a field, or -1.
+     */
+    private static long timestamp(byte[] b, int from, int colon) {
+        int i = colon - 1;
+        long fraction = 0;
+        int digits = 0;
+        while (i >= from && isDigit(b[i])) {
+            i--;
+            digits++;
+        }
+        if (digits == 0 || i < from || b[i] != '.') {
+            return -1;
+        }
+        int dot = i--;
+        int start = i;
+        while (i >= from && isDigit(b[i])) {
+            i--;
+        }
+        if (i == start || (i >= from && b[i] != ' ' && b[i] != '\t')) {
+            return -1;
+        }
+        long seconds = 0;
+        for (int k = i + 1; k < dot; k++) {
+            seconds = 10 * seconds + (b[k] - '0');
+        }
+        for (int k = dot + 1; k < colon && k <= dot + 9; k++) {
+            fraction = 10 * fraction + (b[k] - '0');
+        }
+        for (int k = Math.min(digits, 9); k < 9; k++) {
+            fraction *= 10;
+        }
+        return seconds * 1_000_000_000L + fraction;
+    }
+
+    /** The number after {@code key} in {@code b[from, to)}, or -1. */
+    private static int field(byte[] b, byte[] key, int from, int to) {
+        int at = indexOf(b, key, from, to);
+        return at < 0 ? -1 : number(b, at + key.length, to);
+    }
+
+    /** The non-negative decimal number at {@code from}, or -1. */
+    private static int number(byte[] b, int from, int to) {
+        long value = 0;
+        int i = from;
+        while (i < to && isDigit(b[i]) && value <= Integer.MAX_VALUE) {
+            value = 10 * value + (b[i++] - '0');
+        }
+        return i == from || value > Integer.MAX_VALUE ? -1 : (int) value;
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int skipSpaces(byte[] b, int from, int to) {
+        while (from < to && (b[from] == ' ' || b[from] == '\t')) {
+            from++;
+        }
+        return from;
+    }
+
+    private static boolean equals(byte[] b, int from, int to, byte[] word) {
+        return to - from == word.length && startsWith(b, from, to, word);
+    }
+
+    private static boolean startsWith(byte[] b, int from, int to, byte[] word) {
+        if (to - from < word.length) {
+            return false;
+        }
+        for (int k = 0; k < word.length; k++) {
+            if (b[from + k] != word[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int indexOf(byte[] b, byte c, int from, int to) {
+        for (int i = Math.max(0, from); i < to; i++) {
+            if (b[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] b, byte c, int from, int to) {
+        for (int i = to - 1; i >= from; i--) {
+            if (b[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(byte[] b, byte[] word, int from, int to) {
+        if (from < 0) {
+            return -1;
+        }
+        for (int i = from; i <= to - word.length; i++) {
+            if (b[i] == word[0] && startsWith(b, i, to, word)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
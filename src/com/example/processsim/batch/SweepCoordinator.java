@@ -0,0 +1,327 @@
+package com.example.processsim.batch;
+
+import com.example.processsim.algorithms.AlgorithmSpec;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits a sweep over several worker JVMs, for sweeps too large for one heap.
+ * <p>
+ * The coordinator starts {@code --workers} {@link SweepWorker} processes on this host, each
+ * with its own {@code --worker-heap}, and hands them workloads one at a time over a loopback
+ * socket (see {@link SweepWorker} for the protocol). Workers stream back compact CSV rows
+ * instead of timelines. When a worker dies or exceeds {@code --task-timeout}, it is killed and
+ * restarted and its workload goes back on the queue, up to {@code --retries} times. The merged
+ * CSV has the same columns as {@link BatchRunner} and is written in workload order.
+ *
+ * <pre>
+ * java com.example.processsim.batch.SweepCoordinator --workloads DIR|MANIFEST
+ *     [--algorithms SPECS] [--workers N] [--worker-heap 512m] [--retries 2]
+ *     [--task-timeout SECONDS] [--out results.csv]
+ * </pre>
+ */
+public class SweepCoordinator {
+    /** How long a freshly started worker may take to connect back. */
+    private static final int CONNECT_TIMEOUT_MILLIS = 30_000;
+
+    private final Path source;
+    private final List<Path> files;
+    private final String algorithms;
+    private final int workers;
+    private final int retries;
+    private final String workerHeap;
+    private final int taskTimeoutMillis;
+
+    private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger unfinished = new AtomicInteger();
+    private final String[] rows;
+    private final String[] errors;
+    private final AtomicInteger restarts = new AtomicInteger();
+
+    private static class Task {
+        final int index;
+        int attempts = 0;
+
+        Task(int index) {
+            this.index = index;
+        }
+    }
+
+    public SweepCoordinator(Path source, List<Path> files, String algorithms, int workers,
+                            int retries, String workerHeap, int taskTimeoutMillis) {
+        this.source = source;
+        this.files = List.copyOf(files);
+        this.algorithms = algorithms;
+        this.workers = Math.max(1, workers);
+        this.retries = Math.max(0, retries);
+        this.workerHeap = workerHeap;
+        this.taskTimeoutMillis = Math.max(0, taskTimeoutMillis);
+        this.rows = new String[files.size()];
+        this.errors = new String[files.size()];
+    }
+
+    /**
+     * Run the sweep and write the merged CSV to {@code out}.
+     *
+     * @return the number of workloads without results
+     */
+    public int run(PrintWriter out) throws InterruptedException {
+        for (int i = 0; i < files.size(); i++) {
+            queue.add(new Task(i));
+        }
+        unfinished.set(files.size());
+
+        List<Thread> slots = new ArrayList<>();
+        for (int i = 0; i < Math.min(workers, files.size()); i++) {
+            Thread t = new Thread(this::serve, "sweep-worker-" + i);
+            t.start();
+            slots.add(t);
+        }
+        for (Thread t : slots) {
+            t.join();
+        }
+
+        int failures = 0;
+        out.println(BatchRunner.HEADER);
+        for (int i = 0; i < files.size(); i++) {
+            if (rows[i] != null) {
+                out.print(rows[i]);
+            } else {
+                failures++;
+                System.err.println(files.get(i) + ": " + (errors[i] != null ? errors[i] : "not run"));
+            }
+        }
+        out.flush();
+        return failures;
+    }
+
+    /**
+     * One worker slot: keeps a worker process alive and feeds it tasks until the queue is done.
+     */
+    private void serve() {
+        WorkerProcess worker = null;
+        try {
+            Task task;
+            while ((task = nextTask()) != null) {
+                try {
+                    if (worker == null) {
+                        worker = WorkerProcess.start(algorithms, workerHeap);
+                        worker.socket.setSoTimeout(taskTimeoutMillis);
+                    }
+                    rows[task.index] = worker.run(task.index, Workload.nameOf(source, files.get(task.index)),
+                        files.get(task.index));
+                    unfinished.decrementAndGet();
+                } catch (WorkloadException ex) {
+                    errors[task.index] = ex.getMessage();
+                    unfinished.decrementAndGet();
+                } catch (IOException ex) {
+                    // Crashed, hung or never connected: restart the worker and retry elsewhere
+                    if (worker != null) {
+                        worker.kill();
+                        worker = null;
+                    }
+                    restarts.incrementAndGet();
+                    task.attempts++;
+                    if (task.attempts > retries) {
+                        errors[task.index] = "gave up after " + task.attempts + " attempts: " + ex.getMessage();
+                        unfinished.decrementAndGet();
+                    } else {
+                        queue.add(task);
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (worker != null) {
+                worker.quit();
+            }
+        }
+    }
+
+    /**
+     * The next queued task, or {@code null} once every task has finished. Waits while other
+     * slots still hold tasks that may come back for a retry.
+     */
+    private Task nextTask() throws InterruptedException {
+        while (unfinished.get() > 0) {
+            Task t = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (t != null) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    /** A workload the worker could not load or run; retrying would not help. */
+    private static class WorkloadException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        WorkloadException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * A running {@link SweepWorker} JVM and its connection.
+     */
+    private static class WorkerProcess {
+        final Process process;
+        final Socket socket;
+        final BufferedReader in;
+        final PrintWriter out;
+
+        private WorkerProcess(Process process, Socket socket) throws IOException {
+            this.process = process;
+            this.socket = socket;
+            this.in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.out = new PrintWriter(new BufferedWriter(
+                new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)));
+        }
+
+        static WorkerProcess start(String algorithms, String heap) throws IOException {
+            try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+                server.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+                List<String> cmd = new ArrayList<>();
+                cmd.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+                if (heap != null) {
+                    cmd.add("-Xmx" + heap);
+                }
+                cmd.add("-cp");
+                cmd.add(System.getProperty("java.class.path"));
+                cmd.add(SweepWorker.class.getName());
+                cmd.add("--connect");
+                cmd.add("127.0.0.1:" + server.getLocalPort());
+                cmd.add("--algorithms");
+                cmd.add(algorithms);
+                Process process = new ProcessBuilder(cmd)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+                try {
+                    return new WorkerProcess(process, server.accept());
+                } catch (IOException ex) {
+                    process.destroyForcibly();
+                    throw ex;
+                }
+            }
+        }
+
+        /**
+         * Run one workload and return its CSV rows.
+         */
+        String run(int id, String name, Path file) throws IOException, WorkloadException {
+            out.print(SweepWorker.TASK + "\t" + id + "\t" + name + "\t" + file.toAbsolutePath() + "\n");
+            out.flush();
+            StringBuilder sb = new StringBuilder();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] f = line.split("\t", 3);
+                if (f.length < 2 || !f[1].equals(String.valueOf(id))) {
+                    throw new IOException("Unexpected reply: " + line);
+                }
+                switch (f[0]) {
+                    case SweepWorker.ROW -> sb.append(f[2]).append('\n');
+                    case SweepWorker.DONE -> {
+                        return sb.toString();
+                    }
+                    case SweepWorker.FAIL -> throw new WorkloadException(f.length > 2 ? f[2] : "failed");
+                    default -> throw new IOException("Unexpected reply: " + line);
+                }
+            }
+            throw new IOException("worker exited");
+        }
+
+        void quit() {
+            out.print(SweepWorker.QUIT + "\n");
+            out.flush();
+            try {
+                socket.close();
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (IOException ex) {
+                process.destroyForcibly();
+            } catch (InterruptedException ex) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void kill() {
+            process.destroyForcibly();
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // already gone
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path source = null;
+        Path outFile = null;
+        String algorithms = BatchRunner.DEFAULT_ALGORITHMS;
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int retries = 2;
+        String heap = null;
+        int timeoutSeconds = 0;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--workloads" -> source = Paths.get(args[++i]);
+                    case "--algorithms" -> algorithms = args[++i];
+                    case "--out" -> outFile = Paths.get(args[++i]);
+                    case "--workers" -> workers = Integer.parseInt(args[++i]);
+                    case "--retries" -> retries = Integer.parseInt(args[++i]);
+                    case "--worker-heap" -> heap = args[++i];
+                    case "--task-timeout" -> timeoutSeconds = Integer.parseInt(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (source == null) {
+                throw new IllegalArgumentException("--workloads is required");
+            }
+            AlgorithmSpec.parseList(algorithms); // fail here rather than in every worker
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("usage: SweepCoordinator --workloads DIR|MANIFEST [--algorithms SPECS]"
+                + " [--workers N] [--worker-heap SIZE] [--retries N] [--task-timeout SECONDS] [--out FILE]");
+            System.exit(2);
+            return;
+        }
+
+        List<Path> files;
+        try {
+            files = Workload.list(source);
+        } catch (IOException ex) {
+            System.err.println("Cannot list workloads: " + ex.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        SweepCoordinator sweep = new SweepCoordinator(source, files, algorithms, workers, retries,
+            heap, timeoutSeconds * 1000);
+        long t0 = System.nanoTime();
+        int failures;
+        if (outFile == null) {
+            failures = sweep.run(new PrintWriter(System.out, false, StandardCharsets.UTF_8));
+        } else {
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(outFile, StandardCharsets.UTF_8))) {
+                failures = sweep.run(out);
+            }
+        }
+        System.err.printf(Locale.ROOT, "%d workloads on %d worker JVMs in %.1f s, %d restarts%s%n",
+            files.size(), sweep.workers, (System.nanoTime() - t0) / 1e9, sweep.restarts.get(),
+            failures > 0 ? ", " + failures + " failed" : "");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+}
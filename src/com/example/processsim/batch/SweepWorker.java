@@ -0,0 +1,83 @@
+package com.example.processsim.batch;
+
+import com.example.processsim.algorithms.AlgorithmSpec;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+/**
+ * Worker side of a {@link SweepCoordinator} sweep. Connects back to the coordinator and runs
+ * the workloads it is sent, one at a time, streaming back the CSV rows of each.
+ * <p>
+ * The protocol is line based, with tab separated fields:
+ * <pre>
+ *   coordinator -> worker   TASK id name path
+ *                           QUIT
+ *   worker -> coordinator   ROW id csv-row       (one per algorithm)
+ *                           DONE id
+ *                           FAIL id message      (the workload itself is bad; not retried)
+ * </pre>
+ * Timelines are recycled between tasks and never sent, so a worker's heap only has to hold
+ * one workload at a time.
+ */
+public class SweepWorker {
+    static final String TASK = "TASK";
+    static final String QUIT = "QUIT";
+    static final String ROW = "ROW";
+    static final String DONE = "DONE";
+    static final String FAIL = "FAIL";
+
+    public static void main(String[] args) throws IOException {
+        String host = "127.0.0.1";
+        int port = -1;
+        String algorithms = BatchRunner.DEFAULT_ALGORITHMS;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--connect" -> {
+                    String target = args[i + 1];
+                    int colon = target.lastIndexOf(':');
+                    if (colon >= 0) {
+                        host = target.substring(0, colon);
+                    }
+                    port = Integer.parseInt(target.substring(colon + 1));
+                }
+                case "--algorithms" -> algorithms = args[i + 1];
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        if (port < 0) {
+            throw new IllegalArgumentException("--connect [host:]port is required");
+        }
+
+        BatchRunner runner = new BatchRunner(AlgorithmSpec.parseList(algorithms), 1);
+        try (Socket socket = new Socket(host, port);
+             BufferedReader in = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new BufferedWriter(
+                 new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)))) {
+            String line;
+            while ((line = in.readLine()) != null && !line.equals(QUIT)) {
+                String[] f = line.split("\t", 4);
+                if (f.length != 4 || !f[0].equals(TASK)) {
+                    throw new IOException("Unexpected message: " + line);
+                }
+                String id = f[1];
+                String rows;
+                try {
+                    rows = runner.runWorkload(Workload.read(Paths.get(f[3]), f[2]));
+                } catch (IOException | RuntimeException ex) {
+                    out.print(FAIL + "\t" + id + "\t" + String.valueOf(ex.getMessage()).replace('\n', ' ') + "\n");
+                    out.flush();
+                    continue;
+                }
+                for (String row : rows.split("\n")) {
+                    out.print(ROW + "\t" + id + "\t" + row + "\n");
+                }
+                out.print(DONE + "\t" + id + "\n");
+                out.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.processsim.batch;
+
+import com.example.processsim.algorithms.Proc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A captured workload: a named list of processes read from a text file.
+ * <p>
+ * One process per line, {@code name arrival bursts [priority [tickets]]}, where {@code bursts}
+ * uses the same syntax as the process table ({@code 5} or {@code 3,2@1,4}) and {@code tickets}
+ * is the share under lottery and stride scheduling (default {@value Proc#DEFAULT_TICKETS}).
+ * Periodic tasks for the real-time algorithms add {@code period=T}, and optionally
+ * {@code deadline=D} and {@code sporadic=DELAY}, after the other fields; the bursts are the
+ * execution time of each job. Hierarchical fair-share scheduling reads the group of a process
+ * from {@code group=PATH} ({@link Proc#group}). Blank lines and lines starting with {@code #}
+ * are ignored.
+ */
+public class Workload {
+    /** Extension of workload files when loading a directory. */
+    public static final String EXTENSION = ".wl";
+
+    public final String name;
+    public final List<Proc> processes;
+
+    public Workload(String name, List<Proc> processes) {
+        this.name = name;
+        this.processes = processes;
+    }
+
+    /**
+     * Read one workload file.
+     *
+     * @throws IOException if the file cannot be read or a line is malformed
+     */
+    public static Workload read(Path file, String name) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(in, file.toString(), name);
+        }
+    }
+
+    /**
+     * Parse a workload in the file format from {@code text}, e.g. a request body.
+     *
+     * @throws IOException if a line is malformed; the message names the line
+     */
+    public static Workload parse(String text, String name) throws IOException {
+        return read(new BufferedReader(new StringReader(text)), name, name);
+    }
+
+    private static Workload read(BufferedReader in, String file, String name) throws IOException {
+        List<Proc> procs = new ArrayList<>();
+        String line;
+        int lineNo = 0;
+        while ((line = in.readLine()) != null) {
+            lineNo++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] f = line.split("\\s+");
+            int fields = f.length;
+            while (fields > 0 && f[fields - 1].contains("=")) {
+                fields--;
+            }
+            if (fields < 3 || fields > 5) {
+                throw new IOException(file + ":" + lineNo
+                    + ": expected 'name arrival bursts [priority [tickets]] [period=T deadline=D sporadic=DELAY group=PATH]'");
+            }
+            try {
+                int arrival = Integer.parseInt(f[1]);
+                int priority = fields >= 4 ? Integer.parseInt(f[3]) : 0;
+                int tickets = fields == 5 ? Integer.parseInt(f[4]) : Proc.DEFAULT_TICKETS;
+                if (arrival < 0) {
+                    throw new IllegalArgumentException("Arrival must be >= 0");
+                }
+                if (tickets < 1) {
+                    throw new IllegalArgumentException("Tickets must be >= 1");
+                }
+                Proc p = Proc.fromSpec(f[0], arrival, f[2], priority);
+                p.tickets = tickets;
+                for (int i = fields; i < f.length; i++) {
+                    setOption(p, f[i]);
+                }
+                procs.add(p);
+            } catch (IllegalArgumentException ex) {
+                throw new IOException(file + ":" + lineNo + ": " + ex.getMessage(), ex);
+            }
+        }
+        if (procs.isEmpty()) {
+            throw new IOException(file + ": no processes");
+        }
+        return new Workload(name, procs);
+    }
+
+    /** Apply a {@code key=value} field of a workload line. */
+    private static void setOption(Proc p, String field) {
+        int eq = field.indexOf('=');
+        if (field.startsWith("group=")) {
+            p.group = field.substring(eq + 1);
+            return;
+        }
+        int value = Integer.parseInt(field.substring(eq + 1));
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + field);
+        }
+        switch (field.substring(0, eq)) {
+            case "period" -> p.period = value;
+            case "deadline" -> p.deadline = value;
+            case "sporadic" -> p.sporadicDelay = value;
+            default -> throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
+
+    /**
+     * Write this workload in the format {@link #read} accepts.
+     */
+    public void write(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("# " + name);
+            for (Proc p : processes) {
+                String extra = p.tickets != Proc.DEFAULT_TICKETS ? " " + p.priority + " " + p.tickets
+                    : p.priority != 0 ? " " + p.priority : "";
+                if (p.period > 0) {
+                    extra += " period=" + p.period;
+                }
+                if (p.deadline > 0) {
+                    extra += " deadline=" + p.deadline;
+                }
+                if (p.sporadicDelay > 0) {
+                    extra += " sporadic=" + p.sporadicDelay;
+                }
+                if (p.group != null) {
+                    extra += " group=" + p.group;
+                }
+                out.println(p.name + " " + p.arrival + " " + p.toSpec() + extra);
+            }
+        }
+    }
+
+    /**
+     * The workload files named by {@code source}: every {@code *.wl} file below a directory
+     * (sorted by path), or the files listed in a manifest, one path per line relative to the
+     * manifest. Files are not read yet, so that workers can load them in parallel.
+     */
+    public static List<Path> list(Path source) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> walk = Files.walk(source)) {
+                walk.filter(p -> Files.isRegularFile(p) && p.getFileName().toString().endsWith(EXTENSION))
+                    .sorted()
+                    .forEach(files::add);
+            }
+        } else {
+            Path base = source.toAbsolutePath().getParent();
+            for (String line : Files.readAllLines(source, StandardCharsets.UTF_8)) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    files.add(base.resolve(line));
+                }
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Display name of a workload file relative to its source.
+     */
+    public static String nameOf(Path source, Path file) {
+        Path base = Files.isDirectory(source) ? source : source.toAbsolutePath().getParent();
+        Path rel = file.startsWith(base) ? base.relativize(file) : file;
+        return rel.toString().replace('\\', '/');
+    }
+}
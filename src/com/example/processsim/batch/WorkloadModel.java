@@ -0,0 +1,234 @@
+package com.example.processsim.batch;
+
+import com.example.processsim.algorithms.Proc;
+
+import java.util.*;
+
+/**
+ * A source of random workloads: either a distribution spec or bootstrap resampling of a
+ * captured trace.
+ * <p>
+ * A distribution spec is a semicolon-separated list of {@code key=distribution} settings:
+ * <pre>
+ *   n=1000                 processes per workload
+ *   interarrival=exp:5     gap between consecutive arrivals
+ *   burst=exp:4            length of each CPU burst (at least 1)
+ *   priority=const:0       nice level, clamped to -20 … 19
+ *   cpubursts=const:1      CPU bursts per process; more than one alternates with I/O
+ *   io=exp:3               length of each I/O burst (at least 1)
+ *   devices=1              I/O devices, picked uniformly per I/O burst
+ * </pre>
+ * Distributions are {@code const:x}, {@code uniform:a,b} (integers a … b), {@code exp:mean}
+ * and {@code pareto:scale,shape}. Samples are rounded to integers.
+ * <p>
+ * A generated workload reuses the caller's {@link Proc} objects, so drawing many workloads
+ * on one thread allocates almost nothing.
+ */
+public class WorkloadModel {
+    /** A sampled integer distribution. */
+    private interface Dist {
+        int sample(SplittableRandom rng);
+    }
+
+    private final int count;
+    private final Dist interarrival;
+    private final Dist burst;
+    private final Dist priority;
+    private final Dist cpuBursts;
+    private final Dist io;
+    private final int devices;
+    /** Bootstrap source, or null when sampling from distributions. */
+    private final Workload trace;
+    private final int[] traceGaps;
+    private final String[] names;
+
+    private WorkloadModel(int count, Dist interarrival, Dist burst, Dist priority, Dist cpuBursts,
+                          Dist io, int devices, Workload trace, int[] traceGaps) {
+        this.count = count;
+        this.interarrival = interarrival;
+        this.burst = burst;
+        this.priority = priority;
+        this.cpuBursts = cpuBursts;
+        this.io = io;
+        this.devices = devices;
+        this.trace = trace;
+        this.traceGaps = traceGaps;
+        this.names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = "P" + (i + 1);
+        }
+    }
+
+    /** Processes per generated workload. */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Parse a distribution spec.
+     *
+     * @throws IllegalArgumentException if the spec is malformed
+     */
+    public static WorkloadModel parse(String spec) {
+        Map<String, String> settings = new HashMap<>();
+        for (String part : spec.split(";")) {
+            part = part.trim();
+            if (part.isEmpty()) {
+                continue;
+            }
+            int eq = part.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value: " + part);
+            }
+            settings.put(part.substring(0, eq).trim().toLowerCase(Locale.ROOT), part.substring(eq + 1).trim());
+        }
+        int count = Integer.parseInt(settings.getOrDefault("n", "1000"));
+        int devices = Integer.parseInt(settings.getOrDefault("devices", "1"));
+        if (count < 1 || devices < 1) {
+            throw new IllegalArgumentException("n and devices must be >= 1: " + spec);
+        }
+        WorkloadModel model = new WorkloadModel(count,
+            dist(settings.getOrDefault("interarrival", "exp:5"), 0),
+            dist(settings.getOrDefault("burst", "exp:4"), 1),
+            dist(settings.getOrDefault("priority", "const:0"), -20),
+            dist(settings.getOrDefault("cpubursts", "const:1"), 1),
+            dist(settings.getOrDefault("io", "exp:3"), 1),
+            devices, null, null);
+        settings.keySet().removeAll(List.of("n", "devices", "interarrival", "burst", "priority", "cpubursts", "io"));
+        if (!settings.isEmpty()) {
+            throw new IllegalArgumentException("Unknown settings: " + settings.keySet());
+        }
+        return model;
+    }
+
+    /**
+     * Bootstrap resampling of a trace: every workload has {@code count} processes (the trace
+     * size if {@code count <= 0}), each drawn with replacement from the trace together with an
+     * inter-arrival gap drawn independently from the trace's gaps.
+     */
+    public static WorkloadModel bootstrap(Workload trace, int count) {
+        List<Proc> sorted = new ArrayList<>(trace.processes);
+        sorted.sort(Comparator.comparingInt(p -> p.arrival));
+        int[] gaps = new int[sorted.size()];
+        int prev = 0;
+        for (int i = 0; i < gaps.length; i++) {
+            gaps[i] = sorted.get(i).arrival - prev;
+            prev = sorted.get(i).arrival;
+        }
+        return new WorkloadModel(count > 0 ? count : sorted.size(), null, null, null, null, null, 1, trace, gaps);
+    }
+
+    /**
+     * Draw a workload into {@code pool}, growing it as needed, and return the processes.
+     * The returned list and its processes are only valid until the next call with the same pool.
+     */
+    public List<Proc> generate(SplittableRandom rng, Pool pool) {
+        pool.ensure(count);
+        int time = 0;
+        for (int i = 0; i < count; i++) {
+            Proc p = pool.procs[i];
+            if (trace != null) {
+                time += traceGaps[rng.nextInt(traceGaps.length)];
+                Proc src = trace.processes.get(rng.nextInt(trace.processes.size()));
+                set(p, names[i], time, src.burst, src.priority, src.bursts, src.devices);
+                continue;
+            }
+            time += interarrival.sample(rng);
+            int nice = Math.max(-20, Math.min(19, priority.sample(rng)));
+            int cpu = cpuBursts.sample(rng);
+            if (cpu <= 1) {
+                set(p, names[i], time, burst.sample(rng), nice, null, null);
+                continue;
+            }
+            int[] bursts = new int[2 * cpu - 1];
+            int[] devs = new int[cpu - 1];
+            int total = 0;
+            for (int b = 0; b < bursts.length; b++) {
+                if (b % 2 == 0) {
+                    bursts[b] = burst.sample(rng);
+                    total += bursts[b];
+                } else {
+                    bursts[b] = io.sample(rng);
+                    devs[b / 2] = devices > 1 ? rng.nextInt(devices) : 0;
+                }
+            }
+            set(p, names[i], time, total, nice, bursts, devs);
+        }
+        return pool.list(count);
+    }
+
+    private static void set(Proc p, String name, int arrival, int burst, int priority, int[] bursts, int[] devices) {
+        p.name = name;
+        p.arrival = arrival;
+        p.burst = burst;
+        p.priority = priority;
+        p.bursts = bursts;
+        p.devices = devices;
+        p.remaining = bursts != null ? bursts[0] : burst;
+        p.readyAt = arrival;
+    }
+
+    /**
+     * Per-thread process objects that {@link #generate} fills in place.
+     */
+    public static class Pool {
+        private Proc[] procs = new Proc[0];
+        private final ArrayList<Proc> list = new ArrayList<>();
+
+        void ensure(int n) {
+            if (procs.length < n) {
+                int old = procs.length;
+                procs = Arrays.copyOf(procs, n);
+                for (int i = old; i < n; i++) {
+                    procs[i] = new Proc("", 0, 1);
+                }
+            }
+        }
+
+        List<Proc> list(int n) {
+            list.clear();
+            for (int i = 0; i < n; i++) {
+                list.add(procs[i]);
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Parse {@code kind:params}; samples are clamped to at least {@code min}.
+     */
+    private static Dist dist(String spec, int min) {
+        String[] kv = spec.split(":", 2);
+        String[] a = kv.length > 1 ? kv[1].split("\\s*,\\s*") : new String[0];
+        try {
+            switch (kv[0].trim().toLowerCase(Locale.ROOT)) {
+                case "const": {
+                    int x = Math.max(min, (int) Math.round(Double.parseDouble(a[0])));
+                    return rng -> x;
+                }
+                case "uniform": {
+                    int lo = (int) Math.round(Double.parseDouble(a[0]));
+                    int hi = (int) Math.round(Double.parseDouble(a[1]));
+                    if (hi < lo) {
+                        throw new IllegalArgumentException("uniform needs a <= b: " + spec);
+                    }
+                    return rng -> Math.max(min, lo + rng.nextInt(hi - lo + 1));
+                }
+                case "exp": {
+                    double mean = Double.parseDouble(a[0]);
+                    return rng -> Math.max(min, (int) Math.round(-mean * Math.log(1 - rng.nextDouble())));
+                }
+                case "pareto": {
+                    double scale = Double.parseDouble(a[0]);
+                    double shape = Double.parseDouble(a[1]);
+                    return rng -> (int) Math.max(min, Math.min(Integer.MAX_VALUE / 4,
+                        Math.round(scale / Math.pow(1 - rng.nextDouble(), 1 / shape))));
+                }
+                default:
+                    throw new IllegalArgumentException("Unknown distribution: " + spec);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException ex) {
+            throw new IllegalArgumentException("Bad distribution: " + spec);
+        }
+    }
+}
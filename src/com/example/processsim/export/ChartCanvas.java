@@ -0,0 +1,20 @@
+package com.example.processsim.export;
+
+import java.awt.Color;
+
+/**
+ * Drawing primitives the exporters implement; coordinates are pixels from the top left.
+ */
+interface ChartCanvas {
+
+    /**
+     * Fill a rectangle, outlined if {@code outline} is not null; {@code tooltip} may be null
+     * and is only kept by formats that support it.
+     */
+    void rect(double x, double y, double w, double h, Color fill, Color outline, String tooltip);
+
+    void line(double x1, double y1, double x2, double y2, Color color);
+
+    /** Draw text with its baseline at {@code y}. */
+    void text(double x, double y, String text, float size, Color color, boolean bold);
+}
@@ -0,0 +1,330 @@
+package com.example.processsim.export;
+
+import com.example.processsim.algorithms.GanttEntry;
+import com.example.processsim.algorithms.Palette;
+
+import java.awt.Color;
+import java.util.*;
+
+/**
+ * Resolution-independent layout of a Gantt chart for export, drawn onto any {@link ChartCanvas}.
+ * <p>
+ * The chart is laid out once: slices become bars, either all on one lane or one lane per
+ * process in order of first appearance. Slices narrower than the level-of-detail threshold
+ * are merged with their neighbours on the same lane into one bar, coloured after the longest
+ * slice in it, so a million-slice schedule turns into at most a few bars per pixel column.
+ * Bars are kept per lane in time order, so {@link #draw} can binary-search the bars of any
+ * horizontal range; the exporters draw page by page or tile by tile.
+ */
+public class GanttChart {
+    static final Color BACKGROUND = new Color(250, 250, 250);
+    static final Color TEXT = new Color(127, 140, 141);
+    static final Color GRID = new Color(225, 228, 230);
+    static final Color LABEL = new Color(44, 62, 80);
+
+    private static final int TOP = 30;
+    private static final int AXIS = 30;
+    private static final int RIGHT = 40;
+    private static final int SINGLE_LANE = 40;
+    private static final int LANE = 22;
+    private static final int LANE_GAP = 4;
+    private static final float FONT = 11;
+    /** Approximate glyph width relative to the font size, the same for every format. */
+    private static final double GLYPH = 0.6;
+
+    private final String title;
+    private final String[] names;
+    private final Color[] colors;
+    private final boolean perProcess;
+    private final int end;
+    private final double scale;
+    private final int margin;
+    private final Lane[] lanes;
+    private int barCount;
+
+    /** Bars of one lane in time order. */
+    private static final class Lane {
+        int size;
+        int[] start = new int[16];
+        int[] end = new int[16];
+        int[] name = new int[16];
+        boolean[] merged = new boolean[16];
+        int maxLength;
+
+        // Bar being merged
+        int pendingStart = -1, pendingEnd, pendingName, pendingLongest, pendingCount;
+
+        void add(int s, int e, int n, boolean m) {
+            if (size == start.length) {
+                start = Arrays.copyOf(start, size * 2);
+                end = Arrays.copyOf(end, size * 2);
+                name = Arrays.copyOf(name, size * 2);
+                merged = Arrays.copyOf(merged, size * 2);
+            }
+            start[size] = s;
+            end[size] = e;
+            name[size] = n;
+            merged[size] = m;
+            maxLength = Math.max(maxLength, e - s);
+            size++;
+        }
+
+        /** First bar that may end after {@code time}. */
+        int firstFrom(int time) {
+            int lo = 0, hi = size;
+            long from = (long) time - maxLength;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (start[mid] < from) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * @param timeline  slices in time order
+     * @param colorMap  colour of each process, or null for {@link Palette} colours
+     * @param title     caption above the chart, or null
+     * @param perProcess one lane per process instead of a single CPU lane
+     * @param width     chart width in pixels; ignored if {@code pixelsPerUnit} is positive
+     * @param pixelsPerUnit horizontal scale, or 0 to fit {@code width}
+     * @param detail    minimum bar width in pixels below which slices are merged
+     */
+    public GanttChart(List<GanttEntry> timeline, Map<String, Color> colorMap, String title, boolean perProcess,
+                      int width, double pixelsPerUnit, double detail) {
+        if (timeline.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to export: empty timeline");
+        }
+        this.title = title;
+        this.perProcess = perProcess;
+
+        Map<String, Integer> index = new LinkedHashMap<>();
+        int last = 0;
+        for (GanttEntry e : timeline) {
+            index.putIfAbsent(e.name, index.size());
+            last = Math.max(last, e.end);
+        }
+        this.end = Math.max(1, last);
+        this.names = index.keySet().toArray(new String[0]);
+        this.colors = new Color[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Color c = colorMap != null ? colorMap.get(names[i]) : null;
+            colors[i] = c != null ? c : Palette.color(i);
+        }
+
+        int longest = 0;
+        for (String n : names) {
+            longest = Math.max(longest, n.length());
+        }
+        this.margin = perProcess ? Math.max(40, (int) Math.ceil(longest * FONT * GLYPH) + 16) : 40;
+        this.scale = pixelsPerUnit > 0 ? pixelsPerUnit : Math.max(1e-9, (Math.max(200, width) - margin - RIGHT) / (double) end);
+
+        this.lanes = new Lane[perProcess ? names.length : 1];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+        // Level of detail: merge runs of narrow slices per lane
+        double minUnits = Math.max(0, detail) / scale;
+        for (GanttEntry e : timeline) {
+            int n = index.get(e.name);
+            Lane lane = lanes[perProcess ? n : 0];
+            int length = e.end - e.start;
+            boolean narrow = length < minUnits;
+            if (lane.pendingStart >= 0) {
+                boolean mergeable = narrow && e.start - lane.pendingEnd < minUnits
+                    && lane.pendingEnd - lane.pendingStart < minUnits;
+                if (mergeable) {
+                    lane.pendingEnd = e.end;
+                    lane.pendingCount++;
+                    if (length > lane.pendingLongest) {
+                        lane.pendingLongest = length;
+                        lane.pendingName = n;
+                    }
+                    continue;
+                }
+                flush(lane);
+            }
+            lane.pendingStart = e.start;
+            lane.pendingEnd = e.end;
+            lane.pendingName = n;
+            lane.pendingLongest = length;
+            lane.pendingCount = 1;
+        }
+        for (Lane lane : lanes) {
+            if (lane.pendingStart >= 0) {
+                flush(lane);
+            }
+        }
+    }
+
+    private void flush(Lane lane) {
+        lane.add(lane.pendingStart, lane.pendingEnd, lane.pendingName, lane.pendingCount > 1);
+        lane.pendingStart = -1;
+        barCount++;
+    }
+
+    /** Width in pixels. */
+    public int width() {
+        return (int) Math.ceil(margin + end * scale + RIGHT);
+    }
+
+    /** Height in pixels. */
+    public int height() {
+        return top() + lanesHeight() + AXIS;
+    }
+
+    /** Bars after level-of-detail merging. */
+    public int bars() {
+        return barCount;
+    }
+
+    private int top() {
+        return title != null ? TOP + 10 : TOP;
+    }
+
+    private int lanesHeight() {
+        return perProcess ? lanes.length * (LANE + LANE_GAP) : SINGLE_LANE;
+    }
+
+    private double x(long time) {
+        return margin + time * scale;
+    }
+
+    /**
+     * Draw everything that overlaps pixel columns {@code [fromX, toX)}; the canvas clips.
+     */
+    void draw(ChartCanvas c, double fromX, double toX) {
+        draw(c, fromX, toX, 0, height());
+    }
+
+    /**
+     * Draw everything that overlaps the window of columns {@code [fromX, toX)} and rows
+     * {@code [fromY, toY)}; the canvas clips.
+     */
+    void draw(ChartCanvas c, double fromX, double toX, double fromY, double toY) {
+        drawFrame(c, fromX, toX, fromY, toY);
+        drawBars(c, fromX, toX, fromY, toY, false);
+    }
+
+    /**
+     * Background, grid, time axis, title and lane names of the window.
+     */
+    void drawFrame(ChartCanvas c, double fromX, double toX, double fromY, double toY) {
+        int top = top();
+        int bottom = top + lanesHeight();
+        c.rect(fromX, fromY, toX - fromX, toY - fromY, BACKGROUND, null, null);
+
+        // Grid and time axis
+        long step = tickStep();
+        long firstTick = Math.max(0, (long) Math.floor((fromX - margin - 60) / scale / step)) * step;
+        for (long t = firstTick; t <= end && x(t) < toX + 60; t += step) {
+            double x = x(t);
+            c.line(x, top - 4, x, bottom + 4, GRID);
+            String label = String.valueOf(t);
+            c.text(x - textWidth(label, FONT - 1) / 2, bottom + 18, label, FONT - 1, TEXT, false);
+        }
+        c.line(margin, bottom + 4, x(end), bottom + 4, TEXT);
+
+        if (title != null && fromX < margin + textWidth(title, FONT + 3)) {
+            c.text(margin, 22, title, FONT + 3, LABEL, true);
+        }
+
+        if (perProcess && fromX < margin) {
+            for (int l = firstLane(fromY); l < lanes.length && laneY(l) < toY; l++) {
+                c.text(6, laneY(l) + LANE / 2.0 + FONT / 2 - 1, names[l], FONT, LABEL, false);
+            }
+        }
+    }
+
+    /**
+     * Bars of the window. With {@code startingInside} only bars starting in
+     * {@code [fromX, toX)} are drawn, so that drawing adjacent windows draws every bar once.
+     */
+    void drawBars(ChartCanvas c, double fromX, double toX, double fromY, double toY, boolean startingInside) {
+        for (int l = firstLane(fromY); l < lanes.length && laneY(l) < toY; l++) {
+            Lane lane = lanes[l];
+            double y = laneY(l);
+            double h = perProcess ? LANE : SINGLE_LANE;
+            int fromTime = (int) Math.max(0, Math.floor((fromX - margin) / scale));
+            for (int b = lane.firstFrom(fromTime); b < lane.size; b++) {
+                double x1 = x(lane.start[b]);
+                if (x1 >= toX) {
+                    break;
+                }
+                double x2 = x(lane.end[b]);
+                if (x2 <= fromX || startingInside && x1 < fromX) {
+                    continue;
+                }
+                int n = lane.name[b];
+                Color fill = colors[n];
+                double w = Math.max(0.5, x2 - x1);
+                String tooltip = lane.merged[b]
+                    ? "[" + lane.start[b] + ", " + lane.end[b] + "), several processes"
+                    : names[n] + " [" + lane.start[b] + ", " + lane.end[b] + ")";
+                c.rect(x1, y, w, h, fill, w >= 4 ? fill.darker() : null, tooltip);
+                if (!lane.merged[b] && !perProcess) {
+                    float size = FONT + 1;
+                    double tw = textWidth(names[n], size);
+                    if (tw < w - 4) {
+                        c.text(x1 + (w - tw) / 2, y + h / 2 + size / 2 - 1, names[n], size, Color.WHITE, true);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Top of lane {@code l}. */
+    private double laneY(int l) {
+        return perProcess ? top() + l * (LANE + LANE_GAP) : top();
+    }
+
+    /** First lane reaching below {@code y}. */
+    private int firstLane(double y) {
+        if (!perProcess) {
+            return 0;
+        }
+        int l = (int) Math.floor((y - top() - LANE) / (LANE + LANE_GAP)) + 1;
+        return Math.max(0, Math.min(lanes.length, l));
+    }
+
+    /**
+     * Where to end a page starting at row {@code fromY} and at most {@code maxHeight} tall:
+     * at the last lane boundary that fits, so that no lane is cut, or at {@code maxHeight}
+     * when not even one lane fits.
+     */
+    int pageBreak(int fromY, int maxHeight) {
+        int y = fromY + maxHeight;
+        if (y >= height()) {
+            return height();
+        }
+        if (perProcess && y > top()) {
+            int boundary = top() + Math.min(lanes.length, (y - top()) / (LANE + LANE_GAP)) * (LANE + LANE_GAP);
+            if (boundary > fromY) {
+                return boundary;
+            }
+        }
+        return y;
+    }
+
+    /** Time between axis labels: 1, 2 or 5 times a power of ten, at least 80 pixels apart. */
+    private long tickStep() {
+        double minUnits = 80 / scale;
+        long step = 1;
+        while (true) {
+            for (long m : new long[]{1, 2, 5}) {
+                if (step * m >= minUnits) {
+                    return step * m;
+                }
+            }
+            step *= 10;
+        }
+    }
+
+    static double textWidth(String s, float size) {
+        return s.length() * size * GLYPH;
+    }
+}
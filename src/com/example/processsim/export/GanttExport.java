@@ -0,0 +1,167 @@
+package com.example.processsim.export;
+
+import com.example.processsim.algorithms.*;
+import com.example.processsim.batch.Workload;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.DoubleConsumer;
+
+/**
+ * Writes a {@link GanttChart} as SVG, PNG or PDF, chosen by the file extension.
+ * <p>
+ * Output is streamed: SVG element by element, PDF page by page and PNG band by band (see
+ * {@link PngTiles}). It goes to a temporary file next to the target that replaces it only
+ * when complete, so a failed or cancelled export leaves no truncated chart behind. Exports
+ * are meant to run off the event thread; they stop with an {@link InterruptedIOException}
+ * when the thread is interrupted.
+ *
+ * <pre>
+ * java com.example.processsim.export.GanttExport --workload FILE.wl --algorithm SPEC --out chart.svg|png|pdf
+ *     [--lanes] [--width 2000] [--scale PX_PER_UNIT] [--detail 1] [--title TEXT]
+ * </pre>
+ */
+public class GanttExport {
+    public enum Format { SVG, PNG, PDF }
+
+    /** Columns of bars written between progress reports and interruption checks. */
+    private static final int SVG_BAND = 1024;
+
+    private GanttExport() {
+    }
+
+    /**
+     * Format of {@code file} from its extension.
+     *
+     * @throws IllegalArgumentException for an unknown extension
+     */
+    public static Format formatOf(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        for (Format f : Format.values()) {
+            if (name.endsWith("." + f.name().toLowerCase(Locale.ROOT))) {
+                return f;
+            }
+        }
+        throw new IllegalArgumentException("Export to .svg, .png or .pdf: " + file.getFileName());
+    }
+
+    /**
+     * Write {@code chart} to {@code file}, reporting progress from 0 to 1.
+     */
+    public static void write(GanttChart chart, Path file, DoubleConsumer progress) throws IOException {
+        Format format = formatOf(file);
+        Path part = file.resolveSibling(file.getFileName() + ".part");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part), 1 << 16)) {
+                switch (format) {
+                    case SVG -> writeSvg(chart, out, progress);
+                    case PNG -> PngTiles.write(chart, out, progress);
+                    case PDF -> writePdf(chart, out, progress);
+                }
+            }
+            Files.move(part, file, StandardCopyOption.REPLACE_EXISTING);
+            progress.accept(1);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    private static void writeSvg(GanttChart chart, OutputStream out, DoubleConsumer progress) throws IOException {
+        PrintWriter w = new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), false);
+        int width = chart.width();
+        int height = chart.height();
+        SvgCanvas canvas = new SvgCanvas(w, width, height);
+        chart.drawFrame(canvas, 0, width, 0, height);
+        // Bars in bands of columns, each bar in the band it starts in
+        for (int from = 0; from < width; from += SVG_BAND) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("SVG export cancelled");
+            }
+            chart.drawBars(canvas, from, Math.min(width, from + SVG_BAND), 0, height, true);
+            if (w.checkError()) {
+                throw new IOException("SVG export failed");
+            }
+            progress.accept(Math.min(width, from + SVG_BAND) / (double) width);
+        }
+        canvas.close();
+        w.flush();
+        if (w.checkError()) {
+            throw new IOException("SVG export failed");
+        }
+    }
+
+    private static void writePdf(GanttChart chart, OutputStream out, DoubleConsumer progress) throws IOException {
+        int width = chart.width();
+        int columns = (width + PdfCanvas.MAX_PAGE - 1) / PdfCanvas.MAX_PAGE;
+        // Tall lane charts are also split into rows of pages, between lanes
+        List<Integer> breaks = new ArrayList<>(List.of(0));
+        while (breaks.get(breaks.size() - 1) < chart.height()) {
+            breaks.add(chart.pageBreak(breaks.get(breaks.size() - 1), PdfCanvas.MAX_PAGE));
+        }
+        int rows = breaks.size() - 1;
+        int pages = columns * rows;
+        PdfCanvas canvas = new PdfCanvas(out, pages);
+        for (int p = 0; p < pages; p++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("PDF export cancelled");
+            }
+            int from = p / rows * PdfCanvas.MAX_PAGE;
+            int pageWidth = Math.min(PdfCanvas.MAX_PAGE, width - from);
+            int top = breaks.get(p % rows);
+            int pageHeight = breaks.get(p % rows + 1) - top;
+            canvas.beginPage(from, pageWidth, top, pageHeight);
+            chart.draw(canvas, from, from + pageWidth, top, top + pageHeight);
+            canvas.endPage();
+            progress.accept((p + 1.0) / pages);
+        }
+        canvas.finish();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path workload = null;
+        Path out = null;
+        AlgorithmSpec spec = null;
+        boolean lanes = false;
+        int width = 2000;
+        double scale = 0;
+        double detail = 1;
+        String title = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--workload" -> workload = Paths.get(args[++i]);
+                    case "--algorithm" -> spec = AlgorithmSpec.parse(args[++i]);
+                    case "--out" -> out = Paths.get(args[++i]);
+                    case "--lanes" -> lanes = true;
+                    case "--width" -> width = Integer.parseInt(args[++i]);
+                    case "--scale" -> scale = Double.parseDouble(args[++i]);
+                    case "--detail" -> detail = Double.parseDouble(args[++i]);
+                    case "--title" -> title = args[++i];
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (workload == null || spec == null || out == null) {
+                throw new IllegalArgumentException("--workload, --algorithm and --out are required");
+            }
+            formatOf(out);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("usage: GanttExport --workload FILE.wl --algorithm SPEC --out FILE.svg|png|pdf"
+                + " [--lanes] [--width PX] [--scale PX_PER_UNIT] [--detail PX] [--title TEXT]");
+            System.exit(2);
+            return;
+        }
+
+        long t0 = System.nanoTime();
+        Workload w = Workload.read(workload, workload.getFileName().toString());
+        SchedulingAlgorithm algorithm = spec.create(w.processes);
+        SimResult result = algorithm.run();
+        GanttChart chart = new GanttChart(result.timeline, result.colorMap,
+            title != null ? title : algorithm.getName() + " - " + w.name, lanes, width, scale, detail);
+        write(chart, out, p -> { });
+        System.err.printf(Locale.ROOT, "%s: %d x %d px, %d slices drawn as %d bars in %.1f s%n", out,
+            chart.width(), chart.height(), result.timeline.size(), chart.bars(), (System.nanoTime() - t0) / 1e9);
+    }
+}
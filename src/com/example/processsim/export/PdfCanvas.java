@@ -0,0 +1,152 @@
+package com.example.processsim.export;
+
+import java.awt.Color;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Minimal PDF writer: vector pages of filled rectangles, lines and Helvetica text, streamed
+ * to the output page by page. One pixel of the chart is one point. Pages are at most
+ * {@link #MAX_PAGE} points wide and high, the largest size PDF viewers accept, so a larger
+ * chart is split into several pages.
+ */
+class PdfCanvas implements ChartCanvas {
+    static final int MAX_PAGE = 14400;
+
+    private final CountingStream out;
+    private final List<Long> offsets = new ArrayList<>();
+    private final int pages;
+    private StringBuilder content;
+    private int page = -1;
+
+    /** Object numbers: 1 catalog, 2 page tree, 3 regular font, 4 bold font, then page and contents. */
+    private static final int FIRST_PAGE_OBJECT = 5;
+
+    PdfCanvas(OutputStream out, int pages) throws IOException {
+        this.out = new CountingStream(out);
+        this.pages = pages;
+        write("%PDF-1.4\n%âãÏÓ\n");
+        object(1, "<< /Type /Catalog /Pages 2 0 R >>");
+        StringBuilder kids = new StringBuilder();
+        for (int p = 0; p < pages; p++) {
+            kids.append(FIRST_PAGE_OBJECT + 2 * p).append(" 0 R ");
+        }
+        object(2, "<< /Type /Pages /Kids [" + kids + "] /Count " + pages + " >>");
+        object(3, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>");
+        object(4, "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>");
+    }
+
+    /**
+     * Start the next page, showing chart columns {@code [fromX, fromX + width)} and rows
+     * {@code [fromY, fromY + height)}.
+     */
+    void beginPage(double fromX, int width, int fromY, int height) throws IOException {
+        page++;
+        int obj = FIRST_PAGE_OBJECT + 2 * page;
+        object(obj, String.format(Locale.ROOT,
+            "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 %d %d] /Contents %d 0 R"
+                + " /Resources << /Font << /F1 3 0 R /F2 4 0 R >> >> >>", width, height, obj + 1));
+        // Flip to a top-left origin and shift the page window into view
+        content = new StringBuilder(1 << 16);
+        content.append(String.format(Locale.ROOT, "1 0 0 -1 %.2f %d cm\n", -fromX, fromY + height));
+    }
+
+    void endPage() throws IOException {
+        int obj = FIRST_PAGE_OBJECT + 2 * page + 1;
+        byte[] bytes = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        offsets.add(out.count);
+        write(obj + " 0 obj\n<< /Length " + bytes.length + " >>\nstream\n");
+        out.write(bytes);
+        write("\nendstream\nendobj\n");
+        content = null;
+    }
+
+    void finish() throws IOException {
+        if (page + 1 != pages) {
+            throw new IllegalStateException("Expected " + pages + " pages, wrote " + (page + 1));
+        }
+        long xref = out.count;
+        int objects = offsets.size();
+        StringBuilder sb = new StringBuilder();
+        sb.append("xref\n0 ").append(objects + 1).append("\n0000000000 65535 f \n");
+        // Offsets were recorded in object-number order
+        for (long offset : offsets) {
+            sb.append(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+        }
+        sb.append("trailer\n<< /Size ").append(objects + 1).append(" /Root 1 0 R >>\nstartxref\n")
+          .append(xref).append("\n%%EOF\n");
+        write(sb.toString());
+        out.flush();
+    }
+
+    @Override
+    public void rect(double x, double y, double w, double h, Color fill, Color outline, String tooltip) {
+        color(fill, "rg");
+        content.append(String.format(Locale.ROOT, "%.2f %.2f %.2f %.2f re f\n", x, y, w, h));
+        if (outline != null) {
+            color(outline, "RG");
+            content.append(String.format(Locale.ROOT, "0.5 w %.2f %.2f %.2f %.2f re S\n", x, y, w, h));
+        }
+    }
+
+    @Override
+    public void line(double x1, double y1, double x2, double y2, Color color) {
+        color(color, "RG");
+        content.append(String.format(Locale.ROOT, "0.75 w %.2f %.2f m %.2f %.2f l S\n", x1, y1, x2, y2));
+    }
+
+    @Override
+    public void text(double x, double y, String text, float size, Color color, boolean bold) {
+        color(color, "rg");
+        // The text matrix flips glyphs back upright
+        content.append(String.format(Locale.ROOT, "BT /%s %.1f Tf 1 0 0 -1 %.2f %.2f Tm (%s) Tj ET\n",
+            bold ? "F2" : "F1", size, x, y, escape(text)));
+    }
+
+    private void color(Color c, String op) {
+        content.append(String.format(Locale.ROOT, "%.3f %.3f %.3f %s ",
+            c.getRed() / 255.0, c.getGreen() / 255.0, c.getBlue() / 255.0, op));
+    }
+
+    private void object(int number, String body) throws IOException {
+        offsets.add(out.count);
+        write(number + " 0 obj\n" + body + "\nendobj\n");
+    }
+
+    private void write(String s) throws IOException {
+        out.write(s.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String escape(String s) {
+        StringBuilder sb = new StringBuilder(s.length());
+        for (char ch : s.toCharArray()) {
+            if (ch == '(' || ch == ')' || ch == '\\') {
+                sb.append('\\');
+            }
+            sb.append(ch < 256 ? ch : '?');
+        }
+        return sb.toString();
+    }
+
+    /** Tracks the byte offset for the cross-reference table. */
+    private static final class CountingStream extends FilterOutputStream {
+        long count;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
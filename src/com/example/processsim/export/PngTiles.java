@@ -0,0 +1,185 @@
+package com.example.processsim.export;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.function.DoubleConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Renders a chart to PNG without holding the whole image: the chart is drawn tile by tile
+ * into one reused {@link BufferedImage}, a band of rows at a time, and each band is filtered,
+ * compressed and appended to the file before the next one is drawn. Memory is bounded by one
+ * band of RGB rows, so a chart 100,000 pixels wide needs a few megabytes instead of a
+ * gigabyte-sized raster.
+ */
+class PngTiles {
+    static final int TILE = 1024;
+    /** Upper bound on the bytes of one band of rows. */
+    private static final int BAND_BYTES = 8 << 20;
+
+    private PngTiles() {
+    }
+
+    static void write(GanttChart chart, OutputStream file, DoubleConsumer progress) throws IOException {
+        int width = chart.width();
+        int height = chart.height();
+        int rowBytes = 3 * width;
+        int band = Math.max(1, Math.min(height, BAND_BYTES / rowBytes));
+
+        DataOutputStream out = new DataOutputStream(file);
+        out.write(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'});
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        DataOutputStream h = new DataOutputStream(header);
+        h.writeInt(width);
+        h.writeInt(height);
+        h.write(new byte[]{8, 2, 0, 0, 0}); // 8-bit RGB, deflate, adaptive filtering, no interlace
+        chunk(out, "IHDR", header.toByteArray(), header.size());
+
+        BufferedImage tile = new BufferedImage(Math.min(TILE, width), band, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) tile.getRaster().getDataBuffer()).getData();
+        byte[][] rows = new byte[band][rowBytes];
+        byte[] filtered = new byte[rowBytes + 1];
+        Deflater deflater = new Deflater(6);
+        try (DeflaterOutputStream idat = new DeflaterOutputStream(new IdatStream(out), deflater, 1 << 16)) {
+            for (int y0 = 0; y0 < height; y0 += band) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedIOException("PNG export cancelled");
+                }
+                int rowsInBand = Math.min(band, height - y0);
+                for (int x0 = 0; x0 < width; x0 += tile.getWidth()) {
+                    Graphics2D g = tile.createGraphics();
+                    try {
+                        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+                        g.setClip(0, 0, tile.getWidth(), band);
+                        g.translate(-x0, -y0);
+                        chart.draw(new Graphics2DCanvas(g), x0, x0 + tile.getWidth(), y0, y0 + rowsInBand);
+                    } finally {
+                        g.dispose();
+                    }
+                    int columns = Math.min(tile.getWidth(), width - x0);
+                    for (int r = 0; r < rowsInBand; r++) {
+                        byte[] row = rows[r];
+                        int p = r * tile.getWidth();
+                        for (int c = 0, o = 3 * x0; c < columns; c++, p++) {
+                            int rgb = pixels[p];
+                            row[o++] = (byte) (rgb >> 16);
+                            row[o++] = (byte) (rgb >> 8);
+                            row[o++] = (byte) rgb;
+                        }
+                    }
+                }
+                // Sub filter: long runs of one colour become runs of zeros
+                for (int r = 0; r < rowsInBand; r++) {
+                    byte[] row = rows[r];
+                    filtered[0] = 1;
+                    for (int i = 0; i < rowBytes; i++) {
+                        filtered[i + 1] = (byte) (row[i] - (i >= 3 ? row[i - 3] : 0));
+                    }
+                    idat.write(filtered);
+                }
+                progress.accept((double) (y0 + rowsInBand) / height);
+            }
+        } finally {
+            deflater.end();
+        }
+        chunk(out, "IEND", new byte[0], 0);
+        out.flush();
+    }
+
+    private static void chunk(DataOutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] t = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(t);
+        crc.update(data, 0, length);
+        out.writeInt(length);
+        out.write(t);
+        out.write(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /** Cuts the compressed stream into IDAT chunks. */
+    private static final class IdatStream extends OutputStream {
+        private final DataOutputStream out;
+        private final byte[] buffer = new byte[1 << 16];
+        private int size;
+
+        IdatStream(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (size == buffer.length) {
+                flushChunk();
+            }
+            buffer[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                if (size == buffer.length) {
+                    flushChunk();
+                }
+                int n = Math.min(len, buffer.length - size);
+                System.arraycopy(b, off, buffer, size, n);
+                size += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            if (size > 0) {
+                chunk(out, "IDAT", buffer, size);
+                size = 0;
+            }
+        }
+
+        /** Writes the last chunk; the file itself stays open for IEND. */
+        @Override
+        public void close() throws IOException {
+            flushChunk();
+        }
+    }
+
+    /** Draws onto one tile. */
+    private static final class Graphics2DCanvas implements ChartCanvas {
+        private final Graphics2D g;
+
+        Graphics2DCanvas(Graphics2D g) {
+            this.g = g;
+        }
+
+        @Override
+        public void rect(double x, double y, double w, double h, Color fill, Color outline, String tooltip) {
+            Rectangle2D.Double r = new Rectangle2D.Double(x, y, w, h);
+            g.setColor(fill);
+            g.fill(r);
+            if (outline != null) {
+                g.setColor(outline);
+                g.draw(r);
+            }
+        }
+
+        @Override
+        public void line(double x1, double y1, double x2, double y2, Color color) {
+            g.setColor(color);
+            g.draw(new java.awt.geom.Line2D.Double(x1, y1, x2, y2));
+        }
+
+        @Override
+        public void text(double x, double y, String text, float size, Color color, boolean bold) {
+            g.setColor(color);
+            g.setFont(new Font("Segoe UI", bold ? Font.BOLD : Font.PLAIN, 1).deriveFont(size));
+            g.drawString(text, (float) x, (float) y);
+        }
+    }
+}
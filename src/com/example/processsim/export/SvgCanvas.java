@@ -0,0 +1,57 @@
+package com.example.processsim.export;
+
+import java.awt.Color;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Streams SVG elements to a writer; bars keep their process and time span as a tooltip.
+ */
+class SvgCanvas implements ChartCanvas {
+    private final PrintWriter out;
+
+    SvgCanvas(PrintWriter out, int width, int height) {
+        this.out = out;
+        out.printf(Locale.ROOT, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>%n"
+            + "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" viewBox=\"0 0 %d %d\""
+            + " font-family=\"Segoe UI, Helvetica, Arial, sans-serif\">%n", width, height, width, height);
+    }
+
+    @Override
+    public void rect(double x, double y, double w, double h, Color fill, Color outline, String tooltip) {
+        out.printf(Locale.ROOT, "<rect x=\"%.2f\" y=\"%.2f\" width=\"%.2f\" height=\"%.2f\" fill=\"%s\"",
+            x, y, w, h, hex(fill));
+        if (outline != null) {
+            out.print(" stroke=\"" + hex(outline) + "\"");
+        }
+        if (tooltip != null) {
+            out.print("><title>" + escape(tooltip) + "</title></rect>\n");
+        } else {
+            out.print("/>\n");
+        }
+    }
+
+    @Override
+    public void line(double x1, double y1, double x2, double y2, Color color) {
+        out.printf(Locale.ROOT, "<line x1=\"%.2f\" y1=\"%.2f\" x2=\"%.2f\" y2=\"%.2f\" stroke=\"%s\"/>%n",
+            x1, y1, x2, y2, hex(color));
+    }
+
+    @Override
+    public void text(double x, double y, String text, float size, Color color, boolean bold) {
+        out.printf(Locale.ROOT, "<text x=\"%.2f\" y=\"%.2f\" font-size=\"%.1f\" fill=\"%s\"%s>%s</text>%n",
+            x, y, size, hex(color), bold ? " font-weight=\"bold\"" : "", escape(text));
+    }
+
+    void close() {
+        out.println("</svg>");
+    }
+
+    private static String hex(Color c) {
+        return String.format("#%02x%02x%02x", c.getRed(), c.getGreen(), c.getBlue());
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}
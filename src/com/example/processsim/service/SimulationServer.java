@@ -0,0 +1,413 @@
+package com.example.processsim.service;
+
+import com.example.processsim.algorithms.*;
+import com.example.processsim.batch.Workload;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Local HTTP/JSON service running the schedulers for dashboards and notebooks, on the JDK's
+ * built-in {@link HttpServer}.
+ *
+ * <pre>
+ * java com.example.processsim.service.SimulationServer [--port 8080] [--bind 127.0.0.1]
+ *     [--max-body BYTES] [--timeout SECONDS] [--max-slices N] [--max-running N] [--threads N]
+ *
+ * POST /simulate?algorithm=SPEC[&amp;timeline=true]
+ * </pre>
+ * The request body is a workload in the {@link Workload} file format and {@code SPEC} an
+ * {@link AlgorithmSpec}. The response is a JSON object with the summary metrics and the
+ * per-process results. With {@code timeline=true} it is instead chunked NDJSON: that object
+ * on the first line, then one line per slice, written as the timeline is walked so that
+ * large timelines are never buffered. Errors are {@code {"error": ...}} with status 400 for
+ * a bad request, 413 for a body over {@code --max-body}, 422 when the run produces more than
+ * {@code --max-slices} slices, 503 when it exceeds {@code --timeout} and 500 when it fails,
+ * out of memory included.
+ * <p>
+ * Requests are served on virtual threads when the JVM has them (Java 21 and later), and on
+ * a pool of {@code --threads} platform threads otherwise; at most {@code --max-running}
+ * simulations run at once. Identical requests (same spec and body) that arrive while one of
+ * them is running share its result instead of simulating again.
+ */
+public class SimulationServer {
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_MAX_BODY = 1 << 20;
+    public static final int DEFAULT_TIMEOUT_SECONDS = 10;
+    /** About 80 MB of timeline on the heap. */
+    public static final int DEFAULT_MAX_SLICES = 2_000_000;
+    /** Oversized bodies up to this many times {@code --max-body} are drained before the 413. */
+    private static final int DISCARD_FACTOR = 16;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int maxBody;
+    private final long timeoutMillis;
+    private final int maxSlices;
+    private final Semaphore running;
+    private final ConcurrentHashMap<String, CompletableFuture<SimResult>> inFlight = new ConcurrentHashMap<>();
+
+    public SimulationServer(InetSocketAddress address, int maxBody, long timeoutMillis, int maxRunning, int threads)
+            throws IOException {
+        this(address, maxBody, timeoutMillis, DEFAULT_MAX_SLICES, maxRunning, threads);
+    }
+
+    /**
+     * @param maxBody       largest accepted request body, in bytes
+     * @param timeoutMillis time limit of a request, including waiting for a free slot
+     * @param maxSlices     largest timeline of a run, in slices
+     * @param maxRunning    simulations running at once
+     * @param threads       request threads when virtual threads are not available
+     */
+    public SimulationServer(InetSocketAddress address, int maxBody, long timeoutMillis, int maxSlices,
+                            int maxRunning, int threads) throws IOException {
+        this.maxBody = maxBody;
+        this.timeoutMillis = timeoutMillis;
+        this.maxSlices = maxSlices;
+        this.running = new Semaphore(maxRunning);
+        this.executor = requestExecutor(threads);
+        this.server = HttpServer.create(address, 0);
+        server.createContext("/simulate", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /** Virtual-thread-per-task executor where the JVM has one, else a fixed pool. */
+    private static ExecutorService requestExecutor(int threads) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "simulation-request");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /** Stop accepting requests and wait up to {@code delaySeconds} for running ones. */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdownNow();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                respond(exchange);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                if (exchange.getResponseCode() < 0) {
+                    error(exchange, 500, String.valueOf(ex.getMessage()));
+                }
+            } catch (Error ex) {
+                // An OutOfMemoryError of one run leaves its timeline unreachable by now
+                if (exchange.getResponseCode() < 0) {
+                    error(exchange, 500, ex.toString());
+                }
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000;
+        if (!exchange.getRequestMethod().equals("POST")) {
+            exchange.getResponseHeaders().set("Allow", "POST");
+            error(exchange, 405, "Use POST");
+            return;
+        }
+        if (!exchange.getRequestURI().getPath().equals("/simulate")) {
+            error(exchange, 404, "Not found: " + exchange.getRequestURI().getPath());
+            return;
+        }
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        String body;
+        try {
+            body = readBody(exchange);
+        } catch (IllegalArgumentException ex) {
+            error(exchange, 400, ex.getMessage());
+            return;
+        }
+        if (body == null) {
+            error(exchange, 413, "Request body over " + maxBody + " bytes");
+            return;
+        }
+        AlgorithmSpec spec;
+        Workload workload;
+        try {
+            spec = limitSolver(AlgorithmSpec.parse(query.getOrDefault("algorithm", "")));
+            workload = Workload.parse(body, "request");
+        } catch (IllegalArgumentException | IOException ex) {
+            error(exchange, 400, ex.getMessage());
+            return;
+        }
+
+        SimResult result;
+        String name;
+        try {
+            SchedulingAlgorithm algorithm = spec.create(workload.processes);
+            name = algorithm.getName();
+            result = simulate(spec + "\n" + body, algorithm, deadline);
+        } catch (IllegalArgumentException ex) {
+            error(exchange, 400, ex.getMessage());
+            return;
+        } catch (SliceLimitException ex) {
+            error(exchange, 422, "More than " + maxSlices + " slices");
+            return;
+        } catch (CancellationException | TimeoutException ex) {
+            error(exchange, 503, "Time limit of " + timeoutMillis + " ms exceeded");
+            return;
+        }
+
+        String summary = summary(name, spec, result);
+        if (Boolean.parseBoolean(query.get("timeline"))) {
+            exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+            exchange.sendResponseHeaders(200, 0); // chunked
+            try (Writer out = new BufferedWriter(
+                    new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 1 << 16)) {
+                out.write(summary);
+                out.write('\n');
+                boolean levels = result.hasLevels();
+                for (SliceCursor slices = result.cursor(); slices.next(); ) {
+                    out.write("{\"process\":");
+                    out.write(quote(slices.name()));
+                    out.write(",\"start\":" + slices.start() + ",\"end\":" + slices.end());
+                    if (levels) {
+                        out.write(",\"level\":" + slices.level());
+                    }
+                    out.write("}\n");
+                }
+            }
+        } else {
+            send(exchange, 200, summary);
+        }
+    }
+
+    /**
+     * Run {@code algorithm}, or wait for the identical request already running it, until
+     * {@code deadline}.
+     */
+    private SimResult simulate(String key, SchedulingAlgorithm algorithm, long deadline)
+            throws InterruptedException, TimeoutException {
+        CompletableFuture<SimResult> mine = new CompletableFuture<>();
+        CompletableFuture<SimResult> shared = inFlight.putIfAbsent(key, mine);
+        if (shared != null) {
+            try {
+                return shared.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException ex) {
+                throw ex.getCause() instanceof RuntimeException re ? re : new CompletionException(ex.getCause());
+            }
+        }
+        try {
+            if (!running.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw new TimeoutException();
+            }
+            try {
+                long left = (deadline - System.nanoTime()) / 1_000_000;
+                if (left <= 0) {
+                    throw new TimeoutException();
+                }
+                SimResult result = algorithm.timeLimit(left).sliceLimit(maxSlices).run();
+                mine.complete(result);
+                return result;
+            } finally {
+                running.release();
+            }
+        } catch (Throwable ex) {
+            mine.completeExceptionally(ex instanceof TimeoutException ? new CancellationException() : ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /** The optimal solver stops at its own time limit; keep that within the request's. */
+    private AlgorithmSpec limitSolver(AlgorithmSpec spec) {
+        if (!spec.kind.equals("OPT")) {
+            return spec;
+        }
+        int seconds = (int) Math.max(1, timeoutMillis / 2000);
+        int objective = spec.params.length > 0 ? spec.params[0] : 0;
+        int limit = spec.params.length > 1 ? Math.min(spec.params[1], seconds) : seconds;
+        return AlgorithmSpec.parse("OPT:" + objective + "," + limit);
+    }
+
+    /**
+     * The body as UTF-8, or null if it is longer than {@link #maxBody}. The rest of a body
+     * up to {@value #DISCARD_FACTOR} times too long is read and dropped, so that the client
+     * gets the 413 instead of a reset connection.
+     *
+     * @throws IllegalArgumentException if the Content-Length header is not a number
+     */
+    private String readBody(HttpExchange exchange) throws IOException {
+        InputStream in = exchange.getRequestBody();
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && contentLength(length) > maxBody) {
+            discard(in, (long) DISCARD_FACTOR * maxBody);
+            return null;
+        }
+        byte[] body = in.readNBytes(maxBody + 1);
+        if (body.length > maxBody) {
+            discard(in, (long) DISCARD_FACTOR * maxBody);
+            return null;
+        }
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    private static long contentLength(String header) {
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Malformed Content-Length: " + header);
+        }
+    }
+
+    private static void discard(InputStream in, long limit) throws IOException {
+        byte[] buf = new byte[8192];
+        for (long read = 0; read < limit; ) {
+            int n = in.read(buf);
+            if (n < 0) {
+                return;
+            }
+            read += n;
+        }
+    }
+
+    private static Map<String, String> query(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            params.put(key, eq < 0 ? "true" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    /** Summary metrics and per-process results as one JSON object. */
+    private static String summary(String name, AlgorithmSpec spec, SimResult r) {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"algorithm\":").append(quote(name));
+        sb.append(",\"spec\":").append(quote(spec.toString()));
+        sb.append(",\"slices\":").append(r.timeline.size());
+        sb.append(",\"makespan\":").append(r.makespan);
+        sb.append(",\"avgWait\":").append(number(r.avgWait));
+        sb.append(",\"avgTurnaround\":").append(number(r.avgTurnaround));
+        sb.append(",\"avgResponse\":").append(number(r.avgResponse));
+        sb.append(",\"cpuUtilization\":").append(number(r.cpuUtilization));
+        sb.append(",\"throughput\":").append(number(r.throughput));
+        sb.append(",\"deviceUtilization\":[");
+        for (int d = 0; d < r.deviceUtilization.length; d++) {
+            sb.append(d > 0 ? "," : "").append(number(r.deviceUtilization[d]));
+        }
+        sb.append(']');
+        if (r.processes != null) {
+            sb.append(",\"processes\":[");
+            for (int i = 0; i < r.processes.size(); i++) {
+                Proc p = r.processes.get(i);
+                sb.append(i > 0 ? "," : "").append("{\"name\":").append(quote(p.name));
+                sb.append(",\"arrival\":").append(p.arrival);
+                sb.append(",\"burst\":").append(p.burst);
+                sb.append(",\"start\":").append(p.start);
+                sb.append(",\"finish\":").append(p.finish);
+                sb.append(",\"wait\":").append(p.finish - p.arrival - p.burst - p.ioTime);
+                sb.append(",\"turnaround\":").append(p.finish - p.arrival);
+                sb.append(",\"response\":").append(p.start - p.arrival);
+                sb.append(",\"io\":").append(p.ioTime).append('}');
+            }
+            sb.append(']');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String number(double v) {
+        return Double.isFinite(v) ? String.valueOf(v) : "null";
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void error(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, "{\"error\":" + quote(message) + "}");
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        String bind = "127.0.0.1";
+        int maxBody = DEFAULT_MAX_BODY;
+        int timeout = DEFAULT_TIMEOUT_SECONDS;
+        int maxSlices = DEFAULT_MAX_SLICES;
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int maxRunning = cpus;
+        int threads = 4 * cpus;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--port" -> port = Integer.parseInt(args[++i]);
+                    case "--bind" -> bind = args[++i];
+                    case "--max-body" -> maxBody = Integer.parseInt(args[++i]);
+                    case "--timeout" -> timeout = Integer.parseInt(args[++i]);
+                    case "--max-slices" -> maxSlices = Integer.parseInt(args[++i]);
+                    case "--max-running" -> maxRunning = Integer.parseInt(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (maxBody < 1 || timeout < 1 || maxSlices < 1 || maxRunning < 1 || threads < 1) {
+                throw new IllegalArgumentException(
+                    "--max-body, --timeout, --max-slices, --max-running and --threads must be >= 1");
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("usage: SimulationServer [--port 8080] [--bind 127.0.0.1] [--max-body BYTES]");
+            System.err.println("       [--timeout SECONDS] [--max-slices N] [--max-running N] [--threads N]");
+            System.exit(2);
+            return;
+        }
+        SimulationServer server = new SimulationServer(new InetSocketAddress(bind, port), maxBody,
+            timeout * 1000L, maxSlices, maxRunning, threads);
+        server.start();
+        System.err.println("Serving POST http://" + bind + ":" + server.port() + "/simulate");
+    }
+}
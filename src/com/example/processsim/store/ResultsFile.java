@@ -0,0 +1,737 @@
+package com.example.processsim.store;
+
+import com.example.processsim.algorithms.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.IntUnaryOperator;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A simulation result on disk, stored column by column so that a past run can be reopened
+ * without re-simulating, and parts of a large one read without loading the rest.
+ * <p>
+ * The timeline columns ({@code slice.*}) have one row per Gantt slice, in timeline order,
+ * which is time order; the process columns ({@code proc.*}) one row per process. Process
+ * names are stored once and referenced by index. Run metadata (algorithm name and
+ * parameters, workload hash, summary metrics) is a table of strings, and the text report is
+ * kept as it was.
+ * <p>
+ * Columns are 32-bit little-endian integers, either raw, so that they are memory-mapped and
+ * read in place, or packed: blocks of {@link #BLOCK_ROWS} rows, delta and varint encoded and
+ * deflated, each inflated only when one of its rows is read. The directory of columns and
+ * metadata sits at the end of the file with a CRC-32, so opening a file reads a few kilobytes
+ * whatever its size; {@link Column#search} finds a time in a sorted column by binary search,
+ * using the first value of every block of a packed column.
+ * <p>
+ * A reader is not thread-safe: packed columns cache their last block.
+ */
+public final class ResultsFile implements Closeable {
+    public static final String EXTENSION = ".psr";
+
+    /** Process (name index), start, end and queue level of each slice; the level only for MLFQ. */
+    public static final String SLICE_PROCESS = "slice.process";
+    public static final String SLICE_START = "slice.start";
+    public static final String SLICE_END = "slice.end";
+    public static final String SLICE_LEVEL = "slice.level";
+    /** Name index, workload fields and metrics of each process. */
+    public static final String PROC_NAME = "proc.name";
+    public static final String PROC_ARRIVAL = "proc.arrival";
+    public static final String PROC_BURST = "proc.burst";
+    public static final String PROC_PRIORITY = "proc.priority";
+    public static final String PROC_START = "proc.start";
+    public static final String PROC_FINISH = "proc.finish";
+    public static final String PROC_WAIT = "proc.wait";
+    public static final String PROC_TURNAROUND = "proc.turnaround";
+    public static final String PROC_RESPONSE = "proc.response";
+    public static final String PROC_IO = "proc.io";
+
+    /** Rows per block of a packed column. */
+    public static final int BLOCK_ROWS = 1 << 16;
+
+    private static final int MAGIC = 0x50535253; // "PSRS"
+    private static final int VERSION = 1;
+    private static final int HEADER = 16;
+    private static final byte RAW = 0;
+    private static final byte PACKED = 1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Map<String, String> metadata;
+    private final String[] names;
+    private final Map<String, Column> columns;
+    private final long textOffset;
+    private final int textLength;
+    private final int textSize;
+
+    private ResultsFile(Path file, FileChannel channel, Map<String, String> metadata, String[] names,
+                        Map<String, Column> columns, long textOffset, int textLength, int textSize) {
+        this.file = file;
+        this.channel = channel;
+        this.metadata = metadata;
+        this.names = names;
+        this.columns = columns;
+        this.textOffset = textOffset;
+        this.textLength = textLength;
+        this.textSize = textSize;
+    }
+
+    /**
+     * Standard metadata of a run: algorithm name and spec, workload name and hash, and the
+     * time of writing. {@link #write} adds the summary metrics.
+     */
+    public static Map<String, String> metadata(String algorithm, String spec, String workload, List<Proc> procs) {
+        Map<String, String> meta = new LinkedHashMap<>();
+        meta.put("algorithm", algorithm);
+        if (spec != null) {
+            meta.put("spec", spec);
+        }
+        if (workload != null) {
+            meta.put("workload", workload);
+        }
+        if (procs != null) {
+            meta.put("workload_hash", workloadHash(procs));
+        }
+        meta.put("created", Instant.now().toString());
+        return meta;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the workload fields of {@code procs}, in hex; independent of
+     * their simulation state and order.
+     */
+    public static String workloadHash(List<Proc> procs) {
+        List<String> lines = new ArrayList<>(procs.size());
+        for (Proc p : procs) {
+            lines.add(p.name + " " + p.arrival + " " + p.toSpec() + " " + p.priority + " " + p.tickets
+                + " " + p.period + " " + p.deadline + " " + p.sporadicDelay);
+        }
+        Collections.sort(lines);
+        long h = 0xcbf29ce484222325L;
+        for (String line : lines) {
+            for (byte b : line.getBytes(StandardCharsets.UTF_8)) {
+                h = (h ^ (b & 0xff)) * 0x100000001b3L;
+            }
+            h = (h ^ '\n') * 0x100000001b3L;
+        }
+        return String.format("%016x", h);
+    }
+
+    /**
+     * Write {@code r} with {@code metadata} to {@code file}, packing the columns if
+     * {@code compress}. The summary metrics are added to the metadata.
+     */
+    public static void write(Path file, SimResult r, Map<String, String> metadata, boolean compress)
+            throws IOException {
+        List<GanttEntry> timeline = r.timeline;
+        List<Proc> procs = r.processes != null ? r.processes : List.of();
+
+        // Name table: processes first, so that indexes follow the colour order
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        for (Proc p : procs) {
+            ids.computeIfAbsent(p.name, k -> { names.add(k); return names.size() - 1; });
+        }
+        SliceCursor slices = SliceCursor.of(timeline);
+        while (slices.next()) {
+            ids.computeIfAbsent(slices.name(), k -> { names.add(k); return names.size() - 1; });
+        }
+
+        Map<String, String> meta = new LinkedHashMap<>(metadata);
+        meta.put("processes", String.valueOf(procs.size()));
+        meta.put("slices", String.valueOf(timeline.size()));
+        meta.put("makespan", String.valueOf(r.makespan));
+        meta.put("avg_wait", String.valueOf(r.avgWait));
+        meta.put("avg_turnaround", String.valueOf(r.avgTurnaround));
+        meta.put("avg_response", String.valueOf(r.avgResponse));
+        meta.put("cpu_util", String.valueOf(r.cpuUtilization));
+        meta.put("throughput", String.valueOf(r.throughput));
+        StringJoiner devices = new StringJoiner(",");
+        for (double d : r.deviceUtilization) {
+            devices.add(String.valueOf(d));
+        }
+        meta.put("device_util", devices.toString());
+
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer w = new Writer(ch, compress);
+            int n = timeline.size();
+            // Columns are written in row order, so the cursor only moves forward
+            w.column(SLICE_PROCESS, n, i -> ids.get(at(slices, i).name()));
+            w.column(SLICE_START, n, i -> at(slices, i).start());
+            w.column(SLICE_END, n, i -> at(slices, i).end());
+            if (r.hasLevels()) {
+                w.column(SLICE_LEVEL, n, i -> at(slices, i).level());
+            }
+            if (!procs.isEmpty()) {
+                int m = procs.size();
+                w.column(PROC_NAME, m, i -> ids.get(procs.get(i).name));
+                w.column(PROC_ARRIVAL, m, i -> procs.get(i).arrival);
+                w.column(PROC_BURST, m, i -> procs.get(i).burst);
+                w.column(PROC_PRIORITY, m, i -> procs.get(i).priority);
+                w.column(PROC_START, m, i -> procs.get(i).start);
+                w.column(PROC_FINISH, m, i -> procs.get(i).finish);
+                w.column(PROC_WAIT, m, i -> {
+                    Proc p = procs.get(i);
+                    return p.finish - p.arrival - p.burst - p.ioTime;
+                });
+                w.column(PROC_TURNAROUND, m, i -> procs.get(i).finish - procs.get(i).arrival);
+                w.column(PROC_RESPONSE, m, i -> procs.get(i).start - procs.get(i).arrival);
+                w.column(PROC_IO, m, i -> procs.get(i).ioTime);
+            }
+            w.finish(meta, names, r.text != null ? r.text : "");
+        }
+    }
+
+    private static SliceCursor at(SliceCursor slices, int row) {
+        if (slices.index() != row) {
+            slices.seek(row);
+        }
+        return slices;
+    }
+
+    /** Sequential writer of the columns, then the directory. */
+    private static final class Writer {
+        private final FileChannel ch;
+        private final boolean compress;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        private final ByteArrayOutputStream directory = new ByteArrayOutputStream();
+        private final DataOutputStream dir = new DataOutputStream(directory);
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private long position = HEADER;
+        private int count;
+
+        Writer(FileChannel ch, boolean compress) {
+            this.ch = ch;
+            this.compress = compress;
+        }
+
+        void column(String name, int rows, IntUnaryOperator value) throws IOException {
+            long offset = at();
+            dir.writeUTF(name);
+            dir.writeByte(compress ? PACKED : RAW);
+            dir.writeInt(rows);
+            dir.writeLong(offset);
+            if (!compress) {
+                for (int i = 0; i < rows; i++) {
+                    if (!buf.hasRemaining()) {
+                        flush();
+                    }
+                    buf.putInt(value.applyAsInt(i));
+                }
+            } else {
+                int blocks = (rows + BLOCK_ROWS - 1) / BLOCK_ROWS;
+                dir.writeInt(blocks);
+                byte[] raw = new byte[5 * BLOCK_ROWS];
+                byte[] packed = new byte[raw.length + 1024];
+                for (int b = 0; b < blocks; b++) {
+                    int from = b * BLOCK_ROWS;
+                    int to = Math.min(rows, from + BLOCK_ROWS);
+                    int first = value.applyAsInt(from);
+                    int len = 0;
+                    int prev = first;
+                    for (int i = from + 1; i < to; i++) {
+                        int v = value.applyAsInt(i);
+                        len = putVarint(raw, len, zigzag(v - prev));
+                        prev = v;
+                    }
+                    deflater.reset();
+                    deflater.setInput(raw, 0, len);
+                    deflater.finish();
+                    int size = 0;
+                    while (!deflater.finished()) {
+                        if (size == packed.length) {
+                            packed = Arrays.copyOf(packed, 2 * packed.length);
+                        }
+                        size += deflater.deflate(packed, size, packed.length - size);
+                    }
+                    dir.writeInt(first);
+                    dir.writeInt(size);
+                    write(packed, size);
+                }
+            }
+            dir.writeLong(at() - offset);
+            count++;
+        }
+
+        void finish(Map<String, String> meta, List<String> names, String text) throws IOException {
+            byte[] body = text.getBytes(StandardCharsets.UTF_8);
+            long textOffset = at();
+            byte[] stored = body;
+            if (compress) {
+                deflater.reset();
+                deflater.setInput(body);
+                deflater.finish();
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] chunk = new byte[1 << 16];
+                while (!deflater.finished()) {
+                    out.write(chunk, 0, deflater.deflate(chunk));
+                }
+                stored = out.toByteArray();
+            }
+            write(stored, stored.length);
+            deflater.end();
+
+            ByteArrayOutputStream all = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(all);
+            out.writeInt(meta.size());
+            for (Map.Entry<String, String> e : meta.entrySet()) {
+                writeString(out, e.getKey());
+                writeString(out, e.getValue());
+            }
+            out.writeInt(names.size());
+            for (String name : names) {
+                writeString(out, name);
+            }
+            out.writeBoolean(compress);
+            out.writeLong(textOffset);
+            out.writeInt(stored.length);
+            out.writeInt(body.length);
+            out.writeInt(count);
+            dir.flush();
+            directory.writeTo(out);
+            out.flush();
+            byte[] bytes = all.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+
+            long dirOffset = at();
+            write(bytes, bytes.length);
+            if (buf.remaining() < 8) {
+                flush();
+            }
+            buf.putLong(crc.getValue());
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(dirOffset).flip();
+            while (header.hasRemaining()) {
+                ch.write(header, header.position());
+            }
+        }
+
+        /** Position in the file of the next byte written. */
+        private long at() {
+            return position + buf.position();
+        }
+
+        private void write(byte[] b, int len) throws IOException {
+            for (int off = 0; off < len; ) {
+                if (!buf.hasRemaining()) {
+                    flush();
+                }
+                int k = Math.min(buf.remaining(), len - off);
+                buf.put(b, off, k);
+                off += k;
+            }
+        }
+
+        private void flush() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                position += ch.write(buf, position);
+            }
+            buf.clear();
+        }
+    }
+
+    /**
+     * Open a results file, reading only its directory.
+     *
+     * @throws IOException if the file cannot be read or is not an intact results file
+     */
+    public static ResultsFile open(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = ch.size();
+            ByteBuffer header = ByteBuffer.allocate(HEADER).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(ch, header, 0);
+            header.flip();
+            if (size < HEADER + 8 || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException(file + ": not a results file");
+            }
+            long dirOffset = header.getLong();
+            if (dirOffset < HEADER || size - 8 - dirOffset > Integer.MAX_VALUE || dirOffset > size - 8) {
+                throw new IOException(file + ": corrupt directory offset");
+            }
+            ByteBuffer dirBytes = ByteBuffer.allocate((int) (size - dirOffset)).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(ch, dirBytes, dirOffset);
+            byte[] bytes = Arrays.copyOf(dirBytes.array(), dirBytes.capacity() - 8);
+            CRC32 crc = new CRC32();
+            crc.update(bytes);
+            if (dirBytes.getLong(bytes.length) != crc.getValue()) {
+                throw new IOException(file + ": directory checksum mismatch");
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            Map<String, String> meta = new LinkedHashMap<>();
+            for (int i = in.readInt(); i > 0; i--) {
+                meta.put(readString(in), readString(in));
+            }
+            String[] names = new String[in.readInt()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = readString(in);
+            }
+            boolean textPacked = in.readBoolean();
+            long textOffset = in.readLong();
+            int textLength = in.readInt();
+            int textSize = in.readInt();
+            Map<String, Column> columns = new LinkedHashMap<>();
+            for (int c = in.readInt(); c > 0; c--) {
+                String name = in.readUTF();
+                byte encoding = in.readByte();
+                int rows = in.readInt();
+                long offset = in.readLong();
+                int[] first = null;
+                int[] length = null;
+                if (encoding == PACKED) {
+                    int blocks = in.readInt();
+                    first = new int[blocks];
+                    length = new int[blocks];
+                    for (int b = 0; b < blocks; b++) {
+                        first[b] = in.readInt();
+                        length[b] = in.readInt();
+                    }
+                } else if (encoding != RAW) {
+                    throw new IOException(file + ": unknown encoding of column " + name);
+                }
+                long bytesLength = in.readLong();
+                if (offset < HEADER || offset + bytesLength > dirOffset || bytesLength > Integer.MAX_VALUE) {
+                    throw new IOException(file + ": column " + name + " out of bounds");
+                }
+                MappedByteBuffer data = ch.map(FileChannel.MapMode.READ_ONLY, offset, bytesLength);
+                columns.put(name, new Column(name, rows, data, first, length));
+            }
+            return new ResultsFile(file, ch, meta, names, columns, textOffset, textLength,
+                textPacked ? textSize : -1);
+        } catch (IOException | RuntimeException ex) {
+            ch.close();
+            if (ex instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException(file + ": corrupt directory", ex);
+        }
+    }
+
+    /**
+     * One integer column: raw values read from the mapped file, or packed blocks inflated on
+     * demand.
+     */
+    public static final class Column {
+        public final String name;
+        private final int rows;
+        private final IntBuffer raw;
+        private final ByteBuffer data;
+        /** First value and compressed length of each block; null for a raw column. */
+        private final int[] first;
+        private final long[] blockOffset;
+        private int cached = -1;
+        private int[] values;
+        private byte[] bytes;
+
+        private Column(String name, int rows, ByteBuffer data, int[] first, int[] length) {
+            this.name = name;
+            this.rows = rows;
+            this.data = data;
+            this.first = first;
+            if (first == null) {
+                this.raw = data.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                this.blockOffset = null;
+            } else {
+                this.raw = null;
+                this.blockOffset = new long[first.length + 1];
+                for (int b = 0; b < first.length; b++) {
+                    blockOffset[b + 1] = blockOffset[b] + length[b];
+                }
+            }
+        }
+
+        public int rows() {
+            return rows;
+        }
+
+        public boolean isPacked() {
+            return first != null;
+        }
+
+        public int get(int row) {
+            if (row < 0 || row >= rows) {
+                throw new IndexOutOfBoundsException(name + ": row " + row + " of " + rows);
+            }
+            if (raw != null) {
+                return raw.get(row);
+            }
+            return block(row / BLOCK_ROWS)[row % BLOCK_ROWS];
+        }
+
+        /**
+         * First row whose value is at least {@code value}, or {@link #rows()} if none; the
+         * column must be sorted.
+         */
+        public int search(int value) {
+            int lo = 0, hi = rows;
+            if (first != null) {
+                // The row is in the last block that starts below the value, or starts the next
+                int b = 0, end = first.length;
+                while (b < end) {
+                    int mid = (b + end) >>> 1;
+                    if (first[mid] < value) {
+                        b = mid + 1;
+                    } else {
+                        end = mid;
+                    }
+                }
+                if (b == 0) {
+                    return 0;
+                }
+                lo = (b - 1) * BLOCK_ROWS;
+                hi = Math.min(rows, lo + BLOCK_ROWS);
+            }
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (get(mid) < value) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /** All values, in a new array. */
+        public int[] toArray() {
+            int[] out = new int[rows];
+            if (raw != null) {
+                raw.get(0, out);
+                return out;
+            }
+            for (int b = 0; b < first.length; b++) {
+                int from = b * BLOCK_ROWS;
+                System.arraycopy(block(b), 0, out, from, Math.min(BLOCK_ROWS, rows - from));
+            }
+            return out;
+        }
+
+        private int[] block(int b) {
+            if (b == cached) {
+                return values;
+            }
+            int count = Math.min(BLOCK_ROWS, rows - b * BLOCK_ROWS);
+            if (values == null) {
+                values = new int[BLOCK_ROWS];
+                bytes = new byte[5 * BLOCK_ROWS];
+            }
+            Inflater inflater = new Inflater();
+            int len = 0;
+            try {
+                inflater.setInput(data.slice((int) blockOffset[b], (int) (blockOffset[b + 1] - blockOffset[b])));
+                while (!inflater.finished() && !inflater.needsInput() && len < bytes.length) {
+                    len += inflater.inflate(bytes, len, bytes.length - len);
+                }
+            } catch (DataFormatException ex) {
+                throw new UncheckedIOException(new IOException(name + ": corrupt block " + b, ex));
+            } finally {
+                inflater.end();
+            }
+            int v = first[b];
+            values[0] = v;
+            int pos = 0;
+            for (int i = 1; i < count; i++) {
+                long u = 0;
+                for (int shift = 0; ; shift += 7) {
+                    if (pos >= len) {
+                        throw new UncheckedIOException(new IOException(name + ": truncated block " + b));
+                    }
+                    byte x = bytes[pos++];
+                    u |= (long) (x & 0x7f) << shift;
+                    if (x >= 0) {
+                        break;
+                    }
+                }
+                v += unzigzag(u);
+                values[i] = v;
+            }
+            cached = b;
+            return values;
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /** Run metadata: algorithm, spec, workload, workload_hash, created and summary metrics. */
+    public Map<String, String> metadata() {
+        return Collections.unmodifiableMap(metadata);
+    }
+
+    public int slices() {
+        Column c = columns.get(SLICE_START);
+        return c == null ? 0 : c.rows();
+    }
+
+    public int processes() {
+        Column c = columns.get(PROC_NAME);
+        return c == null ? 0 : c.rows();
+    }
+
+    public Set<String> columns() {
+        return Collections.unmodifiableSet(columns.keySet());
+    }
+
+    /** The column called {@code name}, or null if the file has none. */
+    public Column column(String name) {
+        return columns.get(name);
+    }
+
+    /** Process name of a {@link #SLICE_PROCESS} or {@link #PROC_NAME} value. */
+    public String name(int id) {
+        return names[id];
+    }
+
+    public int nameCount() {
+        return names.length;
+    }
+
+    /** The text report of the run, as it was shown. */
+    public String text() throws IOException {
+        ByteBuffer stored = ByteBuffer.allocate(textLength);
+        readFully(channel, stored, textOffset);
+        if (textSize < 0) { // stored raw
+            return new String(stored.array(), StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored.array());
+            byte[] body = new byte[textSize];
+            int len = 0;
+            while (len < textSize && !inflater.finished()) {
+                len += inflater.inflate(body, len, textSize - len);
+            }
+            return new String(body, 0, len, StandardCharsets.UTF_8);
+        } catch (DataFormatException ex) {
+            throw new IOException(file + ": corrupt text report", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * Slices overlapping {@code [from, to)}, found by binary search on the start column.
+     */
+    public List<GanttEntry> timeline(int from, int to) {
+        Column start = columns.get(SLICE_START);
+        Column end = columns.get(SLICE_END);
+        Column process = columns.get(SLICE_PROCESS);
+        Column level = columns.get(SLICE_LEVEL);
+        List<GanttEntry> out = new ArrayList<>();
+        if (start == null) {
+            return out;
+        }
+        int row = start.search(from);
+        if (row > 0 && end.get(row - 1) > from) {
+            row--;
+        }
+        for (; row < start.rows() && start.get(row) < to; row++) {
+            GanttEntry e = new GanttEntry(names[process.get(row)], start.get(row), end.get(row));
+            if (level != null) {
+                e.level = level.get(row);
+            }
+            out.add(e);
+        }
+        return out;
+    }
+
+    /**
+     * Rebuild the result for display: timeline, colours, text report and summary metrics.
+     * {@link SimResult#processes}, engine counters and time series are not stored.
+     */
+    public SimResult toResult() throws IOException {
+        SimResult r = new SimResult();
+        int n = slices();
+        r.timeline = new ArrayList<>(n);
+        if (n > 0) {
+            int[] process = columns.get(SLICE_PROCESS).toArray();
+            int[] start = columns.get(SLICE_START).toArray();
+            int[] end = columns.get(SLICE_END).toArray();
+            Column levels = columns.get(SLICE_LEVEL);
+            int[] level = levels != null ? levels.toArray() : null;
+            for (int i = 0; i < n; i++) {
+                GanttEntry e = new GanttEntry(names[process[i]], start[i], end[i]);
+                if (level != null) {
+                    e.level = level[i];
+                }
+                r.timeline.add(e);
+            }
+        }
+        r.colorMap = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            r.colorMap.put(names[i], Palette.color(i));
+        }
+        r.text = text();
+        r.makespan = Integer.parseInt(metadata.getOrDefault("makespan", "0"));
+        r.avgWait = Double.parseDouble(metadata.getOrDefault("avg_wait", "0"));
+        r.avgTurnaround = Double.parseDouble(metadata.getOrDefault("avg_turnaround", "0"));
+        r.avgResponse = Double.parseDouble(metadata.getOrDefault("avg_response", "0"));
+        r.cpuUtilization = Double.parseDouble(metadata.getOrDefault("cpu_util", "0"));
+        r.throughput = Double.parseDouble(metadata.getOrDefault("throughput", "0"));
+        String devices = metadata.getOrDefault("device_util", "");
+        r.deviceUtilization = devices.isEmpty() ? new double[0]
+            : Arrays.stream(devices.split(",")).mapToDouble(Double::parseDouble).toArray();
+        return r;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer buf, long position) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, position + buf.position()) < 0) {
+                throw new EOFException("Unexpected end of results file");
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] b = new byte[in.readInt()];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static int zigzag(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    private static int unzigzag(long v) {
+        int i = (int) v;
+        return (i >>> 1) ^ -(i & 1);
+    }
+
+    private static int putVarint(byte[] out, int pos, int v) {
+        long u = v & 0xffffffffL;
+        while (u >= 0x80) {
+            out[pos++] = (byte) ((u & 0x7f) | 0x80);
+            u >>>= 7;
+        }
+        out[pos++] = (byte) u;
+        return pos;
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.processsim.store;
+
+import com.example.processsim.algorithms.*;
+import com.example.processsim.batch.BatchRunner;
+import com.example.processsim.batch.Workload;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Saves simulation runs as {@link ResultsFile}s and reads them back without re-simulating.
+ *
+ * <pre>
+ * java com.example.processsim.store.ResultsTool save --workload FILE.wl --out DIR
+ *     [--algorithms SPECS] [--compress] [--spill DIR]
+ * java com.example.processsim.store.ResultsTool show FILE.psr
+ * java com.example.processsim.store.ResultsTool slices FILE.psr [--from T] [--to T]
+ * java com.example.processsim.store.ResultsTool processes FILE.psr
+ * java com.example.processsim.store.ResultsTool diff A.psr B.psr [--from T] [--to T] [--regions]
+ * </pre>
+ * {@code save} writes one file per algorithm, named after the workload and the spec; with
+ * {@code --spill} the timelines are kept off the heap in {@link OffHeapTimeline}s spilling
+ * to that directory, for runs with more slices than the heap holds;
+ * {@code show} prints the metadata and the stored report, {@code slices} the slices
+ * overlapping a time window and {@code processes} the per-process columns, both as CSV.
+ * {@code diff} compares two runs with {@link TimelineDiff}, reading both files in place;
+ * with {@code --regions} it prints every divergent region as CSV instead of the summary.
+ */
+public class ResultsTool {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage("missing mode");
+            return;
+        }
+        String mode = args[0];
+        Path workload = null;
+        Path outDir = null;
+        Path spill = null;
+        Path file = null;
+        Path other = null;
+        String algorithms = BatchRunner.DEFAULT_ALGORITHMS;
+        boolean compress = false;
+        boolean regions = false;
+        int from = Integer.MIN_VALUE;
+        int to = Integer.MAX_VALUE;
+        List<AlgorithmSpec> specs;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--workload" -> workload = Paths.get(args[++i]);
+                    case "--out" -> outDir = Paths.get(args[++i]);
+                    case "--algorithms" -> algorithms = args[++i];
+                    case "--compress" -> compress = true;
+                    case "--spill" -> spill = Paths.get(args[++i]);
+                    case "--from" -> from = Integer.parseInt(args[++i]);
+                    case "--to" -> to = Integer.parseInt(args[++i]);
+                    case "--regions" -> regions = true;
+                    default -> {
+                        if (args[i].startsWith("--") || other != null || file != null && !mode.equals("diff")) {
+                            throw new IllegalArgumentException("Unknown option: " + args[i]);
+                        }
+                        if (file == null) {
+                            file = Paths.get(args[i]);
+                        } else {
+                            other = Paths.get(args[i]);
+                        }
+                    }
+                }
+            }
+            if (!List.of("save", "show", "slices", "processes", "diff").contains(mode)) {
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+            }
+            if (mode.equals("save") ? workload == null || outDir == null : file == null) {
+                throw new IllegalArgumentException(mode.equals("save")
+                    ? "--workload and --out are required" : "results file is required");
+            }
+            if (mode.equals("diff") && other == null) {
+                throw new IllegalArgumentException("two results files are required");
+            }
+            specs = AlgorithmSpec.parseList(algorithms);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            usage(ex.getMessage());
+            return;
+        }
+
+        try {
+            if (mode.equals("save")) {
+                save(workload, specs, outDir, compress, spill);
+                return;
+            }
+            PrintWriter out = new PrintWriter(System.out, false, StandardCharsets.UTF_8);
+            if (mode.equals("diff")) {
+                diff(file, other, from, to, regions, out);
+                out.flush();
+                return;
+            }
+            try (ResultsFile results = ResultsFile.open(file)) {
+                switch (mode) {
+                    case "show" -> {
+                        for (Map.Entry<String, String> e : results.metadata().entrySet()) {
+                            out.printf("%-15s %s%n", e.getKey() + ":", e.getValue());
+                        }
+                        out.println();
+                        out.print(results.text());
+                    }
+                    case "slices" -> {
+                        out.println("process,start,end");
+                        for (GanttEntry e : results.timeline(from, to)) {
+                            out.println(e.name + "," + e.start + "," + e.end);
+                        }
+                    }
+                    default -> processes(results, out);
+                }
+            }
+            out.flush();
+        } catch (IOException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /** Run every algorithm on the workload and write one results file each. */
+    private static void save(Path file, List<AlgorithmSpec> specs, Path outDir, boolean compress, Path spill)
+            throws IOException {
+        String base = file.getFileName().toString().replaceFirst("\\.wl$", "");
+        Workload w = Workload.read(file, base);
+        Files.createDirectories(outDir);
+        for (AlgorithmSpec spec : specs) {
+            long t0 = System.nanoTime();
+            SchedulingAlgorithm algorithm = spec.create(w.processes);
+            SimResult r = algorithm.spillTimeline(spill).run();
+            long t1 = System.nanoTime();
+            Path target = outDir.resolve(base + "-" + spec.toString().replaceAll("[^A-Za-z0-9.-]", "_")
+                + ResultsFile.EXTENSION);
+            ResultsFile.write(target, r,
+                ResultsFile.metadata(algorithm.getName(), spec.toString(), w.name, w.processes), compress);
+            System.err.printf(Locale.ROOT, "%s: %d slices, simulated in %.1f s, written in %.1f s (%,d bytes)%n",
+                target, r.timeline.size(), (t1 - t0) / 1e9, (System.nanoTime() - t1) / 1e9, Files.size(target));
+            if (r.timeline instanceof OffHeapTimeline spilled) {
+                spilled.close();
+            }
+        }
+    }
+
+    /** Compare two results files in one pass over their mapped slice columns. */
+    private static void diff(Path a, Path b, int from, int to, boolean regions, PrintWriter out) throws IOException {
+        try (ResultsFile ra = ResultsFile.open(a); ResultsFile rb = ResultsFile.open(b)) {
+            long t0 = System.nanoTime();
+            TimelineDiff d = TimelineDiff.compare(TimelineDiff.of(ra), TimelineDiff.of(rb), from, to,
+                regions ? Integer.MAX_VALUE : TimelineDiff.DEFAULT_MAX_REGIONS);
+            long t1 = System.nanoTime();
+            if (regions) {
+                out.println("start,end");
+                for (int r = 0; r < d.regionsKept(); r++) {
+                    out.println(d.regionStart[r] + "," + d.regionEnd[r]);
+                }
+                return;
+            }
+            out.println("A: " + a + " (" + ra.metadata().getOrDefault("algorithm", "?") + ")");
+            out.println("B: " + b + " (" + rb.metadata().getOrDefault("algorithm", "?") + ")");
+            if (!Objects.equals(ra.metadata().get("workload_hash"), rb.metadata().get("workload_hash"))) {
+                out.println("Warning: the runs are of different workloads");
+            }
+            out.println();
+            out.print(d.describe(20));
+            System.err.printf(Locale.ROOT, "Compared in %.2f s%n", (t1 - t0) / 1e9);
+        }
+    }
+
+    private static void processes(ResultsFile results, PrintWriter out) {
+        String[] columns = {ResultsFile.PROC_ARRIVAL, ResultsFile.PROC_BURST, ResultsFile.PROC_PRIORITY,
+            ResultsFile.PROC_START, ResultsFile.PROC_FINISH, ResultsFile.PROC_WAIT, ResultsFile.PROC_TURNAROUND,
+            ResultsFile.PROC_RESPONSE, ResultsFile.PROC_IO};
+        StringBuilder header = new StringBuilder("name");
+        for (String c : columns) {
+            header.append(',').append(c.substring(c.indexOf('.') + 1));
+        }
+        out.println(header);
+        ResultsFile.Column name = results.column(ResultsFile.PROC_NAME);
+        for (int row = 0; row < results.processes(); row++) {
+            out.print(results.name(name.get(row)));
+            for (String c : columns) {
+                out.print(',');
+                out.print(results.column(c).get(row));
+            }
+            out.println();
+        }
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("usage: ResultsTool save --workload FILE.wl --out DIR [--algorithms SPECS] [--compress] [--spill DIR]");
+        System.err.println("       ResultsTool show|processes FILE.psr");
+        System.err.println("       ResultsTool slices FILE.psr [--from T] [--to T]");
+        System.err.println("       ResultsTool diff A.psr B.psr [--from T] [--to T] [--regions]");
+        System.exit(2);
+    }
+}
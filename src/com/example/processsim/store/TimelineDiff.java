@@ -0,0 +1,394 @@
+package com.example.processsim.store;
+
+import com.example.processsim.algorithms.Proc;
+import com.example.processsim.algorithms.SimResult;
+import com.example.processsim.algorithms.SliceCursor;
+
+import java.util.*;
+
+/**
+ * Differences between two timelines: the intervals where they run different processes (or
+ * one runs a process and the other is idle), and per-process changes in first start, finish
+ * and wait.
+ * <p>
+ * Both timelines are walked once, together, in a single merge pass over their slices in
+ * time order. A {@link Source} reads one slice at a time, so results files are compared
+ * straight from their mapped columns without loading either timeline: memory is bounded by
+ * the process count and the divergent regions kept, at most {@code maxRegions} of them;
+ * further regions are only counted.
+ */
+public class TimelineDiff {
+    /** Regions kept by {@link #compare(Source, Source)}. */
+    public static final int DEFAULT_MAX_REGIONS = 1_000_000;
+
+    /**
+     * One timeline, read slice by slice. Slices are in time order and do not overlap; each
+     * runs a process identified by an index into {@link #name}.
+     */
+    public interface Source {
+        int slices();
+
+        int start(int slice);
+
+        int end(int slice);
+
+        int process(int slice);
+
+        /** Number of process ids. */
+        int processCount();
+
+        String name(int process);
+
+        /** Wait of the process, or -1 when it is not known. */
+        int waitOf(int process);
+
+        /** First slice ending after {@code time}, or {@link #slices()} if none. */
+        int firstEndingAfter(int time);
+    }
+
+    /** Changes of one process between the two timelines; -1 where it did not run. */
+    public static final class ProcessChange {
+        public final String name;
+        public final int startA, startB;
+        public final int finishA, finishB;
+        public final int waitA, waitB;
+
+        ProcessChange(String name, int startA, int startB, int finishA, int finishB, int waitA, int waitB) {
+            this.name = name;
+            this.startA = startA;
+            this.startB = startB;
+            this.finishA = finishA;
+            this.finishB = finishB;
+            this.waitA = waitA;
+            this.waitB = waitB;
+        }
+
+        /** How much later the process finished in B, or 0 if it is missing from either. */
+        public int finishDelta() {
+            return finishA < 0 || finishB < 0 ? 0 : finishB - finishA;
+        }
+    }
+
+    /** Time range compared. */
+    public final int from, to;
+    /** Total time the two timelines run different processes. */
+    public final long divergentTime;
+    /** Start of the first divergence, or -1 when the timelines agree. */
+    public final int firstDivergence;
+    /** Divergent regions found; only the first {@code regionStart.length} are kept. */
+    public final int regionCount;
+    public final int[] regionStart, regionEnd;
+    /** Processes whose start, finish or wait changed, by decreasing finish change. */
+    public final List<ProcessChange> changes;
+    /** Slices read from the two timelines together. */
+    public final long slicesRead;
+
+    private TimelineDiff(int from, int to, long divergentTime, int firstDivergence, int regionCount,
+                         int[] regionStart, int[] regionEnd, List<ProcessChange> changes, long slicesRead) {
+        this.from = from;
+        this.to = to;
+        this.divergentTime = divergentTime;
+        this.firstDivergence = firstDivergence;
+        this.regionCount = regionCount;
+        this.regionStart = regionStart;
+        this.regionEnd = regionEnd;
+        this.changes = changes;
+        this.slicesRead = slicesRead;
+    }
+
+    /** Compare the whole of both timelines. */
+    public static TimelineDiff compare(Source a, Source b) {
+        return compare(a, b, Integer.MIN_VALUE, Integer.MAX_VALUE, DEFAULT_MAX_REGIONS);
+    }
+
+    /**
+     * Compare the slices of both timelines overlapping {@code [from, to)}, clipped to it,
+     * keeping at most {@code maxRegions} divergent regions. Starts and finishes are those
+     * seen in the window; waits come from the sources and are only reported for the whole
+     * timelines.
+     */
+    public static TimelineDiff compare(Source a, Source b, int from, int to, int maxRegions) {
+        // Common process ids across both sources, by name
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] idA = commonIds(a, ids, names);
+        int[] idB = commonIds(b, ids, names);
+        int n = names.size();
+        int[] firstA = filled(n), firstB = filled(n), lastA = filled(n), lastB = filled(n);
+
+        Regions regions = new Regions(maxRegions);
+        int first = -1;
+        long divergent = 0;
+        int openStart = 0, openEnd = Integer.MIN_VALUE; // region being extended
+
+        int ia = a.firstEndingAfter(from), ib = b.firstEndingAfter(from);
+        int na = a.slices(), nb = b.slices();
+        long read = 0;
+        int t = Math.max(from, Math.min(ia < na ? a.start(ia) : Integer.MAX_VALUE,
+            ib < nb ? b.start(ib) : Integer.MAX_VALUE));
+        // Slice entered on each side; its id is recorded once, when first reached
+        int seenA = -1, seenB = -1;
+        while (t < to) {
+            while (ia < na && a.end(ia) <= t) ia++;
+            while (ib < nb && b.end(ib) <= t) ib++;
+            boolean moreA = ia < na && a.start(ia) < to, moreB = ib < nb && b.start(ib) < to;
+            if (!moreA && !moreB) break;
+
+            // What each side runs at t, and until when
+            int pa = -1, pb = -1, next = to;
+            if (moreA) {
+                int s = a.start(ia), e = a.end(ia);
+                if (s <= t) {
+                    pa = idA[a.process(ia)];
+                    next = Math.min(next, e);
+                    if (seenA != ia) {
+                        seenA = ia;
+                        read++;
+                        if (firstA[pa] < 0) firstA[pa] = Math.max(s, from);
+                        lastA[pa] = Math.min(e, to);
+                    }
+                } else {
+                    next = Math.min(next, s);
+                }
+            }
+            if (moreB) {
+                int s = b.start(ib), e = b.end(ib);
+                if (s <= t) {
+                    pb = idB[b.process(ib)];
+                    next = Math.min(next, e);
+                    if (seenB != ib) {
+                        seenB = ib;
+                        read++;
+                        if (firstB[pb] < 0) firstB[pb] = Math.max(s, from);
+                        lastB[pb] = Math.min(e, to);
+                    }
+                } else {
+                    next = Math.min(next, s);
+                }
+            }
+
+            if (pa != pb) {
+                divergent += next - t;
+                if (first < 0) first = t;
+                if (t == openEnd) {
+                    openEnd = next;
+                } else {
+                    if (openEnd != Integer.MIN_VALUE) {
+                        regions.add(openStart, openEnd);
+                    }
+                    openStart = t;
+                    openEnd = next;
+                }
+            }
+            t = next;
+        }
+        if (openEnd != Integer.MIN_VALUE) {
+            regions.add(openStart, openEnd);
+        }
+
+        // Waits of whole timelines, from the sources' process tables
+        boolean whole = from == Integer.MIN_VALUE && to == Integer.MAX_VALUE;
+        int[] waitA = filled(n), waitB = filled(n);
+        if (whole) {
+            for (int p = 0; p < a.processCount(); p++) waitA[idA[p]] = a.waitOf(p);
+            for (int p = 0; p < b.processCount(); p++) waitB[idB[p]] = b.waitOf(p);
+        }
+        List<ProcessChange> changes = new ArrayList<>();
+        for (int p = 0; p < n; p++) {
+            if (firstA[p] != firstB[p] || lastA[p] != lastB[p] || waitA[p] != waitB[p]) {
+                changes.add(new ProcessChange(names.get(p), firstA[p], firstB[p], lastA[p], lastB[p],
+                    waitA[p], waitB[p]));
+            }
+        }
+        changes.sort(Comparator.comparingInt((ProcessChange c) -> -Math.abs(c.finishDelta()))
+            .thenComparing(c -> c.name));
+        return new TimelineDiff(from, to, divergent, first, regions.count,
+            Arrays.copyOf(regions.starts, regions.kept), Arrays.copyOf(regions.ends, regions.kept), changes, read);
+    }
+
+    /** Number of regions kept, at most {@link #regionCount}. */
+    public int regionsKept() {
+        return regionStart.length;
+    }
+
+    /** First kept region ending after {@code time}, or {@link #regionsKept()} if none. */
+    public int firstRegionEndingAfter(int time) {
+        int lo = 0, hi = regionEnd.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (regionEnd[mid] <= time) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Summary, the first {@code limit} divergent regions and the {@code limit} processes
+     * whose finish changed most.
+     */
+    public String describe(int limit) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Timeline diff, A -> B\n").append("─".repeat(45)).append("\n");
+        if (from != Integer.MIN_VALUE || to != Integer.MAX_VALUE) {
+            sb.append(String.format(Locale.ROOT, "Window:                  [%s, %s)%n",
+                from == Integer.MIN_VALUE ? "start" : String.valueOf(from),
+                to == Integer.MAX_VALUE ? "end" : String.valueOf(to)));
+        }
+        sb.append(String.format(Locale.ROOT, "Slices compared:         %,d%n", slicesRead));
+        if (regionCount == 0) {
+            sb.append("The timelines run the same processes throughout.\n");
+        } else {
+            sb.append(String.format(Locale.ROOT, "Divergent time:          %,d%n", divergentTime));
+            sb.append(String.format(Locale.ROOT, "First divergence:        %d%n", firstDivergence));
+            sb.append(String.format(Locale.ROOT, "Divergent regions:       %,d%s%n", regionCount,
+                regionsKept() < regionCount ? String.format(Locale.ROOT, " (first %,d kept)", regionsKept()) : ""));
+            sb.append("\n");
+            for (int r = 0; r < Math.min(limit, regionsKept()); r++) {
+                sb.append(String.format(Locale.ROOT, "  [%d, %d)%n", regionStart[r], regionEnd[r]));
+            }
+            if (regionCount > limit) {
+                sb.append(String.format(Locale.ROOT, "  ... %,d more%n", regionCount - limit));
+            }
+        }
+
+        if (!changes.isEmpty()) {
+            sb.append(String.format(Locale.ROOT, "%n%-12s %19s %19s %19s%n", "Process", "Start A->B", "Finish A->B",
+                "Wait A->B"));
+            sb.append("─".repeat(72)).append("\n");
+            for (ProcessChange c : changes.subList(0, Math.min(limit, changes.size()))) {
+                sb.append(String.format(Locale.ROOT, "%-12s %19s %19s %19s%n", c.name,
+                    change(c.startA, c.startB), change(c.finishA, c.finishB), change(c.waitA, c.waitB)));
+            }
+            if (changes.size() > limit) {
+                sb.append(String.format(Locale.ROOT, "... %,d more processes changed%n", changes.size() - limit));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String change(int a, int b) {
+        return (a < 0 ? "-" : String.valueOf(a)) + "->" + (b < 0 ? "-" : String.valueOf(b));
+    }
+
+    private static int[] commonIds(Source s, Map<String, Integer> ids, List<String> names) {
+        int[] out = new int[s.processCount()];
+        for (int p = 0; p < out.length; p++) {
+            out[p] = ids.computeIfAbsent(s.name(p), k -> { names.add(k); return names.size() - 1; });
+        }
+        return out;
+    }
+
+    /** Divergent regions in time order, keeping the first {@code max}. */
+    private static final class Regions {
+        final int max;
+        int[] starts, ends;
+        int kept, count;
+
+        Regions(int max) {
+            this.max = max;
+            starts = new int[Math.min(max, 1024)];
+            ends = new int[starts.length];
+        }
+
+        void add(int start, int end) {
+            count++;
+            if (kept == max) {
+                return;
+            }
+            if (kept == starts.length) {
+                int grown = (int) Math.min(max, 2L * kept);
+                starts = Arrays.copyOf(starts, grown);
+                ends = Arrays.copyOf(ends, grown);
+            }
+            starts[kept] = start;
+            ends[kept++] = end;
+        }
+    }
+
+    private static int[] filled(int n) {
+        int[] a = new int[n];
+        Arrays.fill(a, -1);
+        return a;
+    }
+
+    /**
+     * Source over a simulation result, read through its {@link SimResult#cursor() cursor} so
+     * that an off-heap timeline stays off the heap. Not thread-safe.
+     */
+    public static Source of(SimResult r) {
+        SliceCursor slices = r.cursor();
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        int[] wait = new int[0];
+        if (r.processes != null) {
+            wait = filled(r.processes.size());
+            for (Proc p : r.processes) {
+                int id = ids.computeIfAbsent(p.name, k -> { names.add(k); return names.size() - 1; });
+                if (p.finish >= 0) {
+                    wait[id] = p.finish - p.arrival - p.burst - p.ioTime;
+                }
+            }
+        }
+        // Names of processes missing from the table, in order of first slice
+        while (slices.next()) {
+            ids.computeIfAbsent(slices.name(), k -> { names.add(k); return names.size() - 1; });
+        }
+        int[] waits = Arrays.copyOf(wait, names.size());
+        Arrays.fill(waits, wait.length, waits.length, -1);
+        return new Source() {
+            @Override public int slices() { return slices.size(); }
+            @Override public int start(int slice) { return at(slice).start(); }
+            @Override public int end(int slice) { return at(slice).end(); }
+            @Override public int process(int slice) { return ids.get(at(slice).name()); }
+            @Override public int processCount() { return names.size(); }
+            @Override public String name(int p) { return names.get(p); }
+            @Override public int waitOf(int p) { return waits[p]; }
+            @Override public int firstEndingAfter(int time) { return slices.firstEndingAfter(time); }
+
+            private SliceCursor at(int slice) {
+                if (slices.index() != slice) {
+                    slices.seek(slice);
+                }
+                return slices;
+            }
+        };
+    }
+
+    /**
+     * Source reading a results file's slice columns in place; the file must stay open while
+     * it is used. Like the file's columns, it is not thread-safe.
+     */
+    public static Source of(ResultsFile f) {
+        ResultsFile.Column start = f.column(ResultsFile.SLICE_START);
+        ResultsFile.Column end = f.column(ResultsFile.SLICE_END);
+        ResultsFile.Column process = f.column(ResultsFile.SLICE_PROCESS);
+        int[] wait = filled(f.nameCount());
+        ResultsFile.Column procName = f.column(ResultsFile.PROC_NAME);
+        ResultsFile.Column procWait = f.column(ResultsFile.PROC_WAIT);
+        for (int row = 0; row < f.processes(); row++) {
+            wait[procName.get(row)] = procWait.get(row);
+        }
+        int slices = f.slices();
+        return new Source() {
+            @Override public int slices() { return slices; }
+            @Override public int start(int slice) { return start.get(slice); }
+            @Override public int end(int slice) { return end.get(slice); }
+            @Override public int process(int slice) { return process.get(slice); }
+            @Override public int processCount() { return f.nameCount(); }
+            @Override public String name(int p) { return f.name(p); }
+            @Override public int waitOf(int p) { return wait[p]; }
+
+            @Override
+            public int firstEndingAfter(int time) {
+                if (slices == 0) {
+                    return 0;
+                }
+                int row = start.search(time);
+                return row > 0 && end.get(row - 1) > time ? row - 1 : row;
+            }
+        };
+    }
+}
@@ -0,0 +1,402 @@
+package com.example.processsim.verify;
+
+import com.example.processsim.algorithms.*;
+import com.example.processsim.batch.MonteCarlo;
+import com.example.processsim.batch.Workload;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Differential fuzzer for the event-driven engines: runs each optimized algorithm and its
+ * tick-by-tick reference side by side on random workloads and requires identical timelines
+ * and metrics.
+ * <p>
+ * Workloads come in several shapes aimed at the corner cases of event-driven scheduling:
+ * small and medium random mixes, bursts of simultaneous arrivals with tied lengths, everything
+ * arriving at time 0, huge idle gaps and alternating CPU/I-O bursts on shared devices. Both
+ * results are also checked for invariants that hold for any scheduler: slices do not overlap,
+ * no process runs before it arrives, every process gets exactly its CPU time, finish ≥ arrival
+ * + CPU + I/O time, and the reported turnaround matches the timeline.
+ * <p>
+ * A failing workload is shrunk greedily (dropping processes, then simplifying arrivals and
+ * bursts while it still fails) and written as a {@code .wl} file that {@code --workload}
+ * replays.
+ *
+ * <pre>
+ * java com.example.processsim.verify.DifferentialFuzzer [--cases 10000] [--seed 1]
+ *     [--engines SJF,SRTF] [--max-procs 300] [--threads N] [--out fuzz-failures]
+ *     [--workload FILE.wl]
+ * </pre>
+ */
+public class DifferentialFuzzer {
+
+    /** An optimized engine and the reference it must agree with. */
+    public static class Pair {
+        public final String name;
+        final Function<List<Proc>, SchedulingAlgorithm> reference;
+        final Function<List<Proc>, SchedulingAlgorithm> fast;
+
+        public Pair(String name, Function<List<Proc>, SchedulingAlgorithm> reference,
+                    Function<List<Proc>, SchedulingAlgorithm> fast) {
+            this.name = name;
+            this.reference = reference;
+            this.fast = fast;
+        }
+    }
+
+    public static final List<Pair> ENGINES = List.of(
+        new Pair("SJF", ReferenceSJF::new, SJFAlgorithm::new),
+        new Pair("SRTF", ReferenceSRTF::new, SRTFAlgorithm::new));
+
+    /** Workload shapes, drawn in turn. */
+    enum Shape { SMALL, MEDIUM, SIMULTANEOUS, ZERO_ARRIVAL, IDLE_GAPS, IO }
+
+    /** Check budget of one shrink. */
+    private static final int SHRINK_CHECKS = 5000;
+
+    private final Executor executor;
+    private final int maxProcs;
+
+    /**
+     * @param executor runs the reference engine while the calling thread runs the fast one
+     */
+    public DifferentialFuzzer(Executor executor, int maxProcs) {
+        this.executor = executor;
+        this.maxProcs = Math.max(20, maxProcs);
+    }
+
+    /**
+     * Random workload of case {@code index}.
+     */
+    List<Proc> generate(long seed, long index) {
+        SplittableRandom rng = new SplittableRandom(MonteCarlo.streamSeed(seed, index));
+        Shape shape = Shape.values()[(int) (index % Shape.values().length)];
+        List<Proc> procs = new ArrayList<>();
+        int n = switch (shape) {
+            case SMALL -> rng.nextInt(1, 9);
+            case MEDIUM -> rng.nextInt(20, maxProcs + 1);
+            case SIMULTANEOUS, ZERO_ARRIVAL -> rng.nextInt(2, 51);
+            case IDLE_GAPS -> rng.nextInt(2, 31);
+            case IO -> rng.nextInt(2, 41);
+        };
+        int arrival = 0;
+        for (int i = 0; i < n; i++) {
+            String name = "P" + i;
+            switch (shape) {
+                case SMALL -> procs.add(new Proc(name, rng.nextInt(11), rng.nextInt(1, 11)));
+                case MEDIUM -> {
+                    arrival += rng.nextInt(6);
+                    procs.add(new Proc(name, arrival, rng.nextInt(1, 31)));
+                }
+                case SIMULTANEOUS -> procs.add(new Proc(name, 5 * rng.nextInt(3), rng.nextInt(1, 5)));
+                case ZERO_ARRIVAL -> procs.add(new Proc(name, 0, rng.nextInt(1, 21)));
+                case IDLE_GAPS -> {
+                    arrival += rng.nextInt(4) == 0 ? rng.nextInt(100_000, 50_000_000) : rng.nextInt(4);
+                    procs.add(new Proc(name, arrival, rng.nextInt(1, 11)));
+                }
+                case IO -> {
+                    int[] bursts = new int[2 * rng.nextInt(4) + 1];
+                    int[] devices = new int[bursts.length / 2];
+                    for (int b = 0; b < bursts.length; b++) {
+                        bursts[b] = rng.nextInt(1, b % 2 == 0 ? 11 : 16);
+                    }
+                    for (int d = 0; d < devices.length; d++) {
+                        devices[d] = rng.nextInt(3);
+                    }
+                    procs.add(new Proc(name, rng.nextInt(21), bursts, devices, 0));
+                }
+            }
+        }
+        return procs;
+    }
+
+    /**
+     * Run both engines of {@code pair} on {@code procs}.
+     *
+     * @return null if they agree and satisfy the invariants, otherwise the first problem
+     */
+    String check(Pair pair, List<Proc> procs) {
+        CompletableFuture<GoldenTimeline> reference = CompletableFuture.supplyAsync(
+            () -> encode(pair.reference.apply(procs), procs, "reference"), executor);
+        GoldenTimeline fast;
+        try {
+            fast = encode(pair.fast.apply(procs), procs, "fast");
+        } catch (RuntimeException ex) {
+            reference.join();
+            return "fast engine: " + ex.getMessage();
+        }
+        try {
+            String diff = reference.join().diff(fast);
+            return diff != null ? "fast engine differs from reference at " + diff : null;
+        } catch (CompletionException ex) {
+            return ex.getCause().getMessage();
+        }
+    }
+
+    /** Run an engine, check its invariants and encode its timeline; throws on a violation. */
+    private static GoldenTimeline encode(SchedulingAlgorithm algorithm, List<Proc> procs, String which) {
+        SimResult r;
+        try {
+            r = algorithm.useScratch(new SimScratch()).run();
+        } catch (RuntimeException ex) {
+            throw new IllegalStateException(which + " engine threw " + ex, ex);
+        }
+        String problem = invariants(procs, r);
+        if (problem != null) {
+            throw new IllegalStateException(which + " engine: " + problem);
+        }
+        return GoldenTimeline.of("", algorithm.getName(), r);
+    }
+
+    /**
+     * Scheduler-independent invariants of a result; null if all hold.
+     */
+    static String invariants(List<Proc> procs, SimResult r) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < procs.size(); i++) {
+            index.put(procs.get(i).name, i);
+        }
+        long[] cpu = new long[procs.size()];
+        int[] finish = new int[procs.size()];
+        int prevEnd = Integer.MIN_VALUE;
+        for (int s = 0; s < r.timeline.size(); s++) {
+            GanttEntry e = r.timeline.get(s);
+            Integer i = index.get(e.name);
+            if (i == null) {
+                return "slice " + s + " runs unknown process " + e.name;
+            }
+            if (e.end <= e.start) {
+                return "slice " + s + " of " + e.name + " is empty [" + e.start + ", " + e.end + ")";
+            }
+            if (e.start < prevEnd) {
+                return "slice " + s + " of " + e.name + " starts at " + e.start + ", before the previous slice ends at "
+                    + prevEnd;
+            }
+            if (e.start < procs.get(i).arrival) {
+                return e.name + " runs at " + e.start + " before arriving at " + procs.get(i).arrival;
+            }
+            cpu[i] += e.end - e.start;
+            finish[i] = e.end;
+            prevEnd = e.end;
+        }
+        double turnaround = 0;
+        for (int i = 0; i < procs.size(); i++) {
+            Proc p = procs.get(i);
+            if (cpu[i] != p.burst) {
+                return p.name + " ran " + cpu[i] + " of its " + p.burst + " CPU time";
+            }
+            if ((long) finish[i] < (long) p.arrival + p.burst + p.ioBurstTotal()) {
+                return p.name + " finished at " + finish[i] + ", before arrival + CPU + I/O = "
+                    + ((long) p.arrival + p.burst + p.ioBurstTotal());
+            }
+            turnaround += finish[i] - p.arrival;
+        }
+        turnaround /= procs.size();
+        if (Math.abs(turnaround - r.avgTurnaround) > 1e-6 * Math.max(1, turnaround)) {
+            return "average turnaround " + r.avgTurnaround + " disagrees with the timeline (" + turnaround + ")";
+        }
+        return null;
+    }
+
+    /**
+     * Shrink a failing workload while it keeps failing.
+     */
+    List<Proc> shrink(Pair pair, List<Proc> failing) {
+        List<Proc> best = failing;
+        int budget = SHRINK_CHECKS;
+        boolean progress = true;
+        while (progress && budget > 0) {
+            progress = false;
+            // Drop chunks of processes, halving the chunk size
+            for (int chunk = Math.max(1, best.size() / 2); chunk >= 1 && budget > 0; chunk /= 2) {
+                for (int from = 0; from < best.size() && best.size() > 1 && budget > 0; ) {
+                    List<Proc> candidate = new ArrayList<>(best.subList(0, from));
+                    candidate.addAll(best.subList(Math.min(best.size(), from + chunk), best.size()));
+                    budget--;
+                    if (!candidate.isEmpty() && check(pair, candidate) != null) {
+                        best = candidate;
+                        progress = true;
+                    } else {
+                        from += chunk;
+                    }
+                }
+            }
+            // Simplify single processes
+            for (int i = 0; i < best.size() && budget > 0; i++) {
+                for (Proc simpler : simplifications(best.get(i))) {
+                    List<Proc> candidate = new ArrayList<>(best);
+                    candidate.set(i, simpler);
+                    budget--;
+                    if (check(pair, candidate) != null) {
+                        best = candidate;
+                        progress = true;
+                        break;
+                    }
+                }
+            }
+            // Close idle gaps by moving everything earlier
+            int first = Integer.MAX_VALUE;
+            for (Proc p : best) {
+                first = Math.min(first, p.arrival);
+            }
+            if (first > 0 && budget > 0) {
+                List<Proc> candidate = new ArrayList<>();
+                for (Proc p : best) {
+                    candidate.add(with(p, p.arrival - first, bursts(p)));
+                }
+                budget--;
+                if (check(pair, candidate) != null) {
+                    best = candidate;
+                    progress = true;
+                }
+            }
+        }
+        return best;
+    }
+
+    /** Simpler variants of a process, simplest first. */
+    private static List<Proc> simplifications(Proc p) {
+        List<Proc> list = new ArrayList<>();
+        int[] bursts = bursts(p);
+        if (bursts.length > 1) {
+            list.add(with(p, p.arrival, new int[]{bursts[0]}));
+            list.add(with(p, p.arrival, Arrays.copyOf(bursts, bursts.length - 2)));
+        }
+        if (p.arrival > 0) {
+            list.add(with(p, 0, bursts));
+            list.add(with(p, p.arrival / 2, bursts));
+            list.add(with(p, p.arrival - 1, bursts));
+        }
+        for (int b = 0; b < bursts.length; b++) {
+            if (bursts[b] > 1) {
+                for (int v : new int[]{1, bursts[b] / 2, bursts[b] - 1}) {
+                    int[] smaller = bursts.clone();
+                    smaller[b] = Math.max(1, v);
+                    list.add(with(p, p.arrival, smaller));
+                }
+            }
+        }
+        return list;
+    }
+
+    private static int[] bursts(Proc p) {
+        return p.bursts != null ? p.bursts.clone() : new int[]{p.burst};
+    }
+
+    private static Proc with(Proc p, int arrival, int[] bursts) {
+        int[] devices = p.devices != null ? Arrays.copyOf(p.devices, bursts.length / 2) : null;
+        return new Proc(p.name, arrival, bursts, devices, p.priority);
+    }
+
+    public static void main(String[] args) throws Exception {
+        long cases = 10_000;
+        long seed = 1;
+        String engines = "SJF,SRTF";
+        int maxProcs = 300;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Path out = Paths.get("fuzz-failures");
+        Path workload = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--cases" -> cases = Long.parseLong(args[++i]);
+                    case "--seed" -> seed = Long.parseLong(args[++i]);
+                    case "--engines" -> engines = args[++i];
+                    case "--max-procs" -> maxProcs = Integer.parseInt(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    case "--out" -> out = Paths.get(args[++i]);
+                    case "--workload" -> workload = Paths.get(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            System.err.println(ex.getMessage());
+            System.err.println("usage: DifferentialFuzzer [--cases N] [--seed S] [--engines SJF,SRTF] [--max-procs N]"
+                + " [--threads N] [--out DIR] [--workload FILE.wl]");
+            System.exit(2);
+            return;
+        }
+        List<Pair> pairs = new ArrayList<>();
+        for (String name : engines.split("[,;\\s]+")) {
+            Pair pair = ENGINES.stream().filter(p -> p.name.equalsIgnoreCase(name)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No reference engine for " + name));
+            pairs.add(pair);
+        }
+
+        // Threads run cases; each case also runs its reference engine on the pool
+        ForkJoinPool pool = new ForkJoinPool(Math.max(2, 2 * threads));
+        DifferentialFuzzer fuzzer = new DifferentialFuzzer(pool, maxProcs);
+        try {
+            if (workload != null) {
+                List<Proc> procs = Workload.read(workload, workload.toString()).processes;
+                boolean failed = false;
+                for (Pair pair : pairs) {
+                    String problem = fuzzer.check(pair, procs);
+                    System.out.println(pair.name + ": " + (problem != null ? problem : "ok"));
+                    failed |= problem != null;
+                }
+                System.exit(failed ? 1 : 0);
+            }
+            System.exit(fuzzer.fuzz(pairs, cases, seed, threads, out, pool) > 0 ? 1 : 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Fuzz {@code cases} workloads against every pair, shrinking and saving failures to {@code out}.
+     *
+     * @return number of failing cases
+     */
+    int fuzz(List<Pair> pairs, long cases, long seed, int threads, Path out, ForkJoinPool pool)
+            throws InterruptedException, ExecutionException, IOException {
+        long t0 = System.nanoTime();
+        ConcurrentSkipListMap<Long, Pair> failures = new ConcurrentSkipListMap<>();
+        int chunks = Math.max(1, threads) * 4;
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int c = 0; c < chunks; c++) {
+            long first = c;
+            tasks.add(() -> {
+                for (long index = first; index < cases; index += chunks) {
+                    List<Proc> procs = generate(seed, index);
+                    for (Pair pair : pairs) {
+                        if (check(pair, procs) != null) {
+                            failures.put(index, pair);
+                            break;
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        for (Future<Void> f : pool.invokeAll(tasks)) {
+            f.get();
+        }
+
+        // Shrink and save the failures, at most one per engine and shape
+        Set<String> reported = new HashSet<>();
+        for (Map.Entry<Long, Pair> failure : failures.entrySet()) {
+            long index = failure.getKey();
+            Pair pair = failure.getValue();
+            Shape shape = Shape.values()[(int) (index % Shape.values().length)];
+            if (!reported.add(pair.name + " " + shape)) {
+                continue;
+            }
+            List<Proc> original = generate(seed, index);
+            List<Proc> minimal = shrink(pair, original);
+            String name = pair.name.toLowerCase(Locale.ROOT) + "-" + seed + "-" + index;
+            Files.createDirectories(out);
+            Path file = out.resolve(name + Workload.EXTENSION);
+            new Workload(name, minimal).write(file);
+            System.out.printf("%s case %d (%s, %d processes, shrunk to %d): %s%n  saved as %s%n",
+                pair.name, index, shape, original.size(), minimal.size(), check(pair, minimal), file);
+        }
+        System.err.printf(Locale.ROOT, "%d cases x %d engines in %.1f s, %d failed%n",
+            cases, pairs.size(), (System.nanoTime() - t0) / 1e9, failures.size());
+        return failures.size();
+    }
+}
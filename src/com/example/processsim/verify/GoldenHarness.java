@@ -0,0 +1,225 @@
+package com.example.processsim.verify;
+
+import com.example.processsim.algorithms.*;
+import com.example.processsim.batch.BatchRunner;
+import com.example.processsim.batch.Workload;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Golden-timeline regression harness and exact-replay determinism checker.
+ * <ul>
+ *   <li>{@code record} runs every algorithm on every workload and stores the timelines as one
+ *       {@link GoldenTimeline} file per workload ({@code <workload>.golden}).</li>
+ *   <li>{@code check} reruns them and reports the first diverging slice of every timeline
+ *       that changed.</li>
+ *   <li>{@code replay} checks determinism without golden files: each algorithm runs
+ *       {@code --runs} times, on fresh and on reused instances and scratch buffers, and on
+ *       another thread, and every run must produce the same timeline.</li>
+ * </ul>
+ * Runs use a {@link SimScratch} and skip the text report, so a 10⁶-process workload is
+ * checked in seconds.
+ *
+ * <pre>
+ * java com.example.processsim.verify.GoldenHarness record|check|replay --workloads DIR|MANIFEST
+ *     [--golden DIR] [--algorithms SPECS] [--runs 3] [--threads N]
+ * </pre>
+ */
+public class GoldenHarness {
+    public static final String EXTENSION = ".golden";
+
+    private final List<AlgorithmSpec> algorithms;
+    private final ThreadLocal<SimScratch> scratch = ThreadLocal.withInitial(SimScratch::new);
+
+    public GoldenHarness(List<AlgorithmSpec> algorithms) {
+        this.algorithms = List.copyOf(algorithms);
+    }
+
+    /**
+     * Run one algorithm on a workload and encode its timeline.
+     */
+    GoldenTimeline run(AlgorithmSpec spec, List<Proc> procs, SimScratch buffers) {
+        SchedulingAlgorithm algorithm = spec.create(procs).useScratch(buffers);
+        return GoldenTimeline.of(spec.toString(), algorithm.getName(), algorithm.run());
+    }
+
+    /**
+     * Record the golden timelines of a workload.
+     */
+    void record(Workload w, Path golden) throws IOException {
+        List<GoldenTimeline> timelines = new ArrayList<>();
+        for (AlgorithmSpec spec : algorithms) {
+            timelines.add(run(spec, w.processes, scratch.get()));
+        }
+        GoldenTimeline.writeAll(goldenFile(golden, w.name), timelines);
+    }
+
+    /**
+     * Compare a workload against its golden file.
+     *
+     * @return null if every timeline matches, otherwise one line per divergence
+     */
+    String check(Workload w, Path golden) throws IOException {
+        Path file = goldenFile(golden, w.name);
+        if (!Files.exists(file)) {
+            return "no golden file " + file;
+        }
+        Map<String, GoldenTimeline> expected = new LinkedHashMap<>();
+        for (GoldenTimeline t : GoldenTimeline.readAll(file)) {
+            expected.put(t.spec, t);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (AlgorithmSpec spec : algorithms) {
+            GoldenTimeline exp = expected.get(spec.toString());
+            if (exp == null) {
+                sb.append(spec).append(": not in golden file\n");
+                continue;
+            }
+            String diff = exp.diff(run(spec, w.processes, scratch.get()));
+            if (diff != null) {
+                sb.append(spec).append(": ").append(diff).append('\n');
+            }
+        }
+        return sb.length() == 0 ? null : sb.toString();
+    }
+
+    /**
+     * Rerun every algorithm {@code runs} times in different ways and compare with the first run.
+     */
+    String replay(Workload w, int runs) throws InterruptedException, ExecutionException {
+        StringBuilder sb = new StringBuilder();
+        for (AlgorithmSpec spec : algorithms) {
+            GoldenTimeline first = run(spec, w.processes, scratch.get());
+            SchedulingAlgorithm reused = spec.create(w.processes).useScratch(new SimScratch());
+            for (int i = 1; i < runs && sb.length() == 0; i++) {
+                GoldenTimeline again;
+                String how;
+                switch (i % 3) {
+                    case 1 -> {
+                        how = "rerun of the same instance";
+                        again = GoldenTimeline.of(spec.toString(), reused.getName(), reused.run());
+                    }
+                    case 2 -> {
+                        how = "run on another thread";
+                        again = CompletableFuture.supplyAsync(() -> run(spec, w.processes, new SimScratch())).get();
+                    }
+                    default -> {
+                        how = "fresh instance, shared scratch";
+                        again = run(spec, w.processes, scratch.get());
+                    }
+                }
+                String diff = first.diff(again);
+                if (diff != null) {
+                    sb.append(spec).append(" (").append(how).append(", run ").append(i + 1).append("): ")
+                      .append(diff).append('\n');
+                }
+            }
+        }
+        return sb.length() == 0 ? null : sb.toString();
+    }
+
+    static Path goldenFile(Path golden, String workload) {
+        return golden.resolve(workload.replace('/', '_').replace('\\', '_') + EXTENSION);
+    }
+
+    private interface Job {
+        String apply(Workload w) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage("missing mode");
+            return;
+        }
+        String mode = args[0];
+        Path source = null;
+        Path golden = null;
+        String algorithms = BatchRunner.DEFAULT_ALGORITHMS;
+        int runs = 3;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<AlgorithmSpec> specs;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--workloads" -> source = Paths.get(args[++i]);
+                    case "--golden" -> golden = Paths.get(args[++i]);
+                    case "--algorithms" -> algorithms = args[++i];
+                    case "--runs" -> runs = Integer.parseInt(args[++i]);
+                    case "--threads" -> threads = Integer.parseInt(args[++i]);
+                    default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+                }
+            }
+            if (!List.of("record", "check", "replay").contains(mode)) {
+                throw new IllegalArgumentException("Unknown mode: " + mode);
+            }
+            if (source == null || (golden == null && !mode.equals("replay"))) {
+                throw new IllegalArgumentException("--workloads, and --golden for record/check, are required");
+            }
+            specs = AlgorithmSpec.parseList(algorithms);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+            usage(ex.getMessage());
+            return;
+        }
+
+        GoldenHarness harness = new GoldenHarness(specs);
+        Path goldenDir = golden;
+        int replays = Math.max(2, runs);
+        if (mode.equals("record")) {
+            Files.createDirectories(goldenDir);
+        }
+        Job job = switch (mode) {
+            case "record" -> w -> {
+                harness.record(w, goldenDir);
+                return null;
+            };
+            case "check" -> w -> harness.check(w, goldenDir);
+            default -> w -> harness.replay(w, replays);
+        };
+
+        Path src = source;
+        List<Path> files = Workload.list(source);
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (Path file : files) {
+            tasks.add(() -> job.apply(Workload.read(file, Workload.nameOf(src, file))));
+        }
+        long t0 = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        int failed = 0;
+        try {
+            List<Future<String>> results = pool.invokeAll(tasks);
+            for (int i = 0; i < results.size(); i++) {
+                String problem;
+                try {
+                    problem = results.get(i).get();
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    while (cause.getCause() != null) {
+                        cause = cause.getCause(); // unwrap the pool's RuntimeException
+                    }
+                    problem = cause.toString();
+                }
+                if (problem != null) {
+                    failed++;
+                    System.out.print(Workload.nameOf(src, files.get(i)) + ":\n  " + problem.trim().replace("\n", "\n  ") + "\n");
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.err.printf(Locale.ROOT, "%s: %d workloads x %d algorithms in %.1f s, %d failed%n",
+            mode, files.size(), specs.size(), (System.nanoTime() - t0) / 1e9, failed);
+        if (failed > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("usage: GoldenHarness record|check|replay --workloads DIR|MANIFEST [--golden DIR]"
+            + " [--algorithms SPECS] [--runs N] [--threads N]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.processsim.verify;
+
+import com.example.processsim.algorithms.GanttEntry;
+import com.example.processsim.algorithms.SimResult;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.CRC32;
+
+/**
+ * The recorded schedule of one algorithm on one workload: every Gantt slice plus the summary
+ * metrics, in a compact checksummed encoding.
+ * <p>
+ * Slices are stored as varints: an index into a table of process names, the gap since the
+ * previous slice ended and the slice length. A typical slice takes 3–4 bytes, so the golden
+ * timeline of a 10⁶-process run is a few megabytes. A CRC-32 over the names and slices is
+ * kept with them and checked on load; a rerun that encodes to the same bytes is equal, and
+ * only a mismatch walks the slices to find the first divergence.
+ */
+public class GoldenTimeline {
+    private static final int MAGIC = 0x50534754; // "PSGT"
+    private static final int VERSION = 1;
+
+    public final String spec;
+    public final String algorithm;
+    public final int slices;
+    public final int makespan;
+    public final double avgWait;
+    public final double avgTurnaround;
+    public final double avgResponse;
+    private final String[] names;
+    private final byte[] encoded;
+    private final long checksum;
+
+    private GoldenTimeline(String spec, String algorithm, int slices, int makespan, double avgWait,
+                           double avgTurnaround, double avgResponse, String[] names, byte[] encoded) {
+        this.spec = spec;
+        this.algorithm = algorithm;
+        this.slices = slices;
+        this.makespan = makespan;
+        this.avgWait = avgWait;
+        this.avgTurnaround = avgTurnaround;
+        this.avgResponse = avgResponse;
+        this.names = names;
+        this.encoded = encoded;
+        this.checksum = crc(names, encoded);
+    }
+
+    /**
+     * Encode a result; its timeline may be recycled afterwards.
+     */
+    public static GoldenTimeline of(String spec, String algorithm, SimResult r) {
+        Map<String, Integer> index = new HashMap<>();
+        List<String> names = new ArrayList<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(32, r.timeline.size() * 4));
+        int prevEnd = 0;
+        for (GanttEntry e : r.timeline) {
+            Integer id = index.get(e.name);
+            if (id == null) {
+                id = names.size();
+                index.put(e.name, id);
+                names.add(e.name);
+            }
+            writeVarint(bytes, id);
+            writeVarint(bytes, zigzag(e.start - prevEnd));
+            writeVarint(bytes, zigzag(e.end - e.start));
+            prevEnd = e.end;
+        }
+        return new GoldenTimeline(spec, algorithm, r.timeline.size(), r.makespan, r.avgWait,
+            r.avgTurnaround, r.avgResponse, names.toArray(new String[0]), bytes.toByteArray());
+    }
+
+    /** CRC-32 of the name table and the encoded slices. */
+    public long checksum() {
+        return checksum;
+    }
+
+    /**
+     * Compare with {@code actual}, the timeline and metrics of the same algorithm rerun.
+     *
+     * @return null if identical, otherwise a description of the first divergence
+     */
+    public String diff(GoldenTimeline actual) {
+        if (actual.checksum == checksum && actual.slices == slices && Arrays.equals(actual.names, names)
+                && Arrays.equals(actual.encoded, encoded)) {
+            return metricsDiff(actual);
+        }
+        Cursor exp = new Cursor(this);
+        Cursor act = new Cursor(actual);
+        for (int i = 0; i < Math.max(slices, actual.slices); i++) {
+            boolean hasExp = exp.next();
+            boolean hasAct = act.next();
+            if (!hasExp || !hasAct || !exp.name.equals(act.name) || exp.start != act.start || exp.end != act.end) {
+                return String.format("slice %d of %d: expected %s, got %s (previous slice %s)",
+                    i, slices, hasExp ? exp : "end of timeline", hasAct ? act : "end of timeline",
+                    i == 0 ? "none" : exp.previous());
+            }
+        }
+        return metricsDiff(actual);
+    }
+
+    private String metricsDiff(GoldenTimeline a) {
+        if (a.makespan != makespan || Double.compare(a.avgWait, avgWait) != 0
+                || Double.compare(a.avgTurnaround, avgTurnaround) != 0
+                || Double.compare(a.avgResponse, avgResponse) != 0) {
+            return String.format(Locale.ROOT,
+                "same slices but metrics differ: makespan %d/%d, wait %s/%s, turnaround %s/%s, response %s/%s",
+                makespan, a.makespan, avgWait, a.avgWait, avgTurnaround, a.avgTurnaround, avgResponse, a.avgResponse);
+        }
+        return null;
+    }
+
+    /** Sequential decoder of the slices. */
+    private static final class Cursor {
+        private final GoldenTimeline t;
+        private int pos = 0;
+        private int read = 0;
+        String name = "";
+        int start;
+        int end;
+        private String prevName = "";
+        private int prevStart;
+        private int prevEnd;
+
+        Cursor(GoldenTimeline t) {
+            this.t = t;
+        }
+
+        boolean next() {
+            prevName = name;
+            prevStart = start;
+            prevEnd = end;
+            if (read == t.slices) {
+                return false;
+            }
+            name = t.names[(int) varint()];
+            start = end + unzigzag(varint());
+            end = start + unzigzag(varint());
+            read++;
+            return true;
+        }
+
+        private long varint() {
+            long v = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = t.encoded[pos++];
+                v |= (long) (b & 0x7f) << shift;
+                if (b >= 0) {
+                    return v;
+                }
+            }
+        }
+
+        String previous() {
+            return prevName + " [" + prevStart + ", " + prevEnd + ")";
+        }
+
+        @Override
+        public String toString() {
+            return name + " [" + start + ", " + end + ")";
+        }
+    }
+
+    /**
+     * Write timelines to a golden file.
+     */
+    public static void writeAll(Path file, List<GoldenTimeline> timelines) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(timelines.size());
+            for (GoldenTimeline t : timelines) {
+                out.writeUTF(t.spec);
+                out.writeUTF(t.algorithm);
+                out.writeInt(t.slices);
+                out.writeInt(t.makespan);
+                out.writeDouble(t.avgWait);
+                out.writeDouble(t.avgTurnaround);
+                out.writeDouble(t.avgResponse);
+                out.writeInt(t.names.length);
+                for (String n : t.names) {
+                    byte[] b = n.getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(b.length);
+                    out.write(b);
+                }
+                out.writeInt(t.encoded.length);
+                out.write(t.encoded);
+                out.writeLong(t.checksum);
+            }
+        }
+    }
+
+    /**
+     * Read a golden file, verifying the checksum of every timeline.
+     *
+     * @throws IOException if the file is not a golden file or is corrupt
+     */
+    public static List<GoldenTimeline> readAll(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException(file + ": not a golden timeline file");
+            }
+            int count = in.readInt();
+            List<GoldenTimeline> list = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String spec = in.readUTF();
+                String algorithm = in.readUTF();
+                int slices = in.readInt();
+                int makespan = in.readInt();
+                double wait = in.readDouble();
+                double turnaround = in.readDouble();
+                double response = in.readDouble();
+                String[] names = new String[in.readInt()];
+                for (int n = 0; n < names.length; n++) {
+                    byte[] b = new byte[in.readInt()];
+                    in.readFully(b);
+                    names[n] = new String(b, StandardCharsets.UTF_8);
+                }
+                byte[] encoded = new byte[in.readInt()];
+                in.readFully(encoded);
+                GoldenTimeline t = new GoldenTimeline(spec, algorithm, slices, makespan, wait, turnaround,
+                    response, names, encoded);
+                if (in.readLong() != t.checksum) {
+                    throw new IOException(file + ": checksum mismatch in " + spec);
+                }
+                list.add(t);
+            }
+            return list;
+        }
+    }
+
+    private static long crc(String[] names, byte[] encoded) {
+        CRC32 crc = new CRC32();
+        for (String n : names) {
+            crc.update(n.getBytes(StandardCharsets.UTF_8));
+            crc.update(0);
+        }
+        crc.update(encoded);
+        return crc.getValue();
+    }
+
+    private static int zigzag(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    private static int unzigzag(long v) {
+        int i = (int) v;
+        return (i >>> 1) ^ -(i & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int v) {
+        long u = v & 0xffffffffL;
+        while (u >= 0x80) {
+            out.write((int) (u & 0x7f) | 0x80);
+            u >>>= 7;
+        }
+        out.write((int) u);
+    }
+}
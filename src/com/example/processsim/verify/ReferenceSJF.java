@@ -0,0 +1,81 @@
+package com.example.processsim.verify;
+
+import com.example.processsim.algorithms.*;
+
+import java.util.*;
+
+/**
+ * The original tick-by-tick SJF engine, kept as the oracle for {@link SJFAlgorithm}: every
+ * decision rescans all processes and stable-sorts the ready list by current CPU burst.
+ * O(n²) but obviously correct. The only change is that an idle CPU jumps straight to the
+ * next ready time instead of ticking there, so workloads with huge idle gaps stay cheap;
+ * no decision is taken in between, so the schedule is the same.
+ */
+public class ReferenceSJF extends SchedulingAlgorithm {
+
+    public ReferenceSJF(List<Proc> processes) {
+        super(processes);
+    }
+
+    @Override
+    public String getName() {
+        return "Shortest Job First (SJF)";
+    }
+
+    @Override
+    public SimResult run() {
+        beginRun();
+        List<Proc> procs = workingCopy();
+        IODevices io = IODevices.forProcesses(procs);
+        List<GanttEntry> timeline = newTimeline();
+        List<Proc> ready = new ArrayList<>();
+
+        int time = 0;
+        int completed = 0;
+
+        while (completed < procs.size()) {
+            // Add all arrived processes (and those back from I/O) to ready queue
+            for (Proc p : procs) {
+                if (p.readyAt <= time && p.finish == -1 && !ready.contains(p)) {
+                    ready.add(p);
+                }
+            }
+
+            if (ready.isEmpty()) {
+                time = nextReady(procs);
+                continue;
+            }
+
+            // Select process with shortest (current CPU) burst time
+            ready.sort(Comparator.comparingInt(p -> p.remaining));
+            Proc p = ready.remove(0);
+
+            if (p.start == -1) {
+                p.start = time;
+            }
+            timeline.add(slice(p.name, time, time + p.remaining));
+            time += p.remaining;
+            p.remaining = 0;
+
+            if (p.hasMoreBursts()) {
+                p.startIO(time, io);
+            } else {
+                p.finish = time;
+                completed++;
+            }
+        }
+
+        return buildResult(procs, timeline, io);
+    }
+
+    /** Earliest ready time of the unfinished processes, all of which are in the future. */
+    static int nextReady(List<Proc> procs) {
+        int next = Integer.MAX_VALUE;
+        for (Proc p : procs) {
+            if (p.finish == -1) {
+                next = Math.min(next, p.readyAt);
+            }
+        }
+        return next;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.processsim.verify;
+
+import com.example.processsim.algorithms.*;
+
+import java.util.*;
+
+/**
+ * The original tick-by-tick SRTF engine, kept as the oracle for {@link SRTFAlgorithm}: every
+ * time unit rescans all processes for the least remaining time, the first in input order
+ * winning ties. Idle stretches are skipped as in {@link ReferenceSJF}.
+ */
+public class ReferenceSRTF extends SchedulingAlgorithm {
+
+    public ReferenceSRTF(List<Proc> processes) {
+        super(processes);
+    }
+
+    @Override
+    public String getName() {
+        return "Shortest Remaining Time First (SRTF)";
+    }
+
+    @Override
+    public SimResult run() {
+        beginRun();
+        List<Proc> procs = workingCopy();
+        IODevices io = IODevices.forProcesses(procs);
+        List<GanttEntry> timeline = newTimeline();
+
+        int time = 0;
+        int completed = 0;
+        Proc current = null;
+        int currentStart = 0;
+
+        while (completed < procs.size()) {
+            // Find process with shortest remaining time among arrived processes
+            Proc shortest = null;
+            for (Proc p : procs) {
+                if (p.readyAt <= time && p.finish == -1) {
+                    if (shortest == null || p.remaining < shortest.remaining) {
+                        shortest = p;
+                    }
+                }
+            }
+
+            if (shortest == null) {
+                // No process available, advance time
+                if (current != null) {
+                    timeline.add(slice(current.name, currentStart, time));
+                    current = null;
+                }
+                time = ReferenceSJF.nextReady(procs);
+                continue;
+            }
+
+            // Context switch if different process
+            if (current != shortest) {
+                if (current != null) {
+                    timeline.add(slice(current.name, currentStart, time));
+                }
+                current = shortest;
+                currentStart = time;
+                if (current.start == -1) {
+                    current.start = time;
+                }
+            }
+
+            // Execute for 1 time unit
+            current.remaining--;
+            time++;
+
+            // Check if the CPU burst completed
+            if (current.remaining == 0) {
+                timeline.add(slice(current.name, currentStart, time));
+                if (current.hasMoreBursts()) {
+                    current.startIO(time, io);
+                } else {
+                    current.finish = time;
+                    completed++;
+                }
+                current = null;
+            }
+        }
+
+        return buildResult(procs, timeline, io);
+    }
+}
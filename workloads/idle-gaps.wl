@@ -0,0 +1,10 @@
+# Bursts of work separated by idle gaps
+A 0 4
+B 1 4
+C 1 2
+D 50 3
+E 50 3
+F 51 1
+G 400 7
+H 405 2
+I 405 2
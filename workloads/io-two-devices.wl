@@ -0,0 +1,8 @@
+# CPU and I/O bursts on two devices; returns from I/O tie with arrivals
+A 0 3,2@0,3 0
+B 0 2,3@1,2,1@0,2 1
+C 1 4,2@0,1 0
+D 2 1,4@1,1 -2
+E 3 2,2@0,2,2@1,2 0
+F 5 3 0
+G 7 1,1@0,1 3
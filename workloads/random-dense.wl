@@ -0,0 +1,61 @@
+# 60 random processes, seed 1
+P1 0 1 -1
+P2 0 4 0
+P3 1 1 0
+P4 1 4 1
+P5 1 3 2
+P6 1 1 -1
+P7 1 1 0
+P8 0 2 3
+P9 2 2 -1
+P10 2 4 -1
+P11 2 1 -2
+P12 3 3 2
+P13 4 2 -1
+P14 5 4 3
+P15 6 1 0
+P16 6 4 0
+P17 6 3 -3
+P18 7 1 3
+P19 7 4 -1
+P20 8 4 -3
+P21 9 4 2
+P22 9 2 -3
+P23 9 2 0
+P24 9 3 0
+P25 11 1 0
+P26 11 2 0
+P27 11 3 1
+P28 6 4 3
+P29 12 1 1
+P30 13 1 3
+P31 13 2 3
+P32 13 3 -3
+P33 13 1 0
+P34 13 3 -2
+P35 14 2 -1
+P36 15 2 -1
+P37 15 3 0
+P38 16 1 -3
+P39 17 4 3
+P40 17 3 2
+P41 13 1 -2
+P42 17 1 2
+P43 17 4 1
+P44 16 4 -2
+P45 17 3 2
+P46 18 3 -2
+P47 9 1 3
+P48 18 3 2
+P49 18 3 -2
+P50 18 1 1
+P51 18 4 -2
+P52 18 3 -3
+P53 18 4 1
+P54 18 4 -1
+P55 19 4 -1
+P56 19 3 3
+P57 19 2 -1
+P58 17 3 3
+P59 20 2 -3
+P60 20 2 -2
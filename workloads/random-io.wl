@@ -0,0 +1,121 @@
+# 120 random processes, seed 3
+P1 1 5,1@0,4,3@0,2 2
+P2 4 4 2
+P3 5 1,1@0,5,1@1,1 3
+P4 7 4 2
+P5 10 4 -2
+P6 12 3,4@1,4 1
+P7 15 4 1
+P8 0 5 2
+P9 17 2,3@1,1 -3
+P10 15 4,2@0,3 0
+P11 1 1 0
+P12 25 3 1
+P13 9 5,1@0,4 -1
+P14 28 3,3@0,4,4@1,5 0
+P15 28 5 -1
+P16 31 3 0
+P17 33 1 3
+P18 20 1,3@1,3 2
+P19 38 1,1@0,3,3@1,3 1
+P20 40 5,3@1,4,1@0,5 2
+P21 41 2,3@0,4,1@0,5 -1
+P22 43 1,3@0,5 0
+P23 45 3,2@1,3 3
+P24 22 4 -1
+P25 47 3 0
+P26 50 2 -3
+P27 39 4 1
+P28 54 5 -1
+P29 55 1,2@0,1,2@1,5 -3
+P30 56 2,1@1,1,1@1,2 -1
+P31 3 1,1@0,2 3
+P32 51 4,4@0,3 -2
+P33 63 1 0
+P34 65 2,1@0,1 -3
+P35 11 4 -1
+P36 69 5,3@1,3,2@1,4 -3
+P37 70 4 3
+P38 70 5,4@0,5,4@0,3 2
+P39 73 4,1@0,2,3@0,4 -2
+P40 76 3,3@0,4,1@1,1 2
+P41 78 4,2@0,4 -3
+P42 78 4 -2
+P43 78 1 3
+P44 78 3 1
+P45 80 1,1@0,5 -1
+P46 30 2 0
+P47 84 3 1
+P48 48 4 3
+P49 88 5 2
+P50 91 2 -2
+P51 91 5 0
+P52 92 2 1
+P53 88 3 2
+P54 97 3 -2
+P55 99 4 -2
+P56 100 2,4@1,5,2@1,5 3
+P57 100 4 3
+P58 100 1,2@1,2 -2
+P59 102 1 -1
+P60 40 1,1@0,3 3
+P61 105 3 -3
+P62 105 4 -3
+P63 106 4 0
+P64 107 1,4@0,4,3@0,5 2
+P65 109 3,3@0,3,1@1,5 -1
+P66 109 5 2
+P67 110 2 -2
+P68 83 1 1
+P69 82 5 0
+P70 115 3 3
+P71 116 5,4@1,1 -1
+P72 118 1 0
+P73 120 3 -1
+P74 123 1 -1
+P75 14 1,1@0,2 1
+P76 129 5,2@1,2 1
+P77 130 3,3@0,4,4@1,3 1
+P78 132 3 3
+P79 135 1,2@1,2 1
+P80 138 2 -3
+P81 141 2,4@0,5 -3
+P82 141 4,1@1,3 -1
+P83 143 1,3@0,1 3
+P84 144 4 -1
+P85 144 2 2
+P86 145 1 1
+P87 148 1 0
+P88 151 2 0
+P89 151 4,3@1,2,1@0,3 3
+P90 153 2 -2
+P91 154 5 -2
+P92 154 4 0
+P93 155 3,4@0,1,2@1,1 0
+P94 158 2 -2
+P95 158 5,1@1,1,1@1,3 3
+P96 161 4 -2
+P97 163 3,1@0,4,1@0,1 -3
+P98 163 4 -3
+P99 164 2 3
+P100 167 3 2
+P101 167 4 -3
+P102 169 5 0
+P103 171 4 -2
+P104 141 3,4@1,2 0
+P105 177 5 2
+P106 10 4,1@0,3 -2
+P107 12 3 -1
+P108 180 3,3@0,4 -3
+P109 181 2,1@0,2 -1
+P110 182 4 1
+P111 184 2 0
+P112 185 5,1@0,2 -1
+P113 185 4,3@1,5 2
+P114 188 4,2@0,5,1@1,3 2
+P115 188 5,3@1,1 1
+P116 189 1 -1
+P117 190 3,2@0,2 3
+P118 137 3 -2
+P119 196 4 0
+P120 196 2 -3
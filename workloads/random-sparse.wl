@@ -0,0 +1,81 @@
+# 80 random processes, seed 2
+P1 0 3 3
+P2 2 6 3
+P3 6 2 1
+P4 6 2 0
+P5 16 6 3
+P6 17 4 1
+P7 27 1 -1
+P8 24 4 1
+P9 37 2 -2
+P10 37 2 -2
+P11 45 5 2
+P12 53 4 3
+P13 59 3 3
+P14 68 4 -2
+P15 80 6 0
+P16 90 4 -1
+P17 97 3 2
+P18 59 3 1
+P19 92 4 0
+P20 125 3 3
+P21 68 4 -1
+P22 129 5 1
+P23 148 5 0
+P24 152 4 1
+P25 19 3 2
+P26 48 6 -3
+P27 157 1 -1
+P28 166 1 3
+P29 174 3 -2
+P30 15 4 2
+P31 189 3 -1
+P32 191 1 -3
+P33 6 1 2
+P34 192 2 3
+P35 194 5 2
+P36 194 1 3
+P37 197 1 -3
+P38 160 6 2
+P39 203 4 -3
+P40 207 5 2
+P41 193 4 3
+P42 216 4 -2
+P43 217 3 3
+P44 218 2 1
+P45 227 4 1
+P46 232 3 -1
+P47 236 4 2
+P48 236 2 2
+P49 236 2 -2
+P50 238 6 -2
+P51 181 1 -2
+P52 249 1 -1
+P53 250 5 3
+P54 262 3 -1
+P55 272 5 3
+P56 272 4 0
+P57 274 6 -3
+P58 277 1 -2
+P59 289 2 -3
+P60 297 4 -1
+P61 305 2 2
+P62 222 4 1
+P63 317 1 0
+P64 325 1 2
+P65 337 1 1
+P66 338 3 2
+P67 343 6 0
+P68 344 2 3
+P69 356 1 3
+P70 363 6 0
+P71 370 5 1
+P72 371 1 -1
+P73 39 2 3
+P74 382 5 -1
+P75 388 2 3
+P76 393 1 -1
+P77 394 5 3
+P78 399 2 2
+P79 400 6 0
+P80 412 6 0
@@ -0,0 +1,8 @@
+# Arrivals whose burst equals the running process's remaining time
+A 0 8
+B 3 5
+C 3 5
+D 5 3
+E 6 2
+F 8 2
+G 8 1
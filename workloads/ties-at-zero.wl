@@ -0,0 +1,9 @@
+# Every process arrives at 0, with tied bursts and priorities
+A 0 3 0
+B 0 3 0
+C 0 3 1
+D 0 5 1
+E 0 5 0
+F 0 1 2
+G 0 1 2
+H 0 3 0
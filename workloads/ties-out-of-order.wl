@@ -0,0 +1,10 @@
+# Listed out of arrival order; equal bursts arrive while others run
+P1 4 2 0
+P2 0 6 1
+P3 4 2 1
+P4 2 2 0
+P5 2 4 -1
+P6 9 2 0
+P7 6 4 0
+P8 6 2 2
+P9 0 6 0